@@ -0,0 +1,45 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.mapper.AvailabilityMapper;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import com.example.reservas.dto.TimeWindowDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de ventanas libres ({@link AvailabilityService#gaps}) y su conversión a DTO
+ * ({@link AvailabilityMapper#toDtoList}) por conjunto de datos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AvailabilityGapsBenchmark {
+
+    @Param
+    public Datasets dataset;
+
+    private List<TimeWindow> busy;
+    private List<TimeWindow> windows;
+    private final AvailabilityMapper mapper = new AvailabilityMapper();
+
+    @Setup
+    public void setup() {
+        busy = dataset.busy();
+        windows = AvailabilityService.gaps(Datasets.DAY_START, Datasets.DAY_END, new ArrayList<>(busy));
+    }
+
+    @Benchmark
+    public List<TimeWindow> gaps() {
+        // gaps ordena en sitio: copia nueva como en freeWindows, que construye la lista por petición
+        return AvailabilityService.gaps(Datasets.DAY_START, Datasets.DAY_END, new ArrayList<>(busy));
+    }
+
+    @Benchmark
+    public List<TimeWindowDto> toDtoList() {
+        return mapper.toDtoList(windows);
+    }
+}
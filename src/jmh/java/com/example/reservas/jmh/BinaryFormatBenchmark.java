@@ -0,0 +1,83 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.config.BinaryFormatsConfig;
+import com.example.reservas.config.JacksonConfig;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.web.dto.PageResponse;
+import com.example.reservas.web.dto.TimeWindowResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON frente a CBOR y Smile (configuración de {@link BinaryFormatsConfig}: timestamps epoch) para las
+ * respuestas de disponibilidad y de la página de reservas: coste de escribir en el servidor y de
+ * parsear en el cliente. El tamaño de cada payload se imprime al preparar el benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    public enum Endpoint { AVAILABILITY, RESERVATION_PAGE }
+
+    public enum Format { JSON, CBOR, SMILE }
+
+    @Param
+    public Endpoint endpoint;
+
+    @Param
+    public Format format;
+
+    private ObjectMapper mapper;
+    private Object response;
+    private JavaType type;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = switch (format) {
+            case JSON -> builder().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case CBOR -> BinaryFormatsConfig.binaryMapper(builder(), new CBORFactory());
+            case SMILE -> BinaryFormatsConfig.binaryMapper(builder(), new SmileFactory());
+        };
+        switch (endpoint) {
+            case AVAILABILITY -> {
+                response = Responses.availability();
+                type = mapper.getTypeFactory().constructCollectionType(List.class, TimeWindowResponse.class);
+            }
+            case RESERVATION_PAGE -> {
+                var page = new PageImpl<>(Responses.reservations(), PageRequest.of(0, Responses.PAGE_SIZE), Responses.TOTAL_ELEMENTS);
+                response = PageResponse.of(page, page.getContent());
+                type = mapper.getTypeFactory().constructParametricType(PageResponse.class, ReservationResponse.class);
+            }
+        }
+        payload = serialize();
+        System.out.printf("%n[%s/%s] bytes=%d%n", endpoint, format, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object parse() throws IOException {
+        return mapper.readValue(payload, type);
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule(), JacksonConfig.utcTimestamps());
+    }
+}
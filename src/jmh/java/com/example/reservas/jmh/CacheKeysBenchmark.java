@@ -0,0 +1,33 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.service.cache.CacheKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de la clave de caché de disponibilidad (se evalúa en cada lectura y en cada evicción).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CacheKeysBenchmark {
+
+    @Param({"7", "1234567890"})
+    public long resourceId;
+
+    private Long id;
+    private LocalDate date;
+
+    @Setup
+    public void setup() {
+        id = resourceId;
+        date = Datasets.DAY;
+    }
+
+    @Benchmark
+    public String availKey() {
+        return CacheKeys.availKey(id, date);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.config.CacheConfig;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializador de valores de {@link CacheConfig} (JSON con tipado por defecto) sobre las ventanas
+ * libres que se guardan en Redis.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    @Param
+    public Datasets dataset;
+
+    private GenericJackson2JsonRedisSerializer serializer;
+    private List<TimeWindow> windows;
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        serializer = new CacheConfig().cacheValueSerializer();
+        windows = AvailabilityService.gaps(Datasets.DAY_START, Datasets.DAY_END, new ArrayList<>(dataset.busy()));
+        payload = serializer.serialize(windows);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(windows);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(payload);
+    }
+}
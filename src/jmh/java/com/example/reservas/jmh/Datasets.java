@@ -0,0 +1,75 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Conjuntos de reservas de un día (UTC) para los benchmarks. Generados con semilla fija para que
+ * las ejecuciones sean comparables entre sí.
+ */
+public enum Datasets {
+
+    /** Día sin reservas: una única ventana libre. */
+    EMPTY {
+        @Override
+        List<TimeWindow> busy() {
+            return List.of();
+        }
+    },
+
+    /** Turnos de 15 minutos cada 20 minutos: muchas ventanas libres cortas. */
+    DENSE {
+        @Override
+        List<TimeWindow> busy() {
+            List<TimeWindow> busy = new ArrayList<>();
+            for (OffsetDateTime t = DAY_START; t.isBefore(DAY_END); t = t.plusMinutes(20)) {
+                busy.add(new TimeWindow(t, t.plusMinutes(15)));
+            }
+            return busy;
+        }
+    },
+
+    /** 200 reservas de 30-180 minutos desordenadas y muy solapadas. */
+    OVERLAPPING {
+        @Override
+        List<TimeWindow> busy() {
+            Random random = new Random(SEED);
+            List<TimeWindow> busy = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                OffsetDateTime start = DAY_START.plusMinutes(random.nextInt(24 * 60));
+                busy.add(new TimeWindow(start, start.plusMinutes(30 + random.nextInt(151))));
+            }
+            return busy;
+        }
+    },
+
+    /** Reservas que empiezan el día anterior o durante el día y se extienden varios días (recorte). */
+    MULTI_DAY {
+        @Override
+        List<TimeWindow> busy() {
+            Random random = new Random(SEED);
+            List<TimeWindow> busy = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                OffsetDateTime start = DAY_START.minusHours(12).plusMinutes(random.nextInt(36 * 60));
+                busy.add(new TimeWindow(start, start.plusHours(1 + random.nextInt(72))));
+            }
+            Collections.shuffle(busy, random);
+            return busy;
+        }
+    };
+
+    static final long SEED = 42L;
+    static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+    static final OffsetDateTime DAY_START = DAY.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+    static final OffsetDateTime DAY_END = DAY_START.plusDays(1);
+
+    /** Intervalos ocupados en el orden en que llegarían (sin ordenar). */
+    abstract List<TimeWindow> busy();
+}
@@ -0,0 +1,81 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.config.JacksonConfig;
+import com.example.reservas.web.dto.PageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste por respuesta (CPU; con {@code -prof gc}, bytes asignados) de los dos endpoints de lectura más
+ * calientes: ventanas libres de {@code /v1/availability} y la página de {@code /v1/reservations}.
+ *
+ * {@code DEFAULT} reproduce la serialización anterior (reflexión, {@code DateTimeFormatter}, {@code PageImpl});
+ * {@code TUNED} la actual (Blackbird, timestamps UTC cacheados, {@link PageResponse}). El tamaño de cada
+ * respuesta, en claro y con gzip, se imprime al preparar el benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    public enum Endpoint { AVAILABILITY, RESERVATION_PAGE }
+
+    public enum Pipeline { DEFAULT, TUNED }
+
+    @Param
+    public Endpoint endpoint;
+
+    @Param
+    public Pipeline pipeline;
+
+    private ObjectMapper mapper;
+    private Object response;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (pipeline == Pipeline.TUNED) {
+            builder.modulesToInstall(new BlackbirdModule(), JacksonConfig.utcTimestamps());
+        }
+        mapper = builder.build();
+        response = switch (endpoint) {
+            case AVAILABILITY -> Responses.availability();
+            case RESERVATION_PAGE -> {
+                var page = new PageImpl<>(Responses.reservations(), PageRequest.of(0, Responses.PAGE_SIZE), Responses.TOTAL_ELEMENTS);
+                yield pipeline == Pipeline.TUNED ? PageResponse.of(page, page.getContent()) : page;
+            }
+        };
+        byte[] json = serialize();
+        System.out.printf("%n[%s/%s] bytes=%d gzip=%d%n", endpoint, pipeline, json.length, gzip(json).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    /** Lo que paga Tomcat cuando la respuesta supera {@code server.compression.min-response-size}. */
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(response));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.reservas.jmh;
+
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.web.dto.TimeWindowResponse;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuerpos de respuesta representativos de los endpoints de lectura, para los benchmarks de serialización.
+ */
+final class Responses {
+
+    static final int PAGE_SIZE = 20;
+    static final long TOTAL_ELEMENTS = 137;
+
+    private Responses() {}
+
+    /** {@code /v1/availability} sobre el día {@link Datasets#DENSE}: 72 ventanas. */
+    static List<TimeWindowResponse> availability() {
+        return AvailabilityService
+                .gaps(Datasets.DAY_START, Datasets.DAY_END, new ArrayList<>(Datasets.DENSE.busy()))
+                .stream().map(w -> new TimeWindowResponse(w.start(), w.end())).toList();
+    }
+
+    /** Una página llena de {@code /v1/reservations}. */
+    static List<ReservationResponse> reservations() {
+        List<ReservationResponse> list = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            OffsetDateTime start = Datasets.DAY_START.plusMinutes(30L * i);
+            list.add(new ReservationResponse((long) 1_000 + i, 42L, "Cliente " + i, "cliente" + i + "@example.com",
+                    2 + i % 4, start, start.plusMinutes(90), "CONFIRMED"));
+        }
+        return list;
+    }
+}
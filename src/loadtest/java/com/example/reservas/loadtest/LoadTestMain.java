@@ -0,0 +1,159 @@
+package com.example.reservas.loadtest;
+
+import com.example.reservas.API_de_reservas.ApiDeReservasApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de carga extremo a extremo contra los endpoints reales.
+ *
+ * Sin {@code loadtest.base-url} arranca Postgres y Redis con Testcontainers y la aplicación en este
+ * mismo proceso (puerto aleatorio); con él, apunta a una instancia ya desplegada. Siembra negocios y
+ * recursos por la API, calienta, mide durante {@code loadtest.duration} e imprime throughput,
+ * percentiles y desglose de errores; los histogramas completos quedan en {@code loadtest.output-dir}.
+ *
+ * <pre>
+ *   ./mvnw -Ploadtest integration-test -Dloadtest.args="-Dloadtest.concurrency=128 -Dloadtest.seed=7"
+ * </pre>
+ */
+public final class LoadTestMain {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        PostgreSQLContainer<?> postgres = null;
+        GenericContainer<?> redis = null;
+        ConfigurableApplicationContext app = null;
+        String baseUrl = settings.baseUrl();
+        try {
+            if (baseUrl.isEmpty()) {
+                postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+                redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+                postgres.start();
+                redis.start();
+                app = startApplication(settings, postgres, redis);
+                baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            }
+            run(settings, baseUrl);
+        } finally {
+            if (app != null) app.close();
+            if (redis != null) redis.stop();
+            if (postgres != null) postgres.stop();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings,
+                                                                   PostgreSQLContainer<?> postgres,
+                                                                   GenericContainer<?> redis) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getFirstMappedPort()));
+        if (!settings.rateLimits()) {
+            // Los argumentos de línea de comandos reemplazan la lista completa de reglas de application.yml
+            args.addAll(List.of(
+                    "--reservas.rate-limit.default-limit.capacity=1000000000",
+                    "--reservas.rate-limit.default-limit.period=1s",
+                    "--reservas.rate-limit.rules[0].id=loadtest",
+                    "--reservas.rate-limit.rules[0].pattern=/**",
+                    "--reservas.rate-limit.rules[0].capacity=1000000000",
+                    "--reservas.rate-limit.rules[0].period=1s"));
+        }
+        if (!settings.loadShedding()) {
+            args.add("--reservas.load-shedding.enabled=false");
+        }
+        settings.appProperties().forEach((k, v) -> args.add("--" + k + "=" + v));
+
+        return new SpringApplicationBuilder(ApiDeReservasApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static void run(LoadTestSettings settings, String baseUrl) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Long> resourceIds = seed(settings, http, baseUrl);
+        // Los recursos calientes se reparten entre negocios de forma reproducible
+        Collections.shuffle(resourceIds, new Random(settings.seed()));
+        ZipfDistribution zipf = new ZipfDistribution(resourceIds.size(), settings.zipfExponent());
+        LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+
+        LoadTestReport report = new LoadTestReport();
+        long deadline = System.nanoTime() + settings.warmup().toNanos() + settings.duration().toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            clients.execute(new VirtualClient(i, settings, http, baseUrl, resourceIds, zipf, firstDay, report,
+                    () -> System.nanoTime() < deadline));
+        }
+
+        System.out.printf("Calentando %s con %d clientes...%n", settings.warmup(), settings.concurrency());
+        Thread.sleep(settings.warmup().toMillis());
+        report.start();
+        Thread.sleep(settings.duration().toMillis());
+        report.stop();
+
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        report.print(System.out, settings);
+        Path out = Path.of(settings.outputDir());
+        report.writeHistograms(out);
+        System.out.println("Histogramas en " + out.toAbsolutePath());
+    }
+
+    /** Crea negocios y recursos por la API; devuelve los ids de recurso. */
+    private static List<Long> seed(LoadTestSettings settings, HttpClient http, String baseUrl) throws Exception {
+        List<Long> businessIds = new ArrayList<>();
+        for (int b = 0; b < settings.businesses(); b++) {
+            businessIds.add(post(http, baseUrl + "/v1/businesses",
+                    "{\"name\":\"Negocio %d\",\"type\":\"RESTAURANT\"}".formatted(b), b));
+        }
+        Random random = new Random(settings.seed());
+        List<Long> resourceIds = new ArrayList<>();
+        for (int r = 0; r < settings.resources(); r++) {
+            long businessId = businessIds.get(r % businessIds.size());
+            resourceIds.add(post(http, baseUrl + "/v1/businesses/" + businessId + "/resources",
+                    "{\"businessId\":%d,\"name\":\"Mesa %d\",\"capacity\":%d}".formatted(businessId, r, 2 + random.nextInt(7)), r));
+        }
+        return resourceIds;
+    }
+
+    private static long post(HttpClient http, String url, String body, int n) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                // Rotar la IP de origen para no agotar el límite por IP durante la siembra
+                .header("X-Forwarded-For", "10.255.%d.%d".formatted((n >> 8) & 0xff, n & 0xff))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Siembra fallida (" + response.statusCode() + ") en " + url + ": " + response.body());
+        }
+        return JSON.readTree(response.body()).get("id").asLong();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.reservas.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (HdrHistogram, microsegundos) y desglose de resultados por operación.
+ */
+final class LoadTestReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private long startedNanos;
+    private long stoppedNanos;
+
+    LoadTestReport() {
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stoppedNanos = System.nanoTime();
+    }
+
+    /** @param outcome código HTTP o nombre de la excepción */
+    void record(Operation op, long latencyNanos, String outcome) {
+        if (!recording) return;
+        latencies.get(op).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        outcomes.computeIfAbsent(op.name() + " " + outcome, k -> new LongAdder()).increment();
+    }
+
+    void print(PrintStream out, LoadTestSettings settings) {
+        double seconds = (stoppedNanos - startedNanos) / 1e9;
+        long total = latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+
+        out.println();
+        out.println("== Load test: " + settings);
+        out.printf("Total: %d peticiones en %.1f s -> %.1f req/s%n%n", total, seconds, total / seconds);
+        out.printf("%-38s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operación", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Histogram> e : latencies.entrySet()) {
+            Histogram h = e.getValue();
+            if (h.getTotalCount() == 0) continue;
+            out.printf("%-38s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.getKey().label, h.getTotalCount(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+
+        out.println();
+        out.println("Resultados (operación, código HTTP o excepción):");
+        new TreeMap<>(outcomes).forEach((k, v) -> out.printf("  %-48s %9d%n", k, v.sum()));
+    }
+
+    /** Un .hgrm por operación, comparables entre ejecuciones (p.ej. con HdrHistogram Plotter). */
+    void writeHistograms(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<Operation, Histogram> e : latencies.entrySet()) {
+            if (e.getValue().getTotalCount() == 0) continue;
+            try (PrintStream ps = new PrintStream(Files.newOutputStream(dir.resolve(e.getKey().name() + ".hgrm")))) {
+                e.getValue().outputPercentileDistribution(ps, 1000.0);
+            }
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.reservas.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de una ejecución, leídos de propiedades del sistema {@code loadtest.*}.
+ * Las propiedades {@code loadtest.app.*} se pasan tal cual a la aplicación embebida
+ * (p.ej. {@code -Dloadtest.app.spring.threads.virtual.enabled=true}).
+ *
+ * @param baseUrl        vacío = arranca Postgres/Redis en Testcontainers y la aplicación en este proceso
+ * @param duration       duración de la fase medida
+ * @param warmup         calentamiento (no se registra)
+ * @param concurrency    clientes concurrentes en bucle cerrado
+ * @param readRatio      fracción de lecturas (el resto son creaciones y cancelaciones)
+ * @param cancelRatio    fracción de las escrituras que son cancelaciones
+ * @param businesses     negocios que se crean antes de la prueba
+ * @param resources      recursos totales (repartidos entre los negocios)
+ * @param days           días del horizonte de reservas
+ * @param zipfExponent   sesgo de recursos calientes (0 = uniforme)
+ * @param clientIps      IPs sintéticas enviadas en X-Forwarded-For
+ * @param seed           semilla de toda la aleatoriedad (misma semilla = misma secuencia por cliente)
+ * @param rateLimits     false = se sustituyen las reglas de rate limit por una regla sin límite práctico
+ * @param loadShedding   false = desactiva el descarte adaptativo
+ * @param outputDir      directorio donde se escriben los .hgrm por operación
+ */
+record LoadTestSettings(
+        String baseUrl,
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        double readRatio,
+        double cancelRatio,
+        int businesses,
+        int resources,
+        int days,
+        double zipfExponent,
+        int clientIps,
+        long seed,
+        boolean rateLimits,
+        boolean loadShedding,
+        String outputDir,
+        Map<String, String> appProperties
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        Map<String, String> app = new LinkedHashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(k -> k.startsWith("loadtest.app."))
+                .sorted()
+                .forEach(k -> app.put(k.substring("loadtest.app.".length()), System.getProperty(k)));
+
+        return new LoadTestSettings(
+                System.getProperty("loadtest.base-url", ""),
+                Duration.parse("PT" + System.getProperty("loadtest.duration", "60s")),
+                Duration.parse("PT" + System.getProperty("loadtest.warmup", "15s")),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Double.parseDouble(System.getProperty("loadtest.read-ratio", "0.8")),
+                Double.parseDouble(System.getProperty("loadtest.cancel-ratio", "0.3")),
+                Integer.getInteger("loadtest.businesses", 20),
+                Integer.getInteger("loadtest.resources", 500),
+                Integer.getInteger("loadtest.days", 14),
+                Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "1.1")),
+                Integer.getInteger("loadtest.client-ips", 1000),
+                Long.getLong("loadtest.seed", 42L),
+                Boolean.parseBoolean(System.getProperty("loadtest.rate-limits", "false")),
+                Boolean.parseBoolean(System.getProperty("loadtest.load-shedding", "false")),
+                System.getProperty("loadtest.output-dir", "target/loadtest"),
+                app);
+    }
+
+    @Override
+    public String toString() {
+        return "duration=%s warmup=%s concurrency=%d readRatio=%.2f cancelRatio=%.2f businesses=%d resources=%d days=%d zipf=%.2f seed=%d rateLimits=%s loadShedding=%s"
+                .formatted(duration, warmup, concurrency, readRatio, cancelRatio, businesses, resources, days,
+                        zipfExponent, seed, rateLimits, loadShedding);
+    }
+}
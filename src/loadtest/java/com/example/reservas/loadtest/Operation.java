@@ -0,0 +1,22 @@
+package com.example.reservas.loadtest;
+
+/** Endpoints que ejercita la carga. */
+enum Operation {
+    AVAILABILITY_V1("GET /v1/availability"),
+    AVAILABILITY_API("GET /api/resources/{id}/availability"),
+    LIST_DAY_API("GET /api/resources/{id}/reservations"),
+    CREATE_V1("POST /v1/reservations"),
+    CREATE_API("POST /api/reservations"),
+    CANCEL_V1("PATCH /v1/reservations/{id}/cancel"),
+    CANCEL_API("POST /api/reservations/{id}/cancel");
+
+    final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    boolean isCreate() {
+        return this == CREATE_V1 || this == CREATE_API;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.reservas.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cliente en bucle cerrado: elige la siguiente operación con su propio generador (semilla derivada
+ * de la global y del índice del cliente), la ejecuta y registra latencia y resultado.
+ */
+final class VirtualClient implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final int index;
+    private final LoadTestSettings settings;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<Long> resourceIds;
+    private final ZipfDistribution zipf;
+    private final LocalDate firstDay;
+    private final LoadTestReport report;
+    private final BooleanSupplier running;
+    private final SplittableRandom random;
+    private final String clientIp;
+    /** Reservas creadas por este cliente que aún se pueden cancelar. */
+    private final Deque<Long> cancellable = new ArrayDeque<>();
+
+    VirtualClient(int index, LoadTestSettings settings, HttpClient http, String baseUrl, List<Long> resourceIds,
+                  ZipfDistribution zipf, LocalDate firstDay, LoadTestReport report, BooleanSupplier running) {
+        this.index = index;
+        this.settings = settings;
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.resourceIds = resourceIds;
+        this.zipf = zipf;
+        this.firstDay = firstDay;
+        this.report = report;
+        this.running = running;
+        this.random = new SplittableRandom(settings.seed() * 1_000_003L + index);
+        int ip = index % settings.clientIps();
+        this.clientIp = "10.%d.%d.%d".formatted((ip >> 16) & 0xff, (ip >> 8) & 0xff, ip & 0xff);
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean()) {
+            Operation op = nextOperation();
+            HttpRequest request = build(op);
+            long t0 = System.nanoTime();
+            String outcome;
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                outcome = String.valueOf(response.statusCode());
+                if (op.isCreate() && response.statusCode() / 100 == 2) {
+                    cancellable.addLast(JSON.readTree(response.body()).get("id").asLong());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                outcome = e.getClass().getSimpleName();
+            }
+            report.record(op, System.nanoTime() - t0, outcome);
+        }
+    }
+
+    private Operation nextOperation() {
+        if (random.nextDouble() < settings.readRatio()) {
+            double r = random.nextDouble();
+            if (r < 0.4) return Operation.AVAILABILITY_V1;
+            if (r < 0.7) return Operation.AVAILABILITY_API;
+            return Operation.LIST_DAY_API;
+        }
+        if (!cancellable.isEmpty() && random.nextDouble() < settings.cancelRatio()) {
+            return random.nextBoolean() ? Operation.CANCEL_V1 : Operation.CANCEL_API;
+        }
+        return random.nextBoolean() ? Operation.CREATE_V1 : Operation.CREATE_API;
+    }
+
+    private HttpRequest build(Operation op) {
+        long resourceId = resourceIds.get(zipf.sample(random));
+        LocalDate day = firstDay.plusDays(random.nextInt(settings.days()));
+        return switch (op) {
+            case AVAILABILITY_V1 -> get("/v1/availability?resourceId=" + resourceId + "&date=" + day);
+            case AVAILABILITY_API -> get("/api/resources/" + resourceId + "/availability?date=" + day);
+            case LIST_DAY_API -> get("/api/resources/" + resourceId + "/reservations?date=" + day);
+            case CREATE_V1 -> send("POST", "/v1/reservations", createBody(resourceId, day));
+            case CREATE_API -> send("POST", "/api/reservations", createBody(resourceId, day));
+            case CANCEL_V1 -> send("PATCH", "/v1/reservations/" + nextCancellable() + "/cancel", CANCEL_BODY);
+            case CANCEL_API -> send("POST", "/api/reservations/" + nextCancellable() + "/cancel", CANCEL_BODY);
+        };
+    }
+
+    private static final String CANCEL_BODY = "{\"reason\":\"load test\"}";
+
+    /** Al azar entre las pendientes para que las cancelaciones no sigan siempre el orden de creación. */
+    private long nextCancellable() {
+        int skip = random.nextInt(cancellable.size());
+        for (int i = 0; i < skip; i++) {
+            cancellable.addLast(cancellable.removeFirst());
+        }
+        return cancellable.removeFirst();
+    }
+
+    private String createBody(long resourceId, LocalDate day) {
+        OffsetDateTime start = day.atTime(8 + random.nextInt(14), 15 * random.nextInt(4)).atOffset(ZoneOffset.UTC);
+        OffsetDateTime end = start.plusMinutes(30L * (1 + random.nextInt(6)));
+        return """
+                {"resourceId":%d,"customerName":"Cliente %d","customerEmail":"cliente%d@example.com","partySize":%d,"startTime":"%s","endTime":"%s"}"""
+                .formatted(resourceId, index, index, 1 + random.nextInt(2), start, end);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Forwarded-For", clientIp)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Forwarded-For", clientIp)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.reservas.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de Zipf sobre los rangos {@code [0, n)}: el rango 0 es el recurso más caliente.
+ * CDF precalculada y búsqueda binaria, así muestrear cuesta O(log n) sin reservar memoria.
+ */
+final class ZipfDistribution {
+
+    private final double[] cdf;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n <= 0) throw new IllegalArgumentException("n debe ser > 0");
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = i >= 0 ? i : -i - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.reservas.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo (estilo gradient/AIMD).
+ *
+ * Cada petición completada aporta una muestra de latencia. El límite se multiplica por un gradiente
+ * en [0.5, 1]: el menor entre
+ * <ul>
+ *   <li>latencia: {@code tolerance * rttLargo / rttMuestra} (la cola crece → la latencia sube → baja el límite)</li>
+ *   <li>pool: {@code activas / (activas + esperando)} (hay hilos esperando conexión → baja el límite)</li>
+ * </ul>
+ * y se le suma un margen fijo {@code queueSize} para seguir sondeando hacia arriba. Sin presión el
+ * gradiente es 1 y el límite crece de forma aditiva; con presión decrece de forma multiplicativa.
+ * Solo se permite crecer si el límite se está usando (inFlight >= límite/2).
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final double tolerance;
+    private final PoolPressure pool;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Estado de estimación, protegido por lock (ReentrantLock: no fija hilos virtuales)
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueSize,
+                                      double tolerance, PoolPressure pool) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Límites inválidos: min=%d max=%d".formatted(minLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        this.tolerance = tolerance;
+        this.pool = pool;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /** Intenta admitir una petición; si devuelve true, hay que llamar a {@link #release} al terminar. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Libera una petición admitida y alimenta el estimador.
+     *
+     * @param rttNanos latencia observada
+     * @param sample   false si la latencia no es representativa (p.ej. error rápido del cliente)
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        if (!sample || rttNanos <= 0) return;
+
+        lock.lock();
+        try {
+            update(rttNanos, inFlightAtEnd);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtEnd) {
+        double rtt = rttNanos;
+        if (longRttNanos == 0) {
+            longRttNanos = rtt;
+        } else {
+            longRttNanos += (rtt - longRttNanos) / LONG_WINDOW;
+        }
+        // Tras una recuperación el rtt largo queda inflado: acercarlo rápido a la realidad
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double latencyGradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rtt));
+        double poolGradient = 1.0;
+        int waiting = pool.waiting();
+        if (waiting > 0) {
+            int active = Math.max(1, pool.active());
+            poolGradient = Math.max(0.5, (double) active / (active + waiting));
+        }
+        double gradient = Math.min(latencyGradient, poolGradient);
+
+        // App-limited: sin usar la mitad del límite no hay evidencia para subirlo
+        if (gradient >= 1.0 && inFlightAtEnd < estimatedLimit / 2) return;
+
+        double target = estimatedLimit * gradient + queueSize;
+        double next = estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.reservas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita {@code @Async} y {@code @Scheduled}. Los ejecutores los configura Boot
+ * ({@code spring.task.*}); con {@code spring.threads.virtual.enabled=true} usan hilos virtuales.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
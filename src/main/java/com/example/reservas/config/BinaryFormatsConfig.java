@@ -0,0 +1,62 @@
+package com.example.reservas.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Negociación de formatos binarios para integraciones de alto volumen: con {@code Accept} (salida) o
+ * {@code Content-Type} (entrada) {@code application/cbor} o {@code application/x-jackson-smile}.
+ *
+ * Mismos módulos que el JSON de la aplicación, pero los {@code OffsetDateTime} viajan como milisegundos
+ * epoch (entero) y se leen igual; las fechas sin hora siguen como {@code "YYYY-MM-DD"}. JSON sigue siendo
+ * el formato por defecto: los conversores binarios van detrás.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public BinaryFormatsConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring añade los suyos si encuentra los dataformats en el classpath: se sustituyen por los configurados aquí
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new TimingBinaryJackson2HttpMessageConverter(
+                binaryMapper(builders.getObject(), new CBORFactory()), MediaType.APPLICATION_CBOR));
+        converters.add(new TimingBinaryJackson2HttpMessageConverter(
+                binaryMapper(builders.getObject(), new SmileFactory()), SMILE));
+    }
+
+    /** Configuración binaria sobre un builder ya preparado (el de Boot, o uno propio en benchmarks). */
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .serializerByType(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ISO_LOCAL_DATE))
+                .build();
+    }
+}
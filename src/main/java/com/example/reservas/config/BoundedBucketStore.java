@@ -0,0 +1,48 @@
+package com.example.reservas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Almacén acotado de buckets por clave (IP, tenant...).
+ *
+ * Tamaño máximo con desalojo aproximado-LRU (W-TinyLFU de Caffeine) y expiración por inactividad,
+ * para que un escaneo o una avalancha de cabeceras falsificadas no haga crecer el heap sin límite.
+ * Desalojar un bucket inactivo más tiempo que su periodo de recarga no pierde información:
+ * se habría rellenado por completo.
+ */
+public class BoundedBucketStore {
+
+    private final Cache<String, Bucket> cache;
+
+    public BoundedBucketStore(RateLimitProperties.Store props) {
+        this(props.getMaxSize(), props.getIdleExpiry(), null);
+    }
+
+    public BoundedBucketStore(long maxSize, Duration idleExpiry, Executor maintenanceExecutor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleExpiry);
+        if (maintenanceExecutor != null) {
+            builder.executor(maintenanceExecutor);
+        }
+        this.cache = builder.build();
+    }
+
+    public Bucket get(String key, Function<String, Bucket> factory) {
+        return cache.get(key, factory);
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+}
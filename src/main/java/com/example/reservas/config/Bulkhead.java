@@ -0,0 +1,35 @@
+package com.example.reservas.config;
+
+/**
+ * Grupos de endpoints aislados entre sí: lecturas de disponibilidad/consulta ({@code AvailabilityController},
+ * {@code ResourceQueryController}, búsqueda de mesas) y escrituras de reservas (los dos {@code ReservationController}).
+ *
+ * El grupo de la petición en curso se asocia al hilo en {@link BulkheadFilter}; el DataSource lo usa para
+ * elegir pool. Las peticiones sin grupo (catálogo, actuator, rutas reactivas) no se limitan. Las rutas se
+ * declaran en {@link EndpointRoutes}, la misma tabla que usa {@link EndpointClass}.
+ */
+public enum Bulkhead {
+    READ,
+    WRITE;
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    /** Grupo de la ruta, o null si no pertenece a ninguno. */
+    public static Bulkhead of(String method, String path) {
+        EndpointRoutes.Route route = EndpointRoutes.of(method, path);
+        return route == null ? null : route.bulkhead();
+    }
+
+    /** Grupo de la petición que procesa este hilo, o null fuera de una petición agrupada. */
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Bulkhead bulkhead) {
+        CURRENT.set(bulkhead);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
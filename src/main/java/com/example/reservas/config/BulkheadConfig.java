@@ -0,0 +1,100 @@
+package com.example.reservas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Aislamiento entre lecturas de disponibilidad y escrituras de reservas: límite de concurrencia por
+ * grupo y, opcionalmente, un pool de conexiones propio para las lecturas.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "reservas.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties props, MeterRegistry meterRegistry, DataSource dataSource) {
+        BulkheadRoutingDataSource routing = unwrap(dataSource, BulkheadRoutingDataSource.class);
+        if (routing != null) {
+            // hikaricp.connections.*{pool="reservas-read"}; el pool aún no ha arrancado (arranca con la primera lectura)
+            routing.readPool().setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new Bulkheads(props, meterRegistry);
+    }
+
+    @Bean
+    public BulkheadFilter bulkheadFilter(Bulkheads bulkheads, BulkheadProperties props) {
+        return new BulkheadFilter(bulkheads, props.getRetryAfterSeconds());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.bulkhead.read-pool", name = "enabled", havingValue = "true")
+    static ReadPoolPostProcessor bulkheadReadPoolPostProcessor(Environment environment) {
+        return new ReadPoolPostProcessor(environment);
+    }
+
+    /**
+     * Justo después de la compuerta de conexiones (que protege solo el pool principal) y antes del
+     * proxy de diagnóstico, que así sigue viendo las sentencias de ambos pools.
+     */
+    static final class ReadPoolPostProcessor implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+
+        ReadPoolPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadRoutingDataSource) return bean;
+            HikariDataSource primary = unwrap(dataSource, HikariDataSource.class);
+            if (primary == null) return bean;
+            // Post-procesador estático: las propiedades se enlazan a mano
+            BulkheadProperties.ReadPool props = Binder.get(environment)
+                    .bind("reservas.bulkhead.read-pool", BulkheadProperties.ReadPool.class)
+                    .orElseGet(BulkheadProperties.ReadPool::new);
+            return new BulkheadRoutingDataSource(dataSource, readPool(primary, props));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+    }
+
+    /** Pool de lecturas sin arrancar: hereda URL, credenciales y driver del principal salvo que se indiquen. */
+    static HikariDataSource readPool(HikariDataSource primary, BulkheadProperties.ReadPool props) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("reservas-read");
+        pool.setJdbcUrl(StringUtils.hasText(props.getUrl()) ? props.getUrl() : primary.getJdbcUrl());
+        pool.setUsername(StringUtils.hasText(props.getUsername()) ? props.getUsername() : primary.getUsername());
+        pool.setPassword(StringUtils.hasText(props.getPassword()) ? props.getPassword() : primary.getPassword());
+        if (primary.getDriverClassName() != null) pool.setDriverClassName(primary.getDriverClassName());
+        pool.setMaximumPoolSize(props.getMaxSize());
+        pool.setConnectionTimeout(props.getConnectionTimeout().toMillis());
+        return pool;
+    }
+
+    /** Atraviesa envoltorios (compuerta, proxy de diagnóstico) vía {@link java.sql.Wrapper}. */
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        if (type.isInstance(dataSource)) return type.cast(dataSource);
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
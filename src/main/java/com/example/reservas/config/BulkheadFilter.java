@@ -0,0 +1,59 @@
+package com.example.reservas.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Aplica los {@link Bulkheads}: la petición toma permiso en el compartimento de su grupo o se responde
+ * 503 con Retry-After, y el grupo queda asociado al hilo para que el DataSource elija pool.
+ *
+ * Va entre {@link RateLimitFilter} y {@link LoadSheddingFilter}: la partición estática primero, el
+ * limitador adaptativo dentro de cada compartimento.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkheads bulkheads;
+    private final int retryAfterSeconds;
+
+    public BulkheadFilter(Bulkheads bulkheads, int retryAfterSeconds) {
+        this.bulkheads = bulkheads;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Bulkhead bulkhead = Bulkhead.of(request.getMethod(), path);
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Bulkheads.Compartment compartment = bulkheads.get(bulkhead);
+        if (!compartment.tryAcquire()) {
+            response.setStatus(503);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{" +
+                    "\"status\":503,\"code\":\"BULKHEAD_FULL\",\"message\":\"Servicio saturado. Intenta más tarde.\"}");
+            return;
+        }
+        Bulkhead.bind(bulkhead);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Bulkhead.clear();
+            compartment.release();
+        }
+    }
+}
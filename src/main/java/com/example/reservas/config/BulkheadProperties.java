@@ -0,0 +1,153 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Compartimentos de lecturas y escrituras ({@code reservas.bulkhead.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    /** Lecturas: límite bajo y sin espera; sobran réplicas de caché y el cliente puede reintentar. */
+    private final Group read = new Group(64, Duration.ZERO);
+
+    /** Escrituras: el camino que genera ingresos; admite una espera corta antes de rechazar. */
+    private final Group write = new Group(64, Duration.ofMillis(500));
+
+    private final ReadPool readPool = new ReadPool();
+
+    /** Valor de Retry-After (segundos) en las respuestas 503. */
+    private int retryAfterSeconds = 1;
+
+    public Group group(Bulkhead bulkhead) {
+        return bulkhead == Bulkhead.READ ? read : write;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Group getRead() {
+        return read;
+    }
+
+    public Group getWrite() {
+        return write;
+    }
+
+    public ReadPool getReadPool() {
+        return readPool;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static class Group {
+        /** Peticiones concurrentes del grupo; por debajo de los hilos de Tomcat para dejar sitio al otro. */
+        private int maxConcurrent;
+
+        /** Espera máxima por un permiso; 0 = rechazo inmediato. */
+        private Duration maxWait;
+
+        Group(int maxConcurrent, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Pool de conexiones propio para las lecturas. Sin él, lecturas y escrituras comparten el pool de
+     * Hikari y las lecturas solo están acotadas por su límite de concurrencia.
+     */
+    public static class ReadPool {
+        private boolean enabled = false;
+
+        /** JDBC URL del pool de lecturas (p.ej. una réplica); vacío = la del DataSource principal. */
+        private String url;
+
+        /** Credenciales; vacías = las del DataSource principal. */
+        private String username;
+        private String password;
+
+        private int maxSize = 4;
+
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.reservas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Envía las conexiones de las peticiones {@link Bulkhead#READ} a un pool propio (opcionalmente una
+ * réplica); el resto, incluidas Flyway y las tareas en segundo plano, usan el DataSource principal.
+ *
+ * Con pools separados una tormenta de lecturas agota su pool, no el de las escrituras. {@code unwrap}
+ * sigue llegando al Hikari principal, así que la presión de pool y la compuerta no cambian.
+ */
+public class BulkheadRoutingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final HikariDataSource readPool;
+
+    public BulkheadRoutingDataSource(DataSource primary, HikariDataSource readPool) {
+        super(primary);
+        this.readPool = readPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return Bulkhead.current() == Bulkhead.READ ? readPool.getConnection() : super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return Bulkhead.current() == Bulkhead.READ
+                ? readPool.getConnection(username, password)
+                : super.getConnection(username, password);
+    }
+
+    public HikariDataSource readPool() {
+        return readPool;
+    }
+
+    /** Cierra el pool de lecturas y el principal (Spring infiere {@code close} del bean ya envuelto). */
+    @Override
+    public void close() throws SQLException {
+        readPool.close();
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new SQLException(e);
+            }
+        } else if (isWrapperFor(HikariDataSource.class)) {
+            unwrap(HikariDataSource.class).close();
+        }
+    }
+}
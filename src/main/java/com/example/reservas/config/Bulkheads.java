@@ -0,0 +1,89 @@
+package com.example.reservas.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite fijo de peticiones concurrentes por {@link Bulkhead}.
+ *
+ * A diferencia del limitador adaptativo (que recorta cuando la latencia sube), esto es una partición
+ * estática: una tormenta de lecturas llena su compartimento y se rechaza, pero no puede quedarse con
+ * los hilos de Tomcat ni con las conexiones que necesitan las escrituras. Una petición sin permiso
+ * espera como mucho {@code maxWait} (FIFO) y después se rechaza.
+ */
+public class Bulkheads {
+
+    /** Compartimento de un grupo: semáforo y métricas de saturación. */
+    public static final class Compartment {
+        private final int limit;
+        private final long maxWaitNanos;
+        private final Semaphore permits;
+        private final Counter rejected;
+
+        Compartment(Bulkhead bulkhead, int limit, Duration maxWait, MeterRegistry meterRegistry) {
+            this.limit = limit;
+            this.maxWaitNanos = maxWait.toNanos();
+            this.permits = new Semaphore(limit, true);
+            String tag = bulkhead.name().toLowerCase();
+            Gauge.builder("reservas.bulkhead.active", this, Compartment::active)
+                    .tag("bulkhead", tag).description("Peticiones en curso en el compartimento")
+                    .register(meterRegistry);
+            Gauge.builder("reservas.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                    .tag("bulkhead", tag).description("Peticiones esperando permiso")
+                    .register(meterRegistry);
+            Gauge.builder("reservas.bulkhead.saturation", this, c -> (double) c.active() / c.limit)
+                    .tag("bulkhead", tag).description("Fracción del límite en uso (1 = lleno)")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("reservas.bulkhead.rejected")
+                    .tag("bulkhead", tag).description("Peticiones rechazadas por compartimento lleno")
+                    .register(meterRegistry);
+        }
+
+        /** true si hay permiso (hay que devolverlo con {@link #release()}); false si se rechaza. */
+        public boolean tryAcquire() {
+            boolean acquired;
+            try {
+                acquired = maxWaitNanos <= 0
+                        ? permits.tryAcquire()
+                        : permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) rejected.increment();
+            return acquired;
+        }
+
+        public void release() {
+            permits.release();
+        }
+
+        public int active() {
+            return limit - permits.availablePermits();
+        }
+
+        public int limit() {
+            return limit;
+        }
+    }
+
+    private final Map<Bulkhead, Compartment> compartments = new EnumMap<>(Bulkhead.class);
+
+    public Bulkheads(BulkheadProperties props, MeterRegistry meterRegistry) {
+        for (Bulkhead b : Bulkhead.values()) {
+            BulkheadProperties.Group group = props.group(b);
+            compartments.put(b, new Compartment(b, group.getMaxConcurrent(), group.getMaxWait(), meterRegistry));
+        }
+    }
+
+    public Compartment get(Bulkhead bulkhead) {
+        return compartments.get(bulkhead);
+    }
+}
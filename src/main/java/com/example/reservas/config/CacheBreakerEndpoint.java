@@ -0,0 +1,28 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code GET /actuator/cachebreaker}: estado del circuit breaker de Redis y del respaldo local.
+ */
+@Endpoint(id = "cachebreaker")
+public class CacheBreakerEndpoint {
+
+    public record BreakerState(String state, int consecutiveFailures, long timesOpened, long shortCircuited,
+                               int pendingEvictions, long localEntries) {}
+
+    private final RedisCircuitBreaker breaker;
+    private final RedisCacheFallback fallback;
+
+    public CacheBreakerEndpoint(RedisCircuitBreaker breaker, RedisCacheFallback fallback) {
+        this.breaker = breaker;
+        this.fallback = fallback;
+    }
+
+    @ReadOperation
+    public BreakerState state() {
+        return new BreakerState(breaker.state().name(), breaker.consecutiveFailures(), breaker.timesOpened(),
+                breaker.shortCircuited(), fallback.pendingEvictions(), fallback.localEntries());
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.reservas.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.service.CatalogService;
+import com.example.reservas.service.Versioned;
+import com.example.reservas.web.dto.BusinessResponse;
+import com.example.reservas.web.dto.PageResponse;
+import com.example.reservas.web.dto.ResourceResponse;
+import com.example.reservas.service.cache.CacheKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -18,10 +38,19 @@ import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({HttpCacheProperties.class, CacheResilienceProperties.class})
+@ImportRuntimeHints(CacheConfig.CacheRuntimeHints.class)
 public class CacheConfig {
 
+    /** TTL de las entradas de "availability" (compartido con la ruta reactiva). */
+    public static final Duration AVAILABILITY_TTL = Duration.ofSeconds(60);
+
+    /**
+     * Serializador de valores de caché. Es un bean para que otros lectores/escritores de las mismas
+     * claves (p.ej. la ruta reactiva de disponibilidad) usen exactamente el mismo formato.
+     */
     @Bean
-    public RedisCacheManager cacheManager(LettuceConnectionFactory connectionFactory) {
+    public GenericJackson2JsonRedisSerializer cacheValueSerializer() {
         // Configurar serialización JSON para Redis (soporta records de Java)
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
@@ -31,27 +60,112 @@ public class CacheConfig {
             ObjectMapper.DefaultTyping.NON_FINAL,
             JsonTypeInfo.As.PROPERTY
         );
-        
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        
+
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.cache-resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisCircuitBreaker redisCircuitBreaker(CacheResilienceProperties props, MeterRegistry meterRegistry) {
+        return new RedisCircuitBreaker(props.getFailureThreshold(), props.getSlowCallThreshold(),
+                props.getOpenDuration(), System::nanoTime, meterRegistry);
+    }
+
+    /**
+     * Caché local y cola de evicciones para cuando el breaker está abierto. El reenvío usa un writer
+     * sin decorar (ya pasa por el breaker) en un hilo virtual, fuera del hilo que cerró el breaker.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.cache-resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisCacheFallback redisCacheFallback(LettuceConnectionFactory connectionFactory, RedisCircuitBreaker breaker,
+                                                 CacheResilienceProperties props, MeterRegistry meterRegistry) {
+        return new RedisCacheFallback(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1_000)),
+                breaker, task -> Thread.ofVirtual().name("cache-replay").start(task),
+                props.getLocalMaxEntries(), props.getLocalTtl(), props.getMaxPendingEvictions(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.cache-resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheBreakerEndpoint cacheBreakerEndpoint(RedisCircuitBreaker breaker, RedisCacheFallback fallback) {
+        return new CacheBreakerEndpoint(breaker, fallback);
+    }
+
+    @Bean
+    public RedisCacheManager cacheManager(LettuceConnectionFactory connectionFactory,
+                                          GenericJackson2JsonRedisSerializer cacheValueSerializer,
+                                          HttpCacheProperties httpCacheProperties,
+                                          ObjectProvider<RedisCircuitBreaker> breaker,
+                                          ObjectProvider<RedisCacheFallback> fallback) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofSeconds(60))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
 
         // Configuración específica para el cache "availability"
         RedisCacheConfiguration availabilityConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(60))
+                .entryTtl(AVAILABILITY_TTL)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
+
+        // Respuestas de catálogo: serializador tipado por caché (sin metadatos de tipo en el JSON)
+        ObjectMapper catalogMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        TypeFactory types = catalogMapper.getTypeFactory();
+        Duration catalogTtl = httpCacheProperties.getServerTtl();
 
         Map<String, RedisCacheConfiguration> configs = Map.of(
-            "availability", availabilityConfig
+            "availability", availabilityConfig,
+            CatalogService.BUSINESS_CACHE, typed(catalogTtl, catalogMapper,
+                    types.constructParametricType(Versioned.class, BusinessResponse.class)),
+            CatalogService.RESOURCE_CACHE, typed(catalogTtl, catalogMapper,
+                    types.constructParametricType(Versioned.class, ResourceResponse.class)),
+            CatalogService.RESOURCES_BY_BUSINESS_CACHE, typed(catalogTtl, catalogMapper,
+                    types.constructParametricType(Versioned.class,
+                            types.constructParametricType(PageResponse.class, ResourceResponse.class)))
         );
 
-        return RedisCacheManager.builder(connectionFactory)
+        // Writer decorado: suma el tiempo de Redis al Server-Timing de la petición (si se está midiendo).
+        // Los allEntries de @CacheEvict recorren las claves con SCAN en lugar de KEYS (no bloquea Redis)
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1_000));
+        // Con Redis caído o lento, breaker + caché local: la caché falla en abierto en lugar de tumbar la petición
+        if (breaker.getIfAvailable() != null) {
+            cacheWriter = new ResilientRedisCacheWriter(cacheWriter, breaker.getObject(), fallback.getObject());
+        }
+        cacheWriter = new TimingRedisCacheWriter(cacheWriter);
+        return RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(configs)
+                // Puts y evicts dentro de una transacción se aplican tras el commit: un lector concurrente
+                // no puede volver a cachear el estado anterior a la escritura
+                .transactionAware()
+                // Aciertos/fallos/evicciones por caché (cache.gets, cache.evictions... vía actuator)
+                .enableStatistics()
                 .build();
     }
-}
\ No newline at end of file
+
+    private static RedisCacheConfiguration typed(Duration ttl, ObjectMapper mapper, JavaType type) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(mapper, type)));
+    }
+
+    /**
+     * Reflexión que necesita la imagen nativa: los valores cacheados se (de)serializan con tipado
+     * por defecto de Jackson y la clave del {@code @Cacheable} se evalúa con SpEL sobre {@link CacheKeys}.
+     */
+    static class CacheRuntimeHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(AvailabilityService.TimeWindow.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            for (Class<?> type : new Class<?>[] {Versioned.class, PageResponse.class, BusinessResponse.class, ResourceResponse.class}) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+            hints.reflection().registerType(CacheKeys.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
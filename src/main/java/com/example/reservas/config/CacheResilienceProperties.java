@@ -0,0 +1,89 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Degradación de la caché cuando Redis falla o va lento ({@code reservas.cache-resilience.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.cache-resilience")
+public class CacheResilienceProperties {
+
+    /** Circuit breaker y caché local de respaldo alrededor del writer de Redis. */
+    private boolean enabled = true;
+
+    /** Fallos seguidos (excepción o llamada lenta) que abren el breaker. */
+    private int failureThreshold = 5;
+
+    /** Una llamada que tarda más que esto cuenta como fallo aunque responda. */
+    private Duration slowCallThreshold = Duration.ofMillis(100);
+
+    /** Tiempo en OPEN antes de dejar pasar una llamada de prueba. */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /** Tamaño máximo de la caché local de respaldo. */
+    private long localMaxEntries = 10_000;
+
+    /** TTL de las entradas de la caché local (corto: cada instancia ve sus propias escrituras). */
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    /** Evicciones pendientes de reenviar; por encima, al recuperar se limpia la caché entera. */
+    private int maxPendingEvictions = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    public void setSlowCallThreshold(Duration slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public long getLocalMaxEntries() {
+        return localMaxEntries;
+    }
+
+    public void setLocalMaxEntries(long localMaxEntries) {
+        this.localMaxEntries = localMaxEntries;
+    }
+
+    public Duration getLocalTtl() {
+        return localTtl;
+    }
+
+    public void setLocalTtl(Duration localTtl) {
+        this.localTtl = localTtl;
+    }
+
+    public int getMaxPendingEvictions() {
+        return maxPendingEvictions;
+    }
+
+    public void setMaxPendingEvictions(int maxPendingEvictions) {
+        this.maxPendingEvictions = maxPendingEvictions;
+    }
+}
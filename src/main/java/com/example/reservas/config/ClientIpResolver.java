@@ -0,0 +1,174 @@
+package com.example.reservas.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resuelve la IP del cliente teniendo en cuenta solo proxies de confianza.
+ *
+ * X-Forwarded-For se ignora si la conexión no viene de un proxy de confianza. Si viene, se recorre
+ * de derecha a izquierda saltando los saltos de confianza; la primera IP que no lo es es el cliente.
+ * Así un cliente no puede elegir su clave de rate limiting escribiendo la cabecera.
+ */
+public class ClientIpResolver {
+
+    private final List<Cidr> trusted;
+
+    public ClientIpResolver(List<String> trustedProxies) {
+        List<Cidr> parsed = new ArrayList<>();
+        for (String cidr : trustedProxies) {
+            parsed.add(Cidr.parse(cidr.trim()));
+        }
+        this.trusted = List.copyOf(parsed);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        return resolve(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+    }
+
+    public String resolve(String remoteAddr, String forwardedFor) {
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        String client = remoteAddr;
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (parseLiteral(hop) == null) {
+                // Entrada corrupta: nos quedamos con el último salto válido
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return client;
+    }
+
+    /** La conexión llega desde uno de los {@code trusted-proxies}. */
+    public boolean isTrustedProxy(String remoteAddr) {
+        return isTrusted(remoteAddr);
+    }
+
+    private boolean isTrusted(String addr) {
+        if (trusted.isEmpty()) return false;
+        InetAddress ip = parseLiteral(addr);
+        if (ip == null) return false;
+        for (Cidr c : trusted) {
+            if (c.contains(ip)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parsea solo literales IP; null si no es una IP. Nunca llama a {@code InetAddress.getByName}: con algo
+     * que parece una IP pero no lo es (p.ej. {@code 999.1.1.1}) resolvería DNS con un valor del cliente.
+     */
+    static InetAddress parseLiteral(String s) {
+        if (s == null || s.isEmpty()) return null;
+        byte[] bytes = s.indexOf(':') >= 0 ? parseV6(s) : parseV4(s);
+        if (bytes == null) return null;
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /** a.b.c.d con cada octeto en 0..255. */
+    private static byte[] parseV4(String s) {
+        String[] parts = s.split("\\.", -1);
+        if (parts.length != 4) return null;
+        byte[] bytes = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            String p = parts[i];
+            if (p.isEmpty() || p.length() > 3 || !p.chars().allMatch(ch -> ch >= '0' && ch <= '9')) return null;
+            int v = Integer.parseInt(p);
+            if (v > 255) return null;
+            bytes[i] = (byte) v;
+        }
+        return bytes;
+    }
+
+    /** Ocho grupos hex de 16 bits, con un {@code ::} opcional y una IPv4 opcional al final. */
+    private static byte[] parseV6(String s) {
+        int gap = s.indexOf("::");
+        if (gap >= 0 && s.indexOf("::", gap + 1) >= 0) return null;
+        List<Integer> head = parseGroups(gap < 0 ? s : s.substring(0, gap), gap < 0);
+        List<Integer> tail = gap < 0 ? List.of() : parseGroups(s.substring(gap + 2), true);
+        if (head == null || tail == null) return null;
+        int groups = head.size() + tail.size();
+        if (gap < 0 ? groups != 8 : groups > 7) return null;
+
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < head.size(); i++) {
+            bytes[2 * i] = (byte) (head.get(i) >>> 8);
+            bytes[2 * i + 1] = head.get(i).byteValue();
+        }
+        int offset = 8 - tail.size();
+        for (int i = 0; i < tail.size(); i++) {
+            bytes[2 * (offset + i)] = (byte) (tail.get(i) >>> 8);
+            bytes[2 * (offset + i) + 1] = tail.get(i).byteValue();
+        }
+        return bytes;
+    }
+
+    private static List<Integer> parseGroups(String part, boolean v4Tail) {
+        if (part.isEmpty()) return List.of();
+        String[] groups = part.split(":", -1);
+        List<Integer> out = new ArrayList<>(groups.length + 1);
+        for (int i = 0; i < groups.length; i++) {
+            String g = groups[i];
+            if (v4Tail && i == groups.length - 1 && g.indexOf('.') >= 0) {
+                byte[] v4 = parseV4(g);
+                if (v4 == null) return null;
+                out.add((v4[0] & 0xFF) << 8 | (v4[1] & 0xFF));
+                out.add((v4[2] & 0xFF) << 8 | (v4[3] & 0xFF));
+                continue;
+            }
+            if (g.isEmpty() || g.length() > 4 || !g.chars().allMatch(ClientIpResolver::isHexDigit)) return null;
+            out.add(Integer.parseInt(g, 16));
+        }
+        return out;
+    }
+
+    private static boolean isHexDigit(int ch) {
+        return (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+    }
+
+    record Cidr(byte[] network, int prefix) {
+
+        static Cidr parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String addr = slash < 0 ? cidr : cidr.substring(0, slash);
+            InetAddress ip = parseLiteral(addr);
+            if (ip == null) {
+                throw new IllegalArgumentException("Proxy de confianza inválido: " + cidr);
+            }
+            byte[] bytes = ip.getAddress();
+            int prefix = slash < 0 ? bytes.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            if (prefix < 0 || prefix > bytes.length * 8) {
+                throw new IllegalArgumentException("Prefijo inválido: " + cidr);
+            }
+            return new Cidr(bytes, prefix);
+        }
+
+        boolean contains(InetAddress ip) {
+            byte[] addr = ip.getAddress();
+            if (addr.length != network.length) return false;
+            int full = prefix / 8;
+            for (int i = 0; i < full; i++) {
+                if (addr[i] != network[i]) return false;
+            }
+            int rest = prefix % 8;
+            if (rest == 0) return true;
+            int mask = (0xFF << (8 - rest)) & 0xFF;
+            return (addr[full] & mask) == (network[full] & mask);
+        }
+    }
+}
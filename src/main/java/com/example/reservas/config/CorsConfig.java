@@ -12,7 +12,8 @@ public class CorsConfig implements WebMvcConfigurer {
     registry.addMapping("/**")
         .allowedOrigins("http://localhost:3000") // ajusta según front
         .allowedMethods("GET","POST","PATCH","PUT","DELETE","OPTIONS")
-        .allowedHeaders("*");
+        .allowedHeaders("*")
+        .exposedHeaders("Server-Timing");
     }
 
 }
@@ -0,0 +1,82 @@
+package com.example.reservas.config;
+
+import com.example.reservas.diagnostics.HotResourceTracker;
+import com.example.reservas.diagnostics.HotspotsEndpoint;
+import com.example.reservas.diagnostics.SlowQueryListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Diagnóstico siempre activo con memoria fija: sentencias SQL que más tiempo consumen (proxy sobre el
+ * DataSource) y recursos con más tráfico, expuestos en {@code /actuator/hotspots}.
+ */
+@Configuration
+@EnableConfigurationProperties(DiagnosticsProperties.class)
+public class DiagnosticsConfig {
+
+    static final String DATASOURCE_NAME = "diagnostics";
+
+    /** Siempre presente: con el diagnóstico apagado, los controladores llaman a un tracker inerte. */
+    @Bean
+    public HotResourceTracker hotResourceTracker(DiagnosticsProperties props) {
+        return new HotResourceTracker(props.isEnabled(), props.getCapacity(), props.getWindow());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.diagnostics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryListener slowQueryListener(DiagnosticsProperties props) {
+        return new SlowQueryListener(props.getCapacity(), props.getWindow());
+    }
+
+    /**
+     * Envuelve el DataSource ya terminado. Es el último post-procesador ordenado, de modo que la
+     * compuerta de conexiones (que busca el {@code HikariDataSource} desnudo) se aplica antes y el
+     * tiempo medido incluye la espera en ella. El tipo de retorno es el concreto porque Spring decide
+     * el orden de los post-procesadores antes de instanciarlos.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.diagnostics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static SlowQueryDataSourcePostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryListener> listener) {
+        return new SlowQueryDataSourcePostProcessor(listener);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.diagnostics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HotspotsEndpoint hotspotsEndpoint(ObjectProvider<SlowQueryListener> slowQueries,
+                                             HotResourceTracker hotResources, DiagnosticsProperties props) {
+        return new HotspotsEndpoint(slowQueries.getIfAvailable(), hotResources,
+                Math.min(props.getTopK(), props.getCapacity()), props.getWindow());
+    }
+
+    static final class SlowQueryDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<SlowQueryListener> listener;
+
+        SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryListener> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource ds)) return bean;
+            if (bean instanceof ProxyDataSource p && DATASOURCE_NAME.equals(p.getProxyConfig().getDataSourceName())) return bean;
+            return ProxyDataSourceBuilder.create(ds)
+                    .name(DATASOURCE_NAME)
+                    .listener(listener.getObject())
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
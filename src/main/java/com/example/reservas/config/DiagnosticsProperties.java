@@ -0,0 +1,55 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Diagnóstico de sentencias lentas y recursos calientes ({@code reservas.diagnostics.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.diagnostics")
+public class DiagnosticsProperties {
+
+    private boolean enabled = true;
+
+    /** Contadores Space-Saving por ventana; fija la memoria y la precisión del top-K. */
+    private int capacity = 100;
+
+    /** Entradas devueltas por el endpoint (como mucho {@code capacity}). */
+    private int topK = 20;
+
+    /** Duración de cada ventana; se muestran la actual y la anterior. */
+    private Duration window = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.reservas.config;
+
+/**
+ * Clases de endpoint con perfiles de carga distintos (lecturas de disponibilidad vs escrituras de reservas).
+ * Las rutas se declaran en {@link EndpointRoutes}, la misma tabla que usan los {@link Bulkhead}.
+ */
+public enum EndpointClass {
+    AVAILABILITY_READ,
+    RESERVATION_WRITE,
+    OTHER;
+
+    public static EndpointClass of(String method, String path) {
+        EndpointRoutes.Route route = EndpointRoutes.of(method, path);
+        return route == null ? OTHER : route.endpointClass();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.reservas.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Un {@link AdaptiveConcurrencyLimiter} por clase de endpoint; {@link EndpointClass#OTHER} no se limita.
+ */
+public class EndpointLimiters {
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public EndpointLimiters(LoadSheddingProperties props, PoolPressure poolPressure) {
+        for (EndpointClass c : EndpointClass.values()) {
+            if (c == EndpointClass.OTHER) continue;
+            limiters.put(c, new AdaptiveConcurrencyLimiter(props.getInitialLimit(), props.getMinLimit(),
+                    props.getMaxLimit(), props.getQueueSize(), props.getTolerance(), poolPressure));
+        }
+    }
+
+    /** Limitador de la clase, o null si no se limita. */
+    public AdaptiveConcurrencyLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.reservas.config;
+
+/**
+ * Tabla única de rutas clasificadas: {@link EndpointClass} (limitador adaptativo de {@link LoadSheddingFilter})
+ * y {@link Bulkhead} (compartimentos de {@link BulkheadFilter}) salen de la misma entrada, así que una ruta
+ * nueva se declara una vez y no puede quedar clasificada en un filtro y olvidada en el otro.
+ */
+final class EndpointRoutes {
+
+    /** {@code bulkhead} null: la ruta no se limita por compartimento. */
+    record Route(String method, EndpointClass endpointClass, Bulkhead bulkhead) {}
+
+    private static final RoutePatternMatcher<Route> ROUTES = RoutePatternMatcher.<Route>builder()
+            .add("/v1/availability", new Route("GET", EndpointClass.AVAILABILITY_READ, Bulkhead.READ))
+            .add("/api/resources/*/availability", new Route("GET", EndpointClass.AVAILABILITY_READ, Bulkhead.READ))
+            .add("/api/resources/*/reservations", new Route("GET", EndpointClass.OTHER, Bulkhead.READ))
+            .add("/v1/businesses/*/resources/available", new Route("GET", EndpointClass.OTHER, Bulkhead.READ))
+            .add("/v1/reservations", new Route("POST", EndpointClass.RESERVATION_WRITE, Bulkhead.WRITE))
+            .add("/v1/reservations/series", new Route("POST", EndpointClass.RESERVATION_WRITE, Bulkhead.WRITE))
+            .add("/api/reservations", new Route("POST", EndpointClass.RESERVATION_WRITE, Bulkhead.WRITE))
+            .add("/v1/reservations/*/cancel", new Route("PATCH", EndpointClass.RESERVATION_WRITE, Bulkhead.WRITE))
+            .add("/api/reservations/*/cancel", new Route("POST", EndpointClass.RESERVATION_WRITE, Bulkhead.WRITE))
+            .build();
+
+    private EndpointRoutes() {
+    }
+
+    /** Entrada de la ruta para el método, o null si no está clasificada. */
+    static Route of(String method, String path) {
+        for (Route r : ROUTES.match(path)) {
+            if (r.method().equalsIgnoreCase(method)) return r;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Caché HTTP de las lecturas de catálogo ({@code reservas.http-cache.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.http-cache")
+public class HttpCacheProperties {
+
+    /** {@code Cache-Control: max-age} para clientes y CDN. */
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    /** {@code stale-while-revalidate}: la CDN puede servir la copia vieja mientras revalida con el ETag. */
+    private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+    /** TTL de la respuesta cacheada en Redis (las escrituras la invalidan antes). */
+    private Duration serverTtl = Duration.ofMinutes(10);
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Duration getServerTtl() {
+        return serverTtl;
+    }
+
+    public void setServerTtl(Duration serverTtl) {
+        this.serverTtl = serverTtl;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.reservas.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Módulos que Boot añade al {@code ObjectMapper} de la aplicación (y por tanto al conversor HTTP,
+ * incluido el de {@link TimingConfig}):
+ * <ul>
+ *   <li>Blackbird: sustituye la reflexión de getters/constructores por lambdas generadas con
+ *   {@code LambdaMetafactory} (sucesor de Afterburner para Java 11+).</li>
+ *   <li>{@link UtcOffsetDateTimeSerializer}: timestamps UTC sin {@code DateTimeFormatter}.</li>
+ * </ul>
+ * Se registran después de {@code JavaTimeModule}, así que el serializador de fechas tiene prioridad.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module utcTimestampModule() {
+        return utcTimestamps();
+    }
+
+    /** Mismo módulo fuera de Spring (benchmarks). */
+    public static Module utcTimestamps() {
+        return new SimpleModule("reservas-utc-timestamps")
+                .addSerializer(OffsetDateTime.class, new UtcOffsetDateTimeSerializer());
+    }
+}
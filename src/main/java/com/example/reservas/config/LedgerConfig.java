@@ -0,0 +1,75 @@
+package com.example.reservas.config;
+
+import com.example.reservas.ledger.IntervalSource;
+import com.example.reservas.ledger.LedgerEvent;
+import com.example.reservas.ledger.LedgerLock;
+import com.example.reservas.ledger.ReservationLedger;
+import com.example.reservas.repo.ReservationRepository;
+import com.example.reservas.repo.SlotCapacityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ledger de reservas. Siempre presente: con {@code reservas.ledger.enabled=false} los servicios
+ * llaman a un ledger inerte y la disponibilidad sale de Postgres como siempre.
+ *
+ * Activo, toma el {@link LedgerLock} antes de existir: si otra instancia ya lo tiene, el contexto no arranca.
+ */
+@Configuration
+@EnableConfigurationProperties(LedgerProperties.class)
+public class LedgerConfig {
+
+    private static final Duration LOCK_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+    @Bean
+    public ReservationLedger reservationLedger(LedgerProperties props, ReservationRepository reservationRepo,
+                                               SlotCapacityRepository slotRepo, DataSourceProperties dataSource,
+                                               MeterRegistry meterRegistry)
+            throws SQLException {
+        ReservationLedger ledger = new ReservationLedger(props.isEnabled(), props.getDirectory(), props.getRetention(),
+                props.getSnapshotInterval(), props.isForceWrites(),
+                intervalSource(reservationRepo, slotRepo, props.getRebuildBatchSize()), Clock.systemUTC(), meterRegistry);
+        if (props.isEnabled()) {
+            // Conexión propia, fuera del pool: vive tanto como la instancia
+            ledger.holdLock(LedgerLock.acquire(DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword()), LOCK_CHECK_INTERVAL, ledger::suspend));
+        }
+        return ledger;
+    }
+
+    /** Reconstrucción por páginas (keyset por id), cada una en su propia transacción de solo lectura. */
+    private static IntervalSource intervalSource(ReservationRepository reservationRepo, SlotCapacityRepository slotRepo,
+                                                 int batchSize) {
+        return new IntervalSource() {
+            @Override
+            public void forEachConfirmed(long endAfterMicros, Consumer<LedgerEvent> consumer) {
+                long afterId = 0;
+                List<ReservationRepository.IntervalRow> page;
+                do {
+                    page = reservationRepo.findConfirmedIntervals(endAfterMicros, afterId, batchSize);
+                    for (ReservationRepository.IntervalRow row : page) {
+                        consumer.accept(new LedgerEvent(LedgerEvent.CREATED, row.getId(), row.getResourceId(),
+                                row.getStartMicros(), row.getEndMicros()));
+                        afterId = row.getId();
+                    }
+                } while (page.size() == batchSize);
+            }
+
+            @Override
+            public Collection<Long> pooledResourceIds() {
+                return slotRepo.findPooledResourceIds();
+            }
+        };
+    }
+}
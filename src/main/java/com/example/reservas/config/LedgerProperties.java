@@ -0,0 +1,82 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Ledger de reservas con snapshots mapeados en memoria ({@code reservas.ledger.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.ledger")
+public class LedgerProperties {
+
+    /**
+     * Índice en memoria de intervalos CONFIRMED para servir disponibilidad sin consultar Postgres.
+     * Solo para despliegues de una instancia: una segunda instancia con el ledger activo no arranca.
+     */
+    private boolean enabled = false;
+
+    /** Directorio del log y del snapshot (local a la instancia). */
+    private Path directory = Path.of("target/ledger");
+
+    /** Pausa entre snapshots; acota la cola del log que hay que reaplicar al arrancar. */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    /** Antigüedad a partir de la cual los intervalos pasados salen del índice (y se consultan en Postgres). */
+    private Duration retention = Duration.ofDays(1);
+
+    /** fsync de cada lote del log. Sin él, una caída del sistema puede perder los últimos eventos. */
+    private boolean forceWrites = true;
+
+    /** Filas por página al reconstruir desde Postgres. */
+    private int rebuildBatchSize = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public boolean isForceWrites() {
+        return forceWrites;
+    }
+
+    public void setForceWrites(boolean forceWrites) {
+        this.forceWrites = forceWrites;
+    }
+
+    public int getRebuildBatchSize() {
+        return rebuildBatchSize;
+    }
+
+    public void setRebuildBatchSize(int rebuildBatchSize) {
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.reservas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Limitadores de concurrencia adaptativos por clase de endpoint, alimentados por la latencia
+ * observada y la espera en el pool de Hikari.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+public class LoadSheddingConfig {
+
+    @Bean
+    public PoolPressure poolPressure(DataSource dataSource) {
+        HikariDataSource hikari = unwrap(dataSource, HikariDataSource.class);
+        if (hikari == null) return PoolPressure.NONE;
+        // Con la compuerta de conexiones (modo hilos virtuales) la espera ocurre en su semáforo
+        ConnectionGateDataSource gate = unwrap(dataSource, ConnectionGateDataSource.class);
+        return new PoolPressure() {
+            @Override
+            public int active() {
+                HikariPoolMXBean mx = hikari.getHikariPoolMXBean();
+                return mx == null ? 0 : mx.getActiveConnections();
+            }
+
+            @Override
+            public int waiting() {
+                HikariPoolMXBean mx = hikari.getHikariPoolMXBean();
+                int waiting = mx == null ? 0 : mx.getThreadsAwaitingConnection();
+                return gate == null ? waiting : waiting + gate.waiting();
+            }
+        };
+    }
+
+    @Bean
+    public EndpointLimiters endpointLimiters(LoadSheddingProperties props, PoolPressure poolPressure) {
+        return new EndpointLimiters(props, poolPressure);
+    }
+
+    /** Atraviesa envoltorios (compuerta, proxy de diagnóstico) vía {@link java.sql.Wrapper}. */
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        if (type.isInstance(dataSource)) return type.cast(dataSource);
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
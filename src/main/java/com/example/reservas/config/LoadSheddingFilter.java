@@ -0,0 +1,169 @@
+package com.example.reservas.config;
+
+import com.example.reservas.service.cache.CacheKeys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Descarta carga pronto cuando la base de datos se degrada.
+ *
+ * Va después de {@link RateLimitFilter}: el rate limit protege de clientes abusivos, esto protege de
+ * un backend lento. Si el limitador adaptativo de la clase de endpoint está lleno se responde 503 con
+ * Retry-After; para lecturas de disponibilidad se intenta antes servir la entrada de caché, negociada
+ * con los mismos conversores que los controladores (JSON, CBOR, Smile).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private final EndpointLimiters limiters;
+    private final LoadSheddingProperties props;
+    private final CacheManager cacheManager;
+    /** Perezoso: el adaptador de MVC se crea después que los filtros. */
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    public LoadSheddingFilter(EndpointLimiters endpointLimiters,
+                              LoadSheddingProperties props,
+                              CacheManager cacheManager,
+                              ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        this.limiters = endpointLimiters;
+        this.props = props;
+        this.cacheManager = cacheManager;
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), path);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            if (endpointClass == EndpointClass.AVAILABILITY_READ && serveCachedAvailability(request, path, response)) {
+                return;
+            }
+            serviceUnavailable(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            chain.doFilter(request, response);
+            // Los 4xx son rápidos y no dicen nada de la salud del backend
+            sample = response.getStatus() < 400 || response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, sample);
+        }
+    }
+
+    /** Responde con la disponibilidad cacheada si existe; no toca la base de datos. */
+    private boolean serveCachedAvailability(HttpServletRequest request, String path, HttpServletResponse response)
+            throws IOException {
+        try {
+            Long resourceId = resourceIdOf(request, path);
+            String date = request.getParameter("date");
+            Cache cache = cacheManager.getCache("availability");
+            if (resourceId == null || date == null || cache == null) return false;
+
+            Cache.ValueWrapper cached = cache.get(CacheKeys.availKey(resourceId, LocalDate.parse(date)));
+            if (cached == null || cached.get() == null) return false;
+
+            return writeNegotiated(request, response, cached.get());
+        } catch (RuntimeException ex) {
+            log.debug("No se pudo servir disponibilidad cacheada: {}", ex.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Escribe el valor con el primer conversor de MVC que acepte el {@code Accept} de la petición.
+     * Sin conversor compatible no responde (false) y la petición acaba en 503 como las demás.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean writeNegotiated(HttpServletRequest request, HttpServletResponse response, Object body)
+            throws IOException {
+        RequestMappingHandlerAdapter adapter = handlerAdapter.getIfAvailable();
+        if (adapter == null) return false;
+        for (MediaType accepted : acceptedMediaTypes(request)) {
+            for (HttpMessageConverter<?> converter : adapter.getMessageConverters()) {
+                if (!converter.canWrite(body.getClass(), accepted)) continue;
+                response.setStatus(200);
+                response.setHeader("X-Load-Shed", "cached");
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                ((HttpMessageConverter<Object>) converter).write(body,
+                        accepted.isConcrete() ? accepted : null, new ServletServerHttpResponse(response));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<MediaType> acceptedMediaTypes(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (!StringUtils.hasText(accept)) return List.of(MediaType.ALL);
+        try {
+            List<MediaType> types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            types.removeIf(t -> t.getQualityValue() == 0);
+            MimeTypeUtils.sortBySpecificity(types);
+            return types;
+        } catch (InvalidMediaTypeException ex) {
+            return List.of();
+        }
+    }
+
+    /** resourceId de la query (/v1/availability) o del path (/api/resources/{id}/availability). */
+    private static Long resourceIdOf(HttpServletRequest request, String path) {
+        String param = request.getParameter("resourceId");
+        if (param != null) return Long.valueOf(param);
+        String prefix = "/api/resources/";
+        if (!path.startsWith(prefix)) return null;
+        int end = path.indexOf('/', prefix.length());
+        return end < 0 ? null : Long.valueOf(path.substring(prefix.length(), end));
+    }
+
+    private void serviceUnavailable(HttpServletResponse response) throws IOException {
+        response.setStatus(503);
+        response.setHeader("Retry-After", String.valueOf(props.getRetryAfterSeconds()));
+        response.setContentType("application/json");
+        response.getWriter().write("{" +
+                "\"status\":503,\"code\":\"OVERLOADED\",\"message\":\"Servicio saturado. Intenta más tarde.\"}");
+    }
+}
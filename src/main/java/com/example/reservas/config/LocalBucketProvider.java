@@ -0,0 +1,33 @@
+package com.example.reservas.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+import java.util.function.Supplier;
+
+/**
+ * Buckets en memoria del nodo. Con N nodos tras un balanceador el límite efectivo es N veces el configurado.
+ */
+public class LocalBucketProvider implements RateLimitBucketProvider {
+
+    private final BoundedBucketStore buckets;
+
+    public LocalBucketProvider(BoundedBucketStore buckets) {
+        this.buckets = buckets;
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+        return buckets.get(key, k -> newBucket(configuration.get()));
+    }
+
+    static Bucket newBucket(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth limit : configuration.getBandwidths()) {
+            builder.addLimit(limit);
+        }
+        return builder.build();
+    }
+}
@@ -2,10 +2,16 @@ package com.example.reservas.config;
 
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.OpenAPI;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Metadatos de OpenAPI. Se desactiva junto con springdoc ({@code springdoc.api-docs.enabled=false},
+ * como en el perfil {@code prod}) para ahorrar el escaneo de controladores en el arranque.
+ */
 @Configuration
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class OpenApiConfig {
 
 	@Bean
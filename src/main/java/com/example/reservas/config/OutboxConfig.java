@@ -0,0 +1,51 @@
+package com.example.reservas.config;
+
+import com.example.reservas.outbox.FileOutboxSink;
+import com.example.reservas.outbox.InMemoryOutboxSink;
+import com.example.reservas.outbox.LoggingOutboxSink;
+import com.example.reservas.outbox.OutboxRelay;
+import com.example.reservas.outbox.OutboxSink;
+import com.example.reservas.outbox.OutboxWriter;
+import com.example.reservas.repo.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Outbox de cambios de reservas: escritor transaccional, sink y relay por lotes.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepo, ObjectMapper objectMapper, OutboxProperties props) {
+        return new OutboxWriter(outboxRepo, objectMapper, props.isEnabled());
+    }
+
+    /** Un bean {@link OutboxSink} propio (broker, webhook...) sustituye al configurado. */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties props, ObjectMapper objectMapper) {
+        return switch (props.getSink()) {
+            case LOG -> new LoggingOutboxSink();
+            case MEMORY -> new InMemoryOutboxSink();
+            case FILE -> new FileOutboxSink(props.getFile(), objectMapper);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepo, OutboxSink sink, PlatformTransactionManager txManager,
+                                   OutboxProperties props, MeterRegistry meterRegistry) {
+        OutboxProperties.Relay relay = props.getRelay();
+        return new OutboxRelay(outboxRepo, sink, new TransactionTemplate(txManager),
+                relay.getLanes(), relay.getBatchSize(), relay.getPollInterval(), meterRegistry);
+    }
+}
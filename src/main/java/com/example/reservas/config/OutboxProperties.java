@@ -0,0 +1,98 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outbox transaccional de reservas y su relay ({@code reservas.outbox.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.outbox")
+public class OutboxProperties {
+
+    public enum SinkType { LOG, MEMORY, FILE }
+
+    /** Escribir eventos en el outbox en create/cancel. */
+    private boolean enabled = true;
+
+    private final Relay relay = new Relay();
+
+    private SinkType sink = SinkType.LOG;
+
+    /** Fichero JSON Lines del sink {@code file}. */
+    private Path file = Path.of("target/outbox/events.jsonl");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Relay getRelay() {
+        return relay;
+    }
+
+    public SinkType getSink() {
+        return sink;
+    }
+
+    public void setSink(SinkType sink) {
+        this.sink = sink;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    public static class Relay {
+
+        /** Con varias instancias basta con que el relay corra en una o en todas (los carriles se reparten). */
+        private boolean enabled = true;
+
+        /** Carriles paralelos ({@code resource_id % lanes}); cada uno un hilo y una transacción por lote. */
+        private int lanes = 4;
+
+        private int batchSize = 200;
+
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLanes() {
+            return lanes;
+        }
+
+        public void setLanes(int lanes) {
+            this.lanes = lanes;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.reservas.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vigila el evento JFR {@code jdk.VirtualThreadPinned}: un hilo virtual que bloquea dentro de un
+ * bloque {@code synchronized} (o código nativo) retiene su hilo portador. Se registra el primer
+ * frame de la aplicación o de la librería responsable para poder corregirlo.
+ */
+public class PinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningMonitor.class);
+
+    private final Duration threshold;
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream stream;
+
+    public PinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        String where = "desconocido";
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                    where = type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                    break;
+                }
+            }
+        }
+        log.warn("Hilo virtual fijado {} ms en {}", event.getDuration().toMillis(), where);
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) stream.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.reservas.config;
+
+/**
+ * Presión sobre el pool de conexiones: conexiones en uso y peticiones esperando una.
+ */
+public interface PoolPressure {
+
+    int active();
+
+    int waiting();
+
+    /** Sin pool observable (p.ej. DataSource que no es Hikari): nunca señala espera. */
+    PoolPressure NONE = new PoolPressure() {
+        @Override public int active() { return 0; }
+        @Override public int waiting() { return 0; }
+    };
+}
@@ -0,0 +1,31 @@
+package com.example.reservas.config;
+
+import com.example.reservas.repo.SlotCapacityRepository;
+import com.example.reservas.service.PooledCapacityReconciler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+/**
+ * Reconciliador de los contadores de capacidad de recursos POOLED.
+ */
+@Configuration
+@EnableConfigurationProperties(PooledCapacityProperties.class)
+public class PooledCapacityConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.pooled-capacity", name = "reconcile-enabled", havingValue = "true", matchIfMissing = true)
+    public PooledCapacityReconciler pooledCapacityReconciler(SlotCapacityRepository slotRepo,
+                                                             PlatformTransactionManager txManager,
+                                                             PooledCapacityProperties props,
+                                                             MeterRegistry meterRegistry) {
+        return new PooledCapacityReconciler(slotRepo, new TransactionTemplate(txManager), props.getRetention(),
+                Clock.systemUTC(), meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Recursos de capacidad compartida ({@code reservas.pooled-capacity.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.pooled-capacity")
+public class PooledCapacityProperties {
+
+    /** Reconciliar periódicamente los contadores de slots con las reservas. */
+    private boolean reconcileEnabled = true;
+
+    /** Pausa entre pasadas del reconciliador. */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    /** Antigüedad a partir de la cual se purgan contadores de slots pasados. */
+    private Duration retention = Duration.ofDays(2);
+
+    public boolean isReconcileEnabled() {
+        return reconcileEnabled;
+    }
+
+    public void setReconcileEnabled(boolean reconcileEnabled) {
+        this.reconcileEnabled = reconcileEnabled;
+    }
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.reservas.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.function.Supplier;
+
+/**
+ * Origen de los buckets de Bucket4j que usa {@link RateLimitFilter}.
+ * La implementación decide dónde vive el estado (memoria local o Redis).
+ */
+public interface RateLimitBucketProvider {
+
+    /**
+     * Devuelve el bucket para la clave, creándolo con {@code configuration} si no existe.
+     */
+    Bucket resolve(String key, Supplier<BucketConfiguration> configuration);
+}
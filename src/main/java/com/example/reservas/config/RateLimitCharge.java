@@ -0,0 +1,27 @@
+package com.example.reservas.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Tokens adicionales del bucket de la regla que admitió la petición, para endpoints cuyo coste depende
+ * del cuerpo (p.ej. una serie cuesta tantos tokens como ocurrencias). {@link RateLimitFilter} ya consumió
+ * uno; el controlador cobra el resto cuando conoce el coste, antes de escribir nada.
+ */
+@FunctionalInterface
+public interface RateLimitCharge {
+
+    /** Atributo de la petición con el cargo de la regla (ausente si ninguna regla de ruta casó). */
+    String ATTRIBUTE = RateLimitCharge.class.getName();
+
+    /** Consume {@code tokens}; devuelve 0 si se admiten o los segundos hasta que haya suficientes. */
+    long tryConsume(long tokens);
+
+    /** Cobra {@code tokens} más a la regla de la petición o lanza {@link RateLimitedException}. */
+    static void charge(HttpServletRequest request, long tokens) {
+        if (tokens <= 0) return;
+        if (request.getAttribute(ATTRIBUTE) instanceof RateLimitCharge charge) {
+            long waitSeconds = charge.tryConsume(tokens);
+            if (waitSeconds > 0) throw new RateLimitedException(waitSeconds);
+        }
+    }
+}
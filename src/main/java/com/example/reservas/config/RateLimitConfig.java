@@ -1,12 +1,43 @@
 package com.example.reservas.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
 /**
- * Placeholder for rate limit configuration.
- * The project ya incluye Bucket4j en `pom.xml`; aquí se pueden añadir filtros o beans que integren Bucket4j.
+ * Configuración de rate limiting (Bucket4j).
+ *
+ * {@code reservas.rate-limit.mode=local} (por defecto) mantiene los buckets en memoria del nodo;
+ * {@code reservas.rate-limit.mode=redis} los comparte entre todos los nodos vía Redis.
+ * Los límites por ruta, método y tenant se declaran en {@code reservas.rate-limit.rules}.
  */
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitConfig {
 
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.rate-limit", name = "mode", havingValue = "local", matchIfMissing = true)
+    public RateLimitBucketProvider localBucketProvider(RateLimitProperties properties) {
+        return new LocalBucketProvider(new BoundedBucketStore(properties.getStore()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.rate-limit", name = "mode", havingValue = "redis")
+    public RateLimitBucketProvider redisBucketProvider(LettuceConnectionFactory connectionFactory,
+                                                      RateLimitProperties properties) {
+        return new RedisBucketProvider(connectionFactory.getRequiredNativeClient(), properties.getRedis(),
+                new BoundedBucketStore(properties.getStore()));
+    }
+
+    @Bean
+    public RateLimitPolicies rateLimitPolicies(RateLimitProperties properties) {
+        return new RateLimitPolicies(properties);
+    }
+
+    @Bean
+    public ClientIpResolver clientIpResolver(RateLimitProperties properties) {
+        return new ClientIpResolver(properties.getTrustedProxies());
+    }
 }
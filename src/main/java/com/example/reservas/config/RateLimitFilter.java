@@ -1,80 +1,114 @@
 package com.example.reservas.config;
 
-import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 10)
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> globalBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> hotBuckets = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
 
-    private Bucket newGlobalBucket() {
-        Bandwidth limit = Bandwidth.classic(100, Refill.greedy(100, Duration.ofMinutes(1)));
-        return Bucket.builder().addLimit(limit).build();
-    }
+    /** Etiqueta "rule" del límite global por IP. */
+    private static final String DEFAULT_RULE = "default";
+
+    private final RateLimitBucketProvider buckets;
+    private final ClientIpResolver clientIpResolver;
+    private final RateLimitPolicies policies;
+    private final MeterRegistry meterRegistry;
+    /** Contadores por "regla|resultado"; las reglas son finitas (configuración), no crece sin límite. */
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
 
-    private Bucket newHotBucket() {
-        Bandwidth limit = Bandwidth.classic(20, Refill.greedy(20, Duration.ofMinutes(1)));
-        return Bucket.builder().addLimit(limit).build();
+    public RateLimitFilter(RateLimitBucketProvider buckets, ClientIpResolver clientIpResolver,
+                           RateLimitPolicies policies, MeterRegistry meterRegistry) {
+        this.buckets = buckets;
+        this.clientIpResolver = clientIpResolver;
+        this.policies = policies;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
-        String ip = extractClientIp(request);
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        boolean isHot = ("/v1/availability".equals(path) && "GET".equalsIgnoreCase(method))
-                     || ("/v1/reservations".equals(path) && "POST".equalsIgnoreCase(method));
+        String ip = clientIpResolver.resolve(request);
+        String path = request.getRequestURI().substring(request.getContextPath().length());
 
-        // Hot bucket primero
-        if (isHot) {
-            String key = ip + "|HOT";
-            Bucket b = hotBuckets.computeIfAbsent(key, k -> newHotBucket());
-            if (!b.tryConsume(1)) {
-                tooMany(response, 60);
+        // Regla de ruta primero (la más específica para ruta + método)
+        RateLimitPolicies.RoutePolicy route = policies.match(request.getMethod(), path);
+        if (route != null) {
+            String tenant = route.tenantOf(request, ip);
+            Bucket b = buckets.resolve(route.bucketKey(tenant), () -> route.configurationFor(tenant));
+            long waitSeconds = tryConsume(b, route.id(), 1);
+            if (waitSeconds > 0) {
+                count(route.id(), "rejected");
+                tooMany(response, waitSeconds);
                 return;
             }
+            request.setAttribute(RateLimitCharge.ATTRIBUTE, (RateLimitCharge) tokens -> {
+                long wait = tryConsume(b, route.id(), tokens);
+                if (wait > 0) count(route.id(), "rejected");
+                return wait;
+            });
         }
 
         // Global bucket
         String gkey = ip + "|GLOBAL";
-        Bucket gb = globalBuckets.computeIfAbsent(gkey, k -> newGlobalBucket());
-        if (!gb.tryConsume(1)) {
-            tooMany(response, 60);
+        Bucket gb = buckets.resolve(gkey, policies::defaultLimit);
+        long waitSeconds = tryConsume(gb, DEFAULT_RULE, 1);
+        if (waitSeconds > 0) {
+            count(DEFAULT_RULE, "rejected");
+            tooMany(response, waitSeconds);
             return;
         }
 
+        count(route != null ? route.id() : DEFAULT_RULE, "accepted");
         chain.doFilter(request, response);
     }
 
-    private String extractClientIp(HttpServletRequest request) {
-        String xf = request.getHeader("X-Forwarded-For");
-        if (xf != null && !xf.isBlank()) {
-            return xf.split(",")[0].trim();
+    /**
+     * Consume {@code tokens}; devuelve 0 si se admiten o los segundos hasta que haya suficientes.
+     * Con buckets remotos un fallo o timeout de Redis no debe tumbar la API: se admite la petición.
+     */
+    private long tryConsume(Bucket bucket, String rule, long tokens) {
+        try {
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
+            if (probe.isConsumed()) return 0;
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1);
+        } catch (RuntimeException ex) {
+            count(rule, "fail_open");
+            log.warn("Rate limit no disponible, se admite la petición: {}", ex.toString());
+            return 0;
         }
-        return request.getRemoteAddr();
     }
 
-    private void tooMany(HttpServletResponse response, int retryAfterSeconds) throws IOException {
+    /** reservas.ratelimit.requests{rule, outcome=accepted|rejected|fail_open} */
+    private void count(String rule, String outcome) {
+        counters.computeIfAbsent(rule + '|' + outcome, k -> Counter.builder("reservas.ratelimit.requests")
+                .description("Peticiones evaluadas por el rate limiter")
+                .tag("rule", rule)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+
+    private void tooMany(HttpServletResponse response, long retryAfterSeconds) throws IOException {
         response.setStatus(429);
         response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
         response.setContentType("application/json");
@@ -0,0 +1,184 @@
+package com.example.reservas.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Políticas de rate limiting compiladas a partir de {@link RateLimitProperties}.
+ *
+ * Las reglas se indexan una sola vez en un {@link RoutePatternMatcher}; por petición solo se recorre
+ * la ruta y se elige la regla más específica que admita el método.
+ */
+public class RateLimitPolicies {
+
+    static final String API_KEY_HEADER = "X-Api-Key";
+
+    private final BucketConfiguration defaultLimit;
+    private final RoutePatternMatcher<RoutePolicy> matcher;
+
+    public RateLimitPolicies(RateLimitProperties props) {
+        this.defaultLimit = toConfiguration(props.getDefaultLimit());
+        checkIdleExpiry(props);
+
+        RoutePatternMatcher.Builder<RoutePolicy> builder = RoutePatternMatcher.builder();
+        Set<String> ids = new HashSet<>();
+        for (RateLimitProperties.Rule rule : props.getRules()) {
+            if (rule.getId() == null || rule.getPattern() == null) {
+                throw new IllegalArgumentException("Cada regla de rate limit necesita id y pattern");
+            }
+            if (!ids.add(rule.getId())) {
+                throw new IllegalArgumentException("Id de regla duplicado: " + rule.getId());
+            }
+            builder.add(rule.getPattern(), new RoutePolicy(rule));
+        }
+        this.matcher = builder.build();
+    }
+
+    public BucketConfiguration defaultLimit() {
+        return defaultLimit;
+    }
+
+    /** Regla más específica para la petición, o null si ninguna aplica. */
+    public RoutePolicy match(String method, String path) {
+        for (RoutePolicy policy : matcher.match(path)) {
+            if (policy.allows(method)) return policy;
+        }
+        return null;
+    }
+
+    /**
+     * En modo local el bucket solo vive en el {@link BoundedBucketStore}: si se desaloja por inactividad antes
+     * de recargarse, vuelve lleno y el límite se reinicia antes de tiempo. En modo Redis el store solo guarda
+     * proxies y el estado sigue en Redis.
+     */
+    private static void checkIdleExpiry(RateLimitProperties props) {
+        if (props.getMode() != RateLimitProperties.Mode.LOCAL) return;
+        Duration idleExpiry = props.getStore().getIdleExpiry();
+        List<Map.Entry<String, RateLimitProperties.Limit>> limits = new ArrayList<>();
+        limits.add(Map.entry("default-limit", props.getDefaultLimit()));
+        for (RateLimitProperties.Rule rule : props.getRules()) {
+            limits.add(Map.entry(String.valueOf(rule.getId()), rule));
+            rule.getOverrides().forEach((tenant, limit) -> limits.add(Map.entry(rule.getId() + "[" + tenant + "]", limit)));
+        }
+        for (Map.Entry<String, RateLimitProperties.Limit> limit : limits) {
+            if (idleExpiry.compareTo(limit.getValue().getPeriod()) < 0) {
+                throw new IllegalArgumentException("store.idle-expiry (%s) debe ser >= al periodo de %s (%s)"
+                        .formatted(idleExpiry, limit.getKey(), limit.getValue().getPeriod()));
+            }
+        }
+    }
+
+    static BucketConfiguration toConfiguration(RateLimitProperties.Limit limit) {
+        if (limit.getCapacity() <= 0) {
+            throw new IllegalArgumentException("capacity debe ser > 0");
+        }
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(limit.getCapacity())
+                        .refillGreedy(limit.getCapacity(), limit.getPeriod())
+                        .build())
+                .build();
+    }
+
+    public static final class RoutePolicy {
+        private final String id;
+        private final Set<String> methods;
+        private final RateLimitProperties.Tenant tenant;
+        private final BucketConfiguration configuration;
+        private final Map<String, BucketConfiguration> overrides;
+
+        RoutePolicy(RateLimitProperties.Rule rule) {
+            this.id = rule.getId();
+            Set<String> m = new HashSet<>();
+            for (String method : rule.getMethods()) m.add(method.toUpperCase(Locale.ROOT));
+            this.methods = Set.copyOf(m);
+            this.tenant = rule.getTenant();
+            this.configuration = toConfiguration(rule);
+            Map<String, BucketConfiguration> o = new HashMap<>();
+            rule.getOverrides().forEach((k, v) -> o.put(prefix(tenant) + k, toConfiguration(v)));
+            this.overrides = Map.copyOf(o);
+        }
+
+        public String id() {
+            return id;
+        }
+
+        boolean allows(String method) {
+            return methods.isEmpty() || methods.contains(method.toUpperCase(Locale.ROOT));
+        }
+
+        /**
+         * Clave de tenant para la petición, con prefijo por tipo ({@code key:}, {@code biz:}, {@code ip:}) para que
+         * un valor enviado por el cliente nunca coincida con la clave de otro tipo.
+         *
+         * Solo los tenants conocidos (los declarados en {@code overrides}) tienen bucket propio. Un valor
+         * desconocido, o ninguno, cae a la IP del cliente: rotar la API key o el businessId en cada petición
+         * no da un bucket nuevo.
+         */
+        public String tenantOf(HttpServletRequest request, String clientIp) {
+            String value = switch (tenant) {
+                case CLIENT_IP -> null;
+                case API_KEY -> request.getHeader(API_KEY_HEADER);
+                case BUSINESS -> businessIdOf(request);
+            };
+            if (value != null) {
+                String key = prefix(tenant) + value.trim();
+                if (overrides.containsKey(key)) return key;
+            }
+            return prefix(RateLimitProperties.Tenant.CLIENT_IP) + clientIp;
+        }
+
+        public String bucketKey(String tenantValue) {
+            return id + "|" + tenantValue;
+        }
+
+        public BucketConfiguration configurationFor(String tenantValue) {
+            BucketConfiguration override = overrides.get(tenantValue);
+            return override != null ? override : configuration;
+        }
+
+        private static String prefix(RateLimitProperties.Tenant tenant) {
+            return switch (tenant) {
+                case CLIENT_IP -> "ip:";
+                case API_KEY -> "key:";
+                case BUSINESS -> "biz:";
+            };
+        }
+
+        /**
+         * {@code businessId} de la query o el segmento que sigue a {@code /businesses/} en la ruta.
+         * Lee la query string en bruto: {@code getParameter} en un filtro consumiría un cuerpo form-encoded.
+         */
+        private static String businessIdOf(HttpServletRequest request) {
+            String param = queryParam(request.getQueryString(), "businessId");
+            if (param != null) return param;
+            String path = request.getRequestURI();
+            int idx = path.indexOf("/businesses/");
+            if (idx < 0) return null;
+            int start = idx + "/businesses/".length();
+            int end = path.indexOf('/', start);
+            return path.substring(start, end < 0 ? path.length() : end);
+        }
+
+        private static String queryParam(String query, String name) {
+            if (query == null) return null;
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq == name.length() && pair.startsWith(name)) {
+                    try {
+                        return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propiedades de rate limiting ({@code reservas.rate-limit.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.rate-limit")
+public class RateLimitProperties {
+
+    public enum Mode { LOCAL, REDIS }
+
+    /** De dónde sale la clave de tenant de una regla. */
+    public enum Tenant { CLIENT_IP, API_KEY, BUSINESS }
+
+    /** LOCAL: buckets en memoria del nodo. REDIS: estado compartido entre nodos. */
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * Proxies (IP o CIDR) cuyo X-Forwarded-For se acepta. Sin entradas, la cabecera se ignora.
+     */
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.1/32", "::1/128"));
+
+    /** Límite global por IP de cliente, aplicado a todas las peticiones. */
+    private Limit defaultLimit = new Limit(100, Duration.ofMinutes(1));
+
+    /** Reglas por ruta; a cada petición se le aplica la más específica que case en ruta y método. */
+    private List<Rule> rules = new ArrayList<>();
+
+    private final Store store = new Store();
+
+    private final Redis redis = new Redis();
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public static class Limit {
+        private long capacity;
+        private Duration period = Duration.ofMinutes(1);
+
+        public Limit() {}
+
+        public Limit(long capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+    }
+
+    public static class Rule extends Limit {
+        /** Identificador estable; forma parte de la clave del bucket. */
+        private String id;
+
+        /** Patrón de ruta: literales, {@code *} / {@code {var}} por segmento y {@code **} final. */
+        private String pattern;
+
+        /** Métodos HTTP a los que aplica; vacío = todos. */
+        private List<String> methods = new ArrayList<>();
+
+        private Tenant tenant = Tenant.CLIENT_IP;
+
+        /**
+         * Límites específicos por valor de tenant (API key o id de negocio). Son también la lista de tenants
+         * conocidos: un valor que no aparece aquí se limita por IP de cliente.
+         */
+        private Map<String, Limit> overrides = new LinkedHashMap<>();
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public Tenant getTenant() {
+            return tenant;
+        }
+
+        public void setTenant(Tenant tenant) {
+            this.tenant = tenant;
+        }
+
+        public Map<String, Limit> getOverrides() {
+            return overrides;
+        }
+
+        public void setOverrides(Map<String, Limit> overrides) {
+            this.overrides = overrides;
+        }
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public static class Store {
+        /** Número máximo de buckets en memoria por nodo. */
+        private long maxSize = 100_000;
+
+        /**
+         * Un bucket sin uso durante este tiempo se descarta. En modo local debe ser >= al periodo de todas las
+         * reglas y del límite global ({@link RateLimitPolicies} lo comprueba al arrancar).
+         */
+        private Duration idleExpiry = Duration.ofMinutes(2);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getIdleExpiry() {
+            return idleExpiry;
+        }
+
+        public void setIdleExpiry(Duration idleExpiry) {
+            this.idleExpiry = idleExpiry;
+        }
+    }
+
+    public static class Redis {
+        /** Prefijo de las claves de bucket en Redis. */
+        private String keyPrefix = "rl:";
+
+        /**
+         * Tokens que un nodo puede consumir localmente antes de sincronizar con Redis.
+         * 0 desactiva el pre-fetch (cada petición hace un round trip).
+         */
+        private long prefetchTokens = 5;
+
+        /** Tiempo máximo que el consumo local puede ir sin sincronizar con Redis. */
+        private Duration prefetchMaxDelay = Duration.ofMillis(250);
+
+        /** Timeout de cada comando contra Redis; si se supera, la petición se admite (fail-open). */
+        private Duration requestTimeout = Duration.ofMillis(200);
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public long getPrefetchTokens() {
+            return prefetchTokens;
+        }
+
+        public void setPrefetchTokens(long prefetchTokens) {
+            this.prefetchTokens = prefetchTokens;
+        }
+
+        public Duration getPrefetchMaxDelay() {
+            return prefetchMaxDelay;
+        }
+
+        public void setPrefetchMaxDelay(Duration prefetchMaxDelay) {
+            this.prefetchMaxDelay = prefetchMaxDelay;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.reservas.config;
+
+/** Límite de peticiones excedido fuera del filtro (cargos de {@link RateLimitCharge}); se responde 429. */
+public class RateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(long retryAfterSeconds) {
+        super("Límite de peticiones excedido. Intenta más tarde.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
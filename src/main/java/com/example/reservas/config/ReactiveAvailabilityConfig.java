@@ -0,0 +1,71 @@
+package com.example.reservas.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Infraestructura de la ruta reactiva de disponibilidad.
+ *
+ * Se construye a mano (y la autoconfiguración R2DBC de Boot está excluida) para que el pool R2DBC
+ * conviva con JPA sin registrar un segundo TransactionManager: esta ruta es de solo lectura.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveAvailabilityProperties.class)
+@ConditionalOnProperty(prefix = "reservas.reactive", name = "enabled", havingValue = "true")
+public class ReactiveAvailabilityConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool r2dbcConnectionPool(ReactiveAvailabilityProperties props, DataSourceProperties dataSource) {
+        String url = props.getR2dbcUrl() != null ? props.getR2dbcUrl() : toR2dbcUrl(dataSource.determineUrl());
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (dataSource.determineUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, dataSource.determineUsername());
+        }
+        if (dataSource.determinePassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, dataSource.determinePassword());
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .maxSize(props.getPoolMaxSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient availabilityDatabaseClient(ConnectionPool r2dbcConnectionPool) {
+        return DatabaseClient.create(r2dbcConnectionPool);
+    }
+
+    /** Lee y escribe las mismas entradas que el RedisCacheManager ("availability::avail:..."). */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> availabilityReactiveRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory,
+            GenericJackson2JsonRedisSerializer cacheValueSerializer) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(cacheValueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalStateException("No se puede derivar la URL R2DBC de: " + jdbcUrl);
+        }
+        String url = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ruta reactiva de disponibilidad ({@code reservas.reactive.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.reactive")
+public class ReactiveAvailabilityProperties {
+
+    /** Expone los endpoints reactivos de disponibilidad (Redis reactivo + R2DBC). */
+    private boolean enabled = false;
+
+    /** URL R2DBC; vacía = se deriva de spring.datasource.url (jdbc:postgresql → r2dbc:postgresql). */
+    private String r2dbcUrl;
+
+    private int poolMaxSize = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getR2dbcUrl() {
+        return r2dbcUrl;
+    }
+
+    public void setR2dbcUrl(String r2dbcUrl) {
+        this.r2dbcUrl = r2dbcUrl;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public void setPoolMaxSize(int poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+}
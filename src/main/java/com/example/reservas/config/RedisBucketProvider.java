@@ -0,0 +1,89 @@
+package com.example.reservas.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.redis.lettuce.Bucket4jLettuce;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Buckets compartidos entre nodos, con estado en Redis.
+ *
+ * Bucket4j actualiza el estado con compare-and-swap atómico (script Lua) sobre la clave del bucket.
+ * Para que el round trip no penalice cada petición, los proxies aplican la optimización
+ * "delaying": cada nodo consume hasta {@code prefetchTokens} localmente y sincroniza el lote
+ * con Redis al agotarlo o al superar {@code prefetchMaxDelay}. Las peticiones concurrentes
+ * sobre la misma clave además se agrupan en un único comando.
+ * El coste es un sobreconsumo acotado a {@code prefetchTokens} por nodo y ventana.
+ */
+public class RedisBucketProvider implements RateLimitBucketProvider, DisposableBean {
+
+    private final StatefulConnection<String, byte[]> connection;
+    private final ProxyManager<String> proxyManager;
+    private final RemoteBucketBuilder<String> bucketBuilder;
+    private final String keyPrefix;
+    // Los proxies guardan el estado del pre-fetch, así que se reutilizan por clave
+    private final BoundedBucketStore proxies;
+
+    public RedisBucketProvider(AbstractRedisClient client, RateLimitProperties.Redis props, BoundedBucketStore proxies) {
+        this.proxies = proxies;
+        RedisCodec<String, byte[]> codec = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+        // Las claves expiran cuando el bucket se rellenaría por completo: no dejan basura en Redis
+        ExpirationAfterWriteStrategy expiration =
+                ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10));
+
+        if (client instanceof RedisClusterClient cluster) {
+            StatefulRedisClusterConnection<String, byte[]> c = cluster.connect(codec);
+            this.connection = c;
+            this.proxyManager = Bucket4jLettuce.casBasedBuilder(c)
+                    .expirationAfterWrite(expiration)
+                    .requestTimeout(props.getRequestTimeout())
+                    .build();
+        } else if (client instanceof RedisClient standalone) {
+            StatefulRedisConnection<String, byte[]> c = standalone.connect(codec);
+            this.connection = c;
+            this.proxyManager = Bucket4jLettuce.casBasedBuilder(c)
+                    .expirationAfterWrite(expiration)
+                    .requestTimeout(props.getRequestTimeout())
+                    .build();
+        } else {
+            throw new IllegalStateException("Cliente Redis no soportado: " + client.getClass().getName());
+        }
+
+        RemoteBucketBuilder<String> builder = proxyManager.builder();
+        if (props.getPrefetchTokens() > 0) {
+            builder = builder.withOptimization(Optimizations.delaying(
+                    new DelayParameters(props.getPrefetchTokens(), props.getPrefetchMaxDelay())));
+        } else {
+            builder = builder.withOptimization(Optimizations.batching());
+        }
+        this.bucketBuilder = builder;
+        this.keyPrefix = props.getKeyPrefix();
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+        return proxies.get(key, k -> bucketBuilder.build(keyPrefix + k, configuration));
+    }
+
+    @Override
+    public void destroy() {
+        connection.close();
+    }
+}
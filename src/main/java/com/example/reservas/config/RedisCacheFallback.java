@@ -0,0 +1,196 @@
+package com.example.reservas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Lo que la caché hace cuando Redis no está disponible (breaker abierto o llamada fallida).
+ *
+ * <ul>
+ *   <li>Lecturas y escrituras van a una caché local Caffeine pequeña y de TTL corto: cada instancia
+ *       sigue sirviendo sus propios aciertos en lugar de recalcular en cada petición.</li>
+ *   <li>Las evicciones se aplican en local y se encolan (sin duplicados) para reenviarlas a Redis
+ *       cuando el breaker se cierre; si no, otras instancias seguirían leyendo entradas obsoletas
+ *       hasta su TTL. Si la cola se llena, al recuperar se limpia la caché entera afectada.</li>
+ * </ul>
+ * Al cerrarse el breaker se vacía la caché local (solo vale mientras Redis falta) y se reenvía la cola.
+ */
+public class RedisCacheFallback {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheFallback.class);
+
+    private record LocalKey(String cache, ByteBuffer key) {}
+
+    /** Evicción pendiente: una clave o, con {@code pattern}, un patrón de {@code clean}. */
+    private record Pending(String cache, ByteBuffer key, boolean pattern) {}
+
+    private final Cache<LocalKey, byte[]> local;
+    private final RedisCacheWriter replayWriter;
+    private final RedisCircuitBreaker breaker;
+    private final Executor replayExecutor;
+    private final int maxPending;
+
+    // ReentrantLock: no fija hilos virtuales
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashSet<Pending> pending = new LinkedHashSet<>();
+    private final Set<String> overflowedCaches = new TreeSet<>();
+
+    public RedisCacheFallback(RedisCacheWriter replayWriter, RedisCircuitBreaker breaker, Executor replayExecutor,
+                              long localMaxEntries, Duration localTtl, int maxPending, MeterRegistry meterRegistry) {
+        this.replayWriter = replayWriter;
+        this.breaker = breaker;
+        this.replayExecutor = replayExecutor;
+        this.maxPending = maxPending;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfterWrite(localTtl)
+                .build();
+        breaker.addCloseListener(() -> {
+            local.invalidateAll();
+            replayExecutor.execute(this::replay);
+        });
+        Gauge.builder("reservas.cache.fallback.pending-evictions", this, RedisCacheFallback::pendingEvictions)
+                .description("Evicciones pendientes de reenviar a Redis").register(meterRegistry);
+        Gauge.builder("reservas.cache.fallback.local-entries", local, Cache::estimatedSize)
+                .description("Entradas en la caché local de respaldo").register(meterRegistry);
+    }
+
+    public byte[] get(String cache, byte[] key) {
+        return local.getIfPresent(localKey(cache, key));
+    }
+
+    /** Para cachés {@code sync=true}: sin Redis, el cargador se ejecuta una vez por clave y se guarda en local. */
+    public byte[] get(String cache, byte[] key, Supplier<byte[]> loader) {
+        return local.get(localKey(cache, key), k -> loader.get());
+    }
+
+    public void put(String cache, byte[] key, byte[] value) {
+        local.put(localKey(cache, key), value);
+    }
+
+    public byte[] putIfAbsent(String cache, byte[] key, byte[] value) {
+        return local.asMap().putIfAbsent(localKey(cache, key), value);
+    }
+
+    /** Evicción que Redis no ha recibido: se aplica en local y queda pendiente de reenvío. */
+    public void evicted(String cache, byte[] key) {
+        local.invalidate(localKey(cache, key));
+        enqueue(new Pending(cache, ByteBuffer.wrap(key.clone()), false));
+    }
+
+    /** Limpieza por patrón que Redis no ha recibido (p.ej. {@code allEntries}). */
+    public void cleaned(String cache, byte[] pattern) {
+        local.asMap().keySet().removeIf(k -> k.cache().equals(cache));
+        enqueue(new Pending(cache, ByteBuffer.wrap(pattern.clone()), true));
+    }
+
+    public int pendingEvictions() {
+        lock.lock();
+        try {
+            return pending.size() + overflowedCaches.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long localEntries() {
+        return local.estimatedSize();
+    }
+
+    private void enqueue(Pending p) {
+        lock.lock();
+        try {
+            if (overflowedCaches.contains(p.cache())) return;
+            if (pending.size() >= maxPending) {
+                // Sin sitio: al recuperar se limpiará la caché entera, que cubre esta evicción y las demás
+                overflowedCaches.add(p.cache());
+                pending.removeIf(q -> q.cache().equals(p.cache()));
+                return;
+            }
+            pending.add(p);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reenvía las evicciones pendientes. Cada una pasa por el breaker: si Redis vuelve a fallar, la
+     * pendiente y las siguientes se quedan en la cola para la próxima recuperación.
+     */
+    void replay() {
+        List<Pending> batch;
+        Set<String> flush;
+        lock.lock();
+        try {
+            batch = new ArrayList<>(pending);
+            flush = new TreeSet<>(overflowedCaches);
+            pending.clear();
+            overflowedCaches.clear();
+        } finally {
+            lock.unlock();
+        }
+        int done = 0;
+        for (String cache : flush) {
+            byte[] all = (cache + "::*").getBytes(StandardCharsets.UTF_8);
+            if (!send(new Pending(cache, ByteBuffer.wrap(all), true))) {
+                requeue(batch, done, flush);
+                return;
+            }
+        }
+        for (Pending p : batch) {
+            if (!send(p)) {
+                requeue(batch, done, Set.of());
+                return;
+            }
+            done++;
+        }
+        if (!batch.isEmpty() || !flush.isEmpty()) {
+            log.info("Caché: {} evicciones y {} limpiezas completas reenviadas a Redis", batch.size(), flush.size());
+        }
+    }
+
+    private boolean send(Pending p) {
+        byte[] bytes = p.key().array();
+        return breaker.execute(() -> {
+            if (p.pattern()) replayWriter.clean(p.cache(), bytes);
+            else replayWriter.remove(p.cache(), bytes);
+            return true;
+        }, () -> false);
+    }
+
+    private void requeue(List<Pending> batch, int from, Set<String> flush) {
+        lock.lock();
+        try {
+            overflowedCaches.addAll(flush);
+            // Las pendientes originales van delante de las que llegaron durante el reenvío
+            LinkedHashSet<Pending> merged = new LinkedHashSet<>(batch.subList(from, batch.size()));
+            merged.addAll(pending);
+            pending.clear();
+            pending.addAll(merged);
+        } finally {
+            lock.unlock();
+        }
+        log.warn("Caché: reenvío de evicciones interrumpido, {} pendientes", pendingEvictions());
+    }
+
+    private static LocalKey localKey(String cache, byte[] key) {
+        return new LocalKey(cache, ByteBuffer.wrap(key));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.reservas.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker de las llamadas a Redis de la caché.
+ *
+ * CLOSED: todas las llamadas pasan; {@code failureThreshold} fallos seguidos (excepción o llamada más
+ * lenta que {@code slowCallThreshold}) lo abren. OPEN: ninguna llamada pasa y se usa el fallback;
+ * pasado {@code openDuration} deja pasar una sola llamada de prueba (HALF_OPEN). Si la prueba va bien
+ * se cierra y se avisa a los listeners (reenvío de evicciones pendientes); si no, vuelve a OPEN.
+ */
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+    private final AtomicLong timesOpened = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter openedCounter;
+    private final Counter rejectedCounter;
+
+    public RedisCircuitBreaker(int failureThreshold, Duration slowCallThreshold, Duration openDuration,
+                               LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        if (failureThreshold < 1) throw new IllegalArgumentException("failureThreshold debe ser >= 1");
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        Gauge.builder("reservas.cache.breaker.state", () -> state.get().ordinal())
+                .description("Estado del circuit breaker de Redis (0 CLOSED, 1 OPEN, 2 HALF_OPEN)")
+                .register(meterRegistry);
+        this.openedCounter = Counter.builder("reservas.cache.breaker.opened")
+                .description("Veces que el circuit breaker de Redis se ha abierto").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("reservas.cache.breaker.short-circuited")
+                .description("Operaciones de caché servidas por el fallback sin llamar a Redis").register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta {@code call} si el breaker lo permite; si está abierto o la llamada falla, devuelve
+     * {@code fallback}. Las excepciones de {@code call} cuentan como fallo y no se propagan, salvo
+     * {@link Bypass}, que se propaga sin contar como éxito ni como fallo (si era la llamada de prueba,
+     * el breaker vuelve a OPEN y espera otro {@code openDuration}).
+     */
+    public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+        if (!tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            rejectedCounter.increment();
+            return fallback.get();
+        }
+        long t0 = nanoClock.getAsLong();
+        T result;
+        try {
+            result = call.get();
+        } catch (Bypass e) {
+            abandonProbe();
+            throw e;
+        } catch (RuntimeException e) {
+            onFailure();
+            return fallback.get();
+        }
+        if (nanoClock.getAsLong() - t0 > slowCallNanos) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+        return result;
+    }
+
+    /**
+     * Variante para llamadas no bloqueantes (p.ej. {@code ReactiveRedisTemplate}): devuelve un permiso
+     * para informar del resultado cuando la llamada termine, o null si el breaker no la deja pasar
+     * (y entonces hay que usar el fallback).
+     */
+    public Permit tryPermit() {
+        if (!tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            rejectedCounter.increment();
+            return null;
+        }
+        return new Permit(nanoClock.getAsLong());
+    }
+
+    /** Resultado de una llamada admitida por {@link #tryPermit()}; solo cuenta el primer aviso. */
+    public final class Permit {
+        private final long startedAt;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Permit(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public void succeeded() {
+            if (!finished.compareAndSet(false, true)) return;
+            if (nanoClock.getAsLong() - startedAt > slowCallNanos) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+        }
+
+        public void failed() {
+            if (finished.compareAndSet(false, true)) onFailure();
+        }
+
+        /** La llamada se canceló sin resultado: no dice nada de Redis (como {@link Bypass}). */
+        public void abandoned() {
+            if (finished.compareAndSet(false, true)) abandonProbe();
+        }
+    }
+
+    /** Excepción ajena a Redis (p.ej. del cargador de un {@code @Cacheable(sync = true)}). */
+    public static final class Bypass extends RuntimeException {
+        public Bypass(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    public void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    public int consecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long timesOpened() {
+        return timesOpened.get();
+    }
+
+    public long shortCircuited() {
+        return shortCircuited.get();
+    }
+
+    private boolean tryAcquire() {
+        State s = state.get();
+        if (s == State.CLOSED) return true;
+        if (s == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            // Una sola llamada de prueba: la que gana el CAS
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    /**
+     * La llamada de prueba terminó sin decir nada de Redis (p.ej. falló el cargador): sin esto el
+     * breaker se quedaría en HALF_OPEN para siempre, porque solo se admite una prueba.
+     */
+    private void abandonProbe() {
+        if (state.get() != State.HALF_OPEN) return;
+        openedAt = nanoClock.getAsLong();
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            for (Runnable listener : closeListeners) listener.run();
+        }
+    }
+
+    private void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        State s = state.get();
+        if (s == State.OPEN || (s == State.CLOSED && failures < failureThreshold)) return;
+        // openedAt antes del CAS: quien vea OPEN ya ve el instante de apertura (solo se lee en OPEN)
+        openedAt = nanoClock.getAsLong();
+        if (state.compareAndSet(s, State.OPEN)) {
+            timesOpened.incrementAndGet();
+            openedCounter.increment();
+        }
+    }
+}
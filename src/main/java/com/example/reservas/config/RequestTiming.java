@@ -0,0 +1,78 @@
+package com.example.reservas.config;
+
+/**
+ * Tiempos acumulados de una petición por fase (base de datos, caché, serialización).
+ *
+ * Solo existe para las peticiones muestreadas: el resto ve {@link #current()} == null y los
+ * interceptores no toman tiempos ni reservan memoria. Se asocia al hilo que procesa la petición;
+ * las partes que se ejecutan en otros hilos (p.ej. event loops reactivos) no se contabilizan.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        DB("db", "Repositorios (SQL + hidratación)"),
+        CACHE("cache", "Redis (caché)"),
+        SERIALIZATION("ser", "Conversores HTTP (Jackson)");
+
+        final String metric;
+        final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+
+    /** Contexto de la petición en curso, o null si no se está midiendo. */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /** Suma una llamada. Las llamadas anidadas de la misma fase (p.ej. un repositorio que llama a otro) se suman dos veces. */
+    public void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        counts[phase.ordinal()]++;
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /** Valor de la cabecera Server-Timing, p.ej. {@code db;dur=4.21;desc="3", cache;dur=0.80;desc="1", total;dur=7.02}. */
+    String toServerTiming() {
+        StringBuilder sb = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            int i = phase.ordinal();
+            if (counts[i] == 0) continue;
+            sb.append(phase.metric).append(";dur=").append(millis(nanos[i]))
+              .append(";desc=\"").append(counts[i]).append("\", ");
+        }
+        return sb.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    static String millis(long nanos) {
+        return String.format(java.util.Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
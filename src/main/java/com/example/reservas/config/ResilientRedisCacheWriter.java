@@ -0,0 +1,159 @@
+package com.example.reservas.config;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCacheWriter} que protege la caché de una caída o un pico de latencia de Redis.
+ *
+ * Cada operación síncrona pasa por el {@link RedisCircuitBreaker} (con timeouts de comando cortos en
+ * Lettuce, un Redis lento se convierte en fallos rápidos). Con el breaker abierto o si la llamada
+ * falla, se usa {@link RedisCacheFallback}: lecturas y escrituras en la caché local y evicciones
+ * encoladas para reenviar. Para el {@code @Cacheable} un fallo de Redis es un fallo de caché, así que
+ * el método se ejecuta en lugar de propagar la excepción.
+ *
+ * Como {@link TimingRedisCacheWriter}, decora el writer y no el {@code Cache}: el manager sigue
+ * exponiendo {@code RedisCache} (estadísticas) y conserva {@code transactionAware}.
+ * Las operaciones asíncronas ({@code retrieve}/{@code store}) no se usan y van directas a Redis.
+ */
+public final class ResilientRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final RedisCircuitBreaker breaker;
+    private final RedisCacheFallback fallback;
+
+    public ResilientRedisCacheWriter(RedisCacheWriter delegate, RedisCircuitBreaker breaker, RedisCacheFallback fallback) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return breaker.execute(() -> delegate.get(name, key), () -> fallback.get(name, key));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return breaker.execute(() -> delegate.get(name, key, ttl), () -> fallback.get(name, key));
+    }
+
+    /**
+     * Cachés {@code sync=true}. El cargador se ejecuta como mucho una vez: si ya calculó el valor y
+     * lo que falló fue escribirlo en Redis, el fallback reutiliza ese valor. Si falla el propio
+     * cargador, su excepción se propaga tal cual y no cuenta como fallo de Redis.
+     */
+    @Override
+    public byte[] get(String name, byte[] key, Supplier<byte[]> valueLoader, Duration ttl, boolean timeToIdleEnabled) {
+        Load load = new Load(valueLoader);
+        try {
+            return breaker.execute(() -> delegate.get(name, key, load, ttl, timeToIdleEnabled), () -> {
+                if (!load.done) return fallback.get(name, key, load);
+                fallback.put(name, key, load.value);
+                return load.value;
+            });
+        } catch (RedisCircuitBreaker.Bypass e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class Load implements Supplier<byte[]> {
+        private final Supplier<byte[]> loader;
+        byte[] value;
+        boolean done;
+
+        Load(Supplier<byte[]> loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public byte[] get() {
+            try {
+                value = loader.get();
+            } catch (RuntimeException e) {
+                throw new RedisCircuitBreaker.Bypass(e);
+            }
+            done = true;
+            return value;
+        }
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key) {
+        return delegate.retrieve(name, key);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        breaker.execute(() -> {
+            delegate.put(name, key, value, ttl);
+            return null;
+        }, () -> {
+            fallback.put(name, key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        return breaker.execute(() -> delegate.putIfAbsent(name, key, value, ttl),
+                () -> fallback.putIfAbsent(name, key, value));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        breaker.execute(() -> {
+            delegate.remove(name, key);
+            return null;
+        }, () -> {
+            fallback.evicted(name, key);
+            return null;
+        });
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        breaker.execute(() -> {
+            delegate.clean(name, pattern);
+            return null;
+        }, () -> {
+            fallback.cleaned(name, pattern);
+            return null;
+        });
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new ResilientRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), breaker, fallback);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.reservas.config;
+
+import java.util.*;
+
+/**
+ * Matcher de patrones de ruta precompilado.
+ *
+ * Soporta segmentos literales, {@code *} o {@code {var}} (un segmento) y {@code **} al final
+ * (cero o más segmentos). Los patrones se compilan una vez en un autómata determinista por segmentos,
+ * así que casar una ruta es una búsqueda en un HashMap por segmento: O(longitud de la ruta),
+ * independiente del número de reglas. Para cada estado final se precalcula la lista de valores
+ * ordenada de más a menos específica (literales > comodines > {@code **}, luego orden de alta).
+ */
+public final class RoutePatternMatcher<T> {
+
+    private final State<T> start;
+
+    private RoutePatternMatcher(State<T> start) {
+        this.start = start;
+    }
+
+    /** Valores cuyos patrones casan con la ruta, del más específico al menos. Nunca null. */
+    public List<T> match(String path) {
+        State<T> state = start;
+        int len = path.length();
+        int i = 0;
+        while (i < len && state != null) {
+            if (path.charAt(i) == '/') { i++; continue; }
+            int end = path.indexOf('/', i);
+            if (end < 0) end = len;
+            State<T> next = state.next.get(path.substring(i, end));
+            state = next != null ? next : state.fallback;
+            i = end;
+        }
+        return state == null ? List.of() : state.matches;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    // ===================== Compilación =====================
+
+    private static final class State<T> {
+        final Map<String, State<T>> next = new HashMap<>();
+        State<T> fallback;
+        List<T> matches = List.of();
+    }
+
+    private static final class Node<T> {
+        final int id;
+        final Map<String, Node<T>> literals = new HashMap<>();
+        Node<T> single;
+        Node<T> rest;          // hijo "**"
+        final boolean isRest;  // este nodo es un "**": casa cualquier continuación
+        final List<Entry<T>> terminal = new ArrayList<>();
+
+        Node(int id, boolean isRest) {
+            this.id = id;
+            this.isRest = isRest;
+        }
+    }
+
+    private record Entry<T>(T value, int specificity, int order) {}
+
+    public static final class Builder<T> {
+        private int nextId = 0;
+        private int order = 0;
+        private final Node<T> root = new Node<>(nextId++, false);
+
+        public Builder<T> add(String pattern, T value) {
+            String[] segments = Arrays.stream(pattern.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+            Node<T> node = root;
+            int specificity = 0;
+            for (int i = 0; i < segments.length; i++) {
+                String seg = segments[i];
+                if (seg.equals("**")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' solo se admite al final del patrón: " + pattern);
+                    }
+                    if (node.rest == null) node.rest = new Node<>(nextId++, true);
+                    node = node.rest;
+                } else if (seg.equals("*") || (seg.startsWith("{") && seg.endsWith("}"))) {
+                    if (node.single == null) node.single = new Node<>(nextId++, false);
+                    node = node.single;
+                    specificity += 1;
+                } else {
+                    node = node.literals.computeIfAbsent(seg, k -> new Node<>(nextId++, false));
+                    specificity += 2;
+                }
+            }
+            node.terminal.add(new Entry<>(value, specificity, order++));
+            return this;
+        }
+
+        public RoutePatternMatcher<T> build() {
+            Map<List<Integer>, State<T>> states = new HashMap<>();
+            Deque<Map.Entry<List<Node<T>>, State<T>>> pending = new ArrayDeque<>();
+            State<T> start = stateFor(closure(List.of(root)), states, pending);
+            while (!pending.isEmpty()) {
+                var item = pending.poll();
+                List<Node<T>> set = item.getKey();
+                State<T> state = item.getValue();
+
+                Set<String> alphabet = new HashSet<>();
+                for (Node<T> n : set) {
+                    if (!n.isRest) alphabet.addAll(n.literals.keySet());
+                }
+                for (String literal : alphabet) {
+                    state.next.put(literal, stateFor(step(set, literal), states, pending));
+                }
+                state.fallback = stateFor(step(set, null), states, pending);
+            }
+            return new RoutePatternMatcher<>(start);
+        }
+
+        private List<Node<T>> step(List<Node<T>> set, String literal) {
+            List<Node<T>> out = new ArrayList<>();
+            for (Node<T> n : set) {
+                if (n.isRest) {
+                    out.add(n);
+                    continue;
+                }
+                if (literal != null) {
+                    Node<T> child = n.literals.get(literal);
+                    if (child != null) out.add(child);
+                }
+                if (n.single != null) out.add(n.single);
+            }
+            return closure(out);
+        }
+
+        /** Añade los "**" alcanzables (casan también cero segmentos) y normaliza el conjunto. */
+        private List<Node<T>> closure(List<Node<T>> nodes) {
+            Map<Integer, Node<T>> byId = new TreeMap<>();
+            for (Node<T> n : nodes) {
+                byId.put(n.id, n);
+                if (n.rest != null) byId.put(n.rest.id, n.rest);
+            }
+            return new ArrayList<>(byId.values());
+        }
+
+        private State<T> stateFor(List<Node<T>> set, Map<List<Integer>, State<T>> states,
+                                  Deque<Map.Entry<List<Node<T>>, State<T>>> pending) {
+            if (set.isEmpty()) return null;
+            List<Integer> key = set.stream().map(n -> n.id).toList();
+            State<T> existing = states.get(key);
+            if (existing != null) return existing;
+
+            State<T> state = new State<>();
+            List<Entry<T>> entries = new ArrayList<>();
+            for (Node<T> n : set) entries.addAll(n.terminal);
+            entries.sort(Comparator.comparingInt((Entry<T> e) -> -e.specificity()).thenComparingInt(Entry::order));
+            state.matches = entries.stream().map(Entry::value).toList();
+
+            states.put(key, state);
+            pending.add(Map.entry(set, state));
+            return state;
+        }
+    }
+}
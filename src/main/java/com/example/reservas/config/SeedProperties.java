@@ -0,0 +1,123 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Parámetros del seeder masivo ({@code reservas.seed.*}, perfil {@code seed}).
+ */
+@ConfigurationProperties(prefix = "reservas.seed")
+public class SeedProperties {
+
+    private int businesses = 1000;
+
+    /** Recursos por negocio: uniforme en [min, max]. */
+    private int minResourcesPerBusiness = 2;
+    private int maxResourcesPerBusiness = 10;
+
+    /** Primer día (UTC) con reservas; vacío = hoy menos la mitad del horizonte. */
+    private LocalDate startDate;
+    private int days = 120;
+
+    /** Horario de apertura en horas UTC [openHour, closeHour). */
+    private int openHour = 8;
+    private int closeHour = 23;
+
+    /** Fracción de reservas CANCELLED y LATE_CANCELLED; el resto CONFIRMED. */
+    private double cancelledRatio = 0.10;
+    private double lateCancelledRatio = 0.03;
+
+    private long randomSeed = 42L;
+
+    /** Cierra la aplicación al terminar. */
+    private boolean exitWhenDone = true;
+
+    public int getBusinesses() {
+        return businesses;
+    }
+
+    public void setBusinesses(int businesses) {
+        this.businesses = businesses;
+    }
+
+    public int getMinResourcesPerBusiness() {
+        return minResourcesPerBusiness;
+    }
+
+    public void setMinResourcesPerBusiness(int minResourcesPerBusiness) {
+        this.minResourcesPerBusiness = minResourcesPerBusiness;
+    }
+
+    public int getMaxResourcesPerBusiness() {
+        return maxResourcesPerBusiness;
+    }
+
+    public void setMaxResourcesPerBusiness(int maxResourcesPerBusiness) {
+        this.maxResourcesPerBusiness = maxResourcesPerBusiness;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public int getOpenHour() {
+        return openHour;
+    }
+
+    public void setOpenHour(int openHour) {
+        this.openHour = openHour;
+    }
+
+    public int getCloseHour() {
+        return closeHour;
+    }
+
+    public void setCloseHour(int closeHour) {
+        this.closeHour = closeHour;
+    }
+
+    public double getCancelledRatio() {
+        return cancelledRatio;
+    }
+
+    public void setCancelledRatio(double cancelledRatio) {
+        this.cancelledRatio = cancelledRatio;
+    }
+
+    public double getLateCancelledRatio() {
+        return lateCancelledRatio;
+    }
+
+    public void setLateCancelledRatio(double lateCancelledRatio) {
+        this.lateCancelledRatio = lateCancelledRatio;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public boolean isExitWhenDone() {
+        return exitWhenDone;
+    }
+
+    public void setExitWhenDone(boolean exitWhenDone) {
+        this.exitWhenDone = exitWhenDone;
+    }
+}
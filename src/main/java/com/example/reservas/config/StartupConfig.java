@@ -0,0 +1,82 @@
+package com.example.reservas.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+
+/**
+ * Arranque rápido: validación de Flyway diferida hasta después de {@link ApplicationReadyEvent}.
+ *
+ * La validación recorre todas las migraciones y calcula sus checksums; en un escalado por pico de
+ * tráfico ese trabajo no tiene por qué estar en el camino crítico del arranque.
+ *
+ * Si la validación falla (o no se puede ejecutar), la instancia pasa a
+ * {@link ReadinessState#REFUSING_TRAFFIC}: {@code /actuator/health/readiness} responde 503 y el
+ * balanceador deja de enviarle tráfico, en lugar de servir con un esquema que no cuadra con las migraciones.
+ */
+@Configuration
+@EnableConfigurationProperties(StartupProperties.class)
+@ConditionalOnProperty(prefix = "reservas.startup", name = "deferred-flyway-validation", havingValue = "true")
+public class StartupConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy deferredValidationMigrationStrategy() {
+        return flyway -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .validateOnMigrate(false)
+                .load()
+                .migrate();
+    }
+
+    @Bean
+    public DeferredFlywayValidator deferredFlywayValidator(Flyway flyway, ApplicationEventPublisher events) {
+        return new DeferredFlywayValidator(flyway, events);
+    }
+
+    public static class DeferredFlywayValidator {
+        private final Flyway flyway;
+        private final ApplicationEventPublisher events;
+
+        public DeferredFlywayValidator(Flyway flyway, ApplicationEventPublisher events) {
+            this.flyway = flyway;
+            this.events = events;
+        }
+
+        @Async
+        @EventListener(ApplicationReadyEvent.class)
+        public void validate() {
+            ValidateResult result;
+            try {
+                result = flyway.validateWithResult();
+            } catch (RuntimeException e) {
+                log.error("No se pudo ejecutar la validación diferida de Flyway", e);
+                refuseTraffic();
+                return;
+            }
+            if (result.validationSuccessful) {
+                log.info("Validación diferida de Flyway correcta");
+            } else {
+                log.error("Validación diferida de Flyway fallida: {}", result.getAllErrorMessages());
+                refuseTraffic();
+            }
+        }
+
+        private void refuseTraffic() {
+            AvailabilityChangeEvent.publish(events, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ajustes de arranque ({@code reservas.startup.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.startup")
+public class StartupProperties {
+
+    /**
+     * Migra sin validar los checksums de Flyway en el arranque y valida en segundo plano una vez
+     * la aplicación está lista. Un error de validación se registra, no detiene el pod.
+     */
+    private boolean deferredFlywayValidation = false;
+
+    public boolean isDeferredFlywayValidation() {
+        return deferredFlywayValidation;
+    }
+
+    public void setDeferredFlywayValidation(boolean deferredFlywayValidation) {
+        this.deferredFlywayValidation = deferredFlywayValidation;
+    }
+}
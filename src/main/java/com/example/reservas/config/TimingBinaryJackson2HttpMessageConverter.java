@@ -0,0 +1,54 @@
+package com.example.reservas.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor Jackson para un formato binario (CBOR o Smile, según la factoría del {@code ObjectMapper}).
+ * Equivale a los {@code MappingJackson2CborHttpMessageConverter}/{@code ...Smile...} de Spring y, como
+ * {@link TimingJackson2HttpMessageConverter}, suma lectura y escritura a {@link RequestTiming.Phase#SERIALIZATION}.
+ */
+class TimingBinaryJackson2HttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    TimingBinaryJackson2HttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType) {
+        super(objectMapper, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long t0 = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            t.add(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) return super.read(type, contextClass, inputMessage);
+        long t0 = System.nanoTime();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            t.add(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - t0);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.reservas.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Desglose de tiempos por petición ({@code Server-Timing}): filtro, interceptor de repositorios y
+ * conversor JSON. El writer de caché con tiempos lo monta {@link CacheConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(TimingProperties.class)
+@ConditionalOnProperty(prefix = "reservas.timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TimingConfig implements WebMvcConfigurer {
+
+    /** Sin contexto de medición solo cuesta un ThreadLocal.get(): ni nanoTime ni reservas de memoria. */
+    static final MethodInterceptor REPOSITORY_TIMING = invocation -> {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) return invocation.proceed();
+        long t0 = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            t.add(RequestTiming.Phase.DB, System.nanoTime() - t0);
+        }
+    };
+
+    @Bean
+    public FilterRegistrationBean<TimingFilter> timingFilter(TimingProperties props, ClientIpResolver clientIpResolver) {
+        FilterRegistrationBean<TimingFilter> registration =
+                new FilterRegistrationBean<>(new TimingFilter(props, clientIpResolver));
+        // Antes que rate limit y load shedding: el total incluye todo el procesamiento
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /** Añade el interceptor a cada repositorio Spring Data cuando se crea su proxy. */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(REPOSITORY_TIMING)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                MappingJackson2HttpMessageConverter jackson = (MappingJackson2HttpMessageConverter) converters.get(i);
+                converters.set(i, new TimingJackson2HttpMessageConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+}
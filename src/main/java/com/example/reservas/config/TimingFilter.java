@@ -0,0 +1,112 @@
+package com.example.reservas.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Abre un {@link RequestTiming} para las peticiones que lo piden (cabecera) o salen en el muestreo
+ * y al terminar emite la cabecera {@code Server-Timing} y una línea de log estructurada.
+ *
+ * Medir bufferiza la respuesta, escribe un log y expone el desglose interno, así que un cliente
+ * anónimo no puede pedirlo: la cabecera solo vale con el token configurado o, sin token, desde un
+ * proxy de confianza. Al resto solo le afecta {@code sample-rate}.
+ *
+ * La respuesta se bufferiza solo en las peticiones medidas: la serialización ocurre al escribir el
+ * cuerpo y la cabecera tiene que ir antes que él. Con respuestas asíncronas el contexto se conserva
+ * como atributo y se vuelve a asociar en el dispatch final, donde se serializa.
+ */
+public class TimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("reservas.timing");
+    private static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private final TimingProperties props;
+    private final ClientIpResolver clientIpResolver;
+
+    public TimingFilter(TimingProperties props, ClientIpResolver clientIpResolver) {
+        this.props = props;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RequestTiming timing = (RequestTiming) request.getAttribute(ATTRIBUTE);
+        if (timing == null) {
+            if (isAsyncDispatch(request) || !sampled(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            timing = new RequestTiming();
+            request.setAttribute(ATTRIBUTE, timing);
+        }
+
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+
+        RequestTiming.bind(timing);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.unbind();
+        }
+
+        if (!request.isAsyncStarted()) {
+            String serverTiming = timing.toServerTiming();
+            wrapper.setHeader("Server-Timing", serverTiming);
+            if (props.isLog()) {
+                log(request, wrapper.getStatus(), timing);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean sampled(HttpServletRequest request) {
+        if (requested(request)) return true;
+        double rate = props.getSampleRate();
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private boolean requested(HttpServletRequest request) {
+        String value = request.getHeader(props.getRequestHeader());
+        if (value == null) return false;
+        String token = props.getRequestToken();
+        if (token != null && !token.isEmpty()) {
+            return MessageDigest.isEqual(value.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+        }
+        return clientIpResolver.isTrustedProxy(request.getRemoteAddr());
+    }
+
+    private void log(HttpServletRequest request, int status, RequestTiming timing) {
+        var event = log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("total_ms", RequestTiming.millis(timing.elapsedNanos()));
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values()) {
+            event = event.addKeyValue(phase.metric + "_ms", RequestTiming.millis(timing.nanos(phase)))
+                    .addKeyValue(phase.metric + "_calls", timing.count(phase));
+        }
+        event.log("request timing");
+    }
+}
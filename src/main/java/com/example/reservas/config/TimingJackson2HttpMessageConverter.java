@@ -0,0 +1,52 @@
+package com.example.reservas.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON que suma lectura y escritura de cuerpos a la fase
+ * {@link RequestTiming.Phase#SERIALIZATION}. Misma configuración que el conversor de Boot.
+ */
+class TimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    TimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long t0 = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            t.add(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) return super.read(type, contextClass, inputMessage);
+        long t0 = System.nanoTime();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            t.add(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - t0);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Desglose de tiempos por petición ({@code reservas.timing.*}).
+ */
+@ConfigurationProperties(prefix = "reservas.timing")
+public class TimingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Cabecera de petición que activa la medición. Sin {@code request-token}, solo cuenta si la conexión
+     * llega de un proxy de confianza ({@code reservas.rate-limit.trusted-proxies}), que debe quitarla de
+     * las peticiones externas.
+     */
+    private String requestHeader = "X-Server-Timing";
+
+    /** Si se define, la cabecera solo activa la medición con este valor, venga de donde venga. */
+    private String requestToken;
+
+    /** Fracción de peticiones medidas sin cabecera (0 = solo bajo demanda). */
+    private double sampleRate = 0.0;
+
+    /** Emite además una línea de log estructurada por petición medida. */
+    private boolean log = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getRequestHeader() {
+        return requestHeader;
+    }
+
+    public void setRequestHeader(String requestHeader) {
+        this.requestHeader = requestHeader;
+    }
+
+    public String getRequestToken() {
+        return requestToken;
+    }
+
+    public void setRequestToken(String requestToken) {
+        this.requestToken = requestToken;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isLog() {
+        return log;
+    }
+
+    public void setLog(boolean log) {
+        this.log = log;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.reservas.config;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCacheWriter} que suma el tiempo de cada operación síncrona contra Redis a la fase
+ * {@link RequestTiming.Phase#CACHE} de la petición en curso. Decora el writer y no el
+ * {@code Cache}, así el {@code RedisCacheManager} sigue exponiendo {@code RedisCache} (métricas de actuator).
+ */
+final class TimingRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    TimingRedisCacheWriter(RedisCacheWriter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) return delegate.get(name, key);
+        long t0 = System.nanoTime();
+        try {
+            return delegate.get(name, key);
+        } finally {
+            t.add(RequestTiming.Phase.CACHE, System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) return delegate.get(name, key, ttl);
+        long t0 = System.nanoTime();
+        try {
+            return delegate.get(name, key, ttl);
+        } finally {
+            t.add(RequestTiming.Phase.CACHE, System.nanoTime() - t0);
+        }
+    }
+
+    /** Con cargador (cachés sync=true) el tiempo incluye la carga, que ya mide su propia fase. */
+    @Override
+    public byte[] get(String name, byte[] key, Supplier<byte[]> valueLoader, Duration ttl, boolean timeToIdleEnabled) {
+        return delegate.get(name, key, valueLoader, ttl, timeToIdleEnabled);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key) {
+        return delegate.retrieve(name, key);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) {
+            delegate.put(name, key, value, ttl);
+            return;
+        }
+        long t0 = System.nanoTime();
+        try {
+            delegate.put(name, key, value, ttl);
+        } finally {
+            t.add(RequestTiming.Phase.CACHE, System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) return delegate.putIfAbsent(name, key, value, ttl);
+        long t0 = System.nanoTime();
+        try {
+            return delegate.putIfAbsent(name, key, value, ttl);
+        } finally {
+            t.add(RequestTiming.Phase.CACHE, System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        RequestTiming t = RequestTiming.current();
+        if (t == null) {
+            delegate.remove(name, key);
+            return;
+        }
+        long t0 = System.nanoTime();
+        try {
+            delegate.remove(name, key);
+        } finally {
+            t.add(RequestTiming.Phase.CACHE, System.nanoTime() - t0);
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new TimingRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector));
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.reservas.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+/**
+ * {@code OffsetDateTime} en UTC con la misma salida que {@code ISO_OFFSET_DATE_TIME}
+ * ({@code 2025-01-15T10:00:00Z}, fracción sin ceros finales) pero sin pasar por {@code DateTimeFormatter}:
+ * el prefijo {@code yyyy-MM-ddTHH:mm:} se cachea por minuto en una tabla de acceso directo y solo se
+ * escriben segundos y fracción. Otros offsets, {@code @JsonFormat} y el modo timestamp delegan en el
+ * serializador de jsr310.
+ */
+public final class UtcOffsetDateTimeSerializer extends StdSerializer<OffsetDateTime> implements ContextualSerializer {
+
+    /** Potencia de 2: ~2,8 días de minutos distintos antes de pisarse. */
+    private static final int CACHE_SIZE = 4_096;
+    private static final int PREFIX_LENGTH = 17;
+
+    /** Inmutable: la tabla se comparte entre hilos sin sincronizar (como mucho se recalcula un prefijo). */
+    private record MinutePrefix(long epochMinute, char[] chars) {}
+
+    private final MinutePrefix[] cache = new MinutePrefix[CACHE_SIZE];
+
+    public UtcOffsetDateTimeSerializer() {
+        super(OffsetDateTime.class);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(prov, property, handledType());
+        if (format == null || !(format.hasPattern() || format.hasShape() || format.hasTimeZone() || format.hasLocale())) {
+            return this;
+        }
+        return OffsetDateTimeSerializer.INSTANCE.createContextual(prov, property);
+    }
+
+    @Override
+    public void serialize(OffsetDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value.getOffset().getTotalSeconds() != 0
+                || value.getYear() < 0 || value.getYear() > 9_999
+                || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || provider.getConfig().hasExplicitTimeZone()) {
+            OffsetDateTimeSerializer.INSTANCE.serialize(value, gen, provider);
+            return;
+        }
+        char[] buf = new char[PREFIX_LENGTH + 2 + 10 + 1];
+        int len = format(value, buf);
+        gen.writeString(buf, 0, len);
+    }
+
+    int format(OffsetDateTime value, char[] buf) {
+        long epochSecond = value.toEpochSecond();
+        long minute = Math.floorDiv(epochSecond, 60);
+        int second = (int) Math.floorMod(epochSecond, 60);
+
+        int slot = (int) (minute & (CACHE_SIZE - 1));
+        MinutePrefix prefix = cache[slot];
+        if (prefix == null || prefix.epochMinute() != minute) {
+            prefix = new MinutePrefix(minute, prefix(value));
+            cache[slot] = prefix;
+        }
+        System.arraycopy(prefix.chars(), 0, buf, 0, PREFIX_LENGTH);
+        int len = PREFIX_LENGTH;
+        len = twoDigits(second, buf, len);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            buf[len++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            for (int i = len + digits - 1; i >= len; i--) {
+                buf[i] = (char) ('0' + nano % 10);
+                nano /= 10;
+            }
+            len += digits;
+        }
+        buf[len++] = 'Z';
+        return len;
+    }
+
+    private static char[] prefix(OffsetDateTime v) {
+        char[] c = new char[PREFIX_LENGTH];
+        int year = v.getYear();
+        c[0] = (char) ('0' + year / 1000);
+        c[1] = (char) ('0' + year / 100 % 10);
+        c[2] = (char) ('0' + year / 10 % 10);
+        c[3] = (char) ('0' + year % 10);
+        c[4] = '-';
+        twoDigits(v.getMonthValue(), c, 5);
+        c[7] = '-';
+        twoDigits(v.getDayOfMonth(), c, 8);
+        c[10] = 'T';
+        twoDigits(v.getHour(), c, 11);
+        c[13] = ':';
+        twoDigits(v.getMinute(), c, 14);
+        c[16] = ':';
+        return c;
+    }
+
+    private static int twoDigits(int value, char[] buf, int pos) {
+        buf[pos] = (char) ('0' + value / 10);
+        buf[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+}
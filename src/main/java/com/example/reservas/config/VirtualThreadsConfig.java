@@ -0,0 +1,67 @@
+package com.example.reservas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo de hilos virtuales.
+ *
+ * {@code spring.threads.virtual.enabled=true} (perfil {@code virtual}) hace que Boot use hilos virtuales
+ * en Tomcat, en {@code @Async} y en las tareas programadas; las cargas de caché corren en el hilo que
+ * llama, así que también son virtuales. Aquí se añaden las salvaguardas: la compuerta de conexiones
+ * delante de Hikari y el monitor de fijaciones (pinning).
+ */
+@Configuration
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+public class VirtualThreadsConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.virtual-threads.connection-gate", name = "enabled", havingValue = "true")
+    static ConnectionGatePostProcessor connectionGatePostProcessor(Environment environment) {
+        return new ConnectionGatePostProcessor(environment);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservas.virtual-threads.pinning-monitor", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+    public PinningMonitor pinningMonitor(VirtualThreadsProperties props) {
+        return new PinningMonitor(props.getPinningMonitor().getThreshold());
+    }
+
+    /**
+     * Primero de los post-procesadores ordenados: tiene que ver el {@code HikariDataSource} antes de
+     * que otros (p. ej. el proxy de diagnóstico) lo envuelvan.
+     */
+    static final class ConnectionGatePostProcessor implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+
+        ConnectionGatePostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) return bean;
+            // Post-procesador estático: las propiedades se enlazan a mano
+            VirtualThreadsProperties.ConnectionGate gate = Binder.get(environment)
+                    .bind("reservas.virtual-threads.connection-gate", VirtualThreadsProperties.ConnectionGate.class)
+                    .orElseGet(VirtualThreadsProperties.ConnectionGate::new);
+            int permits = gate.getMaxConcurrent() > 0 ? gate.getMaxConcurrent() : hikari.getMaximumPoolSize();
+            return (DataSource) new ConnectionGateDataSource(hikari, permits, gate.getAcquireTimeout());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
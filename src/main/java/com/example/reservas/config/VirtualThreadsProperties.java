@@ -0,0 +1,82 @@
+package com.example.reservas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Salvaguardas del modo de hilos virtuales ({@code reservas.virtual-threads.*}).
+ * El modo en sí se activa con {@code spring.threads.virtual.enabled=true} (perfil {@code virtual}).
+ */
+@ConfigurationProperties(prefix = "reservas.virtual-threads")
+public class VirtualThreadsProperties {
+
+    private final ConnectionGate connectionGate = new ConnectionGate();
+    private final PinningMonitor pinningMonitor = new PinningMonitor();
+
+    public ConnectionGate getConnectionGate() {
+        return connectionGate;
+    }
+
+    public PinningMonitor getPinningMonitor() {
+        return pinningMonitor;
+    }
+
+    public static class ConnectionGate {
+        /** Pone un semáforo FIFO delante de Hikari. */
+        private boolean enabled = false;
+
+        /** Permisos; 0 = maximumPoolSize de Hikari. */
+        private int maxConcurrent = 0;
+
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+    }
+
+    public static class PinningMonitor {
+        /** Registra con stack trace los hilos virtuales que quedan fijados a su portador. */
+        private boolean enabled = true;
+
+        /** Solo se informan fijaciones más largas que esto. */
+        private Duration threshold = Duration.ofMillis(20);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+    }
+}
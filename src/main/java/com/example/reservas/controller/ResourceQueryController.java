@@ -1,5 +1,6 @@
 package com.example.reservas.controller;
 
+import com.example.reservas.diagnostics.HotResourceTracker;
 import com.example.reservas.dto.ReservationResponse;
 import com.example.reservas.dto.TimeWindowDto;
 import com.example.reservas.mapper.AvailabilityMapper;
@@ -31,14 +32,17 @@ public class ResourceQueryController {
     private final ReservationService reservationService;
     private final AvailabilityService availabilityService;
     private final AvailabilityMapper availabilityMapper;
+    private final HotResourceTracker hotResources;
 
     public ResourceQueryController(
             ReservationService reservationService,
             AvailabilityService availabilityService,
-            AvailabilityMapper availabilityMapper) {
+            AvailabilityMapper availabilityMapper,
+            HotResourceTracker hotResources) {
         this.reservationService = reservationService;
         this.availabilityService = availabilityService;
         this.availabilityMapper = availabilityMapper;
+        this.hotResources = hotResources;
     }
 
     /**
@@ -86,6 +90,7 @@ public class ResourceQueryController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) 
             @NotNull LocalDate date
     ) {
+        hotResources.record(HotResourceTracker.Kind.AVAILABILITY, resourceId);
         var windows = availabilityService.freeWindows(resourceId, date);
         return availabilityMapper.toDtoList(windows);
     }
@@ -0,0 +1,31 @@
+package com.example.reservas.diagnostics;
+
+import java.time.Duration;
+
+/**
+ * Recursos más consultados (disponibilidad) y más movidos (reservas: alta, cancelación, listados),
+ * con memoria fija. Con {@code enabled=false} las llamadas no hacen nada.
+ */
+public class HotResourceTracker {
+
+    public enum Kind { AVAILABILITY, RESERVATIONS }
+
+    private final boolean enabled;
+    private final RollingTopK<Long> availability;
+    private final RollingTopK<Long> reservations;
+
+    public HotResourceTracker(boolean enabled, int capacity, Duration window) {
+        this.enabled = enabled;
+        this.availability = new RollingTopK<>(capacity, false, window);
+        this.reservations = new RollingTopK<>(capacity, false, window);
+    }
+
+    public void record(Kind kind, Long resourceId) {
+        if (!enabled || resourceId == null) return;
+        (kind == Kind.AVAILABILITY ? availability : reservations).offer(resourceId, 1, 0);
+    }
+
+    public RollingTopK.Snapshot<Long> top(Kind kind, int n) {
+        return (kind == Kind.AVAILABILITY ? availability : reservations).top(n);
+    }
+}
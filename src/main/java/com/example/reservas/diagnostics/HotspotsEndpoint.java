@@ -0,0 +1,71 @@
+package com.example.reservas.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/hotspots}: top-K de sentencias SQL por tiempo total y de recursos por tráfico,
+ * para la ventana en curso (parcial) y la anterior (completa).
+ *
+ * Los valores son estimaciones Space-Saving: {@code error} acota la sobreestimación de
+ * {@code total}/{@code count}, y {@code calls}/percentiles cuentan desde que la entrada entró en la tabla.
+ */
+@Endpoint(id = "hotspots")
+public class HotspotsEndpoint {
+
+    public record StatementStat(String sql, long calls, double totalMs, double errorMs,
+                                double p50Ms, double p99Ms, double maxMs) {}
+
+    public record ResourceStat(Long resourceId, long count, long error) {}
+
+    public record Window<T>(List<T> current, List<T> previous) {}
+
+    private final SlowQueryListener slowQueries;
+    private final HotResourceTracker hotResources;
+    private final int topK;
+    private final Duration window;
+
+    public HotspotsEndpoint(SlowQueryListener slowQueries, HotResourceTracker hotResources, int topK, Duration window) {
+        this.slowQueries = slowQueries;
+        this.hotResources = hotResources;
+        this.topK = topK;
+        this.window = window;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotspots() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("window", window.toString());
+        if (slowQueries != null) {
+            var top = slowQueries.top(topK);
+            body.put("statements", new Window<>(statements(top.current()), statements(top.previous())));
+        }
+        Map<String, Object> resources = new LinkedHashMap<>();
+        for (HotResourceTracker.Kind kind : HotResourceTracker.Kind.values()) {
+            var top = hotResources.top(kind, topK);
+            resources.put(kind.name().toLowerCase(), new Window<>(resources(top.current()), resources(top.previous())));
+        }
+        body.put("resources", resources);
+        return body;
+    }
+
+    private static List<StatementStat> statements(List<SpaceSaving.Entry<String>> entries) {
+        return entries.stream()
+                .map(e -> new StatementStat(e.key(), e.calls(), ms(e.weight()), ms(e.error()),
+                        ms(e.p50Micros()), ms(e.p99Micros()), ms(e.maxMicros())))
+                .toList();
+    }
+
+    private static List<ResourceStat> resources(List<SpaceSaving.Entry<Long>> entries) {
+        return entries.stream().map(e -> new ResourceStat(e.key(), e.weight(), e.error())).toList();
+    }
+
+    private static double ms(long micros) {
+        return micros / 1_000.0;
+    }
+}
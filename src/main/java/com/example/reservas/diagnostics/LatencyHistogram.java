@@ -0,0 +1,73 @@
+package com.example.reservas.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * Histograma logarítmico de tamaño fijo (4 cubetas por potencia de 2, ~12% de error relativo)
+ * en microsegundos. No es thread-safe: lo protege el {@link SpaceSaving} que lo contiene; para leer
+ * fuera de su lock se usa una {@link #copy()}.
+ */
+final class LatencyHistogram {
+
+    /** Cubre hasta 2^27 µs (~2 min); lo que pase de ahí cae en la última cubeta. */
+    private static final int BUCKETS = 4 + 25 * 4;
+
+    private final int[] counts = new int[BUCKETS];
+    private long total;
+    private long maxMicros;
+
+    void record(long micros) {
+        counts[index(Math.max(0, micros))]++;
+        total++;
+        if (micros > maxMicros) maxMicros = micros;
+    }
+
+    long percentileMicros(double percentile) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(representative(i), maxMicros);
+        }
+        return maxMicros;
+    }
+
+    long maxMicros() {
+        return maxMicros;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        maxMicros = 0;
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        total += other.total;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    static int index(long v) {
+        if (v < 4) return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (msb - 2)) & 3;
+        return Math.min(BUCKETS - 1, 4 + (msb - 2) * 4 + sub);
+    }
+
+    /** Punto medio de la cubeta. */
+    static long representative(int index) {
+        if (index < 4) return index;
+        int msb = (index - 4) / 4 + 2;
+        int sub = (index - 4) % 4;
+        long lower = (4L + sub) << (msb - 2);
+        return lower + ((1L << (msb - 2)) - 1) / 2;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.reservas.diagnostics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Dos ventanas de {@link SpaceSaving} que rotan cada {@code window}: la actual (parcial) y la
+ * anterior (completa).
+ *
+ * Para no serializar todas las peticiones en un monitor, el flujo se reparte en franjas por hilo
+ * (potencia de 2, hasta {@link #MAX_STRIPES}), cada una con su lock y su par de ventanas; {@link #top}
+ * combina las franjas con {@link SpaceSaving#merge}. Las ventanas están alineadas al instante de
+ * creación, así que todas las franjas rotan a la vez. Memoria fija: franjas x 2 x capacity contadores.
+ */
+public final class RollingTopK<K> {
+
+    public record Snapshot<K>(List<SpaceSaving.Entry<K>> current, List<SpaceSaving.Entry<K>> previous) {}
+
+    static final int MAX_STRIPES = 16;
+
+    private static final class Stripe<K> {
+        // ReentrantLock: no fija hilos virtuales
+        final ReentrantLock lock = new ReentrantLock();
+        SpaceSaving<K> current;
+        SpaceSaving<K> previous;
+        long window;
+
+        Stripe(int capacity, boolean trackLatency) {
+            current = new SpaceSaving<>(capacity, trackLatency);
+            previous = new SpaceSaving<>(capacity, trackLatency);
+        }
+
+        /** Llamar con el lock de la franja. */
+        void rotateTo(long window) {
+            // Un hilo que leyó el reloj antes de la última rotación escribe en la ventana actual
+            if (window <= this.window) return;
+            SpaceSaving<K> recycled = previous;
+            recycled.clear();
+            if (window - this.window >= 2) {
+                // Más de una ventana sin tráfico en esta franja: la "anterior" también quedó vacía
+                current.clear();
+            } else {
+                previous = current;
+                current = recycled;
+            }
+            this.window = window;
+        }
+    }
+
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Stripe<K>[] stripes;
+
+    public RollingTopK(int capacity, boolean trackLatency, Duration window) {
+        this(capacity, trackLatency, window, System::nanoTime,
+                Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @SuppressWarnings("unchecked")
+    RollingTopK(int capacity, boolean trackLatency, Duration window, LongSupplier clock, int stripes) {
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        int n = Integer.highestOneBit(Math.max(1, stripes * 2 - 1));
+        this.stripes = (Stripe<K>[]) new Stripe[n];
+        for (int i = 0; i < n; i++) this.stripes[i] = new Stripe<>(capacity, trackLatency);
+    }
+
+    public void offer(K key, long weight, long latencyMicros) {
+        Stripe<K> stripe = stripes[stripeIndex()];
+        long window = currentWindow();
+        stripe.lock.lock();
+        try {
+            stripe.rotateTo(window);
+            stripe.current.offer(key, weight, latencyMicros);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public Snapshot<K> top(int n) {
+        long window = currentWindow();
+        List<SpaceSaving.Summary<K>> current = new ArrayList<>(stripes.length);
+        List<SpaceSaving.Summary<K>> previous = new ArrayList<>(stripes.length);
+        for (Stripe<K> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.rotateTo(window);
+                current.add(stripe.current.summary());
+                previous.add(stripe.previous.summary());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return new Snapshot<>(SpaceSaving.merge(current, n), SpaceSaving.merge(previous, n));
+    }
+
+    private long currentWindow() {
+        return (clock.getAsLong() - origin) / windowNanos;
+    }
+
+    private int stripeIndex() {
+        // Mezcla de Fibonacci: ids de hilo consecutivos caen en franjas distintas
+        long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (stripes.length - 1);
+    }
+}
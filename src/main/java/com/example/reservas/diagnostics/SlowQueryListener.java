@@ -0,0 +1,48 @@
+package com.example.reservas.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Listener de datasource-proxy que acumula, por SQL normalizado, el tiempo total de ejecución en un
+ * {@link RollingTopK}: las sentencias que más tiempo de base de datos consumen (frecuentes o lentas).
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String START = "reservas.diagnostics.start";
+
+    private final RollingTopK<String> statements;
+    private final SqlNormalizer normalizer = new SqlNormalizer();
+
+    public SlowQueryListener(int capacity, Duration window) {
+        this.statements = new RollingTopK<>(capacity, true, window);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // ExecutionInfo#getElapsedTime está en milisegundos: demasiado grueso para p50
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (start == null || queryInfoList.isEmpty()) return;
+        long micros = (System.nanoTime() - start) / 1_000;
+        statements.offer(key(execInfo, queryInfoList), micros, micros);
+    }
+
+    public RollingTopK.Snapshot<String> top(int n) {
+        return statements.top(n);
+    }
+
+    private String key(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = normalizer.normalize(queryInfoList.get(0).getQuery());
+        if (queryInfoList.size() > 1) sql = sql + " [+" + (queryInfoList.size() - 1) + " en lote]";
+        return execInfo.isBatch() ? "[batch] " + sql : sql;
+    }
+}
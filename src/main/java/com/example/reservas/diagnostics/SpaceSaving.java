@@ -0,0 +1,173 @@
+package com.example.reservas.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heavy hitters con el algoritmo Space-Saving (Metwally et al.) con pesos: como mucho
+ * {@code capacity} contadores, memoria fija sea cual sea la cardinalidad del flujo.
+ *
+ * Cuando llega una clave nueva con la tabla llena, reemplaza al contador mínimo y hereda su
+ * cuenta como error máximo; cualquier clave con peso real mayor que total/capacity está garantizada
+ * en la tabla. Opcionalmente cada contador lleva un histograma de latencias (desde que entró).
+ *
+ * Los contadores forman un montículo de mínimos por peso: el desalojo y cada incremento cuestan
+ * O(log capacity), y el contador desalojado (con su histograma) se reutiliza sin reservar memoria.
+ * Varios sketches del mismo flujo repartido se combinan con {@link #merge} (ver {@link RollingTopK}).
+ * No es thread-safe: {@link RollingTopK} lo protege con el lock de cada franja.
+ */
+public final class SpaceSaving<K> {
+
+    /** Instantánea de un contador. {@code weight - error} es una cota inferior del peso real. */
+    public record Entry<K>(K key, long weight, long error, long calls, long p50Micros, long p99Micros, long maxMicros) {}
+
+    /** Copia de los contadores para combinar; {@code floor} acota el peso de cualquier clave ausente. */
+    record Summary<K>(List<Counted<K>> counters, long floor) {}
+
+    record Counted<K>(K key, long weight, long error, long calls, LatencyHistogram latency) {}
+
+    private static final class Counter<K> {
+        K key;
+        long weight;
+        long error;
+        long calls;
+        LatencyHistogram latency;
+        int pos;
+    }
+
+    private final int capacity;
+    private final boolean trackLatency;
+    private final Map<K, Counter<K>> counters;
+    private final Counter<K>[] heap;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public SpaceSaving(int capacity, boolean trackLatency) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity debe ser > 0");
+        this.capacity = capacity;
+        this.trackLatency = trackLatency;
+        this.counters = HashMap.newHashMap(capacity);
+        this.heap = (Counter<K>[]) new Counter[capacity];
+    }
+
+    public void offer(K key, long weight, long latencyMicros) {
+        Counter<K> c = counters.get(key);
+        if (c == null) {
+            if (size < capacity) {
+                c = new Counter<>();
+                if (trackLatency) c.latency = new LatencyHistogram();
+                c.pos = size;
+                heap[size++] = c;
+            } else {
+                // La raíz es el mínimo: hereda su peso como error
+                c = heap[0];
+                counters.remove(c.key);
+                c.error = c.weight;
+                c.calls = 0;
+                if (c.latency != null) c.latency.reset();
+            }
+            c.key = key;
+            counters.put(key, c);
+        }
+        c.weight += weight;
+        c.calls++;
+        if (c.latency != null) c.latency.record(latencyMicros);
+        siftDown(siftUp(c.pos));
+    }
+
+    /** Los {@code n} contadores de más peso, de mayor a menor. */
+    public List<Entry<K>> top(int n) {
+        return merge(List.of(summary()), n);
+    }
+
+    public void clear() {
+        counters.clear();
+        for (int i = 0; i < size; i++) heap[i] = null;
+        size = 0;
+    }
+
+    Summary<K> summary() {
+        List<Counted<K>> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Counter<K> c = heap[i];
+            copy.add(new Counted<>(c.key, c.weight, c.error, c.calls, c.latency == null ? null : c.latency.copy()));
+        }
+        return new Summary<>(copy, size == capacity ? heap[0].weight : 0);
+    }
+
+    /**
+     * Combina sketches de partes disjuntas del flujo (Agarwal et al., "Mergeable summaries"): se suman
+     * pesos y errores, y una clave ausente de un sketch lleno suma su mínimo a ambos. Se mantiene que
+     * {@code weight} nunca subestima y que el error total es como mucho total/capacity de cada parte.
+     */
+    static <K> List<Entry<K>> merge(List<Summary<K>> summaries, int n) {
+        long floors = 0;
+        Map<K, Merged> merged = new HashMap<>();
+        for (Summary<K> s : summaries) {
+            floors += s.floor();
+            for (Counted<K> c : s.counters()) {
+                Merged m = merged.computeIfAbsent(c.key(), k -> new Merged());
+                m.weight += c.weight();
+                m.error += c.error();
+                m.calls += c.calls();
+                m.floorsPresent += s.floor();
+                if (c.latency() != null) {
+                    if (m.latency == null) m.latency = new LatencyHistogram();
+                    m.latency.add(c.latency());
+                }
+            }
+        }
+        List<Entry<K>> entries = new ArrayList<>(merged.size());
+        for (Map.Entry<K, Merged> e : merged.entrySet()) {
+            Merged m = e.getValue();
+            long absent = floors - m.floorsPresent;
+            entries.add(new Entry<>(e.getKey(), m.weight + absent, m.error + absent, m.calls,
+                    m.latency == null ? 0 : m.latency.percentileMicros(50),
+                    m.latency == null ? 0 : m.latency.percentileMicros(99),
+                    m.latency == null ? 0 : m.latency.maxMicros()));
+        }
+        entries.sort(Comparator.comparingLong((Entry<K> e) -> e.weight()).reversed());
+        return entries.size() > n ? List.copyOf(entries.subList(0, n)) : entries;
+    }
+
+    private static final class Merged {
+        long weight;
+        long error;
+        long calls;
+        long floorsPresent;
+        LatencyHistogram latency;
+    }
+
+    private int siftUp(int i) {
+        Counter<K> c = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].weight <= c.weight) break;
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(c, i);
+        return i;
+    }
+
+    private void siftDown(int i) {
+        Counter<K> c = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1].weight < heap[child].weight) child++;
+            if (c.weight <= heap[child].weight) break;
+            place(heap[child], i);
+            i = child;
+        }
+        place(c, i);
+    }
+
+    private void place(Counter<K> c, int i) {
+        heap[i] = c;
+        c.pos = i;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.reservas.diagnostics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza SQL para agrupar sentencias equivalentes: literales a {@code ?}, listas IN y filas de
+ * VALUES colapsadas, espacios comprimidos. Hibernate reutiliza las mismas cadenas, así que el
+ * resultado se memoriza en una caché acotada.
+ */
+final class SqlNormalizer {
+
+    static final int MAX_LENGTH = 1024;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\((?:\\s*\\?\\s*,)*\\s*\\?\\s*\\))(?:\\s*,\\s*\\((?:\\s*\\?\\s*,)*\\s*\\?\\s*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<String, String> cache = Caffeine.newBuilder().maximumSize(2_048).build();
+
+    String normalize(String sql) {
+        return cache.get(sql, SqlNormalizer::doNormalize);
+    }
+
+    static String doNormalize(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("in (?...)");
+        s = VALUES_ROWS.matcher(s).replaceAll("$1, ...");
+        s = WHITESPACE.matcher(s).replaceAll(" ").trim();
+        return s.length() > MAX_LENGTH ? s.substring(0, MAX_LENGTH) + "…" : s;
+    }
+}
@@ -15,6 +15,19 @@ public class Business {
     @Column(name="created_at", nullable=false)
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
+    /** Bloqueo optimista; es también la versión del ETag de las lecturas de catálogo. */
+    @Version
+    @Column(nullable=false)
+    private Long version;
+
+    @Column(name="updated_at", nullable=false)
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
+
+    @PreUpdate
+    void touch() {
+        updatedAt = OffsetDateTime.now();
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -41,6 +54,14 @@ public class Business {
         this.type = type;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,10 @@
+package com.example.reservas.domain;
+
+/**
+ * EXCLUSIVE: una reserva ocupa el recurso entero (no se admiten solapes).
+ * POOLED: reservas solapadas hasta sumar la capacidad, contada por slots de {@code slotMinutes}.
+ */
+public enum CapacityMode {
+    EXCLUSIVE,
+    POOLED
+}
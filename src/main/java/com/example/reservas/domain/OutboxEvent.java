@@ -0,0 +1,68 @@
+package com.example.reservas.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Fila del outbox de reservas. Vive solo hasta que el relay la publica y la borra.
+ */
+@Entity
+@Table(name = "reservation_outbox")
+public class OutboxEvent {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name="resource_id", nullable=false)    private Long resourceId;
+    @Column(name="reservation_id", nullable=false) private Long reservationId;
+    @Column(name="event_type", nullable=false)     private String eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable=false)
+    private String payload;
+
+    @Column(name="created_at", nullable=false)
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public Long getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(Long reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
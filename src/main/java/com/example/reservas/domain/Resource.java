@@ -15,9 +15,28 @@ public class Resource {
     @Column(nullable=false) private String name;
     @Column(nullable=false) private Integer capacity;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name="capacity_mode", nullable=false) private CapacityMode capacityMode = CapacityMode.EXCLUSIVE;
+
+    /** Granularidad de los contadores de capacidad (solo POOLED). */
+    @Column(name="slot_minutes") private Integer slotMinutes;
+
     @Column(name="created_at", nullable=false)
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
+    /** Bloqueo optimista; es también la versión del ETag de las lecturas de catálogo. */
+    @Version
+    @Column(nullable=false)
+    private Long version;
+
+    @Column(name="updated_at", nullable=false)
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
+
+    @PreUpdate
+    void touch() {
+        updatedAt = OffsetDateTime.now();
+    }
+
     // getters/setters
 
     public Long getId() {
@@ -52,6 +71,34 @@ public class Resource {
         this.capacity = capacity;
     }
 
+    public CapacityMode getCapacityMode() {
+        return capacityMode;
+    }
+
+    public void setCapacityMode(CapacityMode capacityMode) {
+        this.capacityMode = capacityMode;
+    }
+
+    public Integer getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(Integer slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public boolean isPooled() {
+        return capacityMode == CapacityMode.POOLED;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
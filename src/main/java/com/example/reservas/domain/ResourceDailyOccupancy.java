@@ -0,0 +1,83 @@
+package com.example.reservas.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Rollup de ocupación por recurso y día (UTC).
+ * Se mantiene de forma incremental desde ReservationService (upsert nativo en OccupancyRollupRepository).
+ */
+@Entity
+@Table(name = "resource_daily_occupancy")
+@IdClass(ResourceDailyOccupancy.Key.class)
+public class ResourceDailyOccupancy {
+    @Id @Column(name="resource_id") private Long resourceId;
+    @Id @Column(name="day")         private LocalDate day;
+
+    @Column(name="business_id", nullable=false)        private Long businessId;
+    @Column(name="booked_minutes", nullable=false)     private Long bookedMinutes;
+    @Column(nullable=false)                            private Integer reservations;
+    @Column(nullable=false)                            private Integer cancellations;
+    @Column(name="late_cancellations", nullable=false) private Integer lateCancellations;
+    @Column(name="party_size_sum", nullable=false)     private Long partySizeSum;
+
+    // getters
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Long getBusinessId() {
+        return businessId;
+    }
+
+    public Long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public Integer getReservations() {
+        return reservations;
+    }
+
+    public Integer getCancellations() {
+        return cancellations;
+    }
+
+    public Integer getLateCancellations() {
+        return lateCancellations;
+    }
+
+    public Long getPartySizeSum() {
+        return partySizeSum;
+    }
+
+    public static class Key implements Serializable {
+        private Long resourceId;
+        private LocalDate day;
+
+        public Key() {}
+
+        public Key(Long resourceId, LocalDate day) {
+            this.resourceId = resourceId;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(resourceId, k.resourceId) && Objects.equals(day, k.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceId, day);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.reservas.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Capacidad restante de un recurso POOLED en un slot (UTC).
+ * Se mantiene con sentencias nativas en SlotCapacityRepository; la entidad es solo de lectura.
+ */
+@Entity
+@Table(name = "resource_slot_capacity")
+@IdClass(ResourceSlotCapacity.Key.class)
+public class ResourceSlotCapacity {
+    @Id @Column(name="resource_id") private Long resourceId;
+    @Id @Column(name="slot_start")  private OffsetDateTime slotStart;
+
+    @Column(nullable=false) private Integer remaining;
+
+    // getters
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public OffsetDateTime getSlotStart() {
+        return slotStart;
+    }
+
+    public Integer getRemaining() {
+        return remaining;
+    }
+
+    public static class Key implements Serializable {
+        private Long resourceId;
+        private OffsetDateTime slotStart;
+
+        public Key() {}
+
+        public Key(Long resourceId, OffsetDateTime slotStart) {
+            this.resourceId = resourceId;
+            this.slotStart = slotStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(resourceId, k.resourceId) && Objects.equals(slotStart, k.slotStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceId, slotStart);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.reservas.dto;
+
+import jakarta.validation.constraints.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Serie de reservas: {@code startTime}/{@code endTime} son la primera ocurrencia (DTSTART) y
+ * {@code rrule} la regla de repetición (p.ej. {@code FREQ=WEEKLY;COUNT=52}).
+ * Con {@code skipConflicts} se crean las ocurrencias libres; sin él, un solo conflicto anula la serie.
+ */
+public record CreateReservationSeriesRequest(
+    @NotNull Long resourceId,
+    @NotBlank String customerName,
+    @Email @NotBlank String customerEmail,
+    @NotNull @Positive Integer partySize,
+    @NotNull OffsetDateTime startTime,
+    @NotNull OffsetDateTime endTime,
+    @NotBlank String rrule,
+    Boolean skipConflicts
+) {}
@@ -0,0 +1,11 @@
+package com.example.reservas.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Resultado de una serie: reservas creadas y ocurrencias descartadas por solapamiento. */
+public record ReservationSeriesResponse(List<ReservationResponse> created, List<Occurrence> conflicts) {
+
+    /** Ocurrencia de la serie; {@code index} es su posición (0 = primera) en la expansión de la regla. */
+    public record Occurrence(int index, OffsetDateTime startTime, OffsetDateTime endTime) {}
+}
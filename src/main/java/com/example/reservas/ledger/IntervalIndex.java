@@ -0,0 +1,65 @@
+package com.example.reservas.ledger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Intervalos CONFIRMED por recurso que terminan después de {@link #coverageFrom()}. Los eventos se
+ * aplican de forma idempotente (repetir un alta o una cancelación no cambia nada), que es lo que
+ * permite reaplicar la cola del log sobre un snapshot que ya incluye parte de ella.
+ */
+final class IntervalIndex {
+
+    private final Map<Long, ResourceIntervals> byResource;
+    private volatile long coverageFrom;
+
+    IntervalIndex(Map<Long, ResourceIntervals> byResource, long coverageFrom) {
+        this.byResource = new ConcurrentHashMap<>(byResource);
+        this.coverageFrom = coverageFrom;
+    }
+
+    IntervalIndex(long coverageFrom) {
+        this(Map.of(), coverageFrom);
+    }
+
+    /** Instante (µs) desde el que el índice está completo. */
+    long coverageFrom() {
+        return coverageFrom;
+    }
+
+    void apply(LedgerEvent e) {
+        if (e.endMicros() <= coverageFrom) return;
+        if (e.type() == LedgerEvent.CREATED) {
+            byResource.compute(e.resourceId(), (id, current) ->
+                    (current == null ? ResourceIntervals.EMPTY : current).with(e.reservationId(), e.startMicros(), e.endMicros()));
+        } else {
+            byResource.computeIfPresent(e.resourceId(), (id, current) -> {
+                ResourceIntervals next = current.without(e.reservationId(), e.startMicros());
+                return next.size() == 0 ? null : next;
+            });
+        }
+    }
+
+    ResourceIntervals get(Long resourceId) {
+        return byResource.getOrDefault(resourceId, ResourceIntervals.EMPTY);
+    }
+
+    Map<Long, ResourceIntervals> resources() {
+        return byResource;
+    }
+
+    /** Descarta lo que termina antes de {@code micros} y adelanta la cobertura hasta ahí. */
+    void pruneBefore(long micros) {
+        if (micros <= coverageFrom) return;
+        coverageFrom = micros;
+        for (Long resourceId : byResource.keySet()) {
+            byResource.computeIfPresent(resourceId, (id, current) -> current.retainEndingAfter(micros));
+        }
+    }
+
+    long intervals() {
+        long n = 0;
+        for (ResourceIntervals r : byResource.values()) n += r.size();
+        return n;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.reservas.ledger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Origen de verdad para reconstruir el índice cuando no hay snapshot: las reservas CONFIRMED que
+ * terminan después de {@code endAfterMicros}, como eventos {@link LedgerEvent#CREATED}.
+ */
+@FunctionalInterface
+public interface IntervalSource {
+
+    void forEachConfirmed(long endAfterMicros, Consumer<LedgerEvent> consumer);
+
+    /** Recursos POOLED, que el índice no sirve; se consulta en cada arranque (no va en el snapshot). */
+    default Collection<Long> pooledResourceIds() {
+        return List.of();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.reservas.ledger;
+
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.outbox.ChangeEvent;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Evento del ledger: alta o cancelación de una reserva, con su intervalo en microsegundos desde epoch.
+ *
+ * En el log ocupa un registro de tamaño fijo ({@link #SIZE} bytes): tipo, ids, intervalo y un CRC32C
+ * que delata registros a medio escribir tras una caída.
+ */
+public record LedgerEvent(byte type, long reservationId, long resourceId, long startMicros, long endMicros) {
+
+    public static final byte CREATED = 1;
+    public static final byte CANCELLED = 2;
+
+    static final int SIZE = 1 + 4 * Long.BYTES + Integer.BYTES;
+
+    /** Evento a partir del tipo de cambio del outbox y la reserva tras el cambio. */
+    public static LedgerEvent of(String changeType, ReservationResponse r) {
+        byte type = switch (changeType) {
+            case ChangeEvent.RESERVATION_CREATED -> CREATED;
+            case ChangeEvent.RESERVATION_CANCELLED -> CANCELLED;
+            default -> throw new IllegalArgumentException("Tipo de cambio desconocido: " + changeType);
+        };
+        return new LedgerEvent(type, r.id(), r.resourceId(), micros(r.startTime()), micros(r.endTime()));
+    }
+
+    public static long micros(OffsetDateTime t) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, t.toInstant());
+    }
+
+    void writeTo(ByteBuffer buf) {
+        int at = buf.position();
+        buf.put(type).putLong(reservationId).putLong(resourceId).putLong(startMicros).putLong(endMicros);
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().position(at).limit(buf.position()));
+        buf.putInt((int) crc.getValue());
+    }
+
+    /** Lee el registro en la posición actual; null (sin avanzar) si el registro está incompleto o corrupto. */
+    static LedgerEvent readFrom(ByteBuffer buf) {
+        if (buf.remaining() < SIZE) return null;
+        int at = buf.position();
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().position(at).limit(at + SIZE - Integer.BYTES));
+        if ((int) crc.getValue() != buf.getInt(at + SIZE - Integer.BYTES)) return null;
+        LedgerEvent e = new LedgerEvent(buf.get(), buf.getLong(), buf.getLong(), buf.getLong(), buf.getLong());
+        buf.getInt();
+        return e;
+    }
+}
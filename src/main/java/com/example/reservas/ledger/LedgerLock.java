@@ -0,0 +1,99 @@
+package com.example.reservas.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exclusividad del ledger: advisory lock de sesión de Postgres en una conexión dedicada (fuera del pool).
+ *
+ * El índice solo ve las escrituras de su propia JVM, así que solo es correcto si no hay otra instancia
+ * escribiendo reservas. Una segunda instancia con el ledger activo no consigue el lock y no arranca.
+ * Si la conexión se pierde, Postgres libera el lock: {@code onLost} se invoca una vez y el ledger deja
+ * de servir desde el índice, porque otra instancia podría haberlo tomado.
+ */
+public final class LedgerLock implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerLock.class);
+
+    /** "reservas" en ASCII: clave fija del advisory lock. */
+    static final long KEY = 0x7265736572766173L;
+
+    private final Connection connection;
+    private final Duration checkInterval;
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private LedgerLock(Connection connection, Duration checkInterval) {
+        this.connection = connection;
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Toma el lock sobre {@code connection} (que pasa a ser del lock) o lanza {@link IllegalStateException}
+     * si otra instancia ya lo tiene.
+     */
+    public static LedgerLock acquire(Connection connection, Duration checkInterval, Runnable onLost) {
+        try (PreparedStatement ps = connection.prepareStatement("select pg_try_advisory_lock(?)")) {
+            ps.setLong(1, KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    closeQuietly(connection);
+                    throw new IllegalStateException("reservas.ledger.enabled requiere una única instancia: "
+                            + "otra instancia ya tiene el ledger activo sobre esta base de datos");
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IllegalStateException("No se pudo tomar el lock del ledger", e);
+        }
+        LedgerLock lock = new LedgerLock(connection, checkInterval);
+        Thread.ofPlatform().daemon().name("ledger-lock").start(() -> lock.watch(onLost));
+        return lock;
+    }
+
+    private void watch(Runnable onLost) {
+        try {
+            while (!closed.await(checkInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                if (!held()) {
+                    log.error("Ledger: conexión del lock perdida; el índice deja de servir disponibilidad");
+                    onLost.run();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Un lock de sesión dura lo que la sesión: basta con que la conexión siga viva. */
+    boolean held() {
+        try {
+            return connection.isValid((int) Math.max(1, checkInterval.toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** Cierra la conexión dedicada; Postgres libera el lock con la sesión. */
+    @Override
+    public void close() {
+        closed.countDown();
+        closeQuietly(connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Ledger: error cerrando la conexión del lock", e);
+        }
+    }
+}
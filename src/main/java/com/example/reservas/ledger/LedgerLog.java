@@ -0,0 +1,122 @@
+package com.example.reservas.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Log append-only de {@link LedgerEvent} en segmentos {@code ledger-<generación>.log}. Cada snapshot
+ * abre una generación nueva; los segmentos anteriores a la que cubre el snapshot se borran.
+ *
+ * Solo lo usa el hilo escritor del ledger (y el arranque, antes de que exista).
+ */
+final class LedgerLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerLog.class);
+
+    private static final String PREFIX = "ledger-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean force;
+    private FileChannel channel;
+    private long generation;
+
+    LedgerLog(Path directory, boolean force) {
+        this.directory = directory;
+        this.force = force;
+    }
+
+    /** Abre un segmento nuevo después de todos los existentes (no se escribe detrás de una cola truncada). */
+    void open() throws IOException {
+        List<Long> existing = generations();
+        openSegment(existing.isEmpty() ? 1 : existing.getLast() + 1);
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    void append(List<LedgerEvent> events) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(events.size() * LedgerEvent.SIZE);
+        for (LedgerEvent e : events) e.writeTo(buf);
+        buf.flip();
+        while (buf.hasRemaining()) channel.write(buf);
+        if (force) channel.force(false);
+    }
+
+    /** Cierra el segmento actual y abre el siguiente; devuelve la generación nueva. */
+    long rotate() throws IOException {
+        channel.close();
+        openSegment(generation + 1);
+        return generation;
+    }
+
+    /**
+     * Reaplica los segmentos de generación >= {@code fromGeneration} en orden. Un registro incompleto
+     * o con CRC erróneo (caída a mitad de escritura) corta el segmento en ese punto.
+     *
+     * @return eventos leídos
+     */
+    long replay(long fromGeneration, Consumer<LedgerEvent> consumer) throws IOException {
+        long events = 0;
+        for (long gen : generations()) {
+            if (gen < fromGeneration) continue;
+            Path segment = segment(gen);
+            try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                LedgerEvent e;
+                while ((e = LedgerEvent.readFrom(buf)) != null) {
+                    consumer.accept(e);
+                    events++;
+                }
+                if (buf.hasRemaining()) {
+                    log.warn("Ledger: {} con {} bytes finales incompletos o corruptos, se truncan", segment, buf.remaining());
+                    ch.truncate(buf.position());
+                }
+            }
+        }
+        return events;
+    }
+
+    /** Borra los segmentos anteriores a {@code generation} (ya incluidos en un snapshot). */
+    void deleteBefore(long generation) throws IOException {
+        for (long gen : generations()) {
+            if (gen < generation) Files.deleteIfExists(segment(gen));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    private void openSegment(long gen) throws IOException {
+        channel = FileChannel.open(segment(gen), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        generation = gen;
+    }
+
+    private Path segment(long gen) {
+        return directory.resolve(PREFIX + "%016d".formatted(gen) + SUFFIX);
+    }
+
+    private List<Long> generations() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(PREFIX) && n.endsWith(SUFFIX))
+                    .map(n -> Long.parseLong(n.substring(PREFIX.length(), n.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
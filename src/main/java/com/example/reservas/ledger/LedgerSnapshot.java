@@ -0,0 +1,107 @@
+package com.example.reservas.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot compacto del {@link IntervalIndex} en un fichero que se mapea en memoria al arrancar.
+ *
+ * <pre>
+ * cabecera   MAGIC, VERSION, nextGeneration, coverageFrom, recursos
+ * directorio por recurso: resourceId, n, maxLength, offset
+ * datos      por recurso: n ids, n inicios, n fines (long)
+ * cola       MAGIC (fichero completo)
+ * </pre>
+ * Cargarlo solo lee la cabecera y el directorio: los intervalos se quedan en el fichero mapeado y el
+ * sistema operativo trae las páginas a medida que se consultan. Se escribe en un temporal que se
+ * renombra de forma atómica, así que nunca se lee un snapshot a medias.
+ */
+final class LedgerSnapshot {
+
+    static final String FILE = "intervals.snapshot";
+
+    private static final int MAGIC = 0x52535653; // "RSVS"
+    private static final int VERSION = 1;
+    private static final int HEADER = 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    private static final int ENTRY = 4 * Long.BYTES;
+
+    /** Snapshot cargado: índice respaldado por el fichero y primera generación del log que falta aplicar. */
+    record Loaded(IntervalIndex index, long nextGeneration) {}
+
+    private LedgerSnapshot() {}
+
+    static void write(Path directory, IntervalIndex index, long nextGeneration) throws IOException {
+        List<Map.Entry<Long, ResourceIntervals>> resources = new ArrayList<>(index.resources().entrySet());
+        long offset = HEADER + (long) resources.size() * ENTRY;
+        long[] offsets = new long[resources.size()];
+        for (int i = 0; i < resources.size(); i++) {
+            offsets[i] = offset;
+            offset += 3L * Long.BYTES * resources.get(i).getValue().size();
+        }
+        long total = offset + Integer.BYTES;
+
+        Path tmp = directory.resolve(FILE + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            buf.putInt(MAGIC).putInt(VERSION).putLong(nextGeneration).putLong(index.coverageFrom())
+                    .putInt(resources.size());
+            for (int i = 0; i < resources.size(); i++) {
+                ResourceIntervals r = resources.get(i).getValue();
+                buf.putLong(resources.get(i).getKey()).putLong(r.size()).putLong(r.maxLength()).putLong(offsets[i]);
+            }
+            for (Map.Entry<Long, ResourceIntervals> entry : resources) {
+                ResourceIntervals r = entry.getValue();
+                for (int i = 0; i < r.size(); i++) buf.putLong(r.id(i));
+                for (int i = 0; i < r.size(); i++) buf.putLong(r.start(i));
+                for (int i = 0; i < r.size(); i++) buf.putLong(r.end(i));
+            }
+            buf.putInt(MAGIC);
+            ch.force(true);
+        }
+        Files.move(tmp, directory.resolve(FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Mapea el snapshot; null si no hay o no es válido (entonces se reconstruye desde Postgres). */
+    static Loaded load(Path directory) throws IOException {
+        Path file = directory.resolve(FILE);
+        if (!Files.exists(file)) return null;
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            // El mapeo sobrevive al cierre del canal (y al reemplazo del fichero por el siguiente snapshot)
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        if (buf.capacity() < HEADER + Integer.BYTES || buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION
+                || buf.getInt(buf.capacity() - Integer.BYTES) != MAGIC) {
+            return null;
+        }
+        long nextGeneration = buf.getLong(8);
+        long coverageFrom = buf.getLong(16);
+        int count = buf.getInt(24);
+        Map<Long, ResourceIntervals> resources = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int at = HEADER + i * ENTRY;
+            long resourceId = buf.getLong(at);
+            int n = (int) buf.getLong(at + 8);
+            long maxLength = buf.getLong(at + 16);
+            int offset = (int) buf.getLong(at + 24);
+            int bytes = n * Long.BYTES;
+            resources.put(resourceId, new ResourceIntervals(
+                    buf.slice(offset, bytes).asLongBuffer(),
+                    buf.slice(offset + bytes, bytes).asLongBuffer(),
+                    buf.slice(offset + 2 * bytes, bytes).asLongBuffer(),
+                    maxLength));
+        }
+        return new Loaded(new IntervalIndex(resources, coverageFrom), nextGeneration);
+    }
+}
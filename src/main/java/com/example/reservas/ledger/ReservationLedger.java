@@ -0,0 +1,308 @@
+package com.example.reservas.ledger;
+
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ledger de altas y cancelaciones de reservas con un índice en memoria de intervalos CONFIRMED por
+ * recurso, para servir disponibilidad sin consultar Postgres y arrancar en caliente.
+ *
+ * <ul>
+ *   <li>Tras el commit, los eventos se aplican al índice (en el propio hilo, antes que las evicciones
+ *       de caché, para que una lectura posterior no recachee el estado anterior) y se encolan.</li>
+ *   <li>Un hilo escritor los añade al log en lotes y cada {@code snapshotInterval} vuelca el índice a
+ *       un snapshot mapeado en memoria, abre un segmento nuevo y borra los ya cubiertos.</li>
+ *   <li>Al arrancar se mapea el snapshot y se reaplica la cola del log; sin snapshot, se reconstruye
+ *       una vez desde Postgres y se escribe uno. Hasta entonces, {@link #busy} devuelve null.</li>
+ * </ul>
+ * Solo cubre las escrituras que pasan por los servicios de reservas de esta JVM: cargas masivas o SQL
+ * manual requieren borrar el directorio para forzar una reconstrucción, y solo admite una instancia
+ * (lo garantiza un {@link LedgerLock}; si se pierde, el ledger se suspende y todo sale de Postgres).
+ * Los recursos POOLED no se sirven desde el índice ({@link #markPooled}). Con {@code enabled=false} es inerte.
+ */
+public class ReservationLedger implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationLedger.class);
+
+    private static final int MAX_BATCH = 4_096;
+    // Sin interrupciones: interrumpir un hilo en mitad de FileChannel.write cierra el canal
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration retention;
+    private final Duration snapshotInterval;
+    private final IntervalSource source;
+    private final Clock clock;
+    private final LedgerLog ledgerLog;
+
+    // apply + encolado bajo el mismo lock: el orden del log es el orden en que se aplicó al índice
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<LedgerEvent> backlog = new ArrayList<>();
+    // Capacidad compartida: solaparse no es estar ocupado, así que su disponibilidad sale de Postgres
+    private final Set<Long> pooled = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<LedgerEvent> queue = new LinkedBlockingQueue<>();
+    private volatile IntervalIndex index;
+    private volatile boolean ready;
+    private volatile boolean suspended;
+    private volatile LedgerLock instanceLock;
+    private volatile boolean stopping;
+    private volatile Thread writer;
+
+    private final Counter appended;
+    private final Timer snapshots;
+
+    public ReservationLedger(boolean enabled, Path directory, Duration retention, Duration snapshotInterval,
+                             boolean forceWrites, IntervalSource source, Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.retention = retention;
+        this.snapshotInterval = snapshotInterval;
+        this.source = source;
+        this.clock = clock;
+        this.ledgerLog = new LedgerLog(directory, forceWrites);
+        this.appended = Counter.builder("reservas.ledger.events")
+                .description("Eventos añadidos al log del ledger").register(meterRegistry);
+        this.snapshots = Timer.builder("reservas.ledger.snapshot")
+                .description("Escritura de snapshots del ledger").register(meterRegistry);
+        Gauge.builder("reservas.ledger.pending", queue, BlockingQueue::size)
+                .description("Eventos aplicados al índice pendientes de escribir en el log").register(meterRegistry);
+        Gauge.builder("reservas.ledger.ready", this, l -> l.ready ? 1 : 0)
+                .description("1 si el índice está listo para servir disponibilidad").register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Lock de instancia única; se libera al cerrar, después del último snapshot. */
+    public void holdLock(LedgerLock instanceLock) {
+        this.instanceLock = instanceLock;
+    }
+
+    /**
+     * Deja de servir desde el índice (y de seguir los cambios) hasta reiniciar: la disponibilidad vuelve a
+     * Postgres. El hilo escritor borra el snapshot, que ya no refleja todas las escrituras, para que el
+     * siguiente arranque reconstruya desde Postgres.
+     */
+    public void suspend() {
+        lock.lock();
+        try {
+            suspended = true;
+            ready = false;
+            backlog.clear();
+        } finally {
+            lock.unlock();
+        }
+        log.warn("Ledger suspendido: la disponibilidad se sirve desde Postgres hasta reiniciar");
+    }
+
+    /** El recurso es POOLED: {@link #busy} devuelve null para él y la disponibilidad sale de los contadores por slot. */
+    public void markPooled(Long resourceId) {
+        if (enabled) pooled.add(resourceId);
+    }
+
+    /** Registra el cambio de una reserva; dentro de una transacción, se aplica tras el commit. */
+    public void record(String changeType, ReservationResponse reservation) {
+        if (!enabled) return;
+        publish(List.of(LedgerEvent.of(changeType, reservation)));
+    }
+
+    public void recordAll(String changeType, List<ReservationResponse> reservations) {
+        if (!enabled || reservations.isEmpty()) return;
+        publish(reservations.stream().map(r -> LedgerEvent.of(changeType, r)).toList());
+    }
+
+    /**
+     * Intervalos ocupados del recurso que solapan [from, to), o null si el índice no está listo, no
+     * cubre la ventana o el recurso es POOLED (entonces hay que preguntar a Postgres).
+     */
+    public List<TimeWindow> busy(Long resourceId, OffsetDateTime from, OffsetDateTime to) {
+        if (!ready || pooled.contains(resourceId)) return null;
+        IntervalIndex current = index;
+        long fromMicros = LedgerEvent.micros(from);
+        if (fromMicros < current.coverageFrom()) return null;
+        List<TimeWindow> busy = new ArrayList<>();
+        current.get(resourceId).forEachOverlapping(fromMicros, LedgerEvent.micros(to),
+                (s, e) -> busy.add(new TimeWindow(time(s), time(e))));
+        return busy;
+    }
+
+    /** Carga el índice (snapshot + cola del log, o Postgres) en segundo plano y arranca el hilo escritor. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        Thread.ofPlatform().daemon().name("ledger-bootstrap").start(() -> {
+            try {
+                bootstrap();
+            } catch (Exception e) {
+                log.error("Ledger: no se pudo cargar el índice; la disponibilidad se sigue sirviendo desde Postgres", e);
+            }
+        });
+    }
+
+    private void bootstrap() throws IOException {
+        long t0 = System.nanoTime();
+        Files.createDirectories(directory);
+        pooled.addAll(source.pooledResourceIds());
+        LedgerSnapshot.Loaded snapshot = LedgerSnapshot.load(directory);
+        boolean rebuilt = snapshot == null;
+        long replayed;
+        if (snapshot != null) {
+            index = snapshot.index();
+            replayed = ledgerLog.replay(snapshot.nextGeneration(), index::apply);
+        } else {
+            // Sin snapshot los segmentos que haya no tienen base sobre la que aplicarse
+            IntervalIndex fresh = new IntervalIndex(micros(clock.instant().minus(retention)));
+            source.forEachConfirmed(fresh.coverageFrom(), fresh::apply);
+            index = fresh;
+            replayed = 0;
+        }
+        ledgerLog.open();
+        if (rebuilt) ledgerLog.deleteBefore(ledgerLog.generation());
+
+        lock.lock();
+        try {
+            backlog.forEach(index::apply);
+            backlog.clear();
+            // Con el backlog ya en el índice: los eventos encolados durante la carga van al segmento nuevo
+            writer = Thread.ofPlatform().daemon().name("ledger-writer").start(() -> writeLoop(rebuilt));
+            ready = !suspended;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Ledger listo en {} ms ({}): {} intervalos, {} eventos reaplicados",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0), rebuilt ? "reconstruido desde Postgres" : "snapshot",
+                index.intervals(), replayed);
+    }
+
+    private void publish(List<LedgerEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // Antes que las evicciones de la caché transaccional (LOWEST_PRECEDENCE)
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    accept(events);
+                }
+            });
+        } else {
+            accept(events);
+        }
+    }
+
+    private void accept(List<LedgerEvent> events) {
+        lock.lock();
+        try {
+            if (suspended) return;
+            if (ready) events.forEach(index::apply);
+            else backlog.addAll(events);
+            queue.addAll(events);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop(boolean snapshotNow) {
+        long nextSnapshot = snapshotNow ? System.nanoTime() : System.nanoTime() + snapshotInterval.toNanos();
+        List<LedgerEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                if (suspended) {
+                    // En este hilo: un snapshot en curso no puede reaparecer después del borrado
+                    Files.deleteIfExists(directory.resolve(LedgerSnapshot.FILE));
+                    queue.clear();
+                    return;
+                }
+                long wait = Math.clamp(nextSnapshot - System.nanoTime(), 0, POLL_NANOS);
+                LedgerEvent first = stopping ? queue.poll() : queue.poll(wait, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    ledgerLog.append(batch);
+                    appended.increment(batch.size());
+                    batch.clear();
+                }
+                if (stopping && first == null) {
+                    snapshot();
+                    return;
+                }
+                if (System.nanoTime() >= nextSnapshot) {
+                    // Antes del snapshot: si falla, se reintenta en el siguiente intervalo y no en bucle
+                    nextSnapshot = System.nanoTime() + snapshotInterval.toNanos();
+                    snapshot();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Los eventos del lote fallido ya están en el índice; el siguiente snapshot los incluye
+                log.error("Ledger: fallo escribiendo el log o el snapshot", e);
+                batch.clear();
+                if (stopping || suspended) return;
+            }
+        }
+    }
+
+    /** Segmento nuevo, snapshot del índice (que ya incluye todo lo anterior) y borrado de lo cubierto. */
+    private void snapshot() throws IOException {
+        long t0 = System.nanoTime();
+        long generation = ledgerLog.rotate();
+        index.pruneBefore(micros(clock.instant().minus(retention)));
+        LedgerSnapshot.write(directory, index, generation);
+        ledgerLog.deleteBefore(generation);
+        snapshots.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+    }
+
+    /** Vacía la cola, escribe un último snapshot y cierra el log. */
+    @Override
+    public void close() throws Exception {
+        stopping = true;
+        Thread w = writer;
+        if (w != null) w.join(TimeUnit.SECONDS.toMillis(10));
+        ledgerLog.close();
+        LedgerLock l = instanceLock;
+        if (l != null) l.close();
+    }
+
+    private static long micros(Instant t) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, t);
+    }
+
+    private static OffsetDateTime time(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+    }
+}
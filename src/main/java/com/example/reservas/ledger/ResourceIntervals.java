@@ -0,0 +1,146 @@
+package com.example.reservas.ledger;
+
+import java.nio.LongBuffer;
+
+/**
+ * Intervalos CONFIRMED de un recurso, ordenados por inicio. Inmutable: cada cambio produce una copia
+ * en heap, así que los lectores nunca ven un estado a medias.
+ *
+ * Los arrays son {@link LongBuffer}: recién cargado un snapshot apuntan al fichero mapeado (sin copiar
+ * nada al arrancar); el recurso pasa a heap la primera vez que cambia.
+ */
+final class ResourceIntervals {
+
+    @FunctionalInterface
+    interface IntervalConsumer {
+        void accept(long startMicros, long endMicros);
+    }
+
+    static final ResourceIntervals EMPTY = new ResourceIntervals(
+            LongBuffer.allocate(0), LongBuffer.allocate(0), LongBuffer.allocate(0), 0);
+
+    private final LongBuffer ids;
+    private final LongBuffer starts;
+    private final LongBuffer ends;
+    /** Duración máxima: acota hacia atrás la búsqueda de intervalos que empiezan antes de la ventana. */
+    private final long maxLength;
+
+    ResourceIntervals(LongBuffer ids, LongBuffer starts, LongBuffer ends, long maxLength) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxLength = maxLength;
+    }
+
+    int size() {
+        return ids.limit();
+    }
+
+    long maxLength() {
+        return maxLength;
+    }
+
+    long id(int i) {
+        return ids.get(i);
+    }
+
+    long start(int i) {
+        return starts.get(i);
+    }
+
+    long end(int i) {
+        return ends.get(i);
+    }
+
+    /** Con el intervalo añadido; sin cambios si ya estaba (el replay puede repetir eventos). */
+    ResourceIntervals with(long id, long start, long end) {
+        if (indexOf(id, start) >= 0) return this;
+        int n = size();
+        int at = lowerBound(start);
+        long[] newIds = new long[n + 1];
+        long[] newStarts = new long[n + 1];
+        long[] newEnds = new long[n + 1];
+        copy(0, at, newIds, newStarts, newEnds, 0);
+        newIds[at] = id;
+        newStarts[at] = start;
+        newEnds[at] = end;
+        copy(at, n - at, newIds, newStarts, newEnds, at + 1);
+        return new ResourceIntervals(LongBuffer.wrap(newIds), LongBuffer.wrap(newStarts), LongBuffer.wrap(newEnds),
+                Math.max(maxLength, end - start));
+    }
+
+    /** Sin el intervalo; sin cambios si no estaba. */
+    ResourceIntervals without(long id, long start) {
+        int at = indexOf(id, start);
+        if (at < 0) return this;
+        int n = size();
+        long[] newIds = new long[n - 1];
+        long[] newStarts = new long[n - 1];
+        long[] newEnds = new long[n - 1];
+        copy(0, at, newIds, newStarts, newEnds, 0);
+        copy(at + 1, n - at - 1, newIds, newStarts, newEnds, at);
+        return new ResourceIntervals(LongBuffer.wrap(newIds), LongBuffer.wrap(newStarts), LongBuffer.wrap(newEnds),
+                maxLength);
+    }
+
+    /** Sin los intervalos que terminan antes de {@code micros}; null si no queda ninguno. */
+    ResourceIntervals retainEndingAfter(long micros) {
+        int n = size();
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (ends.get(i) > micros) kept++;
+        }
+        if (kept == n) return this;
+        if (kept == 0) return null;
+        long[] newIds = new long[kept];
+        long[] newStarts = new long[kept];
+        long[] newEnds = new long[kept];
+        long max = 0;
+        for (int i = 0, j = 0; i < n; i++) {
+            if (ends.get(i) <= micros) continue;
+            newIds[j] = ids.get(i);
+            newStarts[j] = starts.get(i);
+            newEnds[j] = ends.get(i);
+            max = Math.max(max, newEnds[j] - newStarts[j]);
+            j++;
+        }
+        return new ResourceIntervals(LongBuffer.wrap(newIds), LongBuffer.wrap(newStarts), LongBuffer.wrap(newEnds), max);
+    }
+
+    /** Intervalos que solapan [from, to), en orden de inicio. */
+    void forEachOverlapping(long from, long to, IntervalConsumer consumer) {
+        int n = size();
+        for (int i = lowerBound(from - maxLength); i < n; i++) {
+            long s = starts.get(i);
+            if (s >= to) break;
+            long e = ends.get(i);
+            if (e > from) consumer.accept(s, e);
+        }
+    }
+
+    private int indexOf(long id, long start) {
+        int n = size();
+        for (int i = lowerBound(start); i < n && starts.get(i) == start; i++) {
+            if (ids.get(i) == id) return i;
+        }
+        return -1;
+    }
+
+    /** Primera posición con inicio >= {@code start}. */
+    private int lowerBound(long start) {
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts.get(mid) < start) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void copy(int from, int length, long[] toIds, long[] toStarts, long[] toEnds, int at) {
+        ids.get(from, toIds, at, length);
+        starts.get(from, toStarts, at, length);
+        ends.get(from, toEnds, at, length);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.reservas.outbox;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Evento de cambio de una reserva tal como lo reciben los sinks. {@code sequence} (id del outbox)
+ * crece en orden de commit dentro de cada recurso; {@code payload} es el JSON de la reserva tras el cambio.
+ */
+public record ChangeEvent(long sequence, String type, Long resourceId, Long reservationId,
+                          String payload, OffsetDateTime occurredAt) {
+
+    public static final String RESERVATION_CREATED = "RESERVATION_CREATED";
+    public static final String RESERVATION_CANCELLED = "RESERVATION_CANCELLED";
+}
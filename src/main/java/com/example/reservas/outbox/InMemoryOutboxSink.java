@@ -0,0 +1,25 @@
+package com.example.reservas.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink en memoria para tests y entornos locales: acumula los eventos publicados.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<ChangeEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<ChangeEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.reservas.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Sink por defecto: una línea estructurada por evento en el logger {@code reservas.outbox}, para que la
+ * recoja la tubería de logs mientras no haya un broker.
+ */
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger("reservas.outbox");
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        for (ChangeEvent e : events) {
+            log.atInfo()
+                    .addKeyValue("sequence", e.sequence())
+                    .addKeyValue("type", e.type())
+                    .addKeyValue("resourceId", e.resourceId())
+                    .addKeyValue("reservationId", e.reservationId())
+                    .addKeyValue("payload", e.payload())
+                    .log("reservation change");
+        }
+    }
+}
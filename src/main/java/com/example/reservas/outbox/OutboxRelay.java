@@ -0,0 +1,134 @@
+package com.example.reservas.outbox;
+
+import com.example.reservas.domain.OutboxEvent;
+import com.example.reservas.repo.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vacía el outbox hacia el {@link OutboxSink} por lotes.
+ *
+ * Las filas se reparten en {@code lanes} carriles por {@code resource_id % lanes}; cada carril tiene
+ * su hilo y, entre instancias, un advisory lock, así que los eventos de un recurso salen siempre en
+ * orden y el rendimiento escala con el número de carriles. Cada lote es una transacción: bloquear
+ * (SKIP LOCKED), publicar y borrar en bloque. Si el sink falla, la transacción se deshace y el lote
+ * se reintenta en la siguiente pasada.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepo;
+    private final OutboxSink sink;
+    private final TransactionTemplate tx;
+    private final int lanes;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    private volatile ScheduledExecutorService executor;
+
+    public OutboxRelay(OutboxRepository outboxRepo, OutboxSink sink, TransactionTemplate tx,
+                       int lanes, int batchSize, Duration pollInterval, MeterRegistry meterRegistry) {
+        this.outboxRepo = outboxRepo;
+        this.sink = sink;
+        this.tx = tx;
+        this.lanes = lanes;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.published = Counter.builder("reservas.outbox.published")
+                .description("Eventos del outbox publicados en el sink").register(meterRegistry);
+        this.failures = Counter.builder("reservas.outbox.failures")
+                .description("Lotes del outbox que fallaron y se reintentarán").register(meterRegistry);
+        this.batchTimer = Timer.builder("reservas.outbox.batch")
+                .description("Bloquear, publicar y borrar un lote del outbox").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        ScheduledExecutorService ex = Executors.newScheduledThreadPool(lanes, r -> {
+            Thread t = new Thread(r, "outbox-relay-" + threads.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = pollInterval.toMillis();
+        for (int lane = 0; lane < lanes; lane++) {
+            int l = lane;
+            ex.scheduleWithFixedDelay(() -> drain(l), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        executor = ex;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService ex = executor;
+        executor = null;
+        if (ex == null) return;
+        ex.shutdown();
+        try {
+            ex.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /** Lotes seguidos mientras vengan llenos: con atasco, el carril no espera al siguiente intervalo. */
+    void drain(int lane) {
+        try {
+            int relayed;
+            do {
+                relayed = batchTimer.record(() -> tx.execute(status -> relayBatch(lane)));
+            } while (relayed == batchSize && executor != null);
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Outbox: fallo en el carril {}, se reintentará: {}", lane, e.toString());
+        }
+    }
+
+    /** @return filas publicadas y borradas (0 si otro relay tiene el carril o no hay pendientes) */
+    int relayBatch(int lane) {
+        if (!outboxRepo.tryLockLane(OutboxRepository.LANE_LOCK_NAMESPACE, lane)) return 0;
+        List<OutboxEvent> rows = outboxRepo.lockBatch(lanes, lane, batchSize);
+        if (rows.isEmpty()) return 0;
+
+        List<ChangeEvent> events = new ArrayList<>(rows.size());
+        Long[] ids = new Long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            OutboxEvent r = rows.get(i);
+            ids[i] = r.getId();
+            events.add(new ChangeEvent(r.getId(), r.getEventType(), r.getResourceId(), r.getReservationId(),
+                    r.getPayload(), r.getCreatedAt()));
+        }
+        try {
+            sink.publish(events);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("El sink del outbox falló", e);
+        }
+        outboxRepo.deleteAllByIds(ids);
+        published.increment(events.size());
+        return events.size();
+    }
+}
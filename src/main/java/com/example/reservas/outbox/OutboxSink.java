@@ -0,0 +1,12 @@
+package com.example.reservas.outbox;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos del outbox (broker, webhook, fichero...). Recibe lotes de un mismo carril en
+ * orden de {@code sequence}; si lanza, el lote no se borra y se reintenta (entrega al menos una vez).
+ */
+public interface OutboxSink {
+
+    void publish(List<ChangeEvent> events) throws Exception;
+}
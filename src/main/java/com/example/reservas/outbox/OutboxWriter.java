@@ -0,0 +1,70 @@
+package com.example.reservas.outbox;
+
+import com.example.reservas.domain.OutboxEvent;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.repo.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Escribe el evento en el outbox dentro de la transacción de la escritura de negocio: o se confirman
+ * ambos o ninguno. Con el outbox desactivado no hace nada.
+ */
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepo;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxWriter(OutboxRepository outboxRepo, ObjectMapper objectMapper, boolean enabled) {
+        this.outboxRepo = outboxRepo;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String type, ReservationResponse reservation) {
+        if (!enabled) return;
+        outboxRepo.lockResource(OutboxRepository.RESOURCE_LOCK_NAMESPACE, reservation.resourceId());
+        OutboxEvent e = new OutboxEvent();
+        e.setResourceId(reservation.resourceId());
+        e.setReservationId(reservation.id());
+        e.setEventType(type);
+        e.setPayload(payload(reservation));
+        outboxRepo.save(e);
+    }
+
+    /**
+     * Varios eventos del mismo tipo con un solo INSERT (series). Los locks por recurso se toman en
+     * orden de id para no interbloquearse con otra escritura multi-recurso.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String type, List<ReservationResponse> reservations) {
+        if (!enabled || reservations.isEmpty()) return;
+        reservations.stream().map(ReservationResponse::resourceId).distinct().sorted()
+                .forEach(resourceId -> outboxRepo.lockResource(OutboxRepository.RESOURCE_LOCK_NAMESPACE, resourceId));
+        int n = reservations.size();
+        Long[] resourceIds = new Long[n];
+        Long[] reservationIds = new Long[n];
+        String[] payloads = new String[n];
+        for (int i = 0; i < n; i++) {
+            ReservationResponse r = reservations.get(i);
+            resourceIds[i] = r.resourceId();
+            reservationIds[i] = r.id();
+            payloads[i] = payload(r);
+        }
+        outboxRepo.insertAll(type, resourceIds, reservationIds, payloads);
+    }
+
+    private String payload(ReservationResponse reservation) {
+        try {
+            return objectMapper.writeValueAsString(reservation);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar la reserva " + reservation.id(), ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.reservas.repo;
+
+import com.example.reservas.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** Espacios de claves de advisory locks (forma de dos enteros) del outbox. */
+    int RESOURCE_LOCK_NAMESPACE = 0x0B0C_0001;
+    int LANE_LOCK_NAMESPACE = 0x0B0C_0002;
+
+    /**
+     * Serializa hasta el commit las escrituras al outbox de un mismo recurso, para que el orden de
+     * los ids coincida con el orden de commit y el relay nunca publique un evento antes que otro previo.
+     */
+    @Query(value = """
+      select 1 from pg_advisory_xact_lock(:namespace, cast(mod(:resourceId, 2147483647) as integer))
+      """, nativeQuery = true)
+    int lockResource(int namespace, long resourceId);
+
+    /** Un solo relay (de cualquier instancia) por carril a la vez: conserva el orden por recurso. */
+    @Query(value = "select pg_try_advisory_xact_lock(:namespace, :lane)", nativeQuery = true)
+    boolean tryLockLane(int namespace, int lane);
+
+    /**
+     * Siguiente lote del carril en orden de id. SKIP LOCKED: las filas que otro lector tenga bloqueadas
+     * se saltan en lugar de esperar.
+     */
+    @Query(value = """
+      select * from reservation_outbox
+      where mod(resource_id, :lanes) = :lane
+      order by id
+      limit :batchSize
+      for update skip locked
+      """, nativeQuery = true)
+    List<OutboxEvent> lockBatch(int lanes, int lane, int batchSize);
+
+    /** Varios eventos del mismo tipo en una sentencia; los ids siguen el orden de los arrays. */
+    @Modifying
+    @Query(value = """
+      insert into reservation_outbox (resource_id, reservation_id, event_type, payload)
+      select e.resource_id, e.reservation_id, :eventType, cast(e.payload as jsonb)
+      from unnest(cast(:resourceIds as bigint[]), cast(:reservationIds as bigint[]), cast(:payloads as text[]))
+           with ordinality as e(resource_id, reservation_id, payload, ord)
+      order by e.ord
+      """, nativeQuery = true)
+    int insertAll(String eventType, Long[] resourceIds, Long[] reservationIds, String[] payloads);
+
+    @Modifying
+    @Query(value = "delete from reservation_outbox where id = any(cast(:ids as bigint[]))", nativeQuery = true)
+    int deleteAllByIds(Long[] ids);
+}
@@ -7,11 +7,20 @@ import org.springframework.data.jpa.repository.Query;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    /** Intervalo CONFIRMED en microsegundos desde epoch (reconstrucción del ledger). */
+    interface IntervalRow {
+        Long getId();
+        Long getResourceId();
+        Long getStartMicros();
+        Long getEndMicros();
+    }
+
     @Query("""
       select r from Reservation r
       where r.resource.id = :resourceId
@@ -21,6 +30,42 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
       """)
     List<Reservation> findOverlaps(Long resourceId, OffsetDateTime start, OffsetDateTime end);
 
+    /** Intervalo ocupado en microsegundos desde epoch (disponibilidad). */
+    interface BusyRow {
+        Long getStartMicros();
+        Long getEndMicros();
+    }
+
+    /**
+     * Intervalos ocupados de [start, end) en una sola consulta, según el modo del recurso:
+     * EXCLUSIVE, las reservas CONFIRMED que lo solapan (mismo predicado que el ledger; incluye las que
+     * empiezan el día anterior y excluye las canceladas); POOLED, los slots sin plazas libres de
+     * {@code resource_slot_capacity} (un slot sin fila conserva toda la capacidad). La SQL reactiva es la misma.
+     */
+    @Query(value = """
+      select cast(extract(epoch from x.start_time) * 1000000 as bigint) as startMicros,
+             cast(extract(epoch from x.end_time) * 1000000 as bigint) as endMicros
+      from reservation x
+      join resource r on r.id = x.resource_id
+      where x.resource_id = :resourceId
+        and r.capacity_mode = 'EXCLUSIVE'
+        and x.status = 'CONFIRMED'
+        and x.start_time < :end
+        and x.end_time > :start
+      union all
+      select cast(extract(epoch from c.slot_start) * 1000000 as bigint),
+             cast(extract(epoch from c.slot_start + r.slot_minutes * interval '1 minute') * 1000000 as bigint)
+      from resource_slot_capacity c
+      join resource r on r.id = c.resource_id
+      where c.resource_id = :resourceId
+        and r.capacity_mode = 'POOLED'
+        and c.remaining <= 0
+        and c.slot_start < :end
+        and c.slot_start + r.slot_minutes * interval '1 minute' > :start
+      order by 1
+      """, nativeQuery = true)
+    List<BusyRow> findBusyForDay(Long resourceId, OffsetDateTime start, OffsetDateTime end);
+
     @Query("""
       select r from Reservation r
       where r.resource.id = :resourceId
@@ -28,16 +73,68 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
         and r.startTime < :end
       order by r.startTime asc
       """)
-    List<Reservation> findForDay(Long resourceId, OffsetDateTime start, OffsetDateTime end);
+    Page<Reservation> findForDayPage(Long resourceId, OffsetDateTime start, OffsetDateTime end, Pageable pageable);
 
+    /** Reserva con su recurso en una sola consulta (cancelación: política del negocio del recurso). */
     @Query("""
       select r from Reservation r
-      where r.resource.id = :resourceId
-        and r.startTime >= :start
-        and r.startTime < :end
-      order by r.startTime asc
+      join fetch r.resource
+      where r.id = :id
       """)
-    Page<Reservation> findForDayPage(Long resourceId, OffsetDateTime start, OffsetDateTime end, Pageable pageable);
+    Optional<Reservation> findWithResourceById(Long id);
+
+    /**
+     * Posiciones (0-based) de las ocurrencias que solapan alguna reserva CONFIRMED del recurso.
+     * Todas las ocurrencias en una consulta: los intervalos llegan como arrays paralelos de
+     * microsegundos desde epoch y se despliegan con {@code unnest}.
+     */
+    @Query(value = """
+      select cast(o.ord - 1 as integer)
+      from unnest(cast(:startMicros as bigint[]), cast(:endMicros as bigint[])) with ordinality as o(s, e, ord)
+      where exists (
+        select 1 from reservation r
+        where r.resource_id = :resourceId
+          and r.status = 'CONFIRMED'
+          and r.start_time < cast('epoch' as timestamptz) + o.e * interval '1 microsecond'
+          and r.end_time > cast('epoch' as timestamptz) + o.s * interval '1 microsecond')
+      order by o.ord
+      """, nativeQuery = true)
+    List<Integer> findOverlappingOccurrences(Long resourceId, Long[] startMicros, Long[] endMicros);
+
+    /**
+     * Inserta la serie CONFIRMED en una sola sentencia y devuelve los ids en el orden de los arrays.
+     * No es {@code @Modifying}: {@code RETURNING} se lee como un resultado.
+     */
+    @Query(value = """
+      insert into reservation
+        (resource_id, customer_name, customer_email, party_size, start_time, end_time, status, created_at)
+      select :resourceId, :customerName, :customerEmail, :partySize,
+             cast('epoch' as timestamptz) + o.s * interval '1 microsecond',
+             cast('epoch' as timestamptz) + o.e * interval '1 microsecond',
+             'CONFIRMED', now()
+      from unnest(cast(:startMicros as bigint[]), cast(:endMicros as bigint[])) with ordinality as o(s, e, ord)
+      order by o.ord
+      returning id
+      """, nativeQuery = true)
+    List<Long> insertSeries(Long resourceId, String customerName, String customerEmail, int partySize,
+                            Long[] startMicros, Long[] endMicros);
+
+    /**
+     * Página (keyset por id) de las reservas CONFIRMED que terminan después de {@code endAfterMicros}.
+     * Solo la usa el ledger cuando arranca sin snapshot.
+     */
+    @Query(value = """
+      select r.id as id, r.resource_id as resourceId,
+             cast(extract(epoch from r.start_time) * 1000000 as bigint) as startMicros,
+             cast(extract(epoch from r.end_time) * 1000000 as bigint) as endMicros
+      from reservation r
+      where r.id > :afterId
+        and r.status = 'CONFIRMED'
+        and r.end_time > cast('epoch' as timestamptz) + :endAfterMicros * interval '1 microsecond'
+      order by r.id
+      limit :limit
+      """, nativeQuery = true)
+    List<IntervalRow> findConfirmedIntervals(long endAfterMicros, long afterId, int limit);
 
     long countByResourceIdAndStatus(Long resourceId, ReservationStatus status);
 }
\ No newline at end of file
@@ -2,9 +2,42 @@ package com.example.reservas.repo;
 
 import com.example.reservas.domain.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     Page<Resource> findByBusinessId(Long businessId, Pageable pageable);
-}
\ No newline at end of file
+
+    long countByBusinessId(Long businessId);
+
+    /**
+     * Recursos del negocio con capacidad suficiente y libres en [start, end): sin reservas CONFIRMED que
+     * solapen o, si son POOLED, sin slots cuya capacidad restante no alcance para el grupo;
+     * del que mejor encaja (menor capacidad) al que peor. Una consulta: rango sobre
+     * (business_id, capacity) y anti-join por recurso contra el índice parcial de reservas confirmadas.
+     */
+    @Query(value = """
+      select r.* from resource r
+      where r.business_id = :businessId
+        and r.capacity >= :partySize
+        and (r.capacity_mode = 'EXCLUSIVE' and not exists (
+              select 1 from reservation x
+              where x.resource_id = r.id
+                and x.status = 'CONFIRMED'
+                and x.start_time < :end
+                and x.end_time > :start)
+          or r.capacity_mode = 'POOLED' and not exists (
+              select 1 from resource_slot_capacity c
+              where c.resource_id = r.id
+                and c.slot_start < :end
+                and c.slot_start + r.slot_minutes * interval '1 minute' > :start
+                and c.remaining < :partySize))
+      order by r.capacity asc, r.id asc
+      limit :limit
+      """, nativeQuery = true)
+    List<Resource> findAvailable(Long businessId, int partySize, OffsetDateTime start, OffsetDateTime end, int limit);
+}
@@ -0,0 +1,100 @@
+package com.example.reservas.repo;
+
+import com.example.reservas.domain.ResourceSlotCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface SlotCapacityRepository extends JpaRepository<ResourceSlotCapacity, ResourceSlotCapacity.Key> {
+
+    /**
+     * Descuenta {@code partySize} en todos los slots, creando los que no existan con la capacidad
+     * completa. Solo cuenta las filas con capacidad suficiente: si devuelve menos que el número de
+     * slots, la reserva no cabe y la transacción debe deshacerse. Las filas se procesan en orden de
+     * slot, así dos reservas solapadas bloquean en el mismo orden y no se interbloquean.
+     */
+    @Modifying
+    @Query(value = """
+      insert into resource_slot_capacity (resource_id, slot_start, remaining)
+      select :resourceId, cast('epoch' as timestamptz) + s.micros * interval '1 microsecond', :capacity - :partySize
+      from unnest(cast(:slotMicros as bigint[])) as s(micros)
+      order by s.micros
+      on conflict (resource_id, slot_start) do update
+        set remaining = resource_slot_capacity.remaining - :partySize
+        where resource_slot_capacity.remaining >= :partySize
+      """, nativeQuery = true)
+    int reserve(Long resourceId, int capacity, int partySize, Long[] slotMicros);
+
+    /**
+     * Devuelve la capacidad de una reserva cancelada. Bloquea las filas en orden de slot antes de
+     * actualizarlas, igual que {@link #reserve}: una cancelación y una reserva sobre el mismo rango
+     * no se interbloquean.
+     */
+    @Modifying
+    @Query(value = """
+      update resource_slot_capacity c
+         set remaining = c.remaining + :partySize
+        from (
+          select slot_start from resource_slot_capacity
+          where resource_id = :resourceId
+            and slot_start = any(array(select cast('epoch' as timestamptz) + s.micros * interval '1 microsecond'
+                                       from unnest(cast(:slotMicros as bigint[])) as s(micros)))
+          order by slot_start
+          for update) locked
+       where c.resource_id = :resourceId
+         and c.slot_start = locked.slot_start
+      """, nativeQuery = true)
+    int release(Long resourceId, int partySize, Long[] slotMicros);
+
+    /** Ids de los recursos POOLED (candidatos a reconciliar). */
+    @Query(value = "select id from resource where capacity_mode = 'POOLED' order by id", nativeQuery = true)
+    List<Long> findPooledResourceIds();
+
+    /**
+     * Bloquea los contadores del recurso desde {@code from}: las reservas en curso sobre esos slots
+     * terminan antes y las nuevas esperan a la reconciliación.
+     */
+    @Query(value = """
+      select count(*) from (
+        select 1 from resource_slot_capacity
+        where resource_id = :resourceId and slot_start >= :from
+        order by slot_start
+        for update) locked
+      """, nativeQuery = true)
+    long lockFrom(Long resourceId, OffsetDateTime from);
+
+    /**
+     * Recalcula los contadores del recurso desde {@code from} a partir de las reservas CONFIRMED
+     * (capacidad menos la suma de party_size de las que tocan el slot) y corrige los que difieran.
+     * Devuelve cuántos slots estaban desviados.
+     */
+    @Modifying
+    @Query(value = """
+      update resource_slot_capacity c
+         set remaining = e.remaining
+        from (
+          select s.slot_start,
+                 r.capacity - coalesce(sum(x.party_size), 0) as remaining
+          from resource_slot_capacity s
+          join resource r on r.id = s.resource_id
+          left join reservation x
+                 on x.resource_id = s.resource_id
+                and x.status = 'CONFIRMED'
+                and x.start_time < s.slot_start + r.slot_minutes * interval '1 minute'
+                and x.end_time > s.slot_start
+          where s.resource_id = :resourceId and s.slot_start >= :from
+          group by s.slot_start, r.capacity) e
+       where c.resource_id = :resourceId
+         and c.slot_start = e.slot_start
+         and c.remaining <> e.remaining
+      """, nativeQuery = true)
+    int reconcileFrom(Long resourceId, OffsetDateTime from);
+
+    /** Purga contadores de slots ya pasados. */
+    @Modifying
+    @Query(value = "delete from resource_slot_capacity where slot_start < :before", nativeQuery = true)
+    int deleteBefore(OffsetDateTime before);
+}
@@ -0,0 +1,334 @@
+package com.example.reservas.seed;
+
+import com.example.reservas.config.SeedProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Seeder masivo para pruebas de escala (perfil {@code seed}).
+ *
+ * Genera negocios, políticas, recursos y reservas no solapadas por recurso (CONFIRMED, CANCELLED y
+ * LATE_CANCELLED) con demanda realista: popularidad por negocio, picos de comida y cena y más
+ * ocupación en fin de semana. Todo se carga con {@code COPY ... FROM STDIN} en una única transacción
+ * y al final se rellena {@code resource_daily_occupancy} para los recursos nuevos, de modo que los
+ * informes de ocupación quedan coherentes con las reservas.
+ *
+ * <pre>
+ *   SPRING_PROFILES_ACTIVE=seed ./mvnw spring-boot:run -Dspring-boot.run.arguments=--reservas.seed.businesses=5000
+ * </pre>
+ */
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+public class BulkSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkSeeder.class);
+
+    private static final String[] FIRST_NAMES = {
+        "ana", "luis", "maria", "jose", "carmen", "javier", "lucia", "david", "sofia", "pablo",
+        "elena", "carlos", "paula", "miguel", "laura", "diego", "marta", "sergio", "sara", "jorge"
+    };
+    private static final String[] LAST_NAMES = {
+        "garcia", "martinez", "lopez", "sanchez", "perez", "gomez", "martin", "jimenez", "ruiz", "hernandez",
+        "diaz", "moreno", "alvarez", "romero", "navarro", "torres", "dominguez", "vazquez", "ramos", "gil"
+    };
+    private static final int[] CAPACITIES = {2, 2, 2, 4, 4, 4, 4, 6, 6, 8, 10, 12};
+
+    /**
+     * Backfill de V2__occupancy_rollup.sql restringido a los recursos sembrados, pero redondeando cada tramo
+     * día-reserva como OccupancyService (V2 redondea la suma del día): así los rollups sembrados y los
+     * mantenidos por la aplicación coinciden al minuto.
+     */
+    private static final String ROLLUP_SQL = """
+        INSERT INTO resource_daily_occupancy
+          (resource_id, day, business_id, booked_minutes, reservations, cancellations, late_cancellations, party_size_sum)
+        SELECT r.resource_id,
+               d::date,
+               res.business_id,
+               COALESCE(SUM(ROUND(EXTRACT(EPOCH FROM (LEAST(r.end_time AT TIME ZONE 'UTC', d + INTERVAL '1 day')
+                                                      - GREATEST(r.start_time AT TIME ZONE 'UTC', d))) / 60))
+                        FILTER (WHERE r.status = 'CONFIRMED'), 0)::bigint,
+               COUNT(*) FILTER (WHERE r.status = 'CONFIRMED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date),
+               COUNT(*) FILTER (WHERE r.status = 'CANCELLED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date),
+               COUNT(*) FILTER (WHERE r.status = 'LATE_CANCELLED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date),
+               COALESCE(SUM(r.party_size) FILTER (WHERE r.status = 'CONFIRMED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date), 0)
+        FROM reservation r
+        JOIN resource res ON res.id = r.resource_id
+        CROSS JOIN LATERAL generate_series(date_trunc('day', r.start_time AT TIME ZONE 'UTC'),
+                                           (r.end_time AT TIME ZONE 'UTC') - INTERVAL '1 microsecond',
+                                           INTERVAL '1 day') AS d
+        WHERE r.resource_id = ANY (?)
+        GROUP BY r.resource_id, d, res.business_id
+        """;
+
+    private final DataSource dataSource;
+    private final SeedProperties props;
+    private final ConfigurableApplicationContext context;
+
+    public BulkSeeder(DataSource dataSource, SeedProperties props, ConfigurableApplicationContext context) {
+        this.dataSource = dataSource;
+        this.props = props;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        seed();
+        if (props.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    public void seed() throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(props.getRandomSeed());
+        LocalDate firstDay = props.getStartDate() != null
+                ? props.getStartDate()
+                : LocalDate.now(ZoneOffset.UTC).minusDays(props.getDays() / 2);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            int businessCount = props.getBusinesses();
+            long[] businessIds = allocateIds(connection, "business", businessCount);
+            double[] popularity = new double[businessCount];
+            try (CopyWriter w = new CopyWriter(copy, "COPY business (id, name, type) FROM STDIN")) {
+                for (int b = 0; b < businessCount; b++) {
+                    popularity[b] = 0.3 + 0.6 * Math.pow(random.nextDouble(), 1.5);
+                    w.field(businessIds[b]).field("Negocio " + (b + 1))
+                            .field(random.nextDouble() < 0.8 ? "RESTAURANT" : "COWORKING").endRow();
+                }
+            }
+            try (CopyWriter w = new CopyWriter(copy,
+                    "COPY cancellation_policy (business_id, free_before_minutes, penalty_type, penalty_amount) FROM STDIN")) {
+                for (long businessId : businessIds) {
+                    w.field(businessId).field(60L * (1 + random.nextInt(24)))
+                            .field(random.nextBoolean() ? "FIXED" : "PERCENT").field(5L * (1 + random.nextInt(10))).endRow();
+                }
+            }
+
+            int[] resourcesPerBusiness = new int[businessCount];
+            int resourceCount = 0;
+            for (int b = 0; b < businessCount; b++) {
+                resourcesPerBusiness[b] = props.getMinResourcesPerBusiness()
+                        + random.nextInt(props.getMaxResourcesPerBusiness() - props.getMinResourcesPerBusiness() + 1);
+                resourceCount += resourcesPerBusiness[b];
+            }
+            long[] resourceIds = allocateIds(connection, "resource", resourceCount);
+            int[] capacity = new int[resourceCount];
+            int[] owner = new int[resourceCount];
+            try (CopyWriter w = new CopyWriter(copy, "COPY resource (id, business_id, name, capacity) FROM STDIN")) {
+                int r = 0;
+                for (int b = 0; b < businessCount; b++) {
+                    for (int k = 1; k <= resourcesPerBusiness[b]; k++, r++) {
+                        capacity[r] = CAPACITIES[random.nextInt(CAPACITIES.length)];
+                        owner[r] = b;
+                        w.field(resourceIds[r]).field(businessIds[owner[r]]).field("Mesa " + k).field(capacity[r]).endRow();
+                    }
+                }
+            }
+            log.info("Sembrados {} negocios y {} recursos", businessCount, resourceCount);
+
+            long t0 = System.nanoTime();
+            long rows = 0;
+            try (CopyWriter w = new CopyWriter(copy, """
+                    COPY reservation (resource_id, customer_name, customer_email, party_size,
+                                      start_time, end_time, status, cancellation_reason, created_at) FROM STDIN""")) {
+                for (int r = 0; r < resourceCount; r++) {
+                    for (int d = 0; d < props.getDays(); d++) {
+                        rows += writeDay(w, random, resourceIds[r], capacity[r], popularity[owner[r]], firstDay.plusDays(d));
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            log.info("COPY reservation: {} filas en {} s ({} filas/s)",
+                    rows, "%.1f".formatted(seconds), Math.round(rows / seconds));
+
+            long t1 = System.nanoTime();
+            try (PreparedStatement ps = connection.prepareStatement(ROLLUP_SQL)) {
+                Array ids = connection.createArrayOf("bigint", box(resourceIds));
+                ps.setArray(1, ids);
+                int rollups = ps.executeUpdate();
+                log.info("Rollup de ocupación: {} filas en {} s", rollups, "%.1f".formatted((System.nanoTime() - t1) / 1e9));
+            }
+            connection.commit();
+
+            try (Statement st = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                st.execute("ANALYZE business, resource, reservation, cancellation_policy, resource_daily_occupancy");
+            }
+        }
+    }
+
+    /**
+     * Un día de un recurso: se recorre el horario de apertura y en cada hueco se decide si entra una
+     * reserva según la demanda de esa hora; las reservas nunca se solapan entre sí.
+     */
+    private int writeDay(CopyWriter w, SplittableRandom random, long resourceId, int capacity,
+                         double popularity, LocalDate day) throws IOException {
+        double dayFactor = switch (day.getDayOfWeek()) {
+            case FRIDAY, SATURDAY -> 1.3;
+            case SUNDAY -> 1.1;
+            case MONDAY -> 0.7;
+            default -> 0.9;
+        };
+        OffsetDateTime open = day.atTime(props.getOpenHour(), 0).atOffset(ZoneOffset.UTC);
+        OffsetDateTime close = day.atTime(props.getCloseHour() % 24, 0).atOffset(ZoneOffset.UTC)
+                .plusDays(props.getCloseHour() >= 24 ? 1 : 0);
+
+        int rows = 0;
+        OffsetDateTime cursor = open;
+        while (cursor.isBefore(close)) {
+            int hour = cursor.getHour();
+            double hourFactor = (hour >= 13 && hour < 16) || (hour >= 20 && hour < 23) ? 1.4 : 0.5;
+            if (random.nextDouble() < Math.min(0.95, popularity * dayFactor * hourFactor)) {
+                OffsetDateTime end = cursor.plusMinutes(60 + 15L * random.nextInt(7));
+                if (end.isAfter(close)) end = close;
+                writeReservation(w, random, resourceId, capacity, cursor, end);
+                rows++;
+                // Rotación de mesa entre reservas
+                cursor = end.plusMinutes(15L * random.nextInt(3));
+            } else {
+                cursor = cursor.plusMinutes(15L * (1 + random.nextInt(4)));
+            }
+        }
+        return rows;
+    }
+
+    private void writeReservation(CopyWriter w, SplittableRandom random, long resourceId, int capacity,
+                                  OffsetDateTime start, OffsetDateTime end) throws IOException {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        int partySize = capacity <= 2 || random.nextDouble() < 0.45 ? Math.min(2, capacity) : 1 + random.nextInt(capacity);
+
+        double s = random.nextDouble();
+        String status;
+        String reason;
+        if (s < props.getCancelledRatio()) {
+            status = "CANCELLED";
+            reason = "Cambio de planes";
+        } else if (s < props.getCancelledRatio() + props.getLateCancelledRatio()) {
+            status = "LATE_CANCELLED";
+            reason = "Imprevisto";
+        } else {
+            status = "CONFIRMED";
+            reason = null;
+        }
+
+        w.field(resourceId)
+                .field(capitalize(first) + " " + capitalize(last))
+                .field(first + "." + last + "@example.com")
+                .field(partySize)
+                .field(start.toString())
+                .field(end.toString())
+                .field(status)
+                .field(reason)
+                // Antelación de reserva: de 1 hora a 30 días
+                .field(start.minusMinutes(60 + random.nextInt(30 * 24 * 60)).toString())
+                .endRow();
+    }
+
+    /** Reserva {@code n} ids consecutivos de la secuencia de {@code table.id} para poder referenciarlos en COPY. */
+    private static long[] allocateIds(Connection connection, String table, int n) throws SQLException {
+        long[] ids = new long[n];
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)")) {
+            ps.setString(1, table);
+            ps.setInt(2, n);
+            try (ResultSet rs = ps.executeQuery()) {
+                for (int i = 0; rs.next(); i++) {
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Long[] box(long[] values) {
+        Long[] boxed = new Long[values.length];
+        for (int i = 0; i < values.length; i++) boxed[i] = values[i];
+        return boxed;
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    /** Escritor de filas en formato texto de COPY (tabuladores, {@code \N} para null) con buffer. */
+    static final class CopyWriter implements AutoCloseable {
+        private final BufferedWriter out;
+        private boolean firstField = true;
+
+        CopyWriter(CopyManager copy, String sql) throws SQLException {
+            this.out = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(copy.copyIn(sql), 1 << 16), StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        CopyWriter field(long value) throws IOException {
+            separator();
+            out.write(Long.toString(value));
+            return this;
+        }
+
+        CopyWriter field(String value) throws IOException {
+            separator();
+            if (value == null) {
+                out.write("\\N");
+                return this;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\' -> out.write("\\\\");
+                    case '\t' -> out.write("\\t");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    default -> out.write(c);
+                }
+            }
+            return this;
+        }
+
+        void endRow() throws IOException {
+            out.write('\n');
+            firstField = true;
+        }
+
+        private void separator() throws IOException {
+            if (!firstField) out.write('\t');
+            firstField = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Cierra el PGCopyOutputStream, que finaliza el COPY (endCopy)
+            out.close();
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.example.reservas.service;
 
-import com.example.reservas.domain.Reservation;
 import com.example.reservas.domain.ValidationException;
+import com.example.reservas.ledger.ReservationLedger;
 import com.example.reservas.repo.ReservationRepository;
 import com.example.reservas.service.cache.CacheKeys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 @Service
@@ -17,9 +18,11 @@ import java.util.*;
 public class AvailabilityService {
 
     private final ReservationRepository reservationRepo;
+    private final ReservationLedger ledger;
 
-    public AvailabilityService(ReservationRepository reservationRepo) {
+    public AvailabilityService(ReservationRepository reservationRepo, ReservationLedger ledger) {
         this.reservationRepo = reservationRepo;
+        this.ledger = ledger;
     }
 
     public record TimeWindow(OffsetDateTime start, OffsetDateTime end) {}
@@ -31,9 +34,17 @@ public class AvailabilityService {
      *
      * Calcula ventanas libres para el recurso en el día dado (UTC) usando caché.
      * Clave de caché: "avail:{resourceId}:{YYYY-MM-DD}" (unificada vía CacheKeys).
+     *
+     * Con el ledger listo, los intervalos ocupados salen de su índice en memoria (CONFIRMED que solapan
+     * el día) y no se toca Postgres; sin transacción propia para no pedir una conexión en ese caso
+     * (la consulta de respaldo ya es de solo lectura en el repositorio).
+     *
+     * En recursos POOLED solaparse no es estar ocupado: una ventana está libre si cada slot conserva al
+     * menos una plaza ({@code remaining > 0} en {@code resource_slot_capacity}), así que solo los slots
+     * llenos cuentan como ocupados. No dice cuántas plazas quedan: un grupo mayor puede no caber.
      */
+    @Timed(value = "reservas.availability.free-windows", description = "Ventanas libres por recurso y día")
     @Cacheable(key = "T(com.example.reservas.service.cache.CacheKeys).availKey(#resourceId, #date)")
-    @Transactional(readOnly = true)
     public List<TimeWindow> freeWindows(Long resourceId, LocalDate date) {
         if (resourceId == null) throw new ValidationException("resourceId es requerido");
         if (date == null) throw new ValidationException("date es requerido");
@@ -42,19 +53,38 @@ public class AvailabilityService {
         OffsetDateTime dayStart = date.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
         OffsetDateTime dayEnd = dayStart.plusDays(1);
 
-        // Traer reservas que impactan el día
-        List<Reservation> reservations = reservationRepo.findForDay(resourceId, dayStart, dayEnd);
+        List<TimeWindow> busy = ledger.busy(resourceId, dayStart, dayEnd);
+        if (busy == null) {
+            // EXCLUSIVE: reservas CONFIRMED que solapan el día (las mismas que tendría el ledger); POOLED: slots llenos
+            List<ReservationRepository.BusyRow> rows = reservationRepo.findBusyForDay(resourceId, dayStart, dayEnd);
+            busy = new ArrayList<>(rows.size());
+            for (ReservationRepository.BusyRow row : rows) {
+                busy.add(new TimeWindow(time(row.getStartMicros()), time(row.getEndMicros())));
+            }
+        }
+        return gaps(dayStart, dayEnd, busy);
+    }
 
+    private static OffsetDateTime time(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * Algoritmo de huecos: ventanas libres de [dayStart, dayEnd) dados los intervalos ocupados.
+     * Compartido con la ruta reactiva (ReactiveAvailabilityService) para que ambas produzcan
+     * exactamente el mismo resultado y puedan compartir las entradas de caché.
+     */
+    public static List<TimeWindow> gaps(OffsetDateTime dayStart, OffsetDateTime dayEnd, List<TimeWindow> busy) {
         // Ordenar por inicio para calcular correctamente las ventanas libres
-        reservations.sort(Comparator.comparing(Reservation::getStartTime));
+        busy.sort(Comparator.comparing(TimeWindow::start));
 
         List<TimeWindow> result = new ArrayList<>();
         OffsetDateTime cursor = dayStart;
 
-        for (Reservation r : reservations) {
+        for (TimeWindow r : busy) {
             // Recorta la reserva al rango del día
-            OffsetDateTime rs = r.getStartTime();
-            OffsetDateTime re = r.getEndTime();
+            OffsetDateTime rs = r.start();
+            OffsetDateTime re = r.end();
 
             OffsetDateTime rsClamped = rs.isAfter(dayStart) ? rs : dayStart;
             OffsetDateTime reClamped = re.isBefore(dayEnd) ? re : dayEnd;
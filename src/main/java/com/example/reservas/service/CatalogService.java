@@ -0,0 +1,81 @@
+package com.example.reservas.service;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.web.dto.BusinessResponse;
+import com.example.reservas.web.dto.PageResponse;
+import com.example.reservas.web.dto.ResourceResponse;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Lecturas de catálogo (negocios y recursos) casi estáticas, cacheadas como respuesta ya construida
+ * junto con su ETag y Last-Modified: un acierto sirve tanto el 200 como el 304 sin tocar Postgres.
+ *
+ * Las escrituras invalidan: alta de recurso → listados de recursos ({@link ResourceService#create}).
+ */
+@Service
+public class CatalogService {
+
+    public static final String BUSINESS_CACHE = "catalog-business";
+    public static final String RESOURCE_CACHE = "catalog-resource";
+    public static final String RESOURCES_BY_BUSINESS_CACHE = "catalog-resources-by-business";
+
+    private final BusinessRepository businessRepo;
+    private final ResourceRepository resourceRepo;
+
+    public CatalogService(BusinessRepository businessRepo, ResourceRepository resourceRepo) {
+        this.businessRepo = businessRepo;
+        this.resourceRepo = resourceRepo;
+    }
+
+    @Cacheable(cacheNames = BUSINESS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public Versioned<BusinessResponse> business(Long id) {
+        Business b = businessRepo.findById(id)
+                .orElseThrow(() -> new NotFoundException("Business %d no existe".formatted(id)));
+        return new Versioned<>(new BusinessResponse(b.getId(), b.getName(), b.getType()),
+                Versioned.weakEtag("b" + b.getId() + "-" + b.getVersion()), b.getUpdatedAt().toInstant());
+    }
+
+    @Cacheable(cacheNames = RESOURCE_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public Versioned<ResourceResponse> resource(Long id) {
+        Resource r = resourceRepo.findById(id)
+                .orElseThrow(() -> new NotFoundException("Resource %d no existe".formatted(id)));
+        return new Versioned<>(toResponse(r),
+                Versioned.weakEtag("r" + r.getId() + "-" + r.getVersion()), r.getUpdatedAt().toInstant());
+    }
+
+    /**
+     * El ETag de la página resume id y versión de cada elemento más el total, así que cambia con
+     * cualquier alta o modificación que afecte a la página.
+     */
+    @Cacheable(cacheNames = RESOURCES_BY_BUSINESS_CACHE,
+               key = "T(com.example.reservas.service.cache.CacheKeys).pageKey(#businessId, #pageable)")
+    @Transactional(readOnly = true)
+    public Versioned<PageResponse<ResourceResponse>> resourcesByBusiness(Long businessId, Pageable pageable) {
+        Page<Resource> page = resourceRepo.findByBusinessId(businessId, pageable);
+        long hash = page.getTotalElements();
+        Instant lastModified = null;
+        for (Resource r : page.getContent()) {
+            hash = 31 * (31 * hash + r.getId()) + r.getVersion();
+            Instant updated = r.getUpdatedAt().toInstant();
+            if (lastModified == null || updated.isAfter(lastModified)) lastModified = updated;
+        }
+        return new Versioned<>(PageResponse.of(page, page.getContent().stream().map(CatalogService::toResponse).toList()),
+                Versioned.weakEtag("rl" + businessId + "-" + Long.toHexString(hash)), lastModified);
+    }
+
+    private static ResourceResponse toResponse(Resource r) {
+        return new ResourceResponse(r.getId(), r.getBusiness().getId(), r.getName(), r.getCapacity(),
+                r.getCapacityMode(), r.getSlotMinutes());
+    }
+}
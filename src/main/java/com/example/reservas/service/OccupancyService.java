@@ -0,0 +1,176 @@
+package com.example.reservas.service;
+
+import com.example.reservas.domain.Reservation;
+import com.example.reservas.domain.ReservationStatus;
+import com.example.reservas.repo.OccupancyRollupRepository;
+import com.example.reservas.repo.ResourceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Rollups de ocupación por recurso y día (UTC).
+ *
+ * Se actualizan dentro de la misma transacción que crea/cancela la reserva,
+ * de modo que el endpoint de analítica solo lee la tabla de rollups.
+ * Minutos reservados y party size cuentan solo reservas CONFIRMED; los contadores
+ * se imputan al día de inicio y los minutos se reparten entre los días que cruza la reserva.
+ */
+@Service
+public class OccupancyService {
+
+    /** Rango máximo consultable (un año, incluyendo bisiestos). */
+    static final int MAX_RANGE_DAYS = 366;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    public enum Granularity { DAY, WEEK }
+
+    public record OccupancyBucket(LocalDate start, int days, long bookedMinutes, long reservations,
+                                  long cancellations, long lateCancellations, long partySizeSum,
+                                  double utilization) {}
+
+    public record OccupancyReport(Long businessId, LocalDate from, LocalDate to, Granularity granularity,
+                                  long resourceCount, List<OccupancyBucket> buckets) {}
+
+    private final OccupancyRollupRepository rollupRepo;
+    private final ResourceRepository resourceRepo;
+
+    public OccupancyService(OccupancyRollupRepository rollupRepo, ResourceRepository resourceRepo) {
+        this.rollupRepo = rollupRepo;
+        this.resourceRepo = resourceRepo;
+    }
+
+    /** Suma una reserva recién confirmada al rollup. Debe llamarse dentro de la transacción de create. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Reservation r, Long resourceId, Long businessId) {
+        applyDelta(r, resourceId, businessId, 1, 0, 0);
+    }
+
+    /** Retira una reserva cancelada del rollup y cuenta la cancelación (FREE o LATE). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancelled(Reservation r, Long resourceId, Long businessId) {
+        boolean late = r.getStatus() == ReservationStatus.LATE_CANCELLED;
+        applyDelta(r, resourceId, businessId, -1, late ? 0 : 1, late ? 1 : 0);
+    }
+
+    /**
+     * Suma una serie recién confirmada con un único upsert: los deltas se acumulan por día en memoria
+     * (varias ocurrencias pueden caer el mismo día) y se envían como arrays.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreatedAll(List<Reservation> reservations, Long resourceId, Long businessId) {
+        if (reservations.isEmpty()) return;
+        // epochDay -> {minutos, reservas, party size}
+        SortedMap<Long, long[]> byDay = new TreeMap<>();
+        for (Reservation r : reservations) {
+            forEachDay(r, (day, minutes, startDay) -> {
+                long[] acc = byDay.computeIfAbsent(day.toEpochDay(), d -> new long[3]);
+                acc[0] += minutes;
+                if (startDay) {
+                    acc[1]++;
+                    acc[2] += r.getPartySize();
+                }
+            });
+        }
+        int n = byDay.size();
+        Long[] days = new Long[n], minutes = new Long[n], counts = new Long[n], party = new Long[n];
+        int i = 0;
+        for (var e : byDay.entrySet()) {
+            days[i] = e.getKey();
+            minutes[i] = e.getValue()[0];
+            counts[i] = e.getValue()[1];
+            party[i] = e.getValue()[2];
+            i++;
+        }
+        rollupRepo.addCreatedDeltas(resourceId, businessId, days, minutes, counts, party);
+    }
+
+    private void applyDelta(Reservation r, Long resourceId, Long businessId,
+                            int sign, int cancellations, int lateCancellations) {
+        forEachDay(r, (day, minutes, startDay) -> rollupRepo.addDelta(resourceId, day, businessId,
+                sign * minutes,
+                startDay ? sign : 0,
+                startDay ? cancellations : 0,
+                startDay ? lateCancellations : 0,
+                startDay ? (long) sign * r.getPartySize() : 0L));
+    }
+
+    private interface DaySlice {
+        void accept(LocalDate day, long minutes, boolean startDay);
+    }
+
+    /** Reparte la reserva entre los días UTC que cruza; {@code startDay} marca el día de inicio. */
+    private static void forEachDay(Reservation r, DaySlice slice) {
+        OffsetDateTime start = r.getStartTime().withOffsetSameInstant(ZoneOffset.UTC);
+        OffsetDateTime end = r.getEndTime().withOffsetSameInstant(ZoneOffset.UTC);
+        LocalDate firstDay = start.toLocalDate();
+
+        for (LocalDate day = firstDay; day.atStartOfDay().atOffset(ZoneOffset.UTC).isBefore(end); day = day.plusDays(1)) {
+            OffsetDateTime dayStart = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+            OffsetDateTime from = start.isAfter(dayStart) ? start : dayStart;
+            OffsetDateTime to = end.isBefore(dayStart.plusDays(1)) ? end : dayStart.plusDays(1);
+            slice.accept(day, roundedMinutes(Duration.between(from, to)), day.equals(firstDay));
+        }
+    }
+
+    /**
+     * Minutos redondeados al más cercano (medio minuto hacia arriba), igual que
+     * {@code round(extract(epoch ...) / 60)} en el backfill y en BulkSeeder: cada tramo día-reserva
+     * se redondea por separado, así que crear y cancelar restan exactamente lo que sumaron.
+     */
+    static long roundedMinutes(Duration d) {
+        return (d.toNanos() + NANOS_PER_MINUTE / 2) / NANOS_PER_MINUTE;
+    }
+
+    /**
+     * Ocupación de un negocio entre {@code from} y {@code to} (ambos inclusive, días UTC).
+     * Lee solo los rollups: coste proporcional a recursos x días, nunca a número de reservas.
+     */
+    @Transactional(readOnly = true)
+    public OccupancyReport report(Long businessId, LocalDate from, LocalDate to, Granularity granularity) {
+        if (businessId == null) throw new ValidationException("businessId es requerido");
+        if (from == null || to == null) throw new ValidationException("from y to son requeridos");
+        if (to.isBefore(from)) throw new ValidationException("from debe ser <= to");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ValidationException("El rango no puede exceder %d días".formatted(MAX_RANGE_DAYS));
+        }
+        Granularity g = granularity == null ? Granularity.DAY : granularity;
+
+        long resourceCount = resourceRepo.countByBusinessId(businessId);
+        var rows = rollupRepo.sumByBucket(businessId, from, to, g == Granularity.WEEK ? "week" : "day");
+
+        List<OccupancyBucket> buckets = new ArrayList<>(rows.size());
+        for (var row : rows) {
+            LocalDate bucketStart = row.getBucket();
+            LocalDate bucketEnd = g == Granularity.WEEK
+                    ? bucketStart.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+                    : bucketStart;
+            // Recortar semanas parciales al rango pedido
+            LocalDate effStart = bucketStart.isBefore(from) ? from : bucketStart;
+            LocalDate effEnd = bucketEnd.isAfter(to) ? to : bucketEnd;
+            int days = (int) ChronoUnit.DAYS.between(effStart, effEnd) + 1;
+
+            long booked = nz(row.getBookedMinutes());
+            long capacityMinutes = resourceCount * days * MINUTES_PER_DAY;
+            double utilization = capacityMinutes == 0 ? 0d : (double) booked / capacityMinutes;
+
+            buckets.add(new OccupancyBucket(effStart, days, booked,
+                    nz(row.getReservations()), nz(row.getCancellations()), nz(row.getLateCancellations()),
+                    nz(row.getPartySizeSum()), utilization));
+        }
+        return new OccupancyReport(businessId, from, to, g, resourceCount, buckets);
+    }
+
+    private static long nz(Long v) {
+        return v == null ? 0L : v;
+    }
+}
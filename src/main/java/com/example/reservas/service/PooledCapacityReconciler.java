@@ -0,0 +1,73 @@
+package com.example.reservas.service;
+
+import com.example.reservas.repo.SlotCapacityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Recalcula periódicamente los contadores de slots de los recursos POOLED a partir de las reservas
+ * CONFIRMED (cambios de capacidad, correcciones manuales, fallos a mitad de una operación...).
+ *
+ * Un recurso por transacción: primero se bloquean sus contadores desde el slot actual, de modo que la
+ * lectura de reservas de la sentencia siguiente ya incluye las reservas que estaban en curso sobre ellos.
+ * Los contadores de slots anteriores a {@code retention} se purgan.
+ */
+public class PooledCapacityReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledCapacityReconciler.class);
+
+    private final SlotCapacityRepository slotRepo;
+    private final TransactionTemplate tx;
+    private final Duration retention;
+    private final Clock clock;
+    private final Counter drift;
+
+    public PooledCapacityReconciler(SlotCapacityRepository slotRepo, TransactionTemplate tx, Duration retention,
+                                    Clock clock, MeterRegistry meterRegistry) {
+        this.slotRepo = slotRepo;
+        this.tx = tx;
+        this.retention = retention;
+        this.clock = clock;
+        this.drift = Counter.builder("reservas.pooled.reconciled-slots")
+                .description("Contadores de capacidad corregidos por el reconciliador").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reservas.pooled-capacity.reconcile-interval:5m}",
+               initialDelayString = "${reservas.pooled-capacity.reconcile-interval:5m}")
+    public void scheduled() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Reconciliación de capacidad fallida, se reintentará: {}", e.toString());
+        }
+    }
+
+    /** @return slots corregidos en esta pasada */
+    public int reconcile() {
+        // Desde el día en curso: el slot actual puede haber empezado antes que ahora
+        OffsetDateTime from = OffsetDateTime.now(clock).minusDays(1);
+        int fixed = 0;
+        for (Long resourceId : slotRepo.findPooledResourceIds()) {
+            Integer n = tx.execute(status -> {
+                slotRepo.lockFrom(resourceId, from);
+                return slotRepo.reconcileFrom(resourceId, from);
+            });
+            if (n != null && n > 0) {
+                log.info("Recurso {}: {} contadores de capacidad corregidos", resourceId, n);
+                fixed += n;
+            }
+        }
+        drift.increment(fixed);
+        Integer purged = tx.execute(status -> slotRepo.deleteBefore(OffsetDateTime.now(clock).minus(retention)));
+        log.debug("Reconciliación de capacidad: {} corregidos, {} purgados", fixed, purged);
+        return fixed;
+    }
+}
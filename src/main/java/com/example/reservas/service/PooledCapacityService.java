@@ -0,0 +1,63 @@
+package com.example.reservas.service;
+
+import com.example.reservas.domain.Resource;
+import com.example.reservas.repo.SlotCapacityRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Capacidad de recursos POOLED con contadores por slot.
+ *
+ * Reservar es un único upsert condicional sobre los slots que toca la reserva (sin sumar
+ * {@code party_size} de las reservas solapadas): la fila del slot serializa a las reservas que
+ * compiten por él y el {@code remaining >= partySize} impide la sobreventa. Cancelar devuelve la
+ * capacidad. {@link PooledCapacityReconciler} corrige cualquier desviación frente a {@code reservation}.
+ */
+@Service
+public class PooledCapacityService {
+
+    private final SlotCapacityRepository slotRepo;
+
+    public PooledCapacityService(SlotCapacityRepository slotRepo) {
+        this.slotRepo = slotRepo;
+    }
+
+    /** Descuenta la reserva de sus slots o lanza ValidationException (la transacción se deshace). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Resource resource, OffsetDateTime start, OffsetDateTime end, int partySize) {
+        Long[] slots = slots(start, end, resource.getSlotMinutes());
+        int updated = slotRepo.reserve(resource.getId(), resource.getCapacity(), partySize, slots);
+        if (updated < slots.length) {
+            throw new ValidationException("No queda capacidad para %d personas en ese horario".formatted(partySize));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Resource resource, OffsetDateTime start, OffsetDateTime end, int partySize) {
+        slotRepo.release(resource.getId(), partySize, slots(start, end, resource.getSlotMinutes()));
+    }
+
+    /**
+     * Inicios (microsegundos desde epoch) de los slots que toca [start, end): desde el slot que
+     * contiene {@code start} hasta el que contiene el último instante antes de {@code end}.
+     * Los slots se alinean a epoch, así que con divisores de 1440 coinciden con la medianoche UTC.
+     */
+    static Long[] slots(OffsetDateTime start, OffsetDateTime end, int slotMinutes) {
+        long slotMicros = slotMinutes * 60_000_000L;
+        long from = Math.floorDiv(epochMicros(start), slotMicros) * slotMicros;
+        long to = epochMicros(end);
+        int n = (int) Math.ceilDiv(to - from, slotMicros);
+        Long[] out = new Long[n];
+        for (int i = 0; i < n; i++) out[i] = from + i * slotMicros;
+        return out;
+    }
+
+    private static long epochMicros(OffsetDateTime t) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, t.toInstant());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.reservas.service;
+
+import com.example.reservas.config.CacheConfig;
+import com.example.reservas.config.RedisCacheFallback;
+import com.example.reservas.config.RedisCircuitBreaker;
+import com.example.reservas.service.cache.CacheKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Variante no bloqueante de {@link AvailabilityService#freeWindows}.
+ *
+ * Redis reactivo primero (misma clave y mismo serializador que el {@code @Cacheable}), y si no hay
+ * entrada, R2DBC con la misma SQL que {@code findBusyForDay} (reservas CONFIRMED en recursos EXCLUSIVE,
+ * slots llenos en los POOLED) y el mismo algoritmo de huecos.
+ * Ningún hilo queda bloqueado esperando I/O: la espera ocurre en los event loops de Lettuce y R2DBC.
+ *
+ * Las llamadas a Redis pasan por el mismo {@link RedisCircuitBreaker} y la misma {@link RedisCacheFallback}
+ * que el {@code RedisCacheManager} (si {@code reservas.cache-resilience} está activo): con Redis caído o
+ * lento ambas rutas leen y escriben la misma copia local en lugar de esperar al timeout en cada petición.
+ */
+@Service
+@ConditionalOnProperty(prefix = "reservas.reactive", name = "enabled", havingValue = "true")
+public class ReactiveAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAvailabilityService.class);
+    private static final String CACHE = "availability";
+
+    private final ReactiveRedisTemplate<String, Object> redis;
+    private final DatabaseClient db;
+    private final GenericJackson2JsonRedisSerializer serializer;
+    private final RedisCircuitBreaker breaker;
+    private final RedisCacheFallback fallback;
+
+    public ReactiveAvailabilityService(ReactiveRedisTemplate<String, Object> availabilityReactiveRedisTemplate,
+                                       DatabaseClient availabilityDatabaseClient,
+                                       GenericJackson2JsonRedisSerializer cacheValueSerializer,
+                                       ObjectProvider<RedisCircuitBreaker> breaker,
+                                       ObjectProvider<RedisCacheFallback> fallback) {
+        this.redis = availabilityReactiveRedisTemplate;
+        this.db = availabilityDatabaseClient;
+        this.serializer = cacheValueSerializer;
+        this.breaker = breaker.getIfAvailable();
+        this.fallback = fallback.getIfAvailable();
+    }
+
+    public Mono<List<AvailabilityService.TimeWindow>> freeWindows(Long resourceId, LocalDate date) {
+        if (resourceId == null) return Mono.error(new ValidationException("resourceId es requerido"));
+        if (date == null) return Mono.error(new ValidationException("date es requerido"));
+
+        String key = CacheKeys.AVAILABILITY_REDIS_PREFIX + CacheKeys.availKey(resourceId, date);
+        return readCache(key).switchIfEmpty(Mono.defer(() -> compute(resourceId, date)
+                .flatMap(windows -> writeCache(key, windows).thenReturn(windows))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<List<AvailabilityService.TimeWindow>> readCache(String key) {
+        // Si Redis falla, se calcula igualmente (como haría una lectura sin caché)
+        return guarded(() -> redis.opsForValue().get(key), () -> localGet(key))
+                .map(v -> (List<AvailabilityService.TimeWindow>) v);
+    }
+
+    private Mono<Boolean> writeCache(String key, List<AvailabilityService.TimeWindow> windows) {
+        return guarded(() -> redis.opsForValue().set(key, windows, CacheConfig.AVAILABILITY_TTL),
+                () -> localPut(key, windows));
+    }
+
+    /**
+     * Ejecuta una llamada a Redis bajo el breaker. Breaker abierto o llamada fallida: {@code local}
+     * (la caché de respaldo, o vacío si la resiliencia está desactivada).
+     */
+    private <T> Mono<T> guarded(Supplier<Mono<T>> call, Supplier<T> local) {
+        if (breaker == null) {
+            return Mono.defer(call).onErrorResume(ex -> {
+                log.debug("Llamada reactiva a Redis fallida: {}", ex.toString());
+                return Mono.empty();
+            });
+        }
+        return Mono.defer(() -> {
+            RedisCircuitBreaker.Permit permit = breaker.tryPermit();
+            if (permit == null) return Mono.fromSupplier(local);
+            return call.get()
+                    .doOnSuccess(v -> permit.succeeded())
+                    .doOnCancel(permit::abandoned)
+                    .onErrorResume(ex -> {
+                        permit.failed();
+                        log.debug("Llamada reactiva a Redis fallida: {}", ex.toString());
+                        return Mono.fromSupplier(local);
+                    });
+        });
+    }
+
+    private Object localGet(String key) {
+        if (fallback == null) return null;
+        byte[] bytes = fallback.get(CACHE, key.getBytes(StandardCharsets.UTF_8));
+        return bytes == null ? null : serializer.deserialize(bytes);
+    }
+
+    private Boolean localPut(String key, List<AvailabilityService.TimeWindow> windows) {
+        if (fallback == null) return false;
+        fallback.put(CACHE, key.getBytes(StandardCharsets.UTF_8), serializer.serialize(windows));
+        return true;
+    }
+
+    private Mono<List<AvailabilityService.TimeWindow>> compute(Long resourceId, LocalDate date) {
+        // Día en UTC [00:00, 24:00)
+        OffsetDateTime dayStart = date.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        OffsetDateTime dayEnd = dayStart.plusDays(1);
+
+        return db.sql("""
+                select x.start_time, x.end_time
+                from reservation x
+                join resource r on r.id = x.resource_id
+                where x.resource_id = $1 and r.capacity_mode = 'EXCLUSIVE'
+                  and x.status = 'CONFIRMED' and x.start_time < $3 and x.end_time > $2
+                union all
+                select c.slot_start, c.slot_start + r.slot_minutes * interval '1 minute'
+                from resource_slot_capacity c
+                join resource r on r.id = c.resource_id
+                where c.resource_id = $1 and r.capacity_mode = 'POOLED' and c.remaining <= 0
+                  and c.slot_start < $3 and c.slot_start + r.slot_minutes * interval '1 minute' > $2
+                order by 1
+                """)
+                .bind(0, resourceId)
+                .bind(1, dayStart)
+                .bind(2, dayEnd)
+                .map((row, meta) -> new AvailabilityService.TimeWindow(
+                        row.get("start_time", OffsetDateTime.class).withOffsetSameInstant(ZoneOffset.UTC),
+                        row.get("end_time", OffsetDateTime.class).withOffsetSameInstant(ZoneOffset.UTC)))
+                .all()
+                .collect(ArrayList<AvailabilityService.TimeWindow>::new, List::add)
+                .map(busy -> AvailabilityService.gaps(dayStart, dayEnd, busy));
+    }
+}
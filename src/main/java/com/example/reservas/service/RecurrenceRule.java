@@ -0,0 +1,170 @@
+package com.example.reservas.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Subconjunto de RRULE (RFC 5545) para series de reservas.
+ *
+ * Admite {@code FREQ=DAILY|WEEKLY|MONTHLY}, {@code INTERVAL}, {@code COUNT}, {@code UNTIL}
+ * ({@code yyyyMMdd} o {@code yyyyMMdd'T'HHmmss'Z'}, inclusive) y {@code BYDAY} (solo semanal, sin
+ * ordinales). La serie debe estar acotada con COUNT o UNTIL. Como en el RFC, la primera ocurrencia es
+ * el DTSTART (el inicio de la reserva) y en MONTHLY se saltan los meses sin ese día (p.ej. el 31).
+ * Las ocurrencias conservan el offset del DTSTART: no hay ajuste por cambio de horario.
+ */
+public record RecurrenceRule(Frequency frequency, int interval, Integer count, OffsetDateTime until,
+                             Set<DayOfWeek> byDay) {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    /** Límite de ocurrencias por serie: un año de reservas diarias. */
+    public static final int MAX_OCCURRENCES = 366;
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    public static RecurrenceRule parse(String rrule) {
+        if (rrule == null || rrule.isBlank()) throw new ValidationException("rrule es requerido");
+        String text = rrule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) text = text.substring(6);
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        OffsetDateTime until = null;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+
+        for (String part : text.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) throw new ValidationException("rrule mal formada: '%s'".formatted(part));
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "FREQ" -> {
+                    try {
+                        frequency = Frequency.valueOf(value);
+                    } catch (IllegalArgumentException ex) {
+                        throw new ValidationException("FREQ no soportada: %s (DAILY, WEEKLY o MONTHLY)".formatted(value));
+                    }
+                }
+                case "INTERVAL" -> interval = positive(name, value);
+                case "COUNT" -> count = positive(name, value);
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) byDay.add(weekday(day.trim()));
+                }
+                default -> throw new ValidationException("Parte de rrule no soportada: %s".formatted(name));
+            }
+        }
+        if (frequency == null) throw new ValidationException("rrule requiere FREQ");
+        if (count == null && until == null) throw new ValidationException("rrule requiere COUNT o UNTIL");
+        if (count != null && until != null) throw new ValidationException("COUNT y UNTIL son excluyentes");
+        if (count != null && count > MAX_OCCURRENCES) {
+            throw new ValidationException("Una serie no puede superar %d ocurrencias".formatted(MAX_OCCURRENCES));
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new ValidationException("BYDAY solo se admite con FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, count, until, byDay);
+    }
+
+    /**
+     * Inicios de las ocurrencias a partir de {@code dtStart} (incluido), en orden.
+     * Falla si la serie supera {@link #MAX_OCCURRENCES}.
+     */
+    public List<OffsetDateTime> expand(OffsetDateTime dtStart) {
+        List<OffsetDateTime> out = new ArrayList<>();
+        switch (frequency) {
+            case DAILY -> {
+                for (long i = 0; ; i++) {
+                    if (!add(out, dtStart.plusDays(i * interval))) break;
+                }
+            }
+            case WEEKLY -> {
+                Set<DayOfWeek> days = byDay.isEmpty() ? EnumSet.of(dtStart.getDayOfWeek()) : byDay;
+                // Semanas con inicio en lunes (WKST=MO por defecto)
+                OffsetDateTime weekStart = dtStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                weeks:
+                for (long w = 0; ; w++) {
+                    OffsetDateTime week = weekStart.plusWeeks(w * interval);
+                    for (DayOfWeek day : days) {
+                        OffsetDateTime candidate = week.plusDays(day.getValue() - 1);
+                        if (candidate.isBefore(dtStart)) continue;
+                        if (!add(out, candidate)) break weeks;
+                    }
+                }
+            }
+            case MONTHLY -> {
+                int dayOfMonth = dtStart.getDayOfMonth();
+                for (long m = 0; ; m++) {
+                    OffsetDateTime month = dtStart.withDayOfMonth(1).plusMonths(m * interval);
+                    if (dayOfMonth > month.toLocalDate().lengthOfMonth()) {
+                        if (until != null && month.isAfter(until)) break;
+                        continue;
+                    }
+                    if (!add(out, month.withDayOfMonth(dayOfMonth))) break;
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Añade la ocurrencia si la regla no ha terminado; {@code false} cuando la serie ya está completa. */
+    private boolean add(List<OffsetDateTime> out, OffsetDateTime occurrence) {
+        if (count != null && out.size() >= count) return false;
+        if (until != null && occurrence.isAfter(until)) return false;
+        if (out.size() >= MAX_OCCURRENCES) {
+            throw new ValidationException("Una serie no puede superar %d ocurrencias".formatted(MAX_OCCURRENCES));
+        }
+        out.add(occurrence);
+        return true;
+    }
+
+    private static int positive(String name, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) return n;
+        } catch (NumberFormatException ignored) {
+            // mismo mensaje que un valor no positivo
+        }
+        throw new ValidationException("%s debe ser un entero positivo".formatted(name));
+    }
+
+    private static OffsetDateTime parseUntil(String value) {
+        try {
+            if (value.length() == 8) {
+                // Fecha sin hora: el día completo cuenta (UTC)
+                return LocalDate.parse(value, UNTIL_DATE).plusDays(1).atStartOfDay()
+                        .atOffset(ZoneOffset.UTC).minus(1, ChronoUnit.NANOS);
+            }
+            return LocalDateTime.parse(value, UNTIL_DATE_TIME).atOffset(ZoneOffset.UTC);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("UNTIL inválido: %s".formatted(value));
+        }
+    }
+
+    private static DayOfWeek weekday(String code) {
+        return switch (code) {
+            case "MO" -> DayOfWeek.MONDAY;
+            case "TU" -> DayOfWeek.TUESDAY;
+            case "WE" -> DayOfWeek.WEDNESDAY;
+            case "TH" -> DayOfWeek.THURSDAY;
+            case "FR" -> DayOfWeek.FRIDAY;
+            case "SA" -> DayOfWeek.SATURDAY;
+            case "SU" -> DayOfWeek.SUNDAY;
+            default -> throw new ValidationException("BYDAY no soportado: %s".formatted(code));
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.reservas.service;
+
+import com.example.reservas.diagnostics.HotResourceTracker;
+import com.example.reservas.domain.Reservation;
+import com.example.reservas.domain.ReservationStatus;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationSeriesRequest;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.dto.ReservationSeriesResponse;
+import com.example.reservas.dto.ReservationSeriesResponse.Occurrence;
+import com.example.reservas.ledger.ReservationLedger;
+import com.example.reservas.outbox.ChangeEvent;
+import com.example.reservas.outbox.OutboxWriter;
+import com.example.reservas.repo.ReservationRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.service.cache.AvailabilityCacheEvictor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reservas recurrentes (RRULE). La serie se expande en el servidor y se trata como un conjunto:
+ * una consulta de solapes para todas las ocurrencias, un INSERT, un upsert del rollup, un INSERT
+ * en el outbox y una evicción de caché, sea cual sea el número de ocurrencias.
+ */
+@Service
+public class ReservationSeriesService {
+
+    private final ReservationRepository reservationRepo;
+    private final ResourceRepository resourceRepo;
+    private final OccupancyService occupancyService;
+    private final OutboxWriter outboxWriter;
+    private final AvailabilityCacheEvictor cacheEvictor;
+    private final HotResourceTracker hotResources;
+    private final ReservationLedger ledger;
+
+    public ReservationSeriesService(ReservationRepository reservationRepo,
+                                    ResourceRepository resourceRepo,
+                                    OccupancyService occupancyService,
+                                    OutboxWriter outboxWriter,
+                                    AvailabilityCacheEvictor cacheEvictor,
+                                    HotResourceTracker hotResources,
+                                    ReservationLedger ledger) {
+        this.reservationRepo = reservationRepo;
+        this.resourceRepo = resourceRepo;
+        this.occupancyService = occupancyService;
+        this.outboxWriter = outboxWriter;
+        this.cacheEvictor = cacheEvictor;
+        this.hotResources = hotResources;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Crea la serie. Las ocurrencias que solapan reservas existentes se devuelven en {@code conflicts};
+     * sin {@code skipConflicts} basta una para que no se cree ninguna.
+     */
+    @Timed(value = "reservas.reservation.create-series", description = "Creación de series de reservas")
+    @Transactional
+    public ReservationSeriesResponse create(CreateReservationSeriesRequest req) {
+        return create(req, expand(req));
+    }
+
+    /**
+     * Expande y valida la RRULE sin tocar la base de datos: inicios de las ocurrencias en orden. El
+     * controlador la usa para cobrar el rate limit por ocurrencia antes de abrir la transacción.
+     */
+    public List<OffsetDateTime> expand(CreateReservationSeriesRequest req) {
+        if (!req.startTime().isBefore(req.endTime())) {
+            throw new ValidationException("startTime debe ser < endTime");
+        }
+        Duration length = Duration.between(req.startTime(), req.endTime());
+        List<OffsetDateTime> starts = RecurrenceRule.parse(req.rrule()).expand(req.startTime());
+        if (starts.isEmpty()) {
+            throw new ValidationException("La regla no genera ninguna ocurrencia");
+        }
+        for (int i = 1; i < starts.size(); i++) {
+            if (starts.get(i).isBefore(starts.get(i - 1).plus(length))) {
+                throw new ValidationException("Las ocurrencias de la serie se solapan entre sí");
+            }
+        }
+        return starts;
+    }
+
+    /** Crea la serie a partir de las ocurrencias ya expandidas con {@link #expand}. */
+    @Timed(value = "reservas.reservation.create-series", description = "Creación de series de reservas")
+    @Transactional
+    public ReservationSeriesResponse create(CreateReservationSeriesRequest req, List<OffsetDateTime> starts) {
+        Duration length = Duration.between(req.startTime(), req.endTime());
+
+        Resource resource = resourceRepo.findById(req.resourceId())
+                .orElseThrow(() -> new NotFoundException("Resource %d no existe".formatted(req.resourceId())));
+        if (req.partySize() > resource.getCapacity()) {
+            throw new ValidationException("partySize excede la capacidad del recurso");
+        }
+        if (resource.isPooled()) {
+            throw new ValidationException("Las series solo se admiten en recursos de uso exclusivo");
+        }
+        Long resourceId = resource.getId();
+        hotResources.record(HotResourceTracker.Kind.RESERVATIONS, resourceId);
+
+        int n = starts.size();
+        Long[] startMicros = new Long[n];
+        Long[] endMicros = new Long[n];
+        for (int i = 0; i < n; i++) {
+            startMicros[i] = epochMicros(starts.get(i));
+            endMicros[i] = epochMicros(starts.get(i).plus(length));
+        }
+
+        List<Integer> conflictIndexes = reservationRepo.findOverlappingOccurrences(resourceId, startMicros, endMicros);
+        List<Occurrence> conflicts = new ArrayList<>(conflictIndexes.size());
+        Set<Integer> conflicting = new HashSet<>(conflictIndexes);
+        for (int i : conflictIndexes) {
+            conflicts.add(new Occurrence(i, starts.get(i), starts.get(i).plus(length)));
+        }
+        if (!conflicts.isEmpty() && !Boolean.TRUE.equals(req.skipConflicts())) {
+            return new ReservationSeriesResponse(List.of(), conflicts);
+        }
+
+        List<OffsetDateTime> free = new ArrayList<>(n - conflicts.size());
+        for (int i = 0; i < n; i++) {
+            if (!conflicting.contains(i)) free.add(starts.get(i));
+        }
+        if (free.isEmpty()) {
+            return new ReservationSeriesResponse(List.of(), conflicts);
+        }
+
+        Long[] freeStarts = free.stream().map(ReservationSeriesService::epochMicros).toArray(Long[]::new);
+        Long[] freeEnds = free.stream().map(s -> epochMicros(s.plus(length))).toArray(Long[]::new);
+        List<Long> ids = reservationRepo.insertSeries(resourceId, req.customerName(), req.customerEmail(),
+                req.partySize(), freeStarts, freeEnds);
+
+        List<Reservation> inserted = new ArrayList<>(ids.size());
+        List<ReservationResponse> created = new ArrayList<>(ids.size());
+        Set<LocalDate> days = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            OffsetDateTime start = free.get(i);
+            OffsetDateTime end = start.plus(length);
+            Reservation r = new Reservation();
+            r.setId(ids.get(i));
+            r.setStartTime(start);
+            r.setEndTime(end);
+            r.setPartySize(req.partySize());
+            inserted.add(r);
+            created.add(new ReservationResponse(ids.get(i), resourceId, req.customerName(), req.customerEmail(),
+                    req.partySize(), start, end, ReservationStatus.CONFIRMED.name()));
+            days.add(start.atZoneSameInstant(ZoneOffset.UTC).toLocalDate());
+            days.add(end.atZoneSameInstant(ZoneOffset.UTC).toLocalDate());
+        }
+
+        occupancyService.recordCreatedAll(inserted, resourceId, resource.getBusiness().getId());
+        outboxWriter.appendAll(ChangeEvent.RESERVATION_CREATED, created);
+        ledger.recordAll(ChangeEvent.RESERVATION_CREATED, created);
+        cacheEvictor.evict(resourceId, days);
+        return new ReservationSeriesResponse(created, conflicts);
+    }
+
+    private static long epochMicros(OffsetDateTime t) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, t.toInstant());
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.reservas.service;
 
+import com.example.reservas.diagnostics.HotResourceTracker;
 import com.example.reservas.domain.*;
 import com.example.reservas.dto.CreateReservationRequest;
 import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.ledger.ReservationLedger;
+import com.example.reservas.outbox.ChangeEvent;
+import com.example.reservas.outbox.OutboxWriter;
 import com.example.reservas.repo.CancellationPolicyRepository;
 import com.example.reservas.repo.ReservationRepository;
 import com.example.reservas.repo.ResourceRepository;
 import com.example.reservas.service.cache.CacheKeys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
@@ -25,19 +30,35 @@ public class ReservationService {
     private final ResourceRepository resourceRepo;
     private final CancellationPolicyRepository cancellationPolicyRepo;
     private final CacheManager cacheManager;
+    private final OccupancyService occupancyService;
+    private final HotResourceTracker hotResources;
+    private final OutboxWriter outboxWriter;
+    private final PooledCapacityService pooledCapacity;
+    private final ReservationLedger ledger;
 
     public ReservationService(ReservationRepository reservationRepo,
                               ResourceRepository resourceRepo,
                               CancellationPolicyRepository cancellationPolicyRepo,
-                              CacheManager cacheManager) {
+                              CacheManager cacheManager,
+                              OccupancyService occupancyService,
+                              HotResourceTracker hotResources,
+                              OutboxWriter outboxWriter,
+                              PooledCapacityService pooledCapacity,
+                              ReservationLedger ledger) {
         this.reservationRepo = reservationRepo;
         this.resourceRepo = resourceRepo;
         this.cancellationPolicyRepo = cancellationPolicyRepo;
         this.cacheManager = cacheManager;
+        this.occupancyService = occupancyService;
+        this.hotResources = hotResources;
+        this.outboxWriter = outboxWriter;
+        this.pooledCapacity = pooledCapacity;
+        this.ledger = ledger;
     }
 
     /**
-     * Create: valida, persiste y limpia caché de availability para los días impactados (UTC).
+     * Create: valida (solapes o, en recursos POOLED, capacidad restante por slot), persiste, actualiza el rollup de ocupación, deja el evento en el outbox (y en el ledger) y limpia
+     * caché de availability para los días impactados (UTC).
      * Claves de caché unificadas vía CacheKeys.availKey(resourceId, LocalDate).
      */
     @Caching(evict = {
@@ -47,6 +68,7 @@ public class ReservationService {
                     key = "T(com.example.reservas.service.cache.CacheKeys).availKey(#req.resourceId(), #root.target.dayDate(#req.endTime()))",
                     condition = "#root.target.dayDate(#req.startTime()) != #root.target.dayDate(#req.endTime())")
     })
+    @Timed(value = "reservas.reservation.create", description = "Creación de reservas")
     @Transactional
     public ReservationResponse create(CreateReservationRequest req) {
         if (req.startTime().isAfter(req.endTime()) || req.startTime().isEqual(req.endTime())) {
@@ -60,9 +82,15 @@ public class ReservationService {
             throw new ValidationException("partySize excede la capacidad del recurso");
         }
 
-        List<Reservation> overlaps = reservationRepo.findOverlaps(resource.getId(), req.startTime(), req.endTime());
-        if (!overlaps.isEmpty()) {
-            throw new ValidationException("Ya existe una reserva que solapa ese horario");
+        if (resource.isPooled()) {
+            // Capacidad compartida: contadores por slot en lugar de prohibir solapes
+            pooledCapacity.reserve(resource, req.startTime(), req.endTime(), req.partySize());
+            ledger.markPooled(resource.getId());
+        } else {
+            List<Reservation> overlaps = reservationRepo.findOverlaps(resource.getId(), req.startTime(), req.endTime());
+            if (!overlaps.isEmpty()) {
+                throw new ValidationException("Ya existe una reserva que solapa ese horario");
+            }
         }
 
         Reservation r = new Reservation();
@@ -77,15 +105,24 @@ public class ReservationService {
         Reservation saved = reservationRepo.saveAndFlush(r);
         // Acceder al resource dentro de la transacción para evitar LazyInitializationException
         Long resourceId = saved.getResource().getId();
-        return toResponse(saved, resourceId);
+        occupancyService.recordCreated(saved, resourceId, resource.getBusiness().getId());
+        hotResources.record(HotResourceTracker.Kind.RESERVATIONS, resourceId);
+        ReservationResponse response = toResponse(saved, resourceId);
+        outboxWriter.append(ChangeEvent.RESERVATION_CREATED, response);
+        ledger.record(ChangeEvent.RESERVATION_CREATED, response);
+        return response;
     }
 
     /**
-     * Cancel: clasifica FREE vs LATE según CancellationPolicy y limpia caché de availability (UTC).
+     * Cancel: clasifica FREE vs LATE según CancellationPolicy, actualiza el rollup de ocupación,
+     * deja el evento en el outbox y limpia caché de availability (UTC).
      */
+    @Timed(value = "reservas.reservation.cancel", description = "Cancelación de reservas")
     @Transactional
     public ReservationResponse cancel(Long id, String reason, OffsetDateTime now) {
-        Reservation r = getEntity(id);
+        // Recurso en la misma consulta: la clasificación y el rollup lo necesitan (evita un SELECT extra)
+        Reservation r = reservationRepo.findWithResourceById(id)
+                .orElseThrow(() -> new NotFoundException("Reservation %d no existe".formatted(id)));
 
         if (r.getStatus() != ReservationStatus.CONFIRMED) {
             throw new ValidationException("Reserva no está en estado CONFIRMED");
@@ -100,9 +137,14 @@ public class ReservationService {
         r.setCancellationReason(reason);
 
         Reservation saved = reservationRepo.saveAndFlush(r);
-        
+        if (saved.getResource().isPooled()) {
+            pooledCapacity.release(saved.getResource(), saved.getStartTime(), saved.getEndTime(), saved.getPartySize());
+        }
+
         // Acceder al resource dentro de la transacción para evitar LazyInitializationException
         Long resourceId = saved.getResource().getId();
+        occupancyService.recordCancelled(saved, resourceId, saved.getResource().getBusiness().getId());
+        hotResources.record(HotResourceTracker.Kind.RESERVATIONS, resourceId);
 
         // Evict availability cache para el día de inicio y (si aplica) el de fin, normalizados a UTC
         var cache = cacheManager.getCache("availability");
@@ -115,7 +157,10 @@ public class ReservationService {
             }
         }
 
-        return toResponse(saved, resourceId);
+        ReservationResponse response = toResponse(saved, resourceId);
+        outboxWriter.append(ChangeEvent.RESERVATION_CANCELLED, response);
+        ledger.record(ChangeEvent.RESERVATION_CANCELLED, response);
+        return response;
     }
 
     /**
@@ -136,12 +181,14 @@ public class ReservationService {
      * Lista paginada para rango de día (útil para consultas internas).
      */
     public Page<Reservation> listPage(Long resourceId, OffsetDateTime start, OffsetDateTime end, Pageable pageable) {
+        hotResources.record(HotResourceTracker.Kind.RESERVATIONS, resourceId);
         return reservationRepo.findForDayPage(resourceId, start, end, pageable);
     }
 
     /**
      * Dev A: Consulta de reservas por fecha (coherente con día UTC).
      */
+    @Timed(value = "reservas.reservation.list-for-day", description = "Reservas de un recurso en un día")
     @Transactional(readOnly = true)
     public List<ReservationResponse> listForDay(Long resourceId, LocalDate date) {
         if (resourceId == null) throw new ValidationException("resourceId es requerido");
@@ -150,6 +197,7 @@ public class ReservationService {
         resourceRepo.findById(resourceId)
                 .orElseThrow(() -> new NotFoundException("Resource %d no existe".formatted(resourceId)));
 
+        hotResources.record(HotResourceTracker.Kind.RESERVATIONS, resourceId);
         OffsetDateTime start = date.atStartOfDay().atOffset(ZoneOffset.UTC);
         OffsetDateTime end = date.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
         var page = reservationRepo.findForDayPage(resourceId, start, end, Pageable.unpaged());
@@ -1,16 +1,25 @@
 package com.example.reservas.service;
 
 import com.example.reservas.domain.Business;
+import com.example.reservas.domain.CapacityMode;
 import com.example.reservas.domain.Resource;
 import com.example.reservas.repo.BusinessRepository;
 import com.example.reservas.repo.ResourceRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Service
 public class ResourceService {
+    /** Máximo de resultados de {@link #findAvailable}. */
+    static final int MAX_SEARCH_RESULTS = 100;
+
     private final ResourceRepository resourceRepo;
     private final BusinessRepository businessRepo;
 
@@ -18,13 +27,20 @@ public class ResourceService {
         this.resourceRepo = resourceRepo; this.businessRepo = businessRepo;
     }
 
+    /** El recurso nuevo cambia los listados del negocio (total y quizá alguna página): se invalidan todos. */
+    @CacheEvict(cacheNames = CatalogService.RESOURCES_BY_BUSINESS_CACHE, allEntries = true)
     @Transactional
-    public Resource create(Long businessId, String name, int capacity) {
+    public Resource create(Long businessId, String name, int capacity, CapacityMode mode, Integer slotMinutes) {
         Business b = businessRepo.findById(businessId)
                 .orElseThrow(() -> new NotFoundException("Business %d no existe".formatted(businessId)));
         if (capacity <= 0) throw new ValidationException("capacity debe ser > 0");
+        CapacityMode m = mode == null ? CapacityMode.EXCLUSIVE : mode;
+        if (m == CapacityMode.POOLED && (slotMinutes == null || slotMinutes < 5 || 1440 % slotMinutes != 0)) {
+            throw new ValidationException("slotMinutes debe ser un divisor de 1440 de al menos 5 en recursos POOLED");
+        }
         Resource r = new Resource();
         r.setBusiness(b); r.setName(name); r.setCapacity(capacity);
+        r.setCapacityMode(m); r.setSlotMinutes(m == CapacityMode.POOLED ? slotMinutes : null);
         return resourceRepo.save(r);
     }
 
@@ -33,6 +49,21 @@ public class ResourceService {
         return resourceRepo.findById(id).orElseThrow(() -> new NotFoundException("Resource %d no existe".formatted(id)));
     }
 
+    /**
+     * "Cualquier mesa": recursos del negocio libres en [start, end) para {@code partySize} personas,
+     * ordenados por mejor ajuste de capacidad. Una sola consulta, sin sondear la disponibilidad por recurso.
+     */
+    @Timed(value = "reservas.resource.search-available", description = "Búsqueda de recursos libres")
+    @Transactional(readOnly = true)
+    public List<Resource> findAvailable(Long businessId, int partySize, OffsetDateTime start, OffsetDateTime end, int limit) {
+        if (partySize <= 0) throw new ValidationException("partySize debe ser > 0");
+        if (!start.isBefore(end)) throw new ValidationException("start debe ser < end");
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("limit debe estar entre 1 y %d".formatted(MAX_SEARCH_RESULTS));
+        }
+        return resourceRepo.findAvailable(businessId, partySize, start, end, limit);
+    }
+
     @Transactional(readOnly = true)
     public Page<Resource> listByBusiness(Long businessId, Pageable pageable) {
         return resourceRepo.findByBusinessId(businessId, pageable);
@@ -0,0 +1,14 @@
+package com.example.reservas.service;
+
+import java.time.Instant;
+
+/**
+ * Cuerpo de una lectura junto con sus validadores HTTP: ETag (débil, válido para cualquier
+ * representación negociada) y fecha de última modificación (puede ser null).
+ */
+public record Versioned<T>(T body, String etag, Instant lastModified) {
+
+    static String weakEtag(String value) {
+        return "W/\"" + value + "\"";
+    }
+}
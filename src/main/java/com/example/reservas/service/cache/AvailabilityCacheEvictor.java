@@ -0,0 +1,76 @@
+package com.example.reservas.service.cache;
+
+import com.example.reservas.config.RedisCacheFallback;
+import com.example.reservas.config.RedisCircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicción de muchas claves {@code avail:} en un solo viaje a Redis (un DEL multiclave), para
+ * escrituras que tocan muchos días a la vez (series). {@code Cache.evict} haría un viaje por clave.
+ *
+ * Igual que el cache manager ({@code transactionAware}), dentro de una transacción la evicción se
+ * aplica tras el commit. Pasa por el mismo circuit breaker que la caché: con Redis caído las claves se
+ * invalidan en la caché local y se encolan para reenviarlas al recuperarse. Sin breaker, un fallo de
+ * Redis solo se registra: el TTL de "availability" acota lo obsoleto.
+ */
+@Component
+public class AvailabilityCacheEvictor {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityCacheEvictor.class);
+
+    private static final String CACHE = "availability";
+
+    private final StringRedisTemplate redis;
+    private final RedisCircuitBreaker breaker;
+    private final RedisCacheFallback fallback;
+
+    public AvailabilityCacheEvictor(StringRedisTemplate redis, ObjectProvider<RedisCircuitBreaker> breaker,
+                                    ObjectProvider<RedisCacheFallback> fallback) {
+        this.redis = redis;
+        this.breaker = breaker.getIfAvailable();
+        this.fallback = fallback.getIfAvailable();
+    }
+
+    public void evict(Long resourceId, Collection<LocalDate> days) {
+        if (days.isEmpty()) return;
+        List<String> keys = days.stream().distinct()
+                .map(day -> CacheKeys.AVAILABILITY_REDIS_PREFIX + CacheKeys.availKey(resourceId, day))
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(keys);
+                }
+            });
+        } else {
+            delete(keys);
+        }
+    }
+
+    private void delete(List<String> keys) {
+        if (breaker != null) {
+            breaker.execute(() -> redis.delete(keys), () -> {
+                for (String key : keys) fallback.evicted(CACHE, key.getBytes(StandardCharsets.UTF_8));
+                return 0L;
+            });
+            return;
+        }
+        try {
+            redis.delete(keys);
+        } catch (RuntimeException ex) {
+            log.warn("No se pudieron invalidar {} claves de availability: {}", keys.size(), ex.toString());
+        }
+    }
+}
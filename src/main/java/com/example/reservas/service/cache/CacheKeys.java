@@ -1,10 +1,18 @@
 package com.example.reservas.service.cache;
 
+import org.springframework.data.domain.Pageable;
+
 import java.time.LocalDate;
 
 public final class CacheKeys {
   private CacheKeys() {}
+  /** Prefijo que RedisCacheManager antepone a las claves del cache "availability". */
+  public static final String AVAILABILITY_REDIS_PREFIX = "availability::";
   public static String availKey(Long resourceId, LocalDate date) {
     return "avail:" + resourceId + ":" + date;
   }
-}
\ No newline at end of file
+  public static String pageKey(Long ownerId, Pageable pageable) {
+    if (pageable.isUnpaged()) return ownerId + ":all:" + pageable.getSort();
+    return ownerId + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+  }
+}
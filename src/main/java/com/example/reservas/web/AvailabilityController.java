@@ -1,5 +1,6 @@
 package com.example.reservas.web;
 
+import com.example.reservas.diagnostics.HotResourceTracker;
 import com.example.reservas.service.AvailabilityService;
 import com.example.reservas.web.dto.TimeWindowResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,12 +18,17 @@ import java.util.List;
 @Tag(name = "Availability", description = "Consulta de disponibilidad")
 public class AvailabilityController {
     private final AvailabilityService availabilityService;
+    private final HotResourceTracker hotResources;
 
-    public AvailabilityController(AvailabilityService availabilityService) { this.availabilityService = availabilityService; }
+    public AvailabilityController(AvailabilityService availabilityService, HotResourceTracker hotResources) {
+        this.availabilityService = availabilityService;
+        this.hotResources = hotResources;
+    }
 
     @GetMapping
     @Operation(summary = "Ventanas libres por recurso y fecha")
     public List<TimeWindowResponse> get(@RequestParam Long resourceId, @RequestParam String date) {
+        hotResources.record(HotResourceTracker.Kind.AVAILABILITY, resourceId);
         var windows = availabilityService.freeWindows(resourceId, LocalDate.parse(date));
         return windows.stream().map(w -> new TimeWindowResponse(w.start(), w.end())).toList();
     }
@@ -2,21 +2,38 @@ package com.example.reservas.web;
 
 import com.example.reservas.domain.Business;
 import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.service.CatalogService;
+import com.example.reservas.service.OccupancyService;
 import com.example.reservas.web.dto.BusinessResponse;
 import com.example.reservas.web.dto.CreateBusinessRequest;
+import com.example.reservas.web.dto.OccupancyBucketResponse;
+import com.example.reservas.web.dto.OccupancyResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/v1/businesses")
 @Tag(name = "Businesses", description = "Gestión de negocios")
 public class BusinessController {
     private final BusinessRepository businessRepo;
+    private final OccupancyService occupancyService;
+    private final CatalogService catalogService;
+    private final HttpCaching httpCaching;
 
-    public BusinessController(BusinessRepository businessRepo) { this.businessRepo = businessRepo; }
+    public BusinessController(BusinessRepository businessRepo, OccupancyService occupancyService,
+                              CatalogService catalogService, HttpCaching httpCaching) {
+        this.businessRepo = businessRepo;
+        this.occupancyService = occupancyService;
+        this.catalogService = catalogService;
+        this.httpCaching = httpCaching;
+    }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,9 +46,29 @@ public class BusinessController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener negocio por id")
-    public BusinessResponse get(@PathVariable Long id) {
-        Business b = businessRepo.findById(id).orElseThrow(() -> new com.example.reservas.service.NotFoundException("Business %d no existe".formatted(id)));
-        return new BusinessResponse(b.getId(), b.getName(), b.getType());
+    @Operation(summary = "Obtener negocio por id (ETag / Last-Modified, cacheable)")
+    public ResponseEntity<BusinessResponse> get(@PathVariable Long id) {
+        return httpCaching.ok(catalogService.business(id));
+    }
+
+    @GetMapping("/{id}/occupancy")
+    @Operation(summary = "Ocupación del negocio por día o semana (UTC, desde rollups)")
+    public OccupancyResponse occupancy(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") OccupancyService.Granularity granularity
+    ) {
+        if (!businessRepo.existsById(id)) {
+            throw new com.example.reservas.service.NotFoundException("Business %d no existe".formatted(id));
+        }
+        var report = occupancyService.report(id, from, to, granularity);
+        return new OccupancyResponse(
+            report.businessId(), report.from(), report.to(), report.granularity().name(), report.resourceCount(),
+            report.buckets().stream().map(b -> new OccupancyBucketResponse(
+                b.start(), b.days(), b.bookedMinutes(), b.reservations(),
+                b.cancellations(), b.lateCancellations(), b.partySizeSum(), b.utilization()
+            )).toList()
+        );
     }
 }
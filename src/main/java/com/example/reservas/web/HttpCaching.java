@@ -0,0 +1,36 @@
+package com.example.reservas.web;
+
+import com.example.reservas.config.HttpCacheProperties;
+import com.example.reservas.service.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Respuestas con validadores y {@code Cache-Control}. Spring contesta 304 por sí solo cuando
+ * {@code If-None-Match} / {@code If-Modified-Since} coinciden con los de la {@code ResponseEntity}.
+ *
+ * {@code Vary: Accept, Accept-Encoding}: la misma URL se sirve en JSON, CBOR o Smile y comprimida o no,
+ * así que una caché compartida debe guardar una copia por formato y codificación.
+ */
+@Component
+public class HttpCaching {
+
+    private final CacheControl cacheControl;
+
+    public HttpCaching(HttpCacheProperties props) {
+        this.cacheControl = CacheControl.maxAge(props.getMaxAge())
+                .cachePublic()
+                .staleWhileRevalidate(props.getStaleWhileRevalidate());
+    }
+
+    public <T> ResponseEntity<T> ok(Versioned<T> versioned) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(versioned.etag());
+        if (versioned.lastModified() != null) builder.lastModified(versioned.lastModified());
+        return builder.body(versioned.body());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.reservas.web;
+
+import com.example.reservas.diagnostics.HotResourceTracker;
+import com.example.reservas.dto.TimeWindowDto;
+import com.example.reservas.service.ReactiveAvailabilityService;
+import com.example.reservas.web.dto.TimeWindowResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Variantes reactivas de {@link AvailabilityController} y de
+ * {@code ResourceQueryController.listAvailabilityForDay}. Mismo contrato de respuesta; el hilo del
+ * contenedor se libera mientras se espera a Redis/Postgres.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "reservas.reactive", name = "enabled", havingValue = "true")
+@Tag(name = "Availability (reactive)", description = "Consulta de disponibilidad no bloqueante")
+public class ReactiveAvailabilityController {
+    private final ReactiveAvailabilityService availabilityService;
+    private final HotResourceTracker hotResources;
+
+    public ReactiveAvailabilityController(ReactiveAvailabilityService availabilityService, HotResourceTracker hotResources) {
+        this.availabilityService = availabilityService;
+        this.hotResources = hotResources;
+    }
+
+    @GetMapping("/v1/reactive/availability")
+    @Operation(summary = "Ventanas libres por recurso y fecha (reactivo)")
+    public Mono<List<TimeWindowResponse>> get(@RequestParam Long resourceId, @RequestParam String date) {
+        hotResources.record(HotResourceTracker.Kind.AVAILABILITY, resourceId);
+        return availabilityService.freeWindows(resourceId, LocalDate.parse(date))
+                .map(windows -> windows.stream().map(w -> new TimeWindowResponse(w.start(), w.end())).toList());
+    }
+
+    @GetMapping("/api/reactive/resources/{resourceId}/availability")
+    @Operation(summary = "Consultar disponibilidad por recurso y fecha (reactivo)")
+    public Mono<List<TimeWindowDto>> listAvailabilityForDay(
+            @PathVariable Long resourceId,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        hotResources.record(HotResourceTracker.Kind.AVAILABILITY, resourceId);
+        return availabilityService.freeWindows(resourceId, date)
+                .map(windows -> windows.stream().map(w -> new TimeWindowDto(w.start(), w.end())).toList());
+    }
+}
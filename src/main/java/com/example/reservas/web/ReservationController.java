@@ -1,19 +1,26 @@
 package com.example.reservas.web;
 
+import com.example.reservas.config.RateLimitCharge;
 import com.example.reservas.domain.Reservation;
 import com.example.reservas.dto.CreateReservationRequest;
 import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.dto.CreateReservationSeriesRequest;
+import com.example.reservas.dto.ReservationSeriesResponse;
 import com.example.reservas.service.ReservationService;
+import com.example.reservas.service.ReservationSeriesService;
 import com.example.reservas.dto.CancelReservationRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import com.example.reservas.web.dto.PageResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.*;
+import java.util.List;
  
 
 @RestController
@@ -21,8 +28,12 @@ import java.time.*;
 @Tag(name = "Reservations", description = "Gestión de reservas")
 public class ReservationController {
     private final ReservationService reservationService;
+    private final ReservationSeriesService seriesService;
 
-    public ReservationController(ReservationService reservationService) { this.reservationService = reservationService; }
+    public ReservationController(ReservationService reservationService, ReservationSeriesService seriesService) {
+        this.reservationService = reservationService;
+        this.seriesService = seriesService;
+    }
 
     @PostMapping
     @Operation(summary = "Crear reserva")
@@ -30,6 +41,23 @@ public class ReservationController {
         return reservationService.create(req);
     }
 
+    /**
+     * Serie recurrente: 201 si se creó alguna ocurrencia, 409 si los conflictos impidieron crear la serie
+     * (el cuerpo lista las ocurrencias en conflicto en ambos casos).
+     * Cuesta un token del rate limit por ocurrencia: el filtro cobró uno y aquí se cobra el resto, con la RRULE
+     * expandida una sola vez (la misma lista llega al servicio).
+     */
+    @PostMapping("/series")
+    @Operation(summary = "Crear serie de reservas (RRULE: FREQ, INTERVAL, COUNT, UNTIL, BYDAY)")
+    public ResponseEntity<ReservationSeriesResponse> createSeries(@Valid @RequestBody CreateReservationSeriesRequest req,
+                                                                  HttpServletRequest request) {
+        List<OffsetDateTime> starts = seriesService.expand(req);
+        RateLimitCharge.charge(request, starts.size() - 1L);
+        ReservationSeriesResponse series = seriesService.create(req, starts);
+        HttpStatus status = series.created().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(series);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener reserva por id")
     public ReservationResponse get(@PathVariable Long id) {
@@ -42,7 +70,7 @@ public class ReservationController {
 
     @GetMapping
     @Operation(summary = "Listar reservas por recurso y fecha (paginado)")
-    public Page<ReservationResponse> list(
+    public PageResponse<ReservationResponse> list(
             @RequestParam Long resourceId,
             @RequestParam String date,
             Pageable pageable
@@ -54,12 +82,11 @@ public class ReservationController {
         var page = reservationService // usa el repositorio paginado
             .listPage(resourceId, start, end, pageable);
 
-        return new PageImpl<>(
+        return PageResponse.of(page,
             page.getContent().stream().map(r -> new ReservationResponse(
                 r.getId(), r.getResource().getId(), r.getCustomerName(), r.getCustomerEmail(),
                 r.getPartySize(), r.getStartTime(), r.getEndTime(), r.getStatus().name()
-            )).toList(),
-            page.getPageable(), page.getTotalElements()
+            )).toList()
         );
     }
 
@@ -1,23 +1,35 @@
 package com.example.reservas.web;
 
 import com.example.reservas.domain.Resource;
+import com.example.reservas.service.CatalogService;
 import com.example.reservas.service.ResourceService;
 import com.example.reservas.web.dto.CreateResourceRequest;
+import com.example.reservas.web.dto.PageResponse;
 import com.example.reservas.web.dto.ResourceResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1")
 @Tag(name = "Resources", description = "Gestión de recursos reservables")
 public class ResourceController {
     private final ResourceService resourceService;
+    private final CatalogService catalogService;
+    private final HttpCaching httpCaching;
 
-    public ResourceController(ResourceService resourceService) { this.resourceService = resourceService; }
+    public ResourceController(ResourceService resourceService, CatalogService catalogService, HttpCaching httpCaching) {
+        this.resourceService = resourceService;
+        this.catalogService = catalogService;
+        this.httpCaching = httpCaching;
+    }
 
     @PostMapping("/businesses/{businessId}/resources")
     @Operation(summary = "Crear recurso en un negocio")
@@ -25,24 +37,37 @@ public class ResourceController {
         if (!businessId.equals(req.businessId())) {
             throw new com.example.reservas.service.ValidationException("businessId en path y body deben coincidir");
         }
-        Resource r = resourceService.create(req.businessId(), req.name(), req.capacity());
+        Resource r = resourceService.create(req.businessId(), req.name(), req.capacity(),
+                req.capacityMode(), req.slotMinutes());
         return toResponse(r);
     }
 
     @GetMapping("/resources/{id}")
-    @Operation(summary = "Obtener recurso por id")
-    public ResourceResponse get(@PathVariable Long id) {
-        Resource r = resourceService.get(id);
-        return toResponse(r);
+    @Operation(summary = "Obtener recurso por id (ETag / Last-Modified, cacheable)")
+    public ResponseEntity<ResourceResponse> get(@PathVariable Long id) {
+        return httpCaching.ok(catalogService.resource(id));
     }
 
     @GetMapping("/resources")
-    @Operation(summary = "Listar recursos por negocio (paginado)")
-    public Page<ResourceResponse> list(@RequestParam Long businessId, Pageable pageable) {
-        return resourceService.listByBusiness(businessId, pageable).map(this::toResponse);
+    @Operation(summary = "Listar recursos por negocio (paginado, ETag / Last-Modified, cacheable)")
+    public ResponseEntity<PageResponse<ResourceResponse>> list(@RequestParam Long businessId, Pageable pageable) {
+        return httpCaching.ok(catalogService.resourcesByBusiness(businessId, pageable));
+    }
+
+    @GetMapping("/businesses/{businessId}/resources/available")
+    @Operation(summary = "Buscar recursos libres del negocio para un grupo y horario (mejor ajuste de capacidad primero)")
+    public List<ResourceResponse> available(@PathVariable Long businessId,
+                                           @RequestParam int partySize,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime start,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        return resourceService.findAvailable(businessId, partySize, start, end, limit).stream()
+                .map(this::toResponse)
+                .toList();
     }
 
     private ResourceResponse toResponse(Resource r) {
-        return new ResourceResponse(r.getId(), r.getBusiness().getId(), r.getName(), r.getCapacity());
+        return new ResourceResponse(r.getId(), r.getBusiness().getId(), r.getName(), r.getCapacity(),
+                r.getCapacityMode(), r.getSlotMinutes());
     }
 }
@@ -1,5 +1,6 @@
 package com.example.reservas.web.dto;
 
+import com.example.reservas.domain.CapacityMode;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,5 +8,8 @@ import jakarta.validation.constraints.NotNull;
 public record CreateResourceRequest(
     @NotNull Long businessId,
     @NotBlank String name,
-    @Min(1) int capacity
+    @Min(1) int capacity,
+    /** EXCLUSIVE por defecto; POOLED requiere {@code slotMinutes} (divisor de 1440, mínimo 5). */
+    CapacityMode capacityMode,
+    Integer slotMinutes
 ) {}
@@ -0,0 +1,8 @@
+package com.example.reservas.web.dto;
+
+import java.time.LocalDate;
+
+public record OccupancyBucketResponse(
+    LocalDate start, int days, long bookedMinutes, long reservations,
+    long cancellations, long lateCancellations, long partySizeSum, double utilization
+) {}
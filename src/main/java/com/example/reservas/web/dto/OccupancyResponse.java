@@ -0,0 +1,9 @@
+package com.example.reservas.web.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record OccupancyResponse(
+    Long businessId, LocalDate from, LocalDate to, String granularity,
+    long resourceCount, List<OccupancyBucketResponse> buckets
+) {}
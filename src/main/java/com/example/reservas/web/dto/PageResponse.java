@@ -0,0 +1,16 @@
+package com.example.reservas.web.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Sobre de paginación compacto: en lugar de serializar {@code PageImpl} (pageable, sort, first/last,
+ * numberOfElements, empty...), solo lo que un cliente necesita para paginar.
+ */
+public record PageResponse<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+
+    public static <T> PageResponse<T> of(Page<?> page, List<T> content) {
+        return new PageResponse<>(content, page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.reservas.web.dto;
 
+import com.example.reservas.domain.CapacityMode;
+
 public record ResourceResponse(
-    Long id, Long businessId, String name, Integer capacity
+    Long id, Long businessId, String name, Integer capacity, CapacityMode capacityMode, Integer slotMinutes
 ) {}
@@ -1,10 +1,12 @@
 package com.example.reservas.web.error;
 
+import com.example.reservas.config.RateLimitedException;
 import com.example.reservas.service.NotFoundException;
 import com.example.reservas.service.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -31,6 +33,14 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", ex.getMessage(), req, null);
     }
 
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<ApiError> handleRateLimited(RateLimitedException ex, org.springframework.web.context.request.WebRequest req) {
+        ResponseEntity<ApiError> error = build(HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED", ex.getMessage(), req, null);
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error.getBody());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleBeanValidation(MethodArgumentNotValidException ex, org.springframework.web.context.request.WebRequest req) {
         Map<String, String> details = new HashMap<>();
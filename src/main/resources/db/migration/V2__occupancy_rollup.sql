@@ -0,0 +1,36 @@
+-- Rollup diario de ocupación por recurso (día UTC), mantenido por ReservationService
+
+CREATE TABLE resource_daily_occupancy (
+  resource_id BIGINT NOT NULL REFERENCES resource(id),
+  day DATE NOT NULL,
+  business_id BIGINT NOT NULL REFERENCES business(id),
+  booked_minutes BIGINT NOT NULL DEFAULT 0,
+  reservations INTEGER NOT NULL DEFAULT 0,
+  cancellations INTEGER NOT NULL DEFAULT 0,
+  late_cancellations INTEGER NOT NULL DEFAULT 0,
+  party_size_sum BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (resource_id, day)
+);
+
+CREATE INDEX idx_occupancy_business_day ON resource_daily_occupancy (business_id, day);
+
+-- Backfill desde las reservas existentes.
+-- Minutos reservados (solo CONFIRMED) repartidos por día; contadores en el día de inicio.
+INSERT INTO resource_daily_occupancy
+  (resource_id, day, business_id, booked_minutes, reservations, cancellations, late_cancellations, party_size_sum)
+SELECT r.resource_id,
+       d::date,
+       res.business_id,
+       COALESCE(SUM(EXTRACT(EPOCH FROM (LEAST(r.end_time AT TIME ZONE 'UTC', d + INTERVAL '1 day')
+                                        - GREATEST(r.start_time AT TIME ZONE 'UTC', d))) / 60)
+                FILTER (WHERE r.status = 'CONFIRMED'), 0)::bigint,
+       COUNT(*) FILTER (WHERE r.status = 'CONFIRMED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date),
+       COUNT(*) FILTER (WHERE r.status = 'CANCELLED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date),
+       COUNT(*) FILTER (WHERE r.status = 'LATE_CANCELLED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date),
+       COALESCE(SUM(r.party_size) FILTER (WHERE r.status = 'CONFIRMED' AND (r.start_time AT TIME ZONE 'UTC')::date = d::date), 0)
+FROM reservation r
+JOIN resource res ON res.id = r.resource_id
+CROSS JOIN LATERAL generate_series(date_trunc('day', r.start_time AT TIME ZONE 'UTC'),
+                                   (r.end_time AT TIME ZONE 'UTC') - INTERVAL '1 microsecond',
+                                   INTERVAL '1 day') AS d
+GROUP BY r.resource_id, d, res.business_id;
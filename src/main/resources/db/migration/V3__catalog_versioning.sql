@@ -0,0 +1,13 @@
+-- Versión (bloqueo optimista) y fecha de última modificación de negocios y recursos:
+-- alimentan los ETag / Last-Modified de las lecturas de catálogo
+
+ALTER TABLE business
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW();
+
+ALTER TABLE resource
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW();
+
+UPDATE business SET updated_at = created_at;
+UPDATE resource SET updated_at = created_at;
@@ -0,0 +1,11 @@
+-- Outbox transaccional de cambios de reservas: se escribe en la misma transacción que create/cancel
+-- y un relay lo vacía por lotes (FOR UPDATE SKIP LOCKED) hacia el sink configurado
+
+CREATE TABLE reservation_outbox (
+  id BIGSERIAL PRIMARY KEY,
+  resource_id BIGINT NOT NULL,
+  reservation_id BIGINT NOT NULL,
+  event_type VARCHAR(50) NOT NULL,
+  payload JSONB NOT NULL,
+  created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Búsqueda "cualquier mesa" (ResourceRepository.findAvailable): recursos del negocio con capacidad
+-- suficiente en orden de capacidad, y comprobación de solapes por recurso solo contra reservas CONFIRMED
+
+CREATE INDEX idx_resource_business_capacity ON resource (business_id, capacity);
+
+CREATE INDEX idx_reservation_confirmed_resource_end ON reservation (resource_id, end_time)
+  INCLUDE (start_time)
+  WHERE status = 'CONFIRMED';
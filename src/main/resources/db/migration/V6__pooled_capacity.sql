@@ -0,0 +1,17 @@
+-- Recursos de capacidad compartida (clases, tours, puestos de coworking): varias reservas pueden
+-- solaparse mientras la suma de party_size no supere la capacidad en ningún slot
+
+ALTER TABLE resource
+  ADD COLUMN capacity_mode VARCHAR(20) NOT NULL DEFAULT 'EXCLUSIVE',
+  ADD COLUMN slot_minutes INTEGER,
+  ADD CONSTRAINT chk_resource_pooled_slot
+    CHECK (capacity_mode = 'EXCLUSIVE' OR (slot_minutes BETWEEN 5 AND 1440 AND 1440 % slot_minutes = 0));
+
+-- Capacidad restante por slot (alineado a UTC). Se crea al reservar el slot por primera vez y se
+-- decrementa con un UPDATE condicional; PooledCapacityReconciler lo recalcula desde reservation
+CREATE TABLE resource_slot_capacity (
+  resource_id BIGINT NOT NULL REFERENCES resource(id),
+  slot_start TIMESTAMP WITH TIME ZONE NOT NULL,
+  remaining INTEGER NOT NULL,
+  PRIMARY KEY (resource_id, slot_start)
+);
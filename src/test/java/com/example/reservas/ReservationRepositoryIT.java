@@ -24,7 +24,7 @@ import java.time.ZoneOffset;
 @EnableJpaRepositories(basePackages = "com.example.reservas.repo")
 @EntityScan(basePackages = "com.example.reservas.domain")
 @ComponentScan(basePackages = "com.example.reservas")
-@Testcontainers
+@Testcontainers(disabledWithoutDocker = true)
 class ReservationRepositoryIT {
 
     @Container
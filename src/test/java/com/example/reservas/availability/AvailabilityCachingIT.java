@@ -12,6 +12,9 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -23,13 +26,20 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
 class AvailabilityCachingIT {
 
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
   static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
 
   @DynamicPropertySource
   static void props(DynamicPropertyRegistry r) {
-    redis.start();
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
     r.add("spring.cache.type", () -> "redis");
     r.add("spring.data.redis.host", () -> redis.getHost());
     r.add("spring.data.redis.port", () -> redis.getFirstMappedPort());
@@ -44,7 +54,7 @@ class AvailabilityCachingIT {
     Long resourceId = 1L;
     LocalDate date = LocalDate.parse("2025-01-01");
 
-    when(reservationRepo.findForDay(anyLong(), any(), any()))
+    when(reservationRepo.findBusyForDay(anyLong(), any(), any()))
         .thenReturn(Collections.emptyList());
 
     // Primera llamada: ejecuta repositorio
@@ -52,6 +62,6 @@ class AvailabilityCachingIT {
     // Segunda llamada: debe venir del caché
     availabilityService.freeWindows(resourceId, date);
 
-    verify(reservationRepo, times(1)).findForDay(eq(resourceId), any(), any());
+    verify(reservationRepo, times(1)).findBusyForDay(eq(resourceId), any(), any());
   }
 }
\ No newline at end of file
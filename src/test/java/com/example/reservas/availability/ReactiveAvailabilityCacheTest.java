@@ -0,0 +1,107 @@
+package com.example.reservas.availability;
+
+import com.example.reservas.config.CacheConfig;
+import com.example.reservas.config.RedisCacheFallback;
+import com.example.reservas.config.RedisCircuitBreaker;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import com.example.reservas.service.ReactiveAvailabilityService;
+import com.example.reservas.service.cache.CacheKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * La ruta reactiva usa el mismo breaker y la misma caché local que el {@code RedisCacheManager}: con Redis
+ * caído sirve la copia que dejó la ruta síncrona, con los mismos bytes, sin tocar la base de datos.
+ */
+class ReactiveAvailabilityCacheTest {
+
+  static final LocalDate DAY = LocalDate.parse("2025-01-15");
+  static final OffsetDateTime START = OffsetDateTime.parse("2025-01-15T10:00:00Z");
+  static final String KEY = CacheKeys.AVAILABILITY_REDIS_PREFIX + CacheKeys.availKey(1L, DAY);
+
+  AtomicLong clock = new AtomicLong();
+  SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  RedisCircuitBreaker breaker = new RedisCircuitBreaker(3, Duration.ofMillis(100), Duration.ofSeconds(10),
+      clock::get, meters);
+  RedisCacheFallback fallback = new RedisCacheFallback(mock(RedisCacheWriter.class), breaker, Runnable::run, 100,
+      Duration.ofSeconds(30), 10, meters);
+  GenericJackson2JsonRedisSerializer serializer = new CacheConfig().cacheValueSerializer();
+
+  @SuppressWarnings("unchecked")
+  ReactiveRedisTemplate<String, Object> redis = mock(ReactiveRedisTemplate.class);
+  @SuppressWarnings("unchecked")
+  ReactiveValueOperations<String, Object> values = mock(ReactiveValueOperations.class);
+  DatabaseClient db = mock(DatabaseClient.class);
+  ReactiveAvailabilityService service;
+
+  // ArrayList, como devuelve AvailabilityService.gaps: el tipado por defecto solo conoce colecciones no finales
+  List<TimeWindow> windows = new ArrayList<>(List.of(new TimeWindow(START, START.plusHours(1))));
+
+  @BeforeEach
+  void setup() {
+    when(redis.opsForValue()).thenReturn(values);
+    StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("breaker", breaker, "fallback", fallback));
+    service = new ReactiveAvailabilityService(redis, db, serializer,
+        beans.getBeanProvider(RedisCircuitBreaker.class), beans.getBeanProvider(RedisCacheFallback.class));
+    // Entrada que la ruta síncrona dejó en la caché local mientras Redis fallaba (ResilientRedisCacheWriter)
+    fallback.put("availability", KEY.getBytes(StandardCharsets.UTF_8), serializer.serialize(windows));
+  }
+
+  @Test
+  void redisFailuresOpenTheSharedBreakerAndServeTheLocalCopy() {
+    when(values.get(anyString())).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(windows, service.freeWindows(1L, DAY).block());
+    }
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+
+    assertEquals(windows, service.freeWindows(1L, DAY).block());
+    verify(values, times(3)).get(KEY);
+    verifyNoInteractions(db);
+  }
+
+  @Test
+  void slowRedisCountsAsFailure() {
+    when(values.get(anyString())).thenReturn(Mono.fromSupplier(() -> {
+      clock.addAndGet(Duration.ofMillis(150).toNanos());
+      return windows;
+    }));
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(windows, service.freeWindows(1L, DAY).block());
+    }
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+  }
+
+  @Test
+  void readsWhatTheSynchronousCacheWrote() {
+    when(values.get(KEY)).thenReturn(Mono.fromSupplier(() -> serializer.deserialize(serializer.serialize(windows))));
+
+    assertEquals(windows, service.freeWindows(1L, DAY).block());
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.state());
+    verifyNoInteractions(db);
+  }
+}
@@ -0,0 +1,188 @@
+package com.example.reservas.availability;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.CapacityMode;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import com.example.reservas.service.ReactiveAvailabilityService;
+import com.example.reservas.service.ReservationService;
+import com.example.reservas.service.ResourceService;
+import com.example.reservas.service.cache.CacheKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * La ruta reactiva y la bloqueante comparten la entrada "availability::avail:...": mismos bytes en Redis,
+ * cada una lee lo que escribió la otra y, sin caché, calculan los mismos huecos (reservas CONFIRMED que
+ * solapan el día; en recursos POOLED, los slots llenos).
+ */
+@SpringBootTest(properties = "reservas.reactive.enabled=true")
+@Testcontainers(disabledWithoutDocker = true)
+class ReactiveAvailabilityIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.data.redis.host", redis::getHost);
+    r.add("spring.data.redis.port", redis::getFirstMappedPort);
+  }
+
+  @Autowired AvailabilityService blocking;
+  @Autowired ReactiveAvailabilityService reactive;
+  @Autowired ReservationService reservationService;
+  @Autowired ResourceService resourceService;
+  @Autowired BusinessRepository businessRepo;
+  @Autowired ResourceRepository resourceRepo;
+  @Autowired RedisConnectionFactory redisConnections;
+  @Autowired JdbcTemplate jdbc;
+
+  Resource resource;
+  LocalDate day;
+  byte[] key;
+
+  @BeforeEach
+  void setup() {
+    Business business = new Business();
+    business.setName("Reactiva"); business.setType("RESTAURANT");
+    business = businessRepo.save(business);
+
+    Resource r = new Resource();
+    r.setBusiness(business); r.setName("Mesa 1"); r.setCapacity(4);
+    resource = resourceRepo.save(r);
+
+    day = LocalDate.now(ZoneOffset.UTC).plusDays(10);
+    key = (CacheKeys.AVAILABILITY_REDIS_PREFIX + CacheKeys.availKey(resource.getId(), day))
+        .getBytes(StandardCharsets.UTF_8);
+    book(day.atTime(9, 0), day.atTime(10, 30));
+    book(day.atTime(13, 0), day.atTime(14, 0));
+  }
+
+  @Test
+  void bothPathsWriteTheSameBytesUnderTheSameKey() {
+    List<TimeWindow> fromBlocking = blocking.freeWindows(resource.getId(), day);
+    byte[] blockingEntry = rawGet(key);
+    assertNotNull(blockingEntry, "la ruta bloqueante debería haber cacheado");
+
+    rawDelete(key);
+    List<TimeWindow> fromReactive = reactive.freeWindows(resource.getId(), day).block();
+    byte[] reactiveEntry = rawGet(key);
+
+    assertEquals(fromBlocking, fromReactive);
+    assertEquals(3, fromReactive.size());
+    assertArrayEquals(blockingEntry, reactiveEntry,
+        new String(blockingEntry, StandardCharsets.UTF_8) + " vs " + new String(reactiveEntry, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void reactiveReadsTheEntryTheBlockingPathWrote() {
+    List<TimeWindow> cached = blocking.freeWindows(resource.getId(), day);
+    // Sin pasar por el servicio: si la ruta reactiva consultara la base de datos vería el día libre
+    jdbc.update("delete from reservation where resource_id = ?", resource.getId());
+
+    assertEquals(cached, reactive.freeWindows(resource.getId(), day).block());
+  }
+
+  @Test
+  void blockingReadsTheEntryTheReactivePathWrote() {
+    List<TimeWindow> cached = reactive.freeWindows(resource.getId(), day).block();
+    jdbc.update("delete from reservation where resource_id = ?", resource.getId());
+
+    assertEquals(cached, blocking.freeWindows(resource.getId(), day));
+  }
+
+  @Test
+  void bothPathsAgreeOnReservationsCrossingMidnightAndCancellations() {
+    // Empieza el día anterior y ocupa la primera hora; la cancelada deja libre su hueco
+    book(day.minusDays(1).atTime(22, 0), day.atTime(1, 0));
+    ReservationResponse cancelled = book(day.atTime(16, 0), day.atTime(17, 0));
+    reservationService.cancel(cancelled.id(), "test", cancelled.startTime().minusDays(1));
+
+    List<TimeWindow> fromBlocking = blocking.freeWindows(resource.getId(), day);
+    rawDelete(key);
+    List<TimeWindow> fromReactive = reactive.freeWindows(resource.getId(), day).block();
+
+    assertEquals(fromBlocking, fromReactive);
+    OffsetDateTime dayStart = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    assertEquals(List.of(
+        new TimeWindow(dayStart.plusHours(1), dayStart.plusHours(9)),
+        new TimeWindow(dayStart.plusHours(10).plusMinutes(30), dayStart.plusHours(13)),
+        new TimeWindow(dayStart.plusHours(14), dayStart.plusDays(1))), fromReactive);
+  }
+
+  @Test
+  void pooledResourcesAreBusyOnlyWhereASlotIsFull() {
+    Resource pooled = resourceService.create(resource.getBusiness().getId(), "Clase", 4, CapacityMode.POOLED, 30);
+    // 10:00-11:00 llena (2 + 2); 12:00-13:00 deja 2 plazas; 15:00-15:30 se llena y se cancela
+    book(pooled, day.atTime(10, 0), day.atTime(11, 0), 2);
+    book(pooled, day.atTime(10, 0), day.atTime(11, 0), 2);
+    book(pooled, day.atTime(12, 0), day.atTime(13, 0), 2);
+    ReservationResponse cancelled = book(pooled, day.atTime(15, 0), day.atTime(15, 30), 4);
+    reservationService.cancel(cancelled.id(), "test", cancelled.startTime().minusDays(1));
+
+    List<TimeWindow> fromBlocking = blocking.freeWindows(pooled.getId(), day);
+    rawDelete((CacheKeys.AVAILABILITY_REDIS_PREFIX + CacheKeys.availKey(pooled.getId(), day))
+        .getBytes(StandardCharsets.UTF_8));
+    List<TimeWindow> fromReactive = reactive.freeWindows(pooled.getId(), day).block();
+
+    assertEquals(fromBlocking, fromReactive);
+    OffsetDateTime dayStart = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    assertEquals(List.of(
+        new TimeWindow(dayStart, dayStart.plusHours(10)),
+        new TimeWindow(dayStart.plusHours(11), dayStart.plusDays(1))), fromReactive);
+  }
+
+  private ReservationResponse book(LocalDateTime start, LocalDateTime end) {
+    return reservationService.create(new CreateReservationRequest(resource.getId(), "Ana", "ana@example.com", 2,
+        start.atOffset(ZoneOffset.UTC), end.atOffset(ZoneOffset.UTC)));
+  }
+
+  private ReservationResponse book(Resource target, LocalDateTime start, LocalDateTime end, int party) {
+    return reservationService.create(new CreateReservationRequest(target.getId(), "Ana", "ana@example.com", party,
+        start.atOffset(ZoneOffset.UTC), end.atOffset(ZoneOffset.UTC)));
+  }
+
+  private byte[] rawGet(byte[] k) {
+    try (RedisConnection c = redisConnections.getConnection()) {
+      return c.stringCommands().get(k);
+    }
+  }
+
+  private void rawDelete(byte[] k) {
+    try (RedisConnection c = redisConnections.getConnection()) {
+      c.keyCommands().del(k);
+    }
+  }
+}
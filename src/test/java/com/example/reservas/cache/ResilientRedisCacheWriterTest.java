@@ -0,0 +1,194 @@
+package com.example.reservas.cache;
+
+import com.example.reservas.config.RedisCacheFallback;
+import com.example.reservas.config.RedisCircuitBreaker;
+import com.example.reservas.config.ResilientRedisCacheWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ResilientRedisCacheWriterTest {
+
+  static final Duration TTL = Duration.ofMinutes(1);
+
+  AtomicLong clock = new AtomicLong();
+  RedisCacheWriter redis = mock(RedisCacheWriter.class);
+  SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  RedisCircuitBreaker breaker = new RedisCircuitBreaker(3, Duration.ofMillis(100), Duration.ofSeconds(10),
+      clock::get, meters);
+  // Reenvío síncrono: al cerrarse el breaker las evicciones se aplican antes de volver
+  RedisCacheFallback fallback = new RedisCacheFallback(redis, breaker, Runnable::run, 100, Duration.ofSeconds(30),
+      2, meters);
+  ResilientRedisCacheWriter writer = new ResilientRedisCacheWriter(redis, breaker, fallback);
+
+  @Test
+  void opensAfterConsecutiveFailuresAndStopsCallingRedis() {
+    when(redis.get(any(), any(), any())).thenThrow(new RedisConnectionFailureException("down"));
+
+    for (int i = 0; i < 3; i++) {
+      assertNull(writer.get("availability", key("a"), TTL), "un fallo de Redis es un fallo de caché");
+    }
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+
+    writer.get("availability", key("a"), TTL);
+    verify(redis, times(3)).get(any(), any(), any());
+    assertEquals(1, breaker.shortCircuited());
+  }
+
+  @Test
+  void slowCallsCountAsFailures() {
+    when(redis.get(any(), any(), any())).thenAnswer(inv -> {
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+      return value("v");
+    });
+
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(value("v"), writer.get("availability", key("a"), TTL), "la respuesta lenta se usa");
+    }
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+  }
+
+  @Test
+  void servesLocalCopyWhileOpen() {
+    openBreaker();
+
+    writer.put("availability", key("a"), value("v"), TTL);
+    assertArrayEquals(value("v"), writer.get("availability", key("a"), TTL));
+    assertNull(writer.get("availability", key("b"), TTL));
+    verify(redis, never()).put(any(), any(), any(), any());
+  }
+
+  @Test
+  void syncLoaderRunsOnceAndItsExceptionsPropagate() {
+    openBreaker();
+    AtomicInteger calls = new AtomicInteger();
+
+    for (int i = 0; i < 2; i++) {
+      assertArrayEquals(value("v"), writer.get("availability", key("a"), () -> {
+        calls.incrementAndGet();
+        return value("v");
+      }, TTL, false));
+    }
+    assertEquals(1, calls.get());
+
+    IllegalStateException boom = new IllegalStateException("boom");
+    assertSame(boom, assertThrows(IllegalStateException.class,
+        () -> writer.get("availability", key("b"), () -> { throw boom; }, TTL, false)));
+  }
+
+  @Test
+  void loaderFailureDoesNotCountAgainstRedis() {
+    when(redis.get(any(), any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+      Supplier<byte[]> loader = inv.getArgument(2);
+      return loader.get();
+    });
+
+    for (int i = 0; i < 5; i++) {
+      assertThrows(IllegalStateException.class,
+          () -> writer.get("availability", key("a"), () -> { throw new IllegalStateException(); }, TTL, false));
+    }
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.state());
+    assertEquals(0, breaker.consecutiveFailures());
+  }
+
+  @Test
+  void replaysQueuedEvictionsWhenRedisRecovers() {
+    openBreaker();
+    writer.put("availability", key("a"), value("v"), TTL);
+    writer.remove("availability", key("a"));
+    writer.remove("availability", key("a"));
+    writer.remove("availability", key("b"));
+    assertNull(writer.get("availability", key("a"), TTL), "la evicción se aplica en local");
+    assertEquals(2, fallback.pendingEvictions(), "sin duplicados");
+
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    reset(redis);
+    when(redis.get(any(), any(), any())).thenReturn(value("fresh"));
+    assertArrayEquals(value("fresh"), writer.get("availability", key("a"), TTL), "llamada de prueba");
+
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.state());
+    verify(redis).remove("availability", key("a"));
+    verify(redis).remove("availability", key("b"));
+    assertEquals(0, fallback.pendingEvictions());
+    assertEquals(0, fallback.localEntries(), "la copia local se descarta al recuperar");
+  }
+
+  @Test
+  void overflowingQueueFlushesWholeCacheOnRecovery() {
+    openBreaker();
+    writer.remove("availability", key("a"));
+    writer.remove("availability", key("b"));
+    writer.remove("availability", key("c"));
+
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    reset(redis);
+    writer.get("availability", key("a"), TTL);
+
+    verify(redis).clean("availability", key("availability::*"));
+    verify(redis, never()).remove(any(), any());
+  }
+
+  @Test
+  void failedProbeReopens() {
+    openBreaker();
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    writer.get("availability", key("a"), TTL);
+
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+    assertEquals(2, breaker.timesOpened());
+  }
+
+  @Test
+  void probeEndingInLoaderFailureReopensInsteadOfWedging() {
+    openBreaker();
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    reset(redis);
+    when(redis.get(any(), any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+      Supplier<byte[]> loader = inv.getArgument(2);
+      return loader.get();
+    });
+
+    // La prueba la gana un @Cacheable(sync = true) cuyo cargador falla
+    assertThrows(IllegalStateException.class,
+        () -> writer.get("availability", key("a"), () -> { throw new IllegalStateException(); }, TTL, false));
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+    assertEquals(1, breaker.timesOpened(), "no es una nueva apertura");
+
+    // Espera un openDuration completo desde la prueba abandonada
+    clock.addAndGet(Duration.ofSeconds(5).toNanos());
+    writer.get("availability", key("a"), TTL);
+    verify(redis, never()).get(any(), any(), any());
+
+    clock.addAndGet(Duration.ofSeconds(5).toNanos());
+    when(redis.get(any(), any(), any())).thenReturn(value("fresh"));
+    assertArrayEquals(value("fresh"), writer.get("availability", key("a"), TTL));
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.state());
+  }
+
+  private void openBreaker() {
+    when(redis.get(any(), any(), any())).thenThrow(new RedisConnectionFailureException("down"));
+    for (int i = 0; i < 3; i++) writer.get("availability", key("x"), TTL);
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+  }
+
+  private static byte[] key(String k) {
+    return k.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] value(String v) {
+    return v.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.reservas.catalog;
+
+import com.example.reservas.config.HttpCacheProperties;
+import com.example.reservas.domain.CapacityMode;
+import com.example.reservas.service.CatalogService;
+import com.example.reservas.service.ResourceService;
+import com.example.reservas.service.Versioned;
+import com.example.reservas.web.HttpCaching;
+import com.example.reservas.web.ResourceController;
+import com.example.reservas.web.dto.ResourceResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CatalogHttpCachingTest {
+
+  static final String ETAG = "W/\"r7-3\"";
+  static final Instant UPDATED = Instant.parse("2025-01-15T10:00:00Z");
+
+  CatalogService catalog = mock(CatalogService.class);
+  MockMvc mvc = MockMvcBuilders
+      .standaloneSetup(new ResourceController(mock(ResourceService.class), catalog, new HttpCaching(new HttpCacheProperties())))
+      .build();
+
+  @Test
+  void emitsValidatorsAndCacheControl() throws Exception {
+    when(catalog.resource(7L)).thenReturn(new Versioned<>(new ResourceResponse(7L, 1L, "Mesa 7", 4, CapacityMode.EXCLUSIVE, null), ETAG, UPDATED));
+
+    mvc.perform(get("/v1/resources/7"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", ETAG))
+        .andExpect(header().dateValue("Last-Modified", UPDATED.toEpochMilli()))
+        .andExpect(header().string("Cache-Control", "max-age=60, public, stale-while-revalidate=300"))
+        .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+        .andExpect(jsonPath("$.name").value("Mesa 7"));
+  }
+
+  @Test
+  void answersNotModifiedForMatchingEtag() throws Exception {
+    when(catalog.resource(7L)).thenReturn(new Versioned<>(new ResourceResponse(7L, 1L, "Mesa 7", 4, CapacityMode.EXCLUSIVE, null), ETAG, UPDATED));
+
+    mvc.perform(get("/v1/resources/7").header("If-None-Match", ETAG))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+        .andExpect(content().string(""));
+
+    mvc.perform(get("/v1/resources/7").header("If-None-Match", "W/\"r7-2\""))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.reservas.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+  @Test
+  void findsHeavyHittersInLongTailWithFixedCounters() {
+    SpaceSaving<Long> sketch = new SpaceSaving<>(50, false);
+    Map<Long, Long> exact = new HashMap<>();
+    Random random = new Random(42);
+    long total = 0;
+    for (int i = 0; i < 200_000; i++) {
+      // 5 recursos calientes (~40% del tráfico) sobre una cola de 100k ids
+      long id = random.nextDouble() < 0.4 ? random.nextInt(5) : 1_000 + random.nextInt(100_000);
+      sketch.offer(id, 1, 0);
+      exact.merge(id, 1L, Long::sum);
+      total++;
+    }
+
+    List<SpaceSaving.Entry<Long>> top = sketch.top(5);
+    assertEquals(5, top.size());
+    for (SpaceSaving.Entry<Long> e : top) {
+      assertTrue(e.key() < 5, "clave inesperada en el top: " + e.key());
+      long real = exact.get(e.key());
+      // Garantías del algoritmo: nunca subestima y el error es <= total/capacity
+      assertTrue(e.weight() >= real);
+      assertTrue(e.weight() - e.error() <= real);
+      assertTrue(e.error() <= total / 50);
+    }
+  }
+
+  @Test
+  void tracksLatencyPercentilesPerKey() {
+    SpaceSaving<String> sketch = new SpaceSaving<>(10, true);
+    for (int i = 1; i <= 100; i++) {
+      sketch.offer("select", i * 100L, i * 100L);
+    }
+    SpaceSaving.Entry<String> e = sketch.top(1).get(0);
+    assertEquals(100, e.calls());
+    assertEquals(505_000, e.weight());
+    assertEquals(5_000, e.p50Micros(), 5_000 * 0.15);
+    assertEquals(9_900, e.p99Micros(), 9_900 * 0.15);
+    assertEquals(10_000, e.maxMicros());
+  }
+
+  @Test
+  void rollingWindowRotatesAndForgets() {
+    AtomicLong now = new AtomicLong();
+    RollingTopK<String> rolling = new RollingTopK<>(10, false, Duration.ofSeconds(60), now::get, 4);
+
+    rolling.offer("a", 1, 0);
+    now.addAndGet(Duration.ofSeconds(61).toNanos());
+    rolling.offer("b", 1, 0);
+
+    RollingTopK.Snapshot<String> snapshot = rolling.top(10);
+    assertEquals(List.of("b"), snapshot.current().stream().map(SpaceSaving.Entry::key).toList());
+    assertEquals(List.of("a"), snapshot.previous().stream().map(SpaceSaving.Entry::key).toList());
+
+    now.addAndGet(Duration.ofSeconds(150).toNanos());
+    snapshot = rolling.top(10);
+    assertTrue(snapshot.current().isEmpty());
+    assertTrue(snapshot.previous().isEmpty());
+  }
+
+  @Test
+  void stripesMergeWithoutLosingTheGuarantees() throws Exception {
+    RollingTopK<Long> rolling = new RollingTopK<>(50, true, Duration.ofMinutes(5), System::nanoTime, 8);
+    int threads = 8;
+    int perThread = 50_000;
+    Map<Long, Long> exact = new ConcurrentHashMap<>();
+    try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+      List<Future<?>> done = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        long seed = t;
+        done.add(pool.submit(() -> {
+          Random random = new Random(seed);
+          for (int i = 0; i < perThread; i++) {
+            long id = random.nextDouble() < 0.4 ? random.nextInt(5) : 1_000 + random.nextInt(100_000);
+            rolling.offer(id, 1, 100);
+            exact.merge(id, 1L, Long::sum);
+          }
+        }));
+      }
+      for (Future<?> f : done) f.get();
+    }
+
+    List<SpaceSaving.Entry<Long>> top = rolling.top(5).current();
+    assertEquals(5, top.size());
+    long total = (long) threads * perThread;
+    for (SpaceSaving.Entry<Long> e : top) {
+      assertTrue(e.key() < 5, "clave inesperada en el top: " + e.key());
+      long real = exact.get(e.key());
+      assertTrue(e.weight() >= real);
+      assertTrue(e.weight() - e.error() <= real);
+      assertTrue(e.error() <= total / 50, "error combinado acotado por total/capacity");
+      assertEquals(100, e.p50Micros(), 15);
+    }
+  }
+
+  @Test
+  void evictsTheMinimumCounter() {
+    SpaceSaving<String> sketch = new SpaceSaving<>(3, false);
+    sketch.offer("a", 5, 0);
+    sketch.offer("b", 1, 0);
+    sketch.offer("c", 3, 0);
+    sketch.offer("a", 1, 0);
+    sketch.offer("d", 1, 0);
+
+    // "b" (1) sale; "d" hereda su peso como error
+    assertEquals(List.of("a", "c", "d"), sketch.top(3).stream().map(SpaceSaving.Entry::key).toList());
+    SpaceSaving.Entry<String> d = sketch.top(3).get(2);
+    assertEquals(2, d.weight());
+    assertEquals(1, d.error());
+  }
+
+  @Test
+  void normalizesLiteralsAndInLists() {
+    assertEquals("select * from reservation r1_0 where r1_0.id in (?...) and r1_0.status=? limit ?",
+        SqlNormalizer.doNormalize("select *\n  from reservation r1_0 where r1_0.id in (?, ?, ?) and r1_0.status='CONFIRMED' limit 20"));
+    assertEquals("insert into t (a,b) values (?,?), ...",
+        SqlNormalizer.doNormalize("insert into t (a,b) values (?,?), (?,?), (?,?)"));
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.reservas.json;
+
+import com.example.reservas.config.BinaryFormatsConfig;
+import com.example.reservas.config.JacksonConfig;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.web.dto.TimeWindowResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BinaryFormatsNegotiationTest {
+
+  static final OffsetDateTime START = OffsetDateTime.parse("2025-01-15T10:00:00Z");
+
+  @RestController
+  static class SampleController {
+    @GetMapping("/v1/availability")
+    List<TimeWindowResponse> availability() {
+      return List.of(new TimeWindowResponse(START, START.plusHours(1)));
+    }
+
+    @PostMapping("/v1/reservations")
+    CreateReservationRequest echo(@RequestBody CreateReservationRequest req) {
+      return req;
+    }
+  }
+
+  final MockMvc mvc = MockMvcBuilders.standaloneSetup(new SampleController())
+      .setMessageConverters(converters().toArray(HttpMessageConverter[]::new))
+      .build();
+
+  @Test
+  void jsonStaysTheDefault() throws Exception {
+    mvc.perform(get("/v1/availability"))
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$[0].start").value("2025-01-15T10:00:00Z"));
+  }
+
+  @Test
+  void cborWithEpochMillisTimestamps() throws Exception {
+    byte[] body = mvc.perform(get("/v1/availability").accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    JsonNode tree = new CBORMapper().readTree(body);
+    assertTrue(tree.get(0).get("start").isIntegralNumber());
+    assertEquals(START.toInstant().toEpochMilli(), tree.get(0).get("start").asLong());
+  }
+
+  @Test
+  void smileRoundTripsRequestBodies() throws Exception {
+    ObjectMapper client = new SmileMapper();
+    Map<String, Object> req = new LinkedHashMap<>();
+    req.put("resourceId", 1);
+    req.put("customerName", "Ana");
+    req.put("customerEmail", "ana@example.com");
+    req.put("partySize", 4);
+    req.put("startTime", START.toInstant().toEpochMilli());
+    req.put("endTime", START.plusHours(2).toInstant().toEpochMilli());
+
+    byte[] body = mvc.perform(post("/v1/reservations")
+            .contentType(BinaryFormatsConfig.SMILE)
+            .accept(BinaryFormatsConfig.SMILE)
+            .content(client.writeValueAsBytes(req)))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsByteArray();
+
+    JsonNode echoed = client.readTree(body);
+    assertEquals(START.plusHours(2).toInstant().toEpochMilli(), echoed.get("endTime").asLong());
+  }
+
+  private static List<HttpMessageConverter<?>> converters() {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerBeanDefinition("jacksonObjectMapperBuilder", BeanDefinitionBuilder
+        .genericBeanDefinition(Jackson2ObjectMapperBuilder.class, () -> Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(JacksonConfig.utcTimestamps()))
+        .setScope("prototype")
+        .getBeanDefinition());
+    var config = new BinaryFormatsConfig(beanFactory.getBeanProvider(Jackson2ObjectMapperBuilder.class));
+
+    List<HttpMessageConverter<?>> converters = new ArrayList<>();
+    converters.add(new MappingJackson2HttpMessageConverter(beanFactory.getBean(Jackson2ObjectMapperBuilder.class).build()));
+    config.extendMessageConverters(converters);
+    return converters;
+  }
+}
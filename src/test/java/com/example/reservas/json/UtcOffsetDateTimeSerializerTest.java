@@ -0,0 +1,61 @@
+package com.example.reservas.json;
+
+import com.example.reservas.config.JacksonConfig;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtcOffsetDateTimeSerializerTest {
+
+  final ObjectMapper tuned = JsonMapper.builder()
+      .addModule(new JavaTimeModule())
+      .addModule(JacksonConfig.utcTimestamps())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+
+  final ObjectMapper standard = JsonMapper.builder()
+      .addModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+
+  record Annotated(@JsonFormat(pattern = "yyyy-MM-dd HH:mm") OffsetDateTime at) {}
+
+  @Test
+  void matchesJsr310OutputForUtcAndOtherOffsets() throws Exception {
+    Random random = new Random(7);
+    for (int i = 0; i < 20_000; i++) {
+      long epochSecond = random.nextLong(-5_000_000_000L, 250_000_000_000L);
+      int nano = switch (i % 4) {
+        case 0 -> 0;
+        case 1 -> random.nextInt(1_000) * 1_000_000;
+        case 2 -> random.nextInt(1_000_000_000);
+        default -> random.nextInt(1_000_000) * 1_000;
+      };
+      ZoneOffset offset = i % 10 == 0 ? ZoneOffset.ofHours(random.nextInt(-12, 13)) : ZoneOffset.UTC;
+      OffsetDateTime value = OffsetDateTime.ofInstant(java.time.Instant.ofEpochSecond(epochSecond, nano), offset);
+
+      assertEquals(standard.writeValueAsString(value), tuned.writeValueAsString(value), value.toString());
+    }
+    assertEquals("\"2025-01-15T10:00:00Z\"", tuned.writeValueAsString(OffsetDateTime.parse("2025-01-15T10:00:00Z")));
+    assertEquals("\"2025-01-15T10:00:00.5Z\"", tuned.writeValueAsString(OffsetDateTime.parse("2025-01-15T10:00:00.500Z")));
+  }
+
+  @Test
+  void respectsJsonFormatAndTimestampMode() throws Exception {
+    OffsetDateTime value = OffsetDateTime.parse("2025-01-15T10:30:00Z");
+    assertEquals(standard.writeValueAsString(new Annotated(value)), tuned.writeValueAsString(new Annotated(value)));
+
+    ObjectMapper timestamps = tuned.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    ObjectMapper standardTimestamps = standard.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    assertEquals(standardTimestamps.writeValueAsString(value), timestamps.writeValueAsString(value));
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.reservas.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Una sola instancia con el ledger activo por base de datos; perder la sesión suspende el ledger. */
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerLockIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Test
+  void secondInstanceCannotTakeTheLockUntilTheFirstReleasesIt() throws Exception {
+    LedgerLock first = LedgerLock.acquire(connect(), Duration.ofSeconds(1), () -> {});
+
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> LedgerLock.acquire(connect(), Duration.ofSeconds(1), () -> {}));
+    assertTrue(e.getMessage().contains("única instancia"), e.getMessage());
+
+    first.close();
+    LedgerLock.acquire(connect(), Duration.ofSeconds(1), () -> {}).close();
+  }
+
+  @Test
+  void losingTheSessionReportsTheLockAsLost() throws Exception {
+    CountDownLatch lost = new CountDownLatch(1);
+    Connection connection = connect();
+    try (LedgerLock lock = LedgerLock.acquire(connection, Duration.ofMillis(200), lost::countDown)) {
+      try (Connection admin = connect(); Statement st = admin.createStatement()) {
+        st.execute("select pg_terminate_backend(pid) from pg_locks where locktype = 'advisory' and objid = "
+            + (LedgerLock.KEY & 0xFFFFFFFFL));
+      }
+      assertTrue(lost.await(5, TimeUnit.SECONDS), "el watchdog debería detectar la sesión perdida");
+      // Postgres ya liberó el lock: otra instancia puede tomarlo
+      LedgerLock.acquire(connect(), Duration.ofSeconds(1), () -> {}).close();
+    }
+  }
+
+  private static Connection connect() throws SQLException {
+    return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+  }
+}
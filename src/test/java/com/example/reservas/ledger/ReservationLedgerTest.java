@@ -0,0 +1,232 @@
+package com.example.reservas.ledger;
+
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.outbox.ChangeEvent;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationLedgerTest {
+
+  static final OffsetDateTime NOW = OffsetDateTime.of(2030, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+  static final OffsetDateTime DAY = NOW.plusDays(1).withHour(0);
+
+  @TempDir Path dir;
+  List<ReservationLedger> open = new ArrayList<>();
+
+  @AfterEach
+  void closeAll() throws Exception {
+    for (ReservationLedger l : open) l.close();
+  }
+
+  @Test
+  void rebuildsFromSourceAndTracksCreatesAndCancels() throws Exception {
+    ReservationLedger ledger = started(source(created(1, 7, 10, 11), created(2, 7, 14, 16), created(3, 8, 10, 12)));
+
+    assertEquals(List.of(window(10, 11), window(14, 16)), busy(ledger, 7));
+
+    ledger.record(ChangeEvent.RESERVATION_CREATED, reservation(4, 7, 12, 13));
+    ledger.record(ChangeEvent.RESERVATION_CANCELLED, reservation(1, 7, 10, 11));
+    assertEquals(List.of(window(12, 13), window(14, 16)), busy(ledger, 7));
+    assertEquals(List.of(window(10, 12)), busy(ledger, 8));
+  }
+
+  @Test
+  void findsLongReservationsStartingBeforeTheWindow() throws Exception {
+    // Del día anterior a las 20:00 hasta las 02:00: empieza antes de la ventana pero la solapa
+    ReservationLedger ledger = started(source(created(1, 7, -4, 2), created(2, 7, 3, 4)));
+
+    assertEquals(List.of(window(-4, 2), window(3, 4)), busy(ledger, 7));
+  }
+
+  @Test
+  void pooledResourcesAreLeftToPostgres() throws Exception {
+    IntervalSource events = source(created(1, 7, 10, 11), created(2, 8, 10, 11), created(3, 9, 10, 11));
+    ReservationLedger ledger = started(new IntervalSource() {
+      @Override
+      public void forEachConfirmed(long endAfterMicros, Consumer<LedgerEvent> consumer) {
+        events.forEachConfirmed(endAfterMicros, consumer);
+      }
+
+      @Override
+      public Collection<Long> pooledResourceIds() {
+        return List.of(8L);
+      }
+    });
+
+    // Solaparse no es estar ocupado en un recurso POOLED: los cargados al arrancar y los marcados después
+    assertNull(busy(ledger, 8));
+    assertEquals(List.of(window(10, 11)), busy(ledger, 9));
+    ledger.markPooled(9L);
+    assertNull(busy(ledger, 9));
+    assertEquals(List.of(window(10, 11)), busy(ledger, 7));
+  }
+
+  @Test
+  void appliesOnlyAfterCommit() throws Exception {
+    ReservationLedger ledger = started(source());
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      ledger.recordAll(ChangeEvent.RESERVATION_CREATED, List.of(reservation(1, 7, 9, 10), reservation(2, 7, 11, 12)));
+      assertEquals(List.of(), busy(ledger, 7), "no visible antes del commit");
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertEquals(List.of(window(9, 10), window(11, 12)), busy(ledger, 7));
+  }
+
+  @Test
+  void warmStartMapsSnapshotAndReplaysTail() throws Exception {
+    ReservationLedger first = started(source(created(1, 7, 10, 11), created(2, 7, 14, 16)));
+    first.record(ChangeEvent.RESERVATION_CREATED, reservation(3, 9, 8, 9));
+    first.close(); // último snapshot
+    open.remove(first);
+    assertTrue(Files.exists(dir.resolve(LedgerSnapshot.FILE)));
+
+    // Eventos posteriores al snapshot que quedaron solo en el log (p.ej. caída antes del siguiente)
+    try (LedgerLog log = new LedgerLog(dir, false)) {
+      log.open();
+      log.append(List.of(
+          LedgerEvent.of(ChangeEvent.RESERVATION_CANCELLED, reservation(1, 7, 10, 11)),
+          LedgerEvent.of(ChangeEvent.RESERVATION_CREATED, reservation(4, 7, 18, 19)),
+          // Repetido (ya en el snapshot): el replay es idempotente
+          LedgerEvent.of(ChangeEvent.RESERVATION_CREATED, reservation(3, 9, 8, 9))));
+    }
+
+    ReservationLedger second = started((endAfter, consumer) -> fail("con snapshot no se consulta Postgres"));
+
+    assertEquals(List.of(window(14, 16), window(18, 19)), busy(second, 7));
+    assertEquals(List.of(window(8, 9)), busy(second, 9));
+    second.record(ChangeEvent.RESERVATION_CANCELLED, reservation(2, 7, 14, 16));
+    assertEquals(List.of(window(18, 19)), busy(second, 7), "los recursos mapeados pasan a heap al cambiar");
+  }
+
+  @Test
+  void truncatesTornRecordAtTheTail() throws Exception {
+    Files.createDirectories(dir);
+    Path segment;
+    try (LedgerLog log = new LedgerLog(dir, false)) {
+      log.open();
+      log.append(List.of(created(1, 7, 10, 11), created(2, 7, 12, 13)));
+      segment = segments().getFirst();
+    }
+    try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+      ch.write(ByteBuffer.wrap(new byte[] {LedgerEvent.CREATED, 0, 0, 0, 7}));
+    }
+
+    List<LedgerEvent> replayed = new ArrayList<>();
+    try (LedgerLog log = new LedgerLog(dir, false)) {
+      assertEquals(2, log.replay(0, replayed::add));
+    }
+    assertEquals(List.of(created(1, 7, 10, 11), created(2, 7, 12, 13)), replayed);
+    assertEquals(2L * LedgerEvent.SIZE, Files.size(segment));
+  }
+
+  @Test
+  void windowsOlderThanRetentionFallBackToPostgres() throws Exception {
+    ReservationLedger ledger = started(source(created(1, 7, 10, 11)));
+
+    assertNull(ledger.busy(7L, NOW.minusDays(3), NOW.minusDays(2)));
+    assertNotNull(ledger.busy(7L, DAY, DAY.plusDays(1)));
+  }
+
+  @Test
+  void suspendedLedgerFallsBackToPostgresAndRebuildsOnNextStart() throws Exception {
+    ReservationLedger first = started(source(created(1, 7, 10, 11)));
+    awaitSnapshot(true);
+
+    // Lock de instancia perdido: otra instancia puede estar escribiendo
+    first.suspend();
+    first.record(ChangeEvent.RESERVATION_CREATED, reservation(2, 7, 12, 13));
+    assertNull(busy(first, 7));
+    awaitSnapshot(false);
+    first.close();
+    open.remove(first);
+    assertFalse(Files.exists(dir.resolve(LedgerSnapshot.FILE)), "al cerrar suspendido no se escribe snapshot");
+
+    ReservationLedger second = started(source(created(1, 7, 10, 11), created(2, 7, 12, 13)));
+    assertEquals(List.of(window(10, 11), window(12, 13)), busy(second, 7));
+  }
+
+  @Test
+  void disabledLedgerIsInert() {
+    ReservationLedger ledger = new ReservationLedger(false, dir, Duration.ofDays(1), Duration.ofMinutes(5), false,
+        source(), Clock.fixed(NOW.toInstant(), ZoneOffset.UTC), new SimpleMeterRegistry());
+    ledger.start();
+    ledger.record(ChangeEvent.RESERVATION_CREATED, reservation(1, 7, 10, 11));
+
+    assertNull(ledger.busy(7L, DAY, DAY.plusDays(1)));
+    assertFalse(Files.exists(dir.resolve(LedgerSnapshot.FILE)));
+  }
+
+  private ReservationLedger started(IntervalSource source) throws InterruptedException {
+    ReservationLedger ledger = new ReservationLedger(true, dir, Duration.ofDays(1), Duration.ofHours(1), false,
+        source, Clock.fixed(NOW.toInstant(), ZoneOffset.UTC), new SimpleMeterRegistry());
+    open.add(ledger);
+    ledger.start();
+    for (int i = 0; i < 500 && !ledger.isReady(); i++) Thread.sleep(10);
+    assertTrue(ledger.isReady(), "el ledger debería cargar en segundo plano");
+    return ledger;
+  }
+
+  private void awaitSnapshot(boolean exists) throws InterruptedException {
+    Path snapshot = dir.resolve(LedgerSnapshot.FILE);
+    for (int i = 0; i < 500 && Files.exists(snapshot) != exists; i++) Thread.sleep(10);
+    assertEquals(exists, Files.exists(snapshot));
+  }
+
+  private static IntervalSource source(LedgerEvent... events) {
+    return (endAfter, consumer) -> {
+      for (LedgerEvent e : events) {
+        if (e.endMicros() > endAfter) consumer.accept(e);
+      }
+    };
+  }
+
+  private static List<TimeWindow> busy(ReservationLedger ledger, long resourceId) {
+    return ledger.busy(resourceId, DAY, DAY.plusDays(1));
+  }
+
+  private static LedgerEvent created(long id, long resourceId, int fromHour, int toHour) {
+    return LedgerEvent.of(ChangeEvent.RESERVATION_CREATED, reservation(id, resourceId, fromHour, toHour));
+  }
+
+  private static ReservationResponse reservation(long id, long resourceId, int fromHour, int toHour) {
+    return new ReservationResponse(id, resourceId, "Ana", "ana@example.com", 2,
+        DAY.plusHours(fromHour), DAY.plusHours(toHour), "CONFIRMED");
+  }
+
+  private static TimeWindow window(int fromHour, int toHour) {
+    return new TimeWindow(DAY.plusHours(fromHour), DAY.plusHours(toHour));
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().toList();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.reservas.loadshedding;
+
+import com.example.reservas.config.AdaptiveConcurrencyLimiter;
+import com.example.reservas.config.PoolPressure;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inyecta latencia en una "base de datos" simulada (pool de 10 conexiones) y compara la latencia
+ * de las peticiones admitidas con y sin limitador adaptativo.
+ *
+ * Simulación de eventos discretos con reloj virtual: sin hilos ni sleeps, el resultado es el mismo
+ * en cualquier máquina.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+  static final int POOL_SIZE = 10;
+  static final int CLIENTS = 64;
+  static final long BASE_LATENCY = ms(5);
+  static final long INJECTED_LATENCY = ms(40);
+  static final long RETRY_AFTER_SHED = ms(2);
+  static final long DEGRADE_AT = ms(700);
+  static final long MEASURE_FROM = ms(1200);
+  static final long DEADLINE = ms(2500);
+
+  @Test
+  void admittedRequestsKeepBoundedP99WhenDbSlowsDown() {
+    Result unlimited = new Simulation(false).run();
+    Result limited = new Simulation(true).run();
+
+    // Sin limitador la cola en el pool dispara la latencia (~CLIENTS/POOL_SIZE * 40ms)
+    assertTrue(unlimited.p99 > 4 * INJECTED_LATENCY, "Se esperaba encolamiento sin limitador: " + unlimited);
+    // Con limitador las admitidas se quedan cerca del tiempo de servicio
+    assertTrue(limited.p99 < 3 * INJECTED_LATENCY, "p99 de admitidas no acotado: " + limited);
+    assertTrue(limited.p99 * 2 < unlimited.p99);
+    assertTrue(limited.shed > 0, "Debería haber descartado carga");
+    assertTrue(limited.finalLimit < CLIENTS, "El límite debería haber bajado: " + limited);
+  }
+
+  @Test
+  void simulationIsDeterministic() {
+    assertEquals(new Simulation(true).run(), new Simulation(true).run());
+  }
+
+  record Result(long p99, long admitted, long shed, int finalLimit) {}
+
+  /** Clientes en bucle cerrado contra un pool FIFO; el tiempo solo avanza de evento en evento. */
+  static final class Simulation {
+
+    record Event(long at, long seq, int client, boolean completes, long startedAt) {}
+
+    final boolean useLimiter;
+    final PriorityQueue<Event> events = new PriorityQueue<>((a, b) ->
+        a.at != b.at ? Long.compare(a.at, b.at) : Long.compare(a.seq, b.seq));
+    final Deque<long[]> waitingForConnection = new ArrayDeque<>(); // {cliente, llegada}
+    final List<Long> slowPhase = new ArrayList<>();
+    final AdaptiveConcurrencyLimiter limiter;
+    long seq;
+    int busyConnections;
+    long shed;
+
+    Simulation(boolean useLimiter) {
+      this.useLimiter = useLimiter;
+      this.limiter = new AdaptiveConcurrencyLimiter(50, 2, 200, 4, 1.5, new PoolPressure() {
+        @Override public int active() { return busyConnections; }
+        @Override public int waiting() { return waitingForConnection.size(); }
+      });
+    }
+
+    Result run() {
+      for (int c = 0; c < CLIENTS; c++) schedule(0, c, false, 0);
+      while (!events.isEmpty()) {
+        Event e = events.poll();
+        if (e.completes) complete(e);
+        else attempt(e.at, e.client);
+      }
+      Collections.sort(slowPhase);
+      long p99 = slowPhase.isEmpty() ? 0 : slowPhase.get((int) Math.ceil(slowPhase.size() * 0.99) - 1);
+      return new Result(p99, slowPhase.size(), shed, limiter.limit());
+    }
+
+    void attempt(long now, int client) {
+      if (now >= DEADLINE) return;
+      if (useLimiter && !limiter.tryAcquire()) {
+        shed++;
+        schedule(now + RETRY_AFTER_SHED, client, false, 0); // el cliente recibe 503 y reintenta más tarde
+        return;
+      }
+      if (busyConnections < POOL_SIZE) {
+        startQuery(now, client, now);
+      } else {
+        waitingForConnection.addLast(new long[] {client, now});
+      }
+    }
+
+    void startQuery(long now, int client, long arrivedAt) {
+      busyConnections++;
+      schedule(now + (now < DEGRADE_AT ? BASE_LATENCY : INJECTED_LATENCY), client, true, arrivedAt);
+    }
+
+    void complete(Event e) {
+      busyConnections--;
+      long[] next = waitingForConnection.pollFirst();
+      if (next != null) startQuery(e.at, (int) next[0], next[1]);
+
+      long rtt = e.at - e.startedAt;
+      if (useLimiter) limiter.release(rtt, true);
+      if (e.startedAt >= MEASURE_FROM) slowPhase.add(rtt);
+      attempt(e.at, e.client);
+    }
+
+    void schedule(long at, int client, boolean completes, long startedAt) {
+      events.add(new Event(at, seq++, client, completes, startedAt));
+    }
+  }
+
+  private static long ms(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,137 @@
+package com.example.reservas.loadshedding;
+
+import com.example.reservas.config.BulkheadFilter;
+import com.example.reservas.config.BulkheadProperties;
+import com.example.reservas.config.Bulkheads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latencia de las escrituras de reservas bajo una tormenta de lecturas de disponibilidad, contra una
+ * "base de datos" simulada (pool compartido de 8 conexiones), con y sin compartimentos.
+ *
+ * Depende de sleeps y del planificador: fuera de surefire y del verify por defecto
+ * ({@code ./mvnw -Dit.test=BulkheadIsolationBenchmarkIT verify}).
+ */
+class BulkheadIsolationBenchmarkIT {
+
+  static final int POOL_SIZE = 8;
+  static final int READ_LIMIT = 4;
+  static final int WRITERS = 4;
+  static final int WRITES_PER_WRITER = 50;
+  static final int STORM_CLIENTS = 400;
+  static final long READ_MS = 20;
+  static final long WRITE_MS = 5;
+
+  @Test
+  void writeLatencyStaysStableUnderReadStorm() throws Exception {
+    long baseline = p99(runWrites(null, false).latencies);
+    Result unprotected = runWrites(null, true);
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    Result isolated = runWrites(filter(meters), true);
+
+    // Sin compartimentos las escrituras hacen cola detrás de cientos de lecturas en el pool
+    assertTrue(p99(unprotected.latencies) > 4 * READ_MS,
+        "Se esperaba encolamiento sin compartimentos: p99 " + p99(unprotected.latencies) + " ms");
+    // Con compartimentos las lecturas nunca ocupan más de READ_LIMIT conexiones: a las escrituras les sobran
+    assertTrue(p99(isolated.latencies) < baseline + 3 * WRITE_MS + 20,
+        "p99 de escrituras no estable: " + p99(isolated.latencies) + " ms (base " + baseline + " ms)");
+    assertEquals(WRITERS * WRITES_PER_WRITER, isolated.latencies.size(), "ninguna escritura rechazada");
+    assertTrue(isolated.rejectedReads > 0, "la tormenta debería llenar el compartimento de lecturas");
+    assertEquals(isolated.rejectedReads, meters.get("reservas.bulkhead.rejected").tag("bulkhead", "read").counter().count());
+    assertEquals(0.0, meters.get("reservas.bulkhead.rejected").tag("bulkhead", "write").counter().count());
+  }
+
+  record Result(List<Long> latencies, long rejectedReads) {}
+
+  /** Escritores en bucle midiendo latencia, con o sin tormenta de lecturas en paralelo. */
+  private Result runWrites(BulkheadFilter filter, boolean storm) throws Exception {
+    Semaphore pool = new Semaphore(POOL_SIZE, true);
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    AtomicLong rejectedReads = new AtomicLong();
+    AtomicBoolean stop = new AtomicBoolean();
+
+    try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+      if (storm) {
+        for (int i = 0; i < STORM_CLIENTS; i++) {
+          readers.submit(() -> {
+            while (!stop.get()) {
+              int status = request(filter, "GET", "/v1/availability", pool, READ_MS);
+              if (status == 503) {
+                rejectedReads.incrementAndGet();
+                Thread.sleep(1); // el cliente reintenta enseguida
+              }
+            }
+            return null;
+          });
+        }
+        Thread.sleep(100); // la tormenta ya ha llenado el pool
+      }
+      try (ExecutorService writers = Executors.newFixedThreadPool(WRITERS)) {
+        for (int w = 0; w < WRITERS; w++) {
+          writers.submit(() -> {
+            for (int i = 0; i < WRITES_PER_WRITER; i++) {
+              long t0 = System.nanoTime();
+              int status = request(filter, "POST", "/v1/reservations", pool, WRITE_MS);
+              if (status == 200) latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+            }
+            return null;
+          });
+        }
+      }
+      stop.set(true);
+    }
+    return new Result(latencies, rejectedReads.get());
+  }
+
+  /** Una petición que toma una conexión del pool simulado durante {@code holdMs}. */
+  private static int request(BulkheadFilter filter, String method, String path, Semaphore pool, long holdMs)
+      throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (req, res) -> {
+      try {
+        pool.acquire();
+        try {
+          Thread.sleep(holdMs);
+        } finally {
+          pool.release();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+    if (filter == null) {
+      chain.doFilter(new MockHttpServletRequest(method, path), response);
+    } else {
+      filter.doFilter(new MockHttpServletRequest(method, path), response, chain);
+    }
+    return response.getStatus();
+  }
+
+  private static BulkheadFilter filter(SimpleMeterRegistry meters) {
+    BulkheadProperties props = new BulkheadProperties();
+    props.getRead().setMaxConcurrent(READ_LIMIT);
+    props.getRead().setMaxWait(Duration.ZERO);
+    props.getWrite().setMaxConcurrent(WRITERS * 2);
+    return new BulkheadFilter(new Bulkheads(props, meters), 1);
+  }
+
+  private static long p99(List<Long> latencies) {
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.reservas.loadshedding;
+
+import com.example.reservas.config.Bulkhead;
+import com.example.reservas.config.BulkheadFilter;
+import com.example.reservas.config.BulkheadProperties;
+import com.example.reservas.config.BulkheadRoutingDataSource;
+import com.example.reservas.config.Bulkheads;
+import com.example.reservas.config.EndpointClass;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clasificación de rutas en compartimentos y elección de pool. La tormenta de lecturas (latencia de
+ * escrituras con y sin compartimentos) está en {@link BulkheadIsolationBenchmarkIT}.
+ */
+class BulkheadIsolationTest {
+
+  @Test
+  void readRequestsUseTheReadPool() throws Exception {
+    DataSource primary = mock(DataSource.class);
+    HikariDataSource readPool = mock(HikariDataSource.class);
+    Connection primaryConnection = mock(Connection.class);
+    Connection readConnection = mock(Connection.class);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(readPool.getConnection()).thenReturn(readConnection);
+    BulkheadRoutingDataSource routing = new BulkheadRoutingDataSource(primary, readPool);
+    BulkheadFilter filter = filter(new SimpleMeterRegistry());
+
+    List<Connection> seen = new ArrayList<>();
+    FilterChain chain = (req, res) -> {
+      try {
+        seen.add(routing.getConnection());
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    };
+    filter.doFilter(new MockHttpServletRequest("GET", "/v1/availability"), new MockHttpServletResponse(), chain);
+    filter.doFilter(new MockHttpServletRequest("POST", "/v1/reservations"), new MockHttpServletResponse(), chain);
+    filter.doFilter(new MockHttpServletRequest("GET", "/v1/resources/1"), new MockHttpServletResponse(), chain);
+
+    assertEquals(List.of(readConnection, primaryConnection, primaryConnection), seen);
+    assertNull(Bulkhead.current(), "El grupo no debe quedar asociado al hilo");
+    // Fuera de una petición (Flyway, tareas programadas) siempre el principal
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void classifiesReadAndWriteGroups() {
+    assertEquals(Bulkhead.READ, Bulkhead.of("GET", "/api/resources/7/availability"));
+    assertEquals(Bulkhead.READ, Bulkhead.of("GET", "/api/resources/7/reservations"));
+    assertEquals(Bulkhead.READ, Bulkhead.of("GET", "/v1/businesses/3/resources/available"));
+    assertEquals(Bulkhead.WRITE, Bulkhead.of("POST", "/v1/reservations/series"));
+    assertEquals(Bulkhead.WRITE, Bulkhead.of("PATCH", "/v1/reservations/9/cancel"));
+    assertEquals(Bulkhead.WRITE, Bulkhead.of("POST", "/api/reservations/9/cancel"));
+    assertNull(Bulkhead.of("GET", "/v1/reservations/9"));
+    assertNull(Bulkhead.of("GET", "/v1/resources"));
+
+    // Misma tabla que el limitador adaptativo
+    assertEquals(EndpointClass.AVAILABILITY_READ, EndpointClass.of("GET", "/api/resources/7/availability"));
+    assertEquals(EndpointClass.RESERVATION_WRITE, EndpointClass.of("PATCH", "/v1/reservations/9/cancel"));
+    assertEquals(EndpointClass.RESERVATION_WRITE, EndpointClass.of("POST", "/v1/reservations/series"));
+    assertEquals(EndpointClass.OTHER, EndpointClass.of("GET", "/api/resources/7/reservations"));
+  }
+
+  private static BulkheadFilter filter(SimpleMeterRegistry meters) {
+    BulkheadProperties props = new BulkheadProperties();
+    props.getRead().setMaxConcurrent(4);
+    props.getRead().setMaxWait(Duration.ZERO);
+    props.getWrite().setMaxConcurrent(8);
+    return new BulkheadFilter(new Bulkheads(props, meters), 1);
+  }
+}
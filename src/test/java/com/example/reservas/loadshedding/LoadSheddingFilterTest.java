@@ -0,0 +1,105 @@
+package com.example.reservas.loadshedding;
+
+import com.example.reservas.config.BinaryFormatsConfig;
+import com.example.reservas.config.EndpointClass;
+import com.example.reservas.config.EndpointLimiters;
+import com.example.reservas.config.LoadSheddingFilter;
+import com.example.reservas.config.LoadSheddingProperties;
+import com.example.reservas.config.PoolPressure;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import com.example.reservas.service.cache.CacheKeys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Con el limitador lleno, la disponibilidad cacheada se sirve en el formato que pide el cliente. */
+class LoadSheddingFilterTest {
+
+  static final LocalDate DAY = LocalDate.parse("2025-01-15");
+  static final OffsetDateTime START = OffsetDateTime.parse("2025-01-15T10:00:00Z");
+
+  ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("availability");
+  EndpointLimiters limiters;
+  LoadSheddingFilter filter;
+
+  @BeforeEach
+  void setup() {
+    LoadSheddingProperties props = new LoadSheddingProperties();
+    props.setInitialLimit(2);
+    props.setMinLimit(2);
+    props.setMaxLimit(2);
+    limiters = new EndpointLimiters(props, PoolPressure.NONE);
+    // Saturar las lecturas de disponibilidad
+    while (limiters.get(EndpointClass.AVAILABILITY_READ).tryAcquire()) { }
+
+    RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+    adapter.setMessageConverters(List.<HttpMessageConverter<?>>of(
+        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+        new MappingJackson2CborHttpMessageConverter(
+            BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory()))));
+    filter = new LoadSheddingFilter(limiters, props, cacheManager,
+        new StaticListableBeanFactory(Map.of("handlerAdapter", adapter)).getBeanProvider(RequestMappingHandlerAdapter.class));
+
+    cacheManager.getCache("availability").put(CacheKeys.availKey(1L, DAY),
+        List.of(new TimeWindow(START, START.plusHours(1))));
+  }
+
+  @Test
+  void servesCachedAvailabilityAsJsonByDefault() throws Exception {
+    MockHttpServletResponse response = shed(null);
+    assertEquals(200, response.getStatus());
+    assertEquals("cached", response.getHeader("X-Load-Shed"));
+    assertTrue(MediaType.parseMediaType(response.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON));
+    assertTrue(response.getContentAsString().contains("\"start\""));
+  }
+
+  @Test
+  void servesCachedAvailabilityInTheNegotiatedBinaryFormat() throws Exception {
+    MockHttpServletResponse response = shed("application/cbor");
+    assertEquals(200, response.getStatus());
+    assertEquals("Accept", response.getHeader("Vary"));
+    assertTrue(MediaType.parseMediaType(response.getContentType()).isCompatibleWith(MediaType.APPLICATION_CBOR));
+
+    JsonNode tree = new CBORMapper().readTree(response.getContentAsByteArray());
+    assertEquals(START.toInstant().toEpochMilli(), tree.get(0).get("start").asLong());
+  }
+
+  @Test
+  void unsupportedAcceptFallsBackTo503() throws Exception {
+    MockHttpServletResponse response = shed("text/csv");
+    assertEquals(503, response.getStatus());
+    assertNotNull(response.getHeader("Retry-After"));
+  }
+
+  private MockHttpServletResponse shed(String accept) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/availability");
+    request.setParameter("resourceId", "1");
+    request.setParameter("date", DAY.toString());
+    if (accept != null) request.addHeader("Accept", accept);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request, response, chain);
+    assertNull(chain.getRequest(), "con el limitador lleno no debe llegar al controlador");
+    return response;
+  }
+}
@@ -0,0 +1,164 @@
+package com.example.reservas.occupancy;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.CancellationPolicy;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.repo.CancellationPolicyRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rollups de ocupación extremo a extremo: reservas que cruzan medianoche, cancelaciones FREE y LATE
+ * y minutos no enteros, leídos por {@code /v1/businesses/{id}/occupancy} por día y por semana.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class OccupancyRollupIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.data.redis.host", redis::getHost);
+    r.add("spring.data.redis.port", redis::getFirstMappedPort);
+  }
+
+  @Autowired MockMvc mvc;
+  @Autowired ReservationService reservationService;
+  @Autowired BusinessRepository businessRepo;
+  @Autowired ResourceRepository resourceRepo;
+  @Autowired CancellationPolicyRepository policyRepo;
+
+  Business business;
+  Resource resource;
+  /** Lunes: la semana ISO del informe empieza en este día. */
+  LocalDate monday;
+
+  @BeforeEach
+  void setup() {
+    business = new Business();
+    business.setName("Ocupación"); business.setType("RESTAURANT");
+    business = businessRepo.save(business);
+
+    CancellationPolicy policy = new CancellationPolicy();
+    policy.setBusiness(business); policy.setFreeBeforeMinutes(60); policy.setPenaltyType("FIXED"); policy.setPenaltyAmount(5.0);
+    policyRepo.save(policy);
+
+    Resource r = new Resource();
+    r.setBusiness(business); r.setName("Mesa 1"); r.setCapacity(6);
+    resource = resourceRepo.save(r);
+
+    monday = LocalDate.now(ZoneOffset.UTC).plusWeeks(2).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+  }
+
+  @Test
+  void createsCancelsAndLateCancelsAddUpPerDayAndWeek() throws Exception {
+    // Lunes: 90 min + la primera hora de una reserva que cruza medianoche
+    book(monday.atTime(10, 0), monday.atTime(11, 30), 2);
+    book(monday.atTime(23, 0), monday.plusDays(1).atTime(1, 0), 3);
+    // Martes: cancelación libre (un día antes); solo queda la cola de la reserva del lunes
+    ReservationResponse free = book(monday.plusDays(1).atTime(12, 0), monday.plusDays(1).atTime(13, 0), 4);
+    reservationService.cancel(free.id(), "test", free.startTime().minusDays(1));
+    // Miércoles: cancelación tardía (10 min antes, la política exige 60)
+    ReservationResponse late = book(monday.plusDays(2).atTime(12, 0), monday.plusDays(2).atTime(12, 45), 1);
+    reservationService.cancel(late.id(), "test", late.startTime().minusMinutes(10));
+    // Jueves: 44 min 40 s se redondean a 45, como el backfill SQL
+    book(monday.plusDays(3).atTime(10, 0), monday.plusDays(3).atTime(10, 44, 40), 1);
+
+    mvc.perform(get("/v1/businesses/{id}/occupancy", business.getId())
+            .param("from", monday.toString()).param("to", monday.plusDays(3).toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.resourceCount").value(1))
+        .andExpect(jsonPath("$.buckets.length()").value(4))
+        .andExpect(jsonPath("$.buckets[0].start").value(monday.toString()))
+        .andExpect(jsonPath("$.buckets[0].bookedMinutes").value(150))
+        .andExpect(jsonPath("$.buckets[0].reservations").value(2))
+        .andExpect(jsonPath("$.buckets[0].partySizeSum").value(5))
+        .andExpect(jsonPath("$.buckets[0].utilization").value(closeTo(150 / 1440d, 1e-9)))
+        .andExpect(jsonPath("$.buckets[1].bookedMinutes").value(60))
+        .andExpect(jsonPath("$.buckets[1].reservations").value(0))
+        .andExpect(jsonPath("$.buckets[1].cancellations").value(1))
+        .andExpect(jsonPath("$.buckets[1].lateCancellations").value(0))
+        .andExpect(jsonPath("$.buckets[1].partySizeSum").value(0))
+        .andExpect(jsonPath("$.buckets[2].bookedMinutes").value(0))
+        .andExpect(jsonPath("$.buckets[2].reservations").value(0))
+        .andExpect(jsonPath("$.buckets[2].cancellations").value(0))
+        .andExpect(jsonPath("$.buckets[2].lateCancellations").value(1))
+        .andExpect(jsonPath("$.buckets[3].bookedMinutes").value(45))
+        .andExpect(jsonPath("$.buckets[3].reservations").value(1));
+
+    // Semana recortada al rango: empieza el lunes, 4 días
+    mvc.perform(get("/v1/businesses/{id}/occupancy", business.getId())
+            .param("from", monday.toString()).param("to", monday.plusDays(3).toString())
+            .param("granularity", "WEEK"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.buckets.length()").value(1))
+        .andExpect(jsonPath("$.buckets[0].start").value(monday.toString()))
+        .andExpect(jsonPath("$.buckets[0].days").value(4))
+        .andExpect(jsonPath("$.buckets[0].bookedMinutes").value(255))
+        .andExpect(jsonPath("$.buckets[0].reservations").value(3))
+        .andExpect(jsonPath("$.buckets[0].cancellations").value(1))
+        .andExpect(jsonPath("$.buckets[0].lateCancellations").value(1))
+        .andExpect(jsonPath("$.buckets[0].partySizeSum").value(6))
+        .andExpect(jsonPath("$.buckets[0].utilization").value(closeTo(255 / (4 * 1440d), 1e-9)));
+
+    // Un rango que empieza a mitad de semana sigue agrupando por la semana ISO del lunes
+    mvc.perform(get("/v1/businesses/{id}/occupancy", business.getId())
+            .param("from", monday.plusDays(1).toString()).param("to", monday.plusDays(8).toString())
+            .param("granularity", "WEEK"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.buckets.length()").value(1))
+        .andExpect(jsonPath("$.buckets[0].start").value(monday.plusDays(1).toString()))
+        .andExpect(jsonPath("$.buckets[0].days").value(6))
+        .andExpect(jsonPath("$.buckets[0].bookedMinutes").value(105));
+  }
+
+  @Test
+  void rejectsRangesLongerThanAYear() throws Exception {
+    mvc.perform(get("/v1/businesses/{id}/occupancy", business.getId())
+            .param("from", monday.toString()).param("to", monday.plusDays(365).toString()))
+        .andExpect(status().isOk());
+    mvc.perform(get("/v1/businesses/{id}/occupancy", business.getId())
+            .param("from", monday.toString()).param("to", monday.plusDays(366).toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  private ReservationResponse book(LocalDateTime start, LocalDateTime end, int party) {
+    return reservationService.create(new CreateReservationRequest(resource.getId(), "Ana", "ana@example.com", party,
+        start.atOffset(ZoneOffset.UTC), end.atOffset(ZoneOffset.UTC)));
+  }
+}
@@ -0,0 +1,124 @@
+package com.example.reservas.outbox;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.CancellationPolicy;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.repo.CancellationPolicyRepository;
+import com.example.reservas.repo.OutboxRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Extremo a extremo: escrituras concurrentes sobre varios recursos, relay con varios carriles y sink en
+ * memoria. Todos los eventos llegan, en orden por recurso, y el outbox queda vacío.
+ */
+@SpringBootTest(properties = {
+    "reservas.outbox.sink=memory",
+    "reservas.outbox.relay.lanes=3",
+    "reservas.outbox.relay.batch-size=16",
+    "reservas.outbox.relay.poll-interval=50ms"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxRelayIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.data.redis.host", redis::getHost);
+    r.add("spring.data.redis.port", redis::getFirstMappedPort);
+  }
+
+  @Autowired ReservationService reservationService;
+  @Autowired BusinessRepository businessRepo;
+  @Autowired ResourceRepository resourceRepo;
+  @Autowired CancellationPolicyRepository policyRepo;
+  @Autowired OutboxRepository outboxRepo;
+  @Autowired InMemoryOutboxSink sink;
+
+  @Test
+  void relaysEveryEventInOrderPerResource() throws Exception {
+    Business b = new Business();
+    b.setName("Outbox"); b.setType("RESTAURANT");
+    b = businessRepo.save(b);
+    CancellationPolicy policy = new CancellationPolicy();
+    policy.setBusiness(b); policy.setFreeBeforeMinutes(60); policy.setPenaltyType("FIXED"); policy.setPenaltyAmount(5.0);
+    policyRepo.save(policy);
+
+    List<Resource> resources = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      Resource r = new Resource();
+      r.setBusiness(b); r.setName("Mesa " + i); r.setCapacity(6);
+      resources.add(resourceRepo.save(r));
+    }
+
+    LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(10);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<Future<ReservationResponse>> created = new ArrayList<>();
+    for (Resource r : resources) {
+      for (int hour = 8; hour < 20; hour++) {
+        OffsetDateTime start = day.atTime(hour, 0).atOffset(ZoneOffset.UTC);
+        var req = new CreateReservationRequest(r.getId(), "Ana", "ana@example.com", 2, start, start.plusHours(1));
+        created.add(pool.submit(() -> reservationService.create(req)));
+      }
+    }
+    List<ReservationResponse> reservations = new ArrayList<>();
+    for (Future<ReservationResponse> f : created) reservations.add(f.get());
+    for (int i = 0; i < reservations.size(); i += 3) {
+      reservationService.cancel(reservations.get(i).id(), "test", OffsetDateTime.now(ZoneOffset.UTC));
+    }
+    pool.shutdown();
+
+    int expected = reservations.size() + (reservations.size() + 2) / 3;
+    await().atMost(Duration.ofSeconds(30)).until(() -> sink.events().size() >= expected);
+    assertEquals(expected, sink.events().size(), "sin duplicados en el camino feliz");
+    assertEquals(0, outboxRepo.count());
+
+    Map<Long, List<ChangeEvent>> byResource = sink.events().stream()
+        .collect(Collectors.groupingBy(ChangeEvent::resourceId));
+    assertEquals(resources.size(), byResource.size());
+    for (List<ChangeEvent> events : byResource.values()) {
+      for (int i = 1; i < events.size(); i++) {
+        assertTrue(events.get(i - 1).sequence() < events.get(i).sequence(), "orden por recurso");
+      }
+    }
+    Map<Long, List<String>> byReservation = sink.events().stream()
+        .collect(Collectors.groupingBy(ChangeEvent::reservationId, Collectors.mapping(ChangeEvent::type, Collectors.toList())));
+    assertEquals(List.of(ChangeEvent.RESERVATION_CREATED, ChangeEvent.RESERVATION_CANCELLED),
+        byReservation.get(reservations.get(0).id()));
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.reservas.ratelimit;
+
+import com.example.reservas.config.BoundedBucketStore;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simula un escaneo / X-Forwarded-For falsificado con millones de claves distintas:
+ * el tamaño del almacén y el heap deben mantenerse planos.
+ *
+ * Fuera de {@code mvn verify} (fuerza GCs y tarda); se lanza con
+ * {@code ./mvnw verify -Dit.test=BoundedBucketStoreBenchmarkIT}.
+ */
+class BoundedBucketStoreBenchmarkIT {
+
+  static final long MAX_SIZE = 10_000;
+  static final int DISTINCT_KEYS = 3_000_000;
+  static final int CHECKPOINT = 500_000;
+
+  @Test
+  void heapStaysFlatUnderMillionsOfDistinctKeys() {
+    // Mantenimiento síncrono para que el tamaño sea determinista en el test
+    BoundedBucketStore store = new BoundedBucketStore(MAX_SIZE, Duration.ofMinutes(2), Runnable::run);
+    Bandwidth limit = Bandwidth.builder().capacity(100).refillGreedy(100, Duration.ofMinutes(1)).build();
+
+    long baseline = 0;
+    long maxHeap = 0;
+    for (int i = 1; i <= DISTINCT_KEYS; i++) {
+      store.get("10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF) + "#" + i + "|GLOBAL",
+          k -> Bucket.builder().addLimit(limit).build()).tryConsume(1);
+
+      if (i % CHECKPOINT == 0) {
+        store.cleanUp();
+        assertTrue(store.estimatedSize() <= MAX_SIZE,
+            "El almacén superó su tamaño máximo: " + store.estimatedSize());
+        long used = usedHeapAfterGc();
+        if (i == CHECKPOINT) {
+          baseline = used;
+        }
+        maxHeap = Math.max(maxHeap, used);
+        System.out.printf("[bucket store] keys=%,d size=%,d heap=%,d KB%n", i, store.estimatedSize(), used / 1024);
+      }
+    }
+
+    // Sin límite, 2.5M buckets extra ocuparían cientos de MB; acotado, el heap no debe moverse apenas
+    long growth = maxHeap - baseline;
+    assertTrue(growth < 32L * 1024 * 1024, "El heap creció %,d KB".formatted(growth / 1024));
+  }
+
+  private static long usedHeapAfterGc() {
+    Runtime rt = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return rt.totalMemory() - rt.freeMemory();
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.reservas.ratelimit;
+
+import com.example.reservas.config.ClientIpResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+  ClientIpResolver resolver = new ClientIpResolver(List.of("10.0.0.0/8", "::1/128"));
+
+  @Test
+  void ignoresForwardedForFromUntrustedPeer() {
+    assertEquals("203.0.113.7", resolver.resolve("203.0.113.7", "1.2.3.4"));
+  }
+
+  @Test
+  void takesFirstUntrustedHopFromTheRight() {
+    // El cliente intenta falsificar 1.2.3.4; el proxy de confianza añadió la IP real
+    assertEquals("198.51.100.9", resolver.resolve("10.0.0.5", "1.2.3.4, 198.51.100.9, 10.1.2.3"));
+  }
+
+  @Test
+  void ignoresGarbageEntries() {
+    assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", "not-an-ip"));
+    assertEquals("198.51.100.9", resolver.resolve("::1", "evil.example.com, 198.51.100.9"));
+  }
+
+  @Test
+  void rejectsOutOfRangeOctetsInsteadOfResolvingThem() {
+    // Parece IPv4 pero no lo es: antes llegaba a InetAddress.getByName (consulta DNS)
+    assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", "999.1.1.1"));
+    assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", "1.2.3.256"));
+    assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", "1.2.3"));
+    assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", ".1:2"));
+    assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", "1::2::3"));
+  }
+
+  @Test
+  void parsesIpv6Literals() {
+    assertEquals("2001:db8::1", resolver.resolve("::1", "2001:db8::1"));
+    assertEquals("::ffff:198.51.100.9", resolver.resolve("0:0:0:0:0:0:0:1", "::ffff:198.51.100.9"));
+    // Un salto IPv4-mapped dentro de 10/8 es de confianza
+    assertEquals("198.51.100.9", resolver.resolve("::1", "198.51.100.9, ::ffff:10.1.2.3"));
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.reservas.ratelimit;
+
+import com.example.reservas.config.BoundedBucketStore;
+import com.example.reservas.config.LocalBucketProvider;
+import com.example.reservas.config.RateLimitBucketProvider;
+import com.example.reservas.config.RateLimitProperties;
+import com.example.reservas.config.RedisBucketProvider;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.lettuce.core.RedisClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara la latencia de tryConsume en modo local vs Redis (con y sin pre-fetch)
+ * y verifica que el límite distribuido se comparte entre nodos.
+ */
+class RateLimitModeBenchmarkIT {
+
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+  static RedisClient client;
+
+  static final int WARMUP = 2_000;
+  static final int ITERATIONS = 20_000;
+
+  @BeforeAll
+  static void start() {
+    redis.start();
+    client = RedisClient.create("redis://" + redis.getHost() + ":" + redis.getFirstMappedPort());
+  }
+
+  @AfterAll
+  static void stop() {
+    client.shutdown();
+    redis.stop();
+  }
+
+  @Test
+  void compareLocalAndDistributedModes() {
+    // Bucket amplio: medimos coste por petición, no rechazos
+    BucketConfiguration config = BucketConfiguration.builder()
+        .addLimit(Bandwidth.builder().capacity(10_000_000).refillGreedy(10_000_000, Duration.ofMinutes(1)).build())
+        .build();
+
+    long[] local = measure(new LocalBucketProvider(store()), config);
+    RedisBucketProvider direct = redisProvider(0);
+    RedisBucketProvider prefetch = redisProvider(50);
+    long[] redisDirect = measure(direct, config);
+    long[] redisPrefetch = measure(prefetch, config);
+    direct.destroy();
+    prefetch.destroy();
+
+    report("local", local);
+    report("redis (sin pre-fetch)", redisDirect);
+    report("redis (pre-fetch 50)", redisPrefetch);
+
+    // El pre-fetch debe quitar la mayor parte del round trip de la mediana
+    assertTrue(percentile(redisPrefetch, 50) < percentile(redisDirect, 50),
+        "El pre-fetch debería reducir la latencia mediana frente a un round trip por petición");
+  }
+
+  @Test
+  void distributedLimitIsSharedAcrossNodes() {
+    BucketConfiguration config = BucketConfiguration.builder()
+        .addLimit(Bandwidth.builder().capacity(10).refillGreedy(10, Duration.ofMinutes(1)).build())
+        .build();
+    RedisBucketProvider nodeA = redisProvider(0);
+    RedisBucketProvider nodeB = redisProvider(0);
+    String key = "shared-" + UUID.randomUUID();
+
+    int admitted = 0;
+    for (int i = 0; i < 20; i++) {
+      var provider = (i % 2 == 0) ? nodeA : nodeB;
+      if (provider.resolve(key, () -> config).tryConsume(1)) admitted++;
+    }
+    nodeA.destroy();
+    nodeB.destroy();
+
+    assertEquals(10, admitted, "Dos nodos deben compartir un único límite de 10");
+  }
+
+  private RedisBucketProvider redisProvider(long prefetchTokens) {
+    RateLimitProperties.Redis props = new RateLimitProperties.Redis();
+    props.setKeyPrefix("bench:");
+    props.setPrefetchTokens(prefetchTokens);
+    props.setPrefetchMaxDelay(Duration.ofMillis(250));
+    props.setRequestTimeout(Duration.ofSeconds(2));
+    return new RedisBucketProvider(client, props, store());
+  }
+
+  private static BoundedBucketStore store() {
+    return new BoundedBucketStore(new RateLimitProperties.Store());
+  }
+
+  private long[] measure(RateLimitBucketProvider provider, BucketConfiguration config) {
+    String key = UUID.randomUUID().toString();
+    for (int i = 0; i < WARMUP; i++) provider.resolve(key, () -> config).tryConsume(1);
+    long[] samples = new long[ITERATIONS];
+    for (int i = 0; i < ITERATIONS; i++) {
+      long t0 = System.nanoTime();
+      provider.resolve(key, () -> config).tryConsume(1);
+      samples[i] = System.nanoTime() - t0;
+    }
+    Arrays.sort(samples);
+    return samples;
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+  }
+
+  private static void report(String mode, long[] sorted) {
+    System.out.printf("[rate-limit bench] %-24s p50=%7d ns  p99=%8d ns  max=%9d ns%n",
+        mode, percentile(sorted, 50), percentile(sorted, 99), sorted[sorted.length - 1]);
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.reservas.ratelimit;
+
+import com.example.reservas.config.RateLimitPolicies;
+import com.example.reservas.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitPoliciesTest {
+
+  RateLimitPolicies policies = new RateLimitPolicies(properties());
+
+  @Test
+  void knownApiKeyGetsItsOwnBucketAndUnknownFallsBackToIp() {
+    var route = policies.match("POST", "/v1/reservations");
+    assertEquals("key:partner-1", route.tenantOf(request("POST", "/v1/reservations", "partner-1"), "203.0.113.7"));
+    // Rotar la clave no da un bucket nuevo
+    assertEquals("ip:203.0.113.7", route.tenantOf(request("POST", "/v1/reservations", "rotated-1"), "203.0.113.7"));
+    assertEquals("ip:203.0.113.7", route.tenantOf(request("POST", "/v1/reservations", "rotated-2"), "203.0.113.7"));
+    assertEquals("ip:203.0.113.7", route.tenantOf(request("POST", "/v1/reservations", null), "203.0.113.7"));
+  }
+
+  @Test
+  void clientValuesCannotImpersonateAnotherIpBucket() {
+    var route = policies.match("POST", "/v1/reservations");
+    String victim = route.tenantOf(request("POST", "/v1/reservations", null), "198.51.100.9");
+    String attacker = route.tenantOf(request("POST", "/v1/reservations", "ip:198.51.100.9"), "203.0.113.7");
+    assertNotEquals(victim, attacker);
+  }
+
+  @Test
+  void businessIsReadFromQueryStringOrPathWithoutTouchingTheBody() {
+    var route = policies.match("GET", "/v1/businesses/7/occupancy");
+    MockHttpServletRequest byPath = request("GET", "/v1/businesses/7/occupancy", null);
+    assertEquals("biz:7", route.tenantOf(byPath, "203.0.113.7"));
+    assertNotNull(route.configurationFor("biz:7"));
+
+    MockHttpServletRequest byQuery = request("GET", "/v1/businesses/8/occupancy", null);
+    byQuery.setQueryString("from=2025-01-01&businessId=7");
+    assertEquals("biz:7", route.tenantOf(byQuery, "203.0.113.7"));
+
+    // Un parámetro de formulario no cuenta: solo la query string
+    MockHttpServletRequest byForm = request("GET", "/v1/businesses/8/occupancy", null);
+    byForm.setParameter("businessId", "7");
+    assertEquals("ip:203.0.113.7", route.tenantOf(byForm, "203.0.113.7"));
+  }
+
+  @Test
+  void localBucketsMustOutliveEveryRefillPeriod() {
+    RateLimitProperties props = properties();
+    props.getStore().setIdleExpiry(Duration.ofSeconds(30));
+    IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new RateLimitPolicies(props));
+    assertTrue(ex.getMessage().contains("default-limit"), ex.getMessage());
+
+    // Una override más lenta que su regla también cuenta
+    RateLimitProperties slowOverride = properties();
+    slowOverride.getRules().get(0).setOverrides(Map.of("partner-1", new RateLimitProperties.Limit(200, Duration.ofHours(1))));
+    ex = assertThrows(IllegalArgumentException.class, () -> new RateLimitPolicies(slowOverride));
+    assertTrue(ex.getMessage().contains("reservation-create[partner-1]"), ex.getMessage());
+
+    // En Redis el estado no vive en el store local
+    slowOverride.setMode(RateLimitProperties.Mode.REDIS);
+    assertNotNull(new RateLimitPolicies(slowOverride));
+  }
+
+  private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+    if (apiKey != null) request.addHeader("X-Api-Key", apiKey);
+    return request;
+  }
+
+  private static RateLimitProperties properties() {
+    RateLimitProperties.Rule create = new RateLimitProperties.Rule();
+    create.setId("reservation-create");
+    create.setPattern("/v1/reservations");
+    create.setMethods(List.of("POST"));
+    create.setTenant(RateLimitProperties.Tenant.API_KEY);
+    create.setCapacity(20);
+    create.setOverrides(Map.of("partner-1", new RateLimitProperties.Limit(200, Duration.ofMinutes(1))));
+
+    RateLimitProperties.Rule occupancy = new RateLimitProperties.Rule();
+    occupancy.setId("occupancy");
+    occupancy.setPattern("/v1/businesses/*/occupancy");
+    occupancy.setTenant(RateLimitProperties.Tenant.BUSINESS);
+    occupancy.setCapacity(10);
+    occupancy.setOverrides(Map.of("7", new RateLimitProperties.Limit(50, Duration.ofMinutes(1))));
+
+    RateLimitProperties props = new RateLimitProperties();
+    props.setRules(List.of(create, occupancy));
+    return props;
+  }
+}
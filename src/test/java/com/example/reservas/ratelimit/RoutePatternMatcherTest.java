@@ -0,0 +1,46 @@
+package com.example.reservas.ratelimit;
+
+import com.example.reservas.config.RoutePatternMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutePatternMatcherTest {
+
+  RoutePatternMatcher<String> matcher = RoutePatternMatcher.<String>builder()
+      .add("/v1/availability", "availability")
+      .add("/api/resources/**", "resources-any")
+      .add("/api/resources/*/availability", "resource-availability")
+      .add("/api/reservations/{id}/cancel", "cancel")
+      .add("/api/**", "api-any")
+      .build();
+
+  @Test
+  void matchesMostSpecificFirst() {
+    assertEquals(List.of("resource-availability", "resources-any", "api-any"),
+        matcher.match("/api/resources/42/availability"));
+    assertEquals(List.of("resources-any", "api-any"), matcher.match("/api/resources/42/reservations"));
+    assertEquals(List.of("cancel", "api-any"), matcher.match("/api/reservations/7/cancel"));
+  }
+
+  @Test
+  void doubleWildcardMatchesZeroSegmentsAndTrailingSlash() {
+    assertEquals(List.of("resources-any", "api-any"), matcher.match("/api/resources"));
+    assertEquals(List.of("availability"), matcher.match("/v1/availability/"));
+  }
+
+  @Test
+  void unknownRoutesDoNotMatch() {
+    assertTrue(matcher.match("/v1/businesses/1").isEmpty());
+    assertTrue(matcher.match("/v1/availability/extra").isEmpty());
+    assertTrue(matcher.match("/").isEmpty());
+  }
+
+  @Test
+  void rejectsDoubleWildcardInTheMiddle() {
+    assertThrows(IllegalArgumentException.class,
+        () -> RoutePatternMatcher.<String>builder().add("/a/**/b", "x"));
+  }
+}
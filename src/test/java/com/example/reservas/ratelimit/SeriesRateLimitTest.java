@@ -0,0 +1,81 @@
+package com.example.reservas.ratelimit;
+
+import com.example.reservas.config.BoundedBucketStore;
+import com.example.reservas.config.ClientIpResolver;
+import com.example.reservas.config.LocalBucketProvider;
+import com.example.reservas.config.RateLimitCharge;
+import com.example.reservas.config.RateLimitFilter;
+import com.example.reservas.config.RateLimitPolicies;
+import com.example.reservas.config.RateLimitProperties;
+import com.example.reservas.config.RateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Una serie cuesta un token por ocurrencia del mismo bucket que la regla que la admitió. */
+class SeriesRateLimitTest {
+
+  SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  RateLimitFilter filter = new RateLimitFilter(
+      new LocalBucketProvider(new BoundedBucketStore(1_000, Duration.ofMinutes(5), Runnable::run)),
+      new ClientIpResolver(List.of()), new RateLimitPolicies(properties()), meters);
+
+  @Test
+  void seriesAreChargedPerOccurrence() throws Exception {
+    // 1 token en el filtro + 9 en el controlador
+    assertEquals(201, series(10).getStatus());
+    // Quedan 2 tokens: una serie de 4 ocurrencias ya no cabe
+    RateLimitedException ex = assertThrows(RateLimitedException.class, () -> series(4));
+    assertTrue(ex.getRetryAfterSeconds() > 0);
+    // El intento solo gastó el token del filtro, no los 3 del cargo rechazado
+    assertEquals(201, series(1).getStatus());
+    assertEquals(429, series(1).getStatus(), "el bucket está vacío y el filtro rechaza");
+    assertEquals(2.0, meters.counter("reservas.ratelimit.requests", "rule", "reservation-series-create",
+        "outcome", "rejected").count());
+  }
+
+  @Test
+  void withoutAMatchingRuleThereIsNothingToCharge() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/reservations");
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+    assertNull(request.getAttribute(RateLimitCharge.ATTRIBUTE));
+    RateLimitCharge.charge(request, 1_000);
+  }
+
+  /** Simula el controlador: cobra las ocurrencias restantes antes de crear la serie. */
+  private MockHttpServletResponse series(int occurrences) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/reservations/series");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (req, res) -> {
+      RateLimitCharge.charge((HttpServletRequest) req, occurrences - 1L);
+      ((HttpServletResponse) res).setStatus(201);
+    };
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+
+  private static RateLimitProperties properties() {
+    RateLimitProperties.Rule series = new RateLimitProperties.Rule();
+    series.setId("reservation-series-create");
+    series.setPattern("/v1/reservations/series");
+    series.setMethods(List.of("POST"));
+    series.setCapacity(12);
+    series.setPeriod(Duration.ofHours(1));
+
+    RateLimitProperties props = new RateLimitProperties();
+    props.setRules(List.of(series));
+    props.getStore().setIdleExpiry(Duration.ofHours(1));
+    return props;
+  }
+}
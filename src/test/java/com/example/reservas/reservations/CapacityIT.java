@@ -1,10 +1,12 @@
 package com.example.reservas.reservations;
 
+import com.example.reservas.domain.Business;
 import com.example.reservas.domain.Resource;
-import com.example.reservas.domain.ValidationException;
 import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.repo.BusinessRepository;
 import com.example.reservas.repo.ResourceRepository;
 import com.example.reservas.service.ReservationService;
+import com.example.reservas.service.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -19,13 +23,14 @@ import java.time.ZoneOffset;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
 class CapacityIT {
 
+  @Container
   static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
 
   @DynamicPropertySource
   static void props(DynamicPropertyRegistry r) {
-    postgres.start();
     r.add("spring.datasource.url", postgres::getJdbcUrl);
     r.add("spring.datasource.username", postgres::getUsername);
     r.add("spring.datasource.password", postgres::getPassword);
@@ -33,16 +38,21 @@ class CapacityIT {
   }
 
   @Autowired ReservationService reservationService;
+  @Autowired BusinessRepository businessRepo;
   @Autowired ResourceRepository resourceRepo;
 
   Resource resource;
 
   @BeforeEach
   void setup() {
+    Business b = new Business();
+    b.setName("Demo"); b.setType("RESTAURANT");
+    b = businessRepo.save(b);
+
     resource = new Resource();
+    resource.setBusiness(b);
     resource.setName("Mesa 1");
     resource.setCapacity(4);
-    // Si tu entidad requiere business, setéalo aquí
     resource = resourceRepo.saveAndFlush(resource);
   }
 
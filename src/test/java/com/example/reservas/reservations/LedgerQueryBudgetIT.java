@@ -0,0 +1,112 @@
+package com.example.reservas.reservations;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.ledger.ReservationLedger;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.service.AvailabilityService.TimeWindow;
+import com.example.reservas.service.ReservationService;
+import com.example.reservas.support.QueryCountingConfiguration;
+import com.example.reservas.support.QueryCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de {@code freeWindows} con el ledger activo: un fallo de caché se resuelve desde el índice
+ * sin ninguna sentencia SQL, y las escrituras no pagan consultas extra por alimentarlo.
+ */
+@SpringBootTest
+@Import(QueryCountingConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerQueryBudgetIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) throws IOException {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.data.redis.host", redis::getHost);
+    r.add("spring.data.redis.port", redis::getFirstMappedPort);
+    r.add("reservas.ledger.enabled", () -> "true");
+    r.add("reservas.ledger.directory", Files.createTempDirectory("ledger")::toString);
+  }
+
+  @Autowired ReservationService reservationService;
+  @Autowired AvailabilityService availabilityService;
+  @Autowired ReservationLedger ledger;
+  @Autowired CacheManager cacheManager;
+  @Autowired BusinessRepository businessRepo;
+  @Autowired ResourceRepository resourceRepo;
+
+  Resource resource;
+  LocalDate day;
+
+  @BeforeEach
+  void setup() throws InterruptedException {
+    for (int i = 0; i < 500 && !ledger.isReady(); i++) Thread.sleep(10);
+    assertTrue(ledger.isReady(), "el ledger debería cargar en segundo plano");
+
+    Business b = new Business();
+    b.setName("Demo"); b.setType("RESTAURANT");
+    b = businessRepo.save(b);
+
+    Resource r = new Resource();
+    r.setBusiness(b); r.setName("Mesa 1"); r.setCapacity(4);
+    resource = resourceRepo.save(r);
+
+    day = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+  }
+
+  @Test
+  void createKeepsItsBudgetWithTheLedgerOn() {
+    // Igual que en ReservationQueryBudgetIT: el ledger se alimenta tras el commit, sin SQL
+    QueryCounts.of(() -> reservationService.create(request(12))).assertStatements(3, 3, 0, 0);
+  }
+
+  @Test
+  void cacheMissIsServedFromTheIndexWithoutSql() {
+    reservationService.create(request(12));
+    cacheManager.getCache("availability").clear();
+
+    var measured = QueryCounts.measure(() -> availabilityService.freeWindows(resource.getId(), day));
+    measured.counts().assertStatements(0, 0, 0, 0);
+
+    OffsetDateTime dayStart = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    assertEquals(List.of(
+        new TimeWindow(dayStart, dayStart.plusHours(12)),
+        new TimeWindow(dayStart.plusHours(13), dayStart.plusDays(1))), measured.result());
+  }
+
+  private CreateReservationRequest request(int hour) {
+    OffsetDateTime start = day.atTime(hour, 0).atOffset(ZoneOffset.UTC);
+    return new CreateReservationRequest(resource.getId(), "Ana", "ana@example.com", 2, start, start.plusHours(1));
+  }
+}
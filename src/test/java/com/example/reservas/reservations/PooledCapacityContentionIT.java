@@ -0,0 +1,176 @@
+package com.example.reservas.reservations;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.CapacityMode;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.service.PooledCapacityReconciler;
+import com.example.reservas.service.ReservationService;
+import com.example.reservas.service.ResourceService;
+import com.example.reservas.service.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de contención de un recurso POOLED: muchos hilos reservan (y algunos cancelan) la misma
+ * franja a la vez. Se compara con la alternativa de sumar party_size de las reservas solapadas bajo
+ * un lock por recurso. En ambos casos no puede haber sobreventa; con contadores, además, los
+ * contadores deben coincidir con las reservas (el reconciliador no encuentra nada que corregir).
+ */
+@SpringBootTest(properties = "reservas.pooled-capacity.reconcile-interval=1h")
+@Testcontainers(disabledWithoutDocker = true)
+class PooledCapacityContentionIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.data.redis.host", redis::getHost);
+    r.add("spring.data.redis.port", redis::getFirstMappedPort);
+  }
+
+  static final int THREADS = 32;
+  static final int ATTEMPTS = 2_000;
+  static final int CAPACITY = 60;
+
+  @Autowired ReservationService reservationService;
+  @Autowired ResourceService resourceService;
+  @Autowired BusinessRepository businessRepo;
+  @Autowired PooledCapacityReconciler reconciler;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired TransactionTemplate tx;
+
+  @Test
+  void slotCountersNeverOversellAndStayReconciled() throws Exception {
+    Resource counters = pooledResource("Clase (contadores)");
+    Resource summed = pooledResource("Clase (suma)");
+    OffsetDateTime start = LocalDate.now(ZoneOffset.UTC).plusDays(3).atTime(18, 0).atOffset(ZoneOffset.UTC);
+
+    long peakCounters = run("contadores por slot", counters.getId(), start, true,
+        req -> reservationService.create(req));
+    long peakSum = run("suma bajo lock", summed.getId(), start, false,
+        req -> sumAndInsert(summed, req));
+
+    assertTrue(peakCounters > 0 && peakCounters <= CAPACITY, "ocupación máxima con contadores: " + peakCounters);
+    assertTrue(peakSum > 0 && peakSum <= CAPACITY, "ocupación máxima con suma: " + peakSum);
+    assertEquals(0, reconciler.reconcile(), "los contadores deben coincidir con las reservas");
+  }
+
+  interface Booking {
+    ReservationResponse book(CreateReservationRequest req);
+  }
+
+  /** @return ocupación máxima resultante en un slot */
+  private long run(String name, Long resourceId, OffsetDateTime start, boolean cancelSome, Booking booking)
+      throws Exception {
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>(ATTEMPTS));
+    AtomicLong rejected = new AtomicLong();
+
+    long begin = System.nanoTime();
+    try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+      for (int i = 0; i < ATTEMPTS; i++) {
+        int party = 1 + i % 3;
+        // Franjas de 60 o 90 min desplazadas 30 min: solapan parcialmente entre sí
+        OffsetDateTime from = start.plusMinutes(30L * (i % 3));
+        OffsetDateTime to = from.plusMinutes(60L + 30L * (i % 2));
+        boolean cancel = cancelSome && i % 10 == 0;
+        executor.submit(() -> {
+          long t0 = System.nanoTime();
+          try {
+            ReservationResponse r = booking.book(new CreateReservationRequest(resourceId, "Ana", "ana@example.com",
+                party, from, to));
+            if (cancel) reservationService.cancel(r.id(), "test", OffsetDateTime.now(ZoneOffset.UTC));
+          } catch (ValidationException e) {
+            rejected.incrementAndGet();
+          }
+          latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0));
+        });
+      }
+    }
+    double seconds = (System.nanoTime() - begin) / 1e9;
+
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    System.out.printf("[pooled] %-22s intentos/s=%8.0f  p99=%7d us  rechazadas=%d%n",
+        name, sorted.size() / seconds, p99, rejected.get());
+    return peakOccupancy(resourceId);
+  }
+
+  /** Alternativa sin contadores: serializar por recurso y sumar party_size de las reservas solapadas. */
+  private ReservationResponse sumAndInsert(Resource resource, CreateReservationRequest req) {
+    return tx.execute(status -> {
+      jdbc.queryForObject("select 1 from pg_advisory_xact_lock(42, cast(? as integer))", Integer.class, resource.getId());
+      Integer used = jdbc.queryForObject("""
+          select coalesce(max(used), 0) from (
+            select s, sum(x.party_size) as used
+            from reservation x
+            cross join lateral generate_series(x.start_time, x.end_time - interval '1 minute', interval '30 minutes') s
+            where x.resource_id = ? and x.status = 'CONFIRMED' and x.start_time < ? and x.end_time > ?
+              and s >= ? and s < ?
+            group by s) t
+          """, Integer.class, resource.getId(), req.endTime(), req.startTime(), req.startTime(), req.endTime());
+      if (used + req.partySize() > resource.getCapacity()) {
+        throw new ValidationException("sin capacidad");
+      }
+      Long id = jdbc.queryForObject("""
+          insert into reservation (resource_id, customer_name, customer_email, party_size, start_time, end_time, status)
+          values (?, ?, ?, ?, ?, ?, 'CONFIRMED') returning id
+          """, Long.class, resource.getId(), req.customerName(), req.customerEmail(), req.partySize(),
+          req.startTime(), req.endTime());
+      return new ReservationResponse(id, resource.getId(), req.customerName(), req.customerEmail(),
+          req.partySize(), req.startTime(), req.endTime(), "CONFIRMED");
+    });
+  }
+
+  private Resource pooledResource(String name) {
+    Business b = new Business();
+    b.setName("Pooled"); b.setType("COWORKING");
+    b = businessRepo.save(b);
+    return resourceService.create(b.getId(), name, CAPACITY, CapacityMode.POOLED, 30);
+  }
+
+  /** Máximo de personas simultáneas en el recurso (por slot de 30 min). */
+  private long peakOccupancy(Long resourceId) {
+    Long max = jdbc.queryForObject("""
+        select coalesce(max(used), 0) from (
+          select s, sum(x.party_size) as used
+          from reservation x
+          cross join lateral generate_series(x.start_time, x.end_time - interval '1 minute', interval '30 minutes') s
+          where x.resource_id = ? and x.status = 'CONFIRMED'
+          group by s) t
+        """, Long.class, resourceId);
+    return max == null ? 0 : max;
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.reservas.reservations;
+
+import com.example.reservas.service.RecurrenceRule;
+import com.example.reservas.service.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+  // Lunes
+  OffsetDateTime start = OffsetDateTime.of(2026, 1, 5, 9, 0, 0, 0, ZoneOffset.ofHours(1));
+
+  @Test
+  void weeklyForAYear() {
+    List<OffsetDateTime> starts = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;COUNT=52").expand(start);
+    assertEquals(52, starts.size());
+    assertEquals(start, starts.get(0));
+    assertEquals(start.plusWeeks(51), starts.get(51));
+    assertTrue(starts.stream().allMatch(s -> s.getDayOfWeek() == DayOfWeek.MONDAY && s.getHour() == 9));
+  }
+
+  @Test
+  void weeklyByDaySkipsDaysBeforeStart() {
+    // Empieza en miércoles: el lunes de esa semana no cuenta
+    OffsetDateTime wednesday = start.plusDays(2);
+    List<OffsetDateTime> starts = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=4").expand(wednesday);
+    assertEquals(List.of(wednesday, start.plusWeeks(1), wednesday.plusWeeks(1), start.plusWeeks(2)), starts);
+  }
+
+  @Test
+  void intervalAndInclusiveUntil() {
+    List<OffsetDateTime> starts = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3;UNTIL=20260111").expand(start);
+    assertEquals(List.of(start, start.plusDays(3), start.plusDays(6)), starts);
+  }
+
+  @Test
+  void monthlySkipsMonthsWithoutTheDay() {
+    OffsetDateTime jan31 = OffsetDateTime.of(2026, 1, 31, 18, 0, 0, 0, ZoneOffset.UTC);
+    List<OffsetDateTime> starts = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3").expand(jan31);
+    assertEquals(List.of(jan31, jan31.withMonth(3), jan31.withMonth(5)), starts);
+  }
+
+  @Test
+  void rejectsUnboundedUnsupportedOrTooLongRules() {
+    assertThrows(ValidationException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY"));
+    assertThrows(ValidationException.class, () -> RecurrenceRule.parse("FREQ=YEARLY;COUNT=2"));
+    assertThrows(ValidationException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO;COUNT=2"));
+    assertThrows(ValidationException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=0"));
+    assertThrows(ValidationException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=1000"));
+    assertThrows(ValidationException.class,
+        () -> RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300101").expand(start));
+  }
+}
@@ -0,0 +1,180 @@
+package com.example.reservas.reservations;
+
+import com.example.reservas.domain.Business;
+import com.example.reservas.domain.CancellationPolicy;
+import com.example.reservas.domain.Resource;
+import com.example.reservas.dto.CreateReservationRequest;
+import com.example.reservas.dto.CreateReservationSeriesRequest;
+import com.example.reservas.dto.ReservationResponse;
+import com.example.reservas.ledger.ReservationLedger;
+import com.example.reservas.repo.BusinessRepository;
+import com.example.reservas.repo.CancellationPolicyRepository;
+import com.example.reservas.repo.ResourceRepository;
+import com.example.reservas.service.AvailabilityService;
+import com.example.reservas.service.ReservationService;
+import com.example.reservas.service.ReservationSeriesService;
+import com.example.reservas.service.ResourceService;
+import com.example.reservas.support.QueryCountingConfiguration;
+import com.example.reservas.support.QueryCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL de los caminos calientes. Lo ejecuta {@code mvn verify} (failsafe):
+ * si un cambio añade consultas (p.ej. un N+1 al recorrer Reservation -> Resource -> Business),
+ * el build falla y hay que justificar el nuevo presupuesto aquí.
+ */
+@SpringBootTest
+@Import(QueryCountingConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ReservationQueryBudgetIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry r) {
+    r.add("spring.datasource.url", postgres::getJdbcUrl);
+    r.add("spring.datasource.username", postgres::getUsername);
+    r.add("spring.datasource.password", postgres::getPassword);
+    r.add("spring.data.redis.host", redis::getHost);
+    r.add("spring.data.redis.port", redis::getFirstMappedPort);
+  }
+
+  @Autowired ReservationService reservationService;
+  @Autowired ReservationSeriesService seriesService;
+  @Autowired ResourceService resourceService;
+  @Autowired AvailabilityService availabilityService;
+  @Autowired ReservationLedger ledger;
+  @Autowired BusinessRepository businessRepo;
+  @Autowired ResourceRepository resourceRepo;
+  @Autowired CancellationPolicyRepository policyRepo;
+
+  Resource resource;
+  LocalDate day;
+
+  @BeforeEach
+  void setup() {
+    Business b = new Business();
+    b.setName("Demo"); b.setType("RESTAURANT");
+    b = businessRepo.save(b);
+
+    CancellationPolicy policy = new CancellationPolicy();
+    policy.setBusiness(b); policy.setFreeBeforeMinutes(120); policy.setPenaltyType("FIXED"); policy.setPenaltyAmount(10.0);
+    policyRepo.save(policy);
+
+    Resource r = new Resource();
+    r.setBusiness(b); r.setName("Mesa 1"); r.setCapacity(4);
+    resource = resourceRepo.save(r);
+
+    day = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+  }
+
+  @Test
+  void createStaysWithinBudget() {
+    // recurso + solapes + advisory lock del outbox, INSERT de la reserva + upsert del rollup + outbox
+    QueryCounts.of(() -> reservationService.create(request(12)))
+        .assertStatements(3, 3, 0, 0);
+  }
+
+  @Test
+  void cancelLoadsReservationAndResourceInOneQuery() {
+    ReservationResponse created = reservationService.create(request(12));
+
+    // reserva+recurso (join fetch) + política + advisory lock del outbox,
+    // UPDATE de la reserva + upsert del rollup + outbox
+    QueryCounts.of(() -> reservationService.cancel(created.id(), "Cambio de planes", OffsetDateTime.now(ZoneOffset.UTC)))
+        .assertStatements(3, 2, 1, 0);
+  }
+
+  @Test
+  void seriesIsSetBasedRegardlessOfLength() {
+    reservationService.create(request(12));
+    OffsetDateTime start = day.minusWeeks(1).atTime(12, 0).atOffset(ZoneOffset.UTC);
+    var req = new CreateReservationSeriesRequest(resource.getId(), "Ana", "ana@example.com", 2,
+        start, start.plusHours(1), "FREQ=WEEKLY;COUNT=52", true);
+
+    // recurso + solapes (unnest) + advisory lock del outbox,
+    // INSERT de la serie + upsert del rollup + INSERT del outbox
+    var measured = QueryCounts.measure(() -> seriesService.create(req));
+    measured.counts().assertStatements(3, 3, 0, 0);
+    assertEquals(51, measured.result().created().size());
+    assertEquals(1, measured.result().conflicts().size());
+    assertEquals(1, measured.result().conflicts().get(0).index());
+  }
+
+  @Test
+  void anyTableSearchIsOneQueryRankedByFit() {
+    Resource big = new Resource();
+    big.setBusiness(resource.getBusiness()); big.setName("Mesa grande"); big.setCapacity(8);
+    big = resourceRepo.save(big);
+    Resource exact = new Resource();
+    exact.setBusiness(resource.getBusiness()); exact.setName("Mesa 2"); exact.setCapacity(2);
+    exact = resourceRepo.save(exact);
+    reservationService.create(new CreateReservationRequest(exact.getId(), "Ana", "ana@example.com", 2,
+        day.atTime(19, 0).atOffset(ZoneOffset.UTC), day.atTime(21, 0).atOffset(ZoneOffset.UTC)));
+
+    // 20:00-22:00 para 2: la mesa de 2 está ocupada; la de 4 encaja mejor que la de 8
+    OffsetDateTime start = day.atTime(20, 0).atOffset(ZoneOffset.UTC);
+    var measured = QueryCounts.measure(() -> resourceService
+        .findAvailable(resource.getBusiness().getId(), 2, start, start.plusHours(2), 20)
+        .stream().map(Resource::getId).toList());
+    measured.counts().assertStatements(1, 0, 0, 0);
+    assertEquals(List.of(resource.getId(), big.getId()), measured.result());
+  }
+
+  @Test
+  void listForDayDoesNotGrowWithRows() {
+    for (int hour = 8; hour < 20; hour += 2) {
+      reservationService.create(request(hour));
+    }
+
+    var measured = QueryCounts.measure(() -> reservationService.listForDay(resource.getId(), day));
+    assertEquals(6, measured.result().size());
+    measured.counts().assertStatements(2, 0, 0, 0);
+
+    // Paginado (/v1/reservations): resourceId por fila sin inicializar el proxy del recurso
+    var page = QueryCounts.measure(() -> reservationService
+        .listPage(resource.getId(), day.atStartOfDay().atOffset(ZoneOffset.UTC),
+            day.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC), PageRequest.of(0, 20))
+        .map(r -> r.getResource().getId())
+        .getContent());
+    assertTrue(page.result().stream().allMatch(resource.getId()::equals));
+    page.counts().assertStatements(1, 0, 0, 0);
+  }
+
+  @Test
+  void freeWindowsQueriesOnceThenServesFromCache() {
+    // Ledger desactivado (por defecto): la fuente es Postgres; con ledger, ver LedgerQueryBudgetIT
+    assertFalse(ledger.isReady());
+    reservationService.create(request(12));
+
+    QueryCounts.of(() -> availabilityService.freeWindows(resource.getId(), day)).assertStatements(1, 0, 0, 0);
+    QueryCounts.of(() -> availabilityService.freeWindows(resource.getId(), day)).assertStatements(0, 0, 0, 0);
+  }
+
+  private CreateReservationRequest request(int hour) {
+    OffsetDateTime start = day.atTime(hour, 0).atOffset(ZoneOffset.UTC);
+    return new CreateReservationRequest(resource.getId(), "Ana", "ana@example.com", 2, start, start.plusHours(1));
+  }
+}
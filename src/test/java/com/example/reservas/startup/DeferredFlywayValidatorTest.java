@@ -0,0 +1,54 @@
+package com.example.reservas.startup;
+
+import com.example.reservas.config.StartupConfig.DeferredFlywayValidator;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/** Una validación diferida fallida saca la instancia del balanceador (readiness REFUSING_TRAFFIC). */
+class DeferredFlywayValidatorTest {
+
+  Flyway flyway = mock(Flyway.class);
+  List<Object> events = new ArrayList<>();
+  DeferredFlywayValidator validator = new DeferredFlywayValidator(flyway, events::add);
+
+  @Test
+  void successfulValidationLeavesReadinessAlone() {
+    when(flyway.validateWithResult()).thenReturn(result(true));
+    validator.validate();
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  void failedValidationRefusesTraffic() {
+    when(flyway.validateWithResult()).thenReturn(result(false));
+    validator.validate();
+    assertRefusingTraffic();
+  }
+
+  @Test
+  void validationThatCannotRunRefusesTraffic() {
+    when(flyway.validateWithResult()).thenThrow(new FlywayException("sin conexión"));
+    validator.validate();
+    assertRefusingTraffic();
+  }
+
+  private void assertRefusingTraffic() {
+    assertEquals(1, events.size());
+    AvailabilityChangeEvent<?> event = assertInstanceOf(AvailabilityChangeEvent.class, events.get(0));
+    assertEquals(ReadinessState.REFUSING_TRAFFIC, event.getState());
+  }
+
+  private static ValidateResult result(boolean ok) {
+    return new ValidateResult("10", "test", null, ok, 1, List.of(), List.of());
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.reservas.startup;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de arranque en frío: jar estándar (perfil por defecto) frente al modo rápido
+ * (AOT + CDS + perfil prod), cada uno en un proceso nuevo contra Postgres y Redis reales.
+ *
+ * Requiere haber empaquetado antes con {@code ./mvnw -Pfast-startup package -DskipTests}.
+ */
+class StartupTimeIT {
+
+  static final Path JAR = Path.of("target/API-de-reservas-0.0.1-SNAPSHOT.jar");
+  static final Path FAST_JAR = Path.of("target/fast-startup/API-de-reservas-0.0.1-SNAPSHOT.jar");
+  static final Path CDS_ARCHIVE = Path.of("target/fast-startup/application.jsa");
+  static final int RUNS = 3;
+  static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+  static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @BeforeAll
+  static void start() {
+    assumeTrue(Files.exists(JAR) && Files.exists(FAST_JAR) && Files.exists(CDS_ARCHIVE),
+        "Ejecutar antes ./mvnw -Pfast-startup package -DskipTests");
+    postgres.start();
+    redis.start();
+  }
+
+  @AfterAll
+  static void stop() {
+    postgres.stop();
+    redis.stop();
+  }
+
+  @Test
+  void fastStartupIsFasterThanDefault() throws Exception {
+    double standard = median(List.of("-jar", JAR.toString()));
+    double fast = median(List.of(
+        "-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+        "-Xlog:cds=off",
+        "-Dspring.aot.enabled=true",
+        "-Dspring.profiles.active=prod",
+        "-jar", FAST_JAR.toString()));
+
+    System.out.printf("%-24s %.3f s%n", "estándar", standard);
+    System.out.printf("%-24s %.3f s%n", "AOT + CDS + prod", fast);
+
+    assertTrue(fast < standard, "El modo fast-startup debería arrancar antes que el jar estándar");
+  }
+
+  private double median(List<String> launch) throws Exception {
+    List<Double> times = new ArrayList<>();
+    for (int i = 0; i < RUNS; i++) {
+      times.add(startOnce(launch));
+    }
+    Collections.sort(times);
+    return times.get(RUNS / 2);
+  }
+
+  /** Arranca la aplicación, lee el tiempo de "Started ... in X seconds" y la detiene. */
+  private double startOnce(List<String> launch) throws Exception {
+    List<String> cmd = new ArrayList<>();
+    cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    cmd.add("-Dserver.port=0");
+    cmd.add("-Dspring.datasource.url=" + postgres.getJdbcUrl());
+    cmd.add("-Dspring.datasource.username=" + postgres.getUsername());
+    cmd.add("-Dspring.datasource.password=" + postgres.getPassword());
+    cmd.add("-Dspring.data.redis.host=" + redis.getHost());
+    cmd.add("-Dspring.data.redis.port=" + redis.getFirstMappedPort());
+    cmd.addAll(launch);
+
+    Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+    try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = out.readLine()) != null) {
+        Matcher m = STARTED.matcher(line);
+        if (m.find()) {
+          return Double.parseDouble(m.group(1));
+        }
+      }
+      fail("La aplicación terminó sin arrancar (exit " + process.waitFor() + ")");
+      return -1;
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.reservas.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource de la aplicación con datasource-proxy para contar sentencias por tipo.
+ * Importar en el test ({@code @Import(QueryCountingConfiguration.class)}) y medir con {@link QueryCounts}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountingConfiguration {
+
+  static final String DATASOURCE_NAME = "query-count";
+
+  @Bean
+  static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // El proxy de diagnóstico de la aplicación también es un ProxyDataSource: solo se evita envolver el propio
+        if (bean instanceof DataSource ds
+            && !(bean instanceof ProxyDataSource p && DATASOURCE_NAME.equals(p.getProxyConfig().getDataSourceName()))) {
+          return ProxyDataSourceBuilder.create(ds)
+              .name(DATASOURCE_NAME)
+              // Contadores por hilo: solo cuentan las sentencias de la operación medida en el hilo del test
+              .countQuery()
+              .build();
+        }
+        return bean;
+      }
+    };
+  }
+}
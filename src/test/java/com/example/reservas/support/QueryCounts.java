@@ -0,0 +1,49 @@
+package com.example.reservas.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sentencias SQL ejecutadas por una operación (requiere {@link QueryCountingConfiguration}).
+ *
+ * <pre>
+ *   QueryCounts.of(() -> reservationService.cancel(id, "motivo", now))
+ *       .assertStatements(2, 1, 1, 0);
+ * </pre>
+ */
+public record QueryCounts(long selects, long inserts, long updates, long deletes, long other) {
+
+  public static QueryCounts of(Runnable operation) {
+    return measure(() -> {
+      operation.run();
+      return null;
+    }).counts();
+  }
+
+  public static <T> Measured<T> measure(Supplier<T> operation) {
+    QueryCountHolder.clear();
+    T result = operation.get();
+    QueryCount count = QueryCountHolder.get(QueryCountingConfiguration.DATASOURCE_NAME);
+    QueryCounts counts = count == null
+        ? new QueryCounts(0, 0, 0, 0, 0)
+        : new QueryCounts(count.getSelect(), count.getInsert(), count.getUpdate(), count.getDelete(), count.getOther());
+    QueryCountHolder.clear();
+    return new Measured<>(result, counts);
+  }
+
+  public long total() {
+    return selects + inserts + updates + deletes + other;
+  }
+
+  /** Igualdad exacta: tanto una consulta de más (N+1) como una de menos obligan a revisar el presupuesto. */
+  public QueryCounts assertStatements(long selects, long inserts, long updates, long deletes) {
+    assertEquals(new QueryCounts(selects, inserts, updates, deletes, 0), this, "Sentencias SQL ejecutadas");
+    return this;
+  }
+
+  public record Measured<T>(T result, QueryCounts counts) {}
+}
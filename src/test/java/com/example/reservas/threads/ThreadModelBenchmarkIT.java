@@ -0,0 +1,118 @@
+package com.example.reservas.threads;
+
+import com.example.reservas.config.ConnectionGateDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de carga del modelo de hilos: Tomcat con hilos de plataforma (200) frente a hilos virtuales,
+ * con y sin compuerta de conexiones, contra un Postgres real con pool Hikari de 10 conexiones.
+ *
+ * Cada petición simula una lectura de Redis (5 ms) y el 30% cae a Postgres (pg_sleep 10 ms),
+ * que es el perfil de las lecturas de disponibilidad.
+ */
+class ThreadModelBenchmarkIT {
+
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  static final int REQUESTS = 20_000;
+  static final int PLATFORM_THREADS = 200;
+  static final int POOL_SIZE = 10;
+
+  @BeforeAll
+  static void start() {
+    postgres.start();
+  }
+
+  @AfterAll
+  static void stop() {
+    postgres.stop();
+  }
+
+  @Test
+  void compareThreadModels() throws Exception {
+    Result platform;
+    Result virtualNoGate;
+    Result virtualGate;
+
+    try (HikariDataSource hikari = pool()) {
+      platform = run("plataforma (200 hilos)", Executors.newFixedThreadPool(PLATFORM_THREADS), hikari);
+    }
+    try (HikariDataSource hikari = pool()) {
+      virtualNoGate = run("virtual sin compuerta", Executors.newVirtualThreadPerTaskExecutor(), hikari);
+    }
+    try (HikariDataSource hikari = pool()) {
+      DataSource gated = new ConnectionGateDataSource(hikari, POOL_SIZE, Duration.ofSeconds(30));
+      virtualGate = run("virtual + compuerta", Executors.newVirtualThreadPerTaskExecutor(), gated);
+    }
+
+    // Con compuerta no debe haber estampida contra Hikari (timeouts de conexión)
+    assertEquals(0, virtualGate.errors, "La compuerta debería evitar timeouts de conexión");
+    assertTrue(virtualGate.throughput >= platform.throughput * 0.9,
+        "Hilos virtuales + compuerta no deberían rendir menos que el modelo actual");
+    assertTrue(virtualNoGate.errors >= virtualGate.errors);
+  }
+
+  record Result(double throughput, long p99Ms, long errors) {}
+
+  private Result run(String name, ExecutorService executor, DataSource ds) throws Exception {
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+    AtomicLong errors = new AtomicLong();
+
+    long start = System.nanoTime();
+    try (executor) {
+      for (int i = 0; i < REQUESTS; i++) {
+        long submitted = System.nanoTime();
+        boolean hitsDb = i % 10 < 3;
+        executor.submit(() -> {
+          try {
+            Thread.sleep(5); // round trip a Redis
+            if (hitsDb) {
+              try (Connection c = ds.getConnection(); Statement st = c.createStatement()) {
+                st.execute("select pg_sleep(0.01)");
+              }
+            }
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+          } catch (Exception e) {
+            errors.incrementAndGet();
+          }
+        });
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    double throughput = sorted.size() / seconds;
+    System.out.printf("[thread model] %-24s throughput=%8.0f req/s  p99=%6d ms  errores=%d%n",
+        name, throughput, p99, errors.get());
+    return new Result(throughput, p99, errors.get());
+  }
+
+  private static HikariDataSource pool() {
+    HikariConfig cfg = new HikariConfig();
+    cfg.setJdbcUrl(postgres.getJdbcUrl());
+    cfg.setUsername(postgres.getUsername());
+    cfg.setPassword(postgres.getPassword());
+    cfg.setMaximumPoolSize(POOL_SIZE);
+    cfg.setConnectionTimeout(1_000);
+    return new HikariDataSource(cfg);
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.reservas.timing;
+
+import com.example.reservas.config.ClientIpResolver;
+import com.example.reservas.config.RequestTiming;
+import com.example.reservas.config.TimingFilter;
+import com.example.reservas.config.TimingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingFilterTest {
+
+  TimingFilter filter = new TimingFilter(new TimingProperties(), new ClientIpResolver(List.of("10.0.0.0/8")));
+
+  @Test
+  void emitsServerTimingWhenRequested() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/availability");
+    request.setRemoteAddr("10.0.0.5");
+    request.addHeader("X-Server-Timing", "1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (req, res) -> {
+      RequestTiming timing = RequestTiming.current();
+      assertNotNull(timing);
+      timing.add(RequestTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(3));
+      timing.add(RequestTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+      timing.add(RequestTiming.Phase.CACHE, TimeUnit.MICROSECONDS.toNanos(500));
+      res.getWriter().write("[]");
+    });
+
+    String header = response.getHeader("Server-Timing");
+    assertNotNull(header);
+    assertTrue(header.startsWith("db;dur=5.00;desc=\"2\", cache;dur=0.50;desc=\"1\", total;dur="), header);
+    // El cuerpo bufferizado llega completo al cliente
+    assertEquals("[]", response.getContentAsString());
+    assertNull(RequestTiming.current(), "El contexto no debe quedar asociado al hilo");
+  }
+
+  @Test
+  void ignoresTheHeaderFromUntrustedClients() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/availability");
+    request.setRemoteAddr("203.0.113.7");
+    request.addHeader("X-Server-Timing", "1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (req, res) -> {
+      assertNull(RequestTiming.current());
+      assertSame(response, res, "Sin medición la respuesta no se envuelve");
+    });
+    assertNull(response.getHeader("Server-Timing"));
+  }
+
+  @Test
+  void withATokenOnlyTheTokenCounts() throws Exception {
+    TimingProperties props = new TimingProperties();
+    props.setRequestToken("s3cret");
+    TimingFilter tokenFilter = new TimingFilter(props, new ClientIpResolver(List.of("10.0.0.0/8")));
+
+    assertNotNull(request(tokenFilter, "203.0.113.7", "s3cret").getHeader("Server-Timing"));
+    assertNull(request(tokenFilter, "10.0.0.5", "1").getHeader("Server-Timing"), "con token, el proxy no basta");
+  }
+
+  @Test
+  void doesNothingWhenNotRequested() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/availability");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (req, res) -> {
+      assertNull(RequestTiming.current());
+      assertSame(response, res, "Sin medición la respuesta no se envuelve");
+    });
+
+    assertNull(response.getHeader("Server-Timing"));
+  }
+
+  private static MockHttpServletResponse request(TimingFilter filter, String remoteAddr, String header) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/availability");
+    request.setRemoteAddr(remoteAddr);
+    request.addHeader("X-Server-Timing", header);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, (req, res) -> res.getWriter().write("[]"));
+    return response;
+  }
+}